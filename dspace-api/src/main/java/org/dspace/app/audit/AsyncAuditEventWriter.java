@@ -0,0 +1,112 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.audit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+
+/**
+ * Background writer of the audit events. The events are queued by the committing threads and sent to the audit
+ * core in batches by a single daemon thread. When the queue is full the events are appended to the spill file,
+ * so that the committing threads never wait for the audit core.
+ */
+public class AsyncAuditEventWriter implements Runnable {
+
+    private static final Logger log = LogManager.getLogger(AsyncAuditEventWriter.class);
+
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 30000;
+
+    private final AuditService auditService;
+
+    private final BlockingQueue<AuditEvent> queue;
+
+    private final int batchSize;
+
+    private final Thread thread;
+
+    private volatile boolean running = true;
+
+    public AsyncAuditEventWriter(AuditService auditService, int queueSize, int batchSize) {
+        this.auditService = auditService;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.batchSize = batchSize;
+        this.thread = new Thread(this, "audit-writer");
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * Queue the given events to be sent to the audit core. The events exceeding the capacity of the queue are
+     * appended to the spill file.
+     *
+     * @param audits the events to send
+     */
+    public void submit(List<AuditEvent> audits) {
+        List<AuditEvent> rejected = new ArrayList<>();
+        for (AuditEvent audit : audits) {
+            if (!running || !queue.offer(audit)) {
+                rejected.add(audit);
+            }
+        }
+        if (!rejected.isEmpty()) {
+            log.warn("The audit queue is full, appending " + rejected.size() + " events to the spill file");
+            auditService.spill(rejected);
+        }
+    }
+
+    @Override
+    public void run() {
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditEvent first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<AuditEvent> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                if (auditService.write(batch)) {
+                    auditService.replaySpilledEvents();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Unexpected error writing the audit events", e);
+            }
+        }
+    }
+
+    /**
+     * Stop the writer, sending the queued events. The events still queued when the shutdown timeout expires are
+     * appended to the spill file.
+     */
+    public void shutdown() {
+        running = false;
+        try {
+            thread.join(SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<AuditEvent> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            auditService.spill(remaining);
+        }
+    }
+
+}
@@ -7,6 +7,9 @@
  */
 package org.dspace.app.audit;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.dspace.core.Context;
 import org.dspace.event.Consumer;
 import org.dspace.event.Event;
@@ -14,7 +17,8 @@ import org.dspace.services.ConfigurationService;
 import org.dspace.utils.DSpace;
 
 /**
- * Class to store all received events in an audit log
+ * Class to store all received events in an audit log. The events of a Context
+ * are buffered and stored as a single batch when the dispatch ends.
  * 
  * @version $Revision$
  *
@@ -25,6 +29,7 @@ public class AuditConsumer implements Consumer {
 
     private AuditService auditService;
     private ConfigurationService configurationService;
+    private List<AuditEvent> audits = new ArrayList<AuditEvent>();
 
     public void initialize() throws Exception {
         DSpace dSpace = new DSpace();
@@ -40,12 +45,19 @@ public class AuditConsumer implements Consumer {
      */
     public void consume(Context ctx, Event event) throws Exception {
         if (configurationService.getBooleanProperty("audit.enabled", false)) {
-            auditService.store(ctx, event);
+            audits.add(auditService.getAuditEventFromEvent(ctx, event));
         }
     }
 
     public void end(Context ctx) throws Exception {
-        // No-op
+        if (audits.isEmpty()) {
+            return;
+        }
+        try {
+            auditService.store(ctx, audits);
+        } finally {
+            audits = new ArrayList<AuditEvent>();
+        }
     }
 
     public void finish(Context ctx) throws Exception {
@@ -11,12 +11,14 @@ package org.dspace.app.audit;
  * Service to store and retrieve DSpace Events from the audit solr core
  * @author Andrea Bollini (andrea.bollini at 4science.it)
  */
+import java.io.File;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
+import javax.annotation.PreDestroy;
 
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
@@ -28,6 +30,7 @@ import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.impl.HttpSolrClient;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrException;
 import org.apache.solr.common.SolrInputDocument;
 import org.dspace.core.Context;
 import org.dspace.eperson.EPerson;
@@ -60,6 +63,10 @@ public class AuditService {
 
     private static final String DETAIL_FIELD = "detail";
 
+    private static final int DEFAULT_QUEUE_SIZE = 10000;
+
+    private static final int DEFAULT_BATCH_SIZE = 500;
+
     @Autowired
     private ConfigurationService configurationService;
 
@@ -67,6 +74,10 @@ public class AuditService {
 
     protected SolrClient solr = null;
 
+    private AsyncAuditEventWriter asyncWriter;
+
+    private AuditSpillFile spillFile;
+
     protected SolrClient getSolr() throws MalformedURLException, SolrServerException, IOException {
         if (solr == null) {
             String solrService = configurationService.getProperty("solr.audit.server");
@@ -81,12 +92,7 @@ public class AuditService {
     }
 
     public void store(Context context, Event event) {
-        AuditEvent audit = getAuditEventFromEvent(event);
-        EPerson eperson = context.getCurrentUser();
-        if (eperson != null) {
-            audit.setEpersonUUID(eperson.getID());
-        }
-        store(context, audit);
+        store(context, getAuditEventFromEvent(context, event));
     }
 
     /**
@@ -97,6 +103,110 @@ public class AuditService {
      *                current user are extracted from the context
      */
     public void store(Context context, AuditEvent audit) {
+        try {
+            getSolr().add(toSolrDocument(audit));
+        } catch (SolrServerException | IOException e) {
+            log.error(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Store the given audit events in the Solr audit core. When audit.async.enabled
+     * is true the events are handed to a background writer, otherwise they are
+     * sent with a single request. The events that can't be sent are appended to
+     * the spill file and sent again as soon as the audit core is available.
+     *
+     * @param context DSpace Context
+     * @param audits  the complete audit events to store
+     */
+    public void store(Context context, List<AuditEvent> audits) {
+        if (audits.isEmpty()) {
+            return;
+        }
+        if (configurationService.getBooleanProperty("audit.async.enabled", false)) {
+            getAsyncWriter().submit(audits);
+        } else if (write(audits)) {
+            replaySpilledEvents();
+        }
+    }
+
+    /**
+     * Send the given audit events to the audit core with a single request,
+     * appending them to the spill file if the audit core is not available.
+     *
+     * @param  audits the events to send
+     * @return        true if the events were sent, false if they were spilled
+     */
+    boolean write(List<AuditEvent> audits) {
+        List<SolrInputDocument> documents = new ArrayList<>(audits.size());
+        for (AuditEvent audit : audits) {
+            documents.add(toSolrDocument(audit));
+        }
+        try {
+            getSolr().add(documents);
+            return true;
+        } catch (SolrServerException | IOException | SolrException e) {
+            log.warn("Unable to store " + audits.size() + " audit events, appending them to the spill file", e);
+            spill(audits);
+            return false;
+        }
+    }
+
+    /**
+     * Append the given audit events to the spill file.
+     *
+     * @param audits the events to append
+     */
+    void spill(List<AuditEvent> audits) {
+        getSpillFile().append(audits);
+    }
+
+    /**
+     * Send again the events of the spill file, if any.
+     */
+    void replaySpilledEvents() {
+        AuditSpillFile spillFile = getSpillFile();
+        if (spillFile.hasEvents()) {
+            log.info("Sending again the audit events of " + spillFile.getFile());
+            spillFile.replay(getBatchSize(), this::write);
+        }
+    }
+
+    private synchronized AuditSpillFile getSpillFile() {
+        String path = configurationService.getProperty("audit.spill.file",
+            configurationService.getProperty("dspace.dir") + File.separator + "var" + File.separator + "audit"
+                + File.separator + "audit-spill.jsonl");
+        if (spillFile == null || !spillFile.getFile().getPath().equals(path)) {
+            spillFile = new AuditSpillFile(new File(path));
+        }
+        return spillFile;
+    }
+
+    private synchronized AsyncAuditEventWriter getAsyncWriter() {
+        if (asyncWriter == null) {
+            int queueSize = configurationService.getIntProperty("audit.async.queue-size", DEFAULT_QUEUE_SIZE);
+            asyncWriter = new AsyncAuditEventWriter(this, queueSize, getBatchSize());
+            asyncWriter.start();
+        }
+        return asyncWriter;
+    }
+
+    private int getBatchSize() {
+        return configurationService.getIntProperty("audit.async.batch-size", DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Stop the background writer, if any, sending the queued events.
+     */
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (asyncWriter != null) {
+            asyncWriter.shutdown();
+            asyncWriter = null;
+        }
+    }
+
+    private SolrInputDocument toSolrDocument(AuditEvent audit) {
         SolrInputDocument solrInDoc = new SolrInputDocument();
         // this is usually NOT the case, as the audit event get a random uuid by solr
         // but it is convenient for testing purpose
@@ -117,11 +227,24 @@ public class AuditService {
         if (audit.getDetail() != null) {
             solrInDoc.addField(DETAIL_FIELD, audit.getDetail());
         }
-        try {
-            getSolr().add(solrInDoc);
-        } catch (SolrServerException | IOException e) {
-            log.error(e.getMessage(), e);
+        return solrInDoc;
+    }
+
+    /**
+     * Convert an Event in an audit event bound to the current user of the given
+     * context, if any.
+     *
+     * @param context the DSpace context
+     * @param event   the dspace event
+     * @return an audit event wrapping the event
+     */
+    public AuditEvent getAuditEventFromEvent(Context context, Event event) {
+        AuditEvent audit = getAuditEventFromEvent(event);
+        EPerson eperson = context.getCurrentUser();
+        if (eperson != null) {
+            audit.setEpersonUUID(eperson.getID());
         }
+        return audit;
     }
 
     /**
@@ -0,0 +1,146 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.audit;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+
+/**
+ * Local file holding the audit events that couldn't be sent to the audit core, one JSON document for each line.
+ * The events are sent again, and removed from the file, once the audit core is available.
+ */
+public class AuditSpillFile {
+
+    private static final Logger log = LogManager.getLogger(AuditSpillFile.class);
+
+    private final File file;
+
+    private final File replayFile;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final AtomicBoolean replaying = new AtomicBoolean();
+
+    public AuditSpillFile(File file) {
+        this.file = file;
+        this.replayFile = new File(file.getPath() + ".replay");
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Append the given audit events to the spill file.
+     *
+     * @param audits the events to append
+     */
+    public synchronized void append(List<AuditEvent> audits) {
+        try {
+            Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+            try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (AuditEvent audit : audits) {
+                    writer.write(objectMapper.writeValueAsString(audit));
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            // nothing else can be done to keep these events
+            log.error("Unable to append " + audits.size() + " audit events to " + file, e);
+        }
+    }
+
+    /**
+     * @return true if the spill file holds events to send again
+     */
+    public boolean hasEvents() {
+        return file.exists() || replayFile.exists();
+    }
+
+    /**
+     * Send again the events of the spill file, in batches of the given size. The events are moved out of the spill
+     * file before being sent, so that new events can be appended meanwhile; once a batch can't be sent, the
+     * remaining events are appended back to the spill file without further attempts.
+     *
+     * @param batchSize the number of events of each batch
+     * @param writer    the function sending a batch of events, returning false if the batch couldn't be sent; the
+     *                  function is in charge of spilling the events of the failed batch
+     */
+    public void replay(int batchSize, Predicate<List<AuditEvent>> writer) {
+        if (!replaying.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            synchronized (this) {
+                // a replay file left by an interrupted replay is sent again before the new events
+                if (!replayFile.exists() && (!file.exists() || !file.renameTo(replayFile))) {
+                    return;
+                }
+            }
+            replayFile(batchSize, writer);
+        } finally {
+            replaying.set(false);
+        }
+    }
+
+    private void replayFile(int batchSize, Predicate<List<AuditEvent>> writer) {
+        boolean available = true;
+        int lineNumber = 0;
+        try (BufferedReader reader = Files.newBufferedReader(replayFile.toPath(), StandardCharsets.UTF_8)) {
+            List<AuditEvent> batch = new ArrayList<>(batchSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                try {
+                    batch.add(objectMapper.readValue(line, AuditEvent.class));
+                } catch (IOException e) {
+                    log.warn("Skipping the malformed line " + lineNumber + " of the audit spill file " + replayFile);
+                }
+                if (batch.size() >= batchSize) {
+                    available = send(batch, available, writer);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                send(batch, available, writer);
+            }
+        } catch (IOException e) {
+            log.error("Unable to read the audit spill file " + replayFile, e);
+            return;
+        }
+
+        try {
+            Files.delete(replayFile.toPath());
+        } catch (IOException e) {
+            log.error("Unable to delete the audit spill file " + replayFile, e);
+        }
+    }
+
+    private boolean send(List<AuditEvent> batch, boolean available, Predicate<List<AuditEvent>> writer) {
+        if (available) {
+            return writer.test(batch);
+        }
+        append(batch);
+        return false;
+    }
+
+}
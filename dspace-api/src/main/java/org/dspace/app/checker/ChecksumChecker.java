@@ -30,6 +30,7 @@ import org.dspace.checker.HandleDispatcher;
 import org.dspace.checker.IteratorDispatcher;
 import org.dspace.checker.LimitedCountDispatcher;
 import org.dspace.checker.LimitedDurationDispatcher;
+import org.dspace.checker.PrefetchingDispatcher;
 import org.dspace.checker.ResultsLogger;
 import org.dspace.checker.ResultsPruner;
 import org.dspace.checker.SimpleDispatcher;
@@ -77,6 +78,12 @@ public final class ChecksumChecker {
      * <dd>check anything by handle</dd>
      * <dt>-e</dt>
      * <dd>Report only errors in the logs</dd>
+     * <dt>-t [threads]</dt>
+     * <dd>check the bitstreams with parallel workers</dd>
+     * <dt>-r [bytes]</dt>
+     * <dd>maximum number of bytes read per second by the parallel workers</dd>
+     * <dt>-i [operations]</dt>
+     * <dd>maximum number of read operations per second by the parallel workers</dd>
      * <dt>-p</dt>
      * <dd>Don't prune results before running checker</dd>
      * </dl>
@@ -100,6 +107,9 @@ public final class ChecksumChecker {
         options.addOption("c", "count", true, "Check count");
         options.addOption("a", "handle", true, "Specify a handle to check");
         options.addOption("v", "verbose", false, "Report all processing");
+        options.addOption("t", "threads", true, "Number of parallel checksum workers (Default: 1, sequential check)");
+        options.addOption("r", "rate", true, "Maximum number of bytes read per second by the parallel workers");
+        options.addOption("i", "iops", true, "Maximum number of read operations per second by the parallel workers");
 
         Option option;
 
@@ -151,14 +161,16 @@ public final class ChecksumChecker {
 
             Date processStart = Calendar.getInstance().getTime();
 
+            int threads = line.hasOption('t') ? Integer.parseInt(line.getOptionValue('t')) : 1;
+
             BitstreamDispatcher dispatcher = null;
 
             // process should loop infinitely through
             // most_recent_checksum table
             if (line.hasOption('l')) {
-                dispatcher = new SimpleDispatcher(context, processStart, false);
+                dispatcher = newDispatcher(context, processStart, false, threads);
             } else if (line.hasOption('L')) {
-                dispatcher = new SimpleDispatcher(context, processStart, true);
+                dispatcher = newDispatcher(context, processStart, true, threads);
             } else if (line.hasOption('b')) {
                 // check only specified bitstream(s)
                 String[] ids = line.getOptionValues('b');
@@ -180,7 +192,7 @@ public final class ChecksumChecker {
                 // run checker process for specified duration
                 try {
                     dispatcher = new LimitedDurationDispatcher(
-                        new SimpleDispatcher(context, processStart, true), new Date(
+                        newDispatcher(context, processStart, true, threads), new Date(
                         System.currentTimeMillis()
                             + Utils.parseDuration(line
                                                       .getOptionValue('d'))));
@@ -193,11 +205,11 @@ public final class ChecksumChecker {
                 int count = Integer.valueOf(line.getOptionValue('c'));
 
                 // run checker process for specified number of bitstreams
-                dispatcher = new LimitedCountDispatcher(new SimpleDispatcher(
-                    context, processStart, false), count);
+                dispatcher = new LimitedCountDispatcher(
+                    newDispatcher(context, processStart, false, threads), count);
             } else {
-                dispatcher = new LimitedCountDispatcher(new SimpleDispatcher(
-                    context, processStart, false), 1);
+                dispatcher = new LimitedCountDispatcher(
+                    newDispatcher(context, processStart, false, threads), 1);
             }
 
             ResultsLogger logger = new ResultsLogger(processStart);
@@ -207,6 +219,13 @@ public final class ChecksumChecker {
                 checker.setReportVerbose(true);
             }
 
+            checker.setThreads(threads);
+            if (line.hasOption('r')) {
+                checker.setMaxBytesPerSecond(Long.parseLong(line.getOptionValue('r')));
+            }
+            if (line.hasOption('i')) {
+                checker.setMaxReadsPerSecond(Integer.parseInt(line.getOptionValue('i')));
+            }
             checker.setProcessStartDate(processStart);
             checker.setDispatcher(dispatcher);
             checker.setCollector(logger);
@@ -220,6 +239,18 @@ public final class ChecksumChecker {
         }
     }
 
+    /**
+     * Create the dispatcher of the bitstreams of the most_recent_checksum table. The parallel mode requires a
+     * dispatcher that doesn't hand out again the bitstreams whose results are not yet committed.
+     */
+    private static BitstreamDispatcher newDispatcher(Context context, Date processStart, boolean looping,
+                                                     int threads) {
+        if (threads > 1) {
+            return new PrefetchingDispatcher(context, processStart, looping, threads * 10);
+        }
+        return new SimpleDispatcher(context, processStart, looping);
+    }
+
     /**
      * Print the help options for the user
      *
@@ -239,6 +270,8 @@ public final class ChecksumChecker {
         System.out.println("\nLoop continuously through all bitstreams: ChecksumChecker -L");
         System.out.println("\nCheck a defined number of bitstreams: ChecksumChecker -c 10");
         System.out.println("\nReport all processing (verbose)(default reports only errors): ChecksumChecker -v");
+        System.out.println("\nLoop once through all bitstreams with 8 workers reading at most 100 MB/s: "
+                               + "ChecksumChecker -l -t 8 -r 104857600");
         System.out.println("\nDefault (no arguments) is equivalent to '-c 1'");
         System.exit(0);
     }
@@ -26,6 +26,7 @@ import org.apache.commons.validator.routines.UrlValidator;
 import org.apache.log4j.Logger;
 import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrRequest;
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.impl.HttpSolrClient;
 import org.apache.solr.client.solrj.response.QueryResponse;
@@ -51,6 +52,7 @@ import org.dspace.discovery.SearchServiceException;
 import org.dspace.handle.factory.HandleServiceFactory;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.util.SolrCursorIterator;
 import org.dspace.utils.DSpace;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -567,26 +569,28 @@ public class SolrDedupServiceImpl implements DedupService {
                 // returning just their handle
                 query.setFields(RESOURCE_IDS_FIELD);
                 query.setQuery(RESOURCE_RESOURCETYPE_FIELD + ":" + Constants.ITEM);
-                QueryResponse rsp = getSolr().query(query);
-                SolrDocumentList docs = rsp.getResults();
-
-                Iterator<SolrDocument> iter = docs.iterator();
+                query.setRows(configurationService.getIntProperty("discovery.iterator.page-size", 100));
+                Iterator<SolrDocument> iter = new SolrCursorIterator(getSolr(), SolrRequest.METHOD.GET, query,
+                    UNIQUE_ID_FIELD);
                 while (iter.hasNext()) {
 
-                    SolrDocument doc = (SolrDocument) iter.next();
+                    SolrDocument doc = iter.next();
 
                     Collection<Object> ids = doc.getFieldValues(RESOURCE_IDS_FIELD);
 
                     for (Object id : ids) {
+                        UUID itemId = UUID.fromString((String) id);
                         Item i = ContentServiceFactory.getInstance().getItemService()
-                                /* getDSpaceObjectService(type) */.find(context, UUID.fromString((String) id));
+                                /* getDSpaceObjectService(type) */.find(context, itemId);
 
                         if (i == null) {
                             log.info("Deleting: " + id);
                             /*
                              * Use IndexWriter to delete, its easier to manage write.lock
                              */
-                            unIndexContent(context, i);
+                            unIndexContent(context, itemId);
+                        } else {
+                            context.uncacheEntity(i);
                         }
                     }
                 }
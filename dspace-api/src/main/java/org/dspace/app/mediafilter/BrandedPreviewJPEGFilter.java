@@ -62,6 +62,19 @@ public class BrandedPreviewJPEGFilter extends MediaFilter {
      */
     @Override
     public InputStream getDestinationStream(Item currentItem, InputStream source, boolean verbose)
+        throws Exception {
+        return getDestinationStream(currentItem != null ? currentItem.getHandle() : null, source, verbose);
+    }
+
+    /**
+     * @param itemHandle handle of the item
+     * @param source     source input stream
+     * @param verbose    verbose mode
+     * @return InputStream the resulting input stream
+     * @throws Exception if error
+     */
+    @Override
+    public InputStream getDestinationStream(String itemHandle, InputStream source, boolean verbose)
         throws Exception {
         // read in bitstream's image
         BufferedImage buf = ImageIO.read(source);
@@ -83,7 +96,7 @@ public class BrandedPreviewJPEGFilter extends MediaFilter {
 
         JPEGFilter jpegFilter = new JPEGFilter();
         return jpegFilter
-            .getThumbDim(currentItem, buf, verbose, xmax, ymax, blurring, hqscaling, brandHeight, brandFontPoint,
+            .getThumbDim(itemHandle, buf, verbose, xmax, ymax, blurring, hqscaling, brandHeight, brandFontPoint,
                          brandFont);
     }
 }
@@ -0,0 +1,101 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.mediafilter;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.content.Bitstream;
+
+/**
+ * The list of the bitstreams whose filtering timed out, persisted in a file so that the bitstreams which repeatedly
+ * time out are skipped by the next runs of the media filters.
+ * <p>
+ * Each timeout appends a line with the id of the bitstream and the class of the filter, separated by a tab; a
+ * bitstream is skipped by a filter once it has timed out the configured number of times. Remove the lines of a
+ * bitstream (or the whole file) to filter it again.
+ */
+public class FilterTimeoutSkipList {
+
+    private static final Logger log = LogManager.getLogger(FilterTimeoutSkipList.class);
+
+    private static final String SEPARATOR = "\t";
+
+    private final File file;
+
+    private final int maxAttempts;
+
+    /**
+     * The number of timeouts, by bitstream and filter
+     */
+    private final Map<String, Integer> timeouts = new HashMap<>();
+
+    /**
+     * @param file        the file of the timeouts, created on the first timeout
+     * @param maxAttempts the number of timeouts after which a bitstream is skipped
+     */
+    public FilterTimeoutSkipList(File file, int maxAttempts) {
+        this.file = file;
+        this.maxAttempts = maxAttempts;
+        if (file.exists()) {
+            try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.contains(SEPARATOR)) {
+                        timeouts.merge(line.trim(), 1, Integer::sum);
+                    }
+                }
+            } catch (IOException e) {
+                log.error("Unable to read the filter timeouts from " + file.getAbsolutePath(), e);
+            }
+        }
+    }
+
+    /**
+     * @param bitstream    the bitstream to filter
+     * @param formatFilter the filter to apply
+     * @return true if the filtering of the bitstream timed out too many times to be tried again
+     */
+    public synchronized boolean isSkipped(Bitstream bitstream, FormatFilter formatFilter) {
+        return maxAttempts > 0 && timeouts.getOrDefault(getKey(bitstream, formatFilter), 0) >= maxAttempts;
+    }
+
+    /**
+     * Record that the filtering of a bitstream timed out.
+     *
+     * @param bitstream    the bitstream whose filtering timed out
+     * @param formatFilter the filter which timed out
+     * @throws IOException if the timeout cannot be written to the file
+     */
+    public synchronized void recordTimeout(Bitstream bitstream, FormatFilter formatFilter) throws IOException {
+        String key = getKey(bitstream, formatFilter);
+        timeouts.merge(key, 1, Integer::sum);
+
+        File dir = file.getAbsoluteFile().getParentFile();
+        if (dir != null && !dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Unable to create the directory " + dir.getAbsolutePath());
+        }
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8,
+                                                     StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(key + "\n");
+        }
+    }
+
+    private String getKey(Bitstream bitstream, FormatFilter formatFilter) {
+        return bitstream.getID() + SEPARATOR + formatFilter.getClass().getName();
+    }
+}
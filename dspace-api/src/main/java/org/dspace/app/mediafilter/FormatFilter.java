@@ -59,6 +59,23 @@ public interface FormatFilter {
     public InputStream getDestinationStream(Item item, InputStream source, boolean verbose)
         throws Exception;
 
+    /**
+     * Read the source stream and produce the filtered content, in a worker of the parallel filter-media. The item
+     * is only given by its handle: its entity belongs to the Context of another thread. The default implementation
+     * calls {@link #getDestinationStream(Item, InputStream, boolean)} without item, the filters using the item must
+     * override it.
+     *
+     * @param itemHandle handle of the item, or null
+     * @param source     input stream
+     * @param verbose    verbosity flag
+     * @return result of filter's transformation as a byte stream.
+     * @throws Exception if error
+     */
+    public default InputStream getDestinationStream(String itemHandle, InputStream source, boolean verbose)
+        throws Exception {
+        return getDestinationStream((Item) null, source, verbose);
+    }
+
     /**
      * Perform any pre-processing of the source bitstream *before* the actual
      * filtering takes place in MediaFilterManager.processBitstream().
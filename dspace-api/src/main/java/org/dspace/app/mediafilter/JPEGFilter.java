@@ -71,14 +71,32 @@ public class JPEGFilter extends MediaFilter implements SelfRegisterInputFormats
      */
     @Override
     public InputStream getDestinationStream(Item currentItem, InputStream source, boolean verbose)
+        throws Exception {
+        return getDestinationStream(currentItem != null ? currentItem.getHandle() : null, source, verbose);
+    }
+
+    /**
+     * @param itemHandle handle of the item
+     * @param source     source input stream
+     * @param verbose    verbose mode
+     * @return InputStream the resulting input stream
+     * @throws Exception if error
+     */
+    @Override
+    public InputStream getDestinationStream(String itemHandle, InputStream source, boolean verbose)
         throws Exception {
         // read in bitstream's image
         BufferedImage buf = ImageIO.read(source);
 
-        return getThumb(currentItem, buf, verbose);
+        return getThumb(itemHandle, buf, verbose);
     }
 
     public InputStream getThumb(Item currentItem, BufferedImage buf, boolean verbose)
+        throws Exception {
+        return getThumb(currentItem != null ? currentItem.getHandle() : null, buf, verbose);
+    }
+
+    public InputStream getThumb(String itemHandle, BufferedImage buf, boolean verbose)
         throws Exception {
         // get config params
         final ConfigurationService configurationService
@@ -92,13 +110,21 @@ public class JPEGFilter extends MediaFilter implements SelfRegisterInputFormats
         boolean hqscaling = (boolean) configurationService
             .getBooleanProperty("thumbnail.hqscaling");
 
-        return getThumbDim(currentItem, buf, verbose, xmax, ymax, blurring, hqscaling, 0, 0, null);
+        return getThumbDim(itemHandle, buf, verbose, xmax, ymax, blurring, hqscaling, 0, 0, null);
     }
 
     public InputStream getThumbDim(Item currentItem, BufferedImage buf, boolean verbose, float xmax, float ymax,
                                    boolean blurring, boolean hqscaling, int brandHeight, int brandFontPoint,
                                    String brandFont)
         throws Exception {
+        return getThumbDim(currentItem != null ? currentItem.getHandle() : null, buf, verbose, xmax, ymax, blurring,
+                           hqscaling, brandHeight, brandFontPoint, brandFont);
+    }
+
+    public InputStream getThumbDim(String itemHandle, BufferedImage buf, boolean verbose, float xmax, float ymax,
+                                   boolean blurring, boolean hqscaling, int brandHeight, int brandFontPoint,
+                                   String brandFont)
+        throws Exception {
         // now get the image dimensions
         float xsize = (float) buf.getWidth(null);
         float ysize = (float) buf.getHeight(null);
@@ -177,7 +203,7 @@ public class JPEGFilter extends MediaFilter implements SelfRegisterInputFormats
             Brand brand = new Brand((int) xsize, brandHeight, new Font(brandFont, Font.PLAIN, brandFontPoint), 5);
             BufferedImage brandImage = brand.create(configurationService.getProperty("webui.preview.brand"),
                                                     configurationService.getProperty("webui.preview.brand.abbrev"),
-                                                    currentItem == null ? "" : "hdl:" + currentItem.getHandle());
+                                                    itemHandle == null ? "" : "hdl:" + itemHandle);
 
             g2d.drawImage(brandImage, (int) 0, (int) ysize, (int) xsize, (int) 20, null);
         }
@@ -0,0 +1,411 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.mediafilter;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Item;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
+import org.dspace.storage.bitstore.factory.StorageServiceFactory;
+import org.dspace.storage.bitstore.service.BitstreamStorageService;
+
+/**
+ * Parallel pipeline of the media filters.
+ * <p>
+ * The thread of the {@link MediaFilterServiceImpl} enumerates the bitstreams to filter and submits them to the
+ * filter workers. The workers run the filters, at most <code>threads</code> at once and at most
+ * <code>filter.&lt;class-name&gt;.max-threads</code> at once for each filter, and spool the results to temporary
+ * files. A worker only opens the content of its bitstream, with its own read-only Context, once it may run the
+ * filter, so that the queued bitstreams do not hold open assetstore streams. The workers are only given the id of the
+ * bitstream and the id and handle of its item, never the entities of the Context of the script thread: the filters
+ * get the handle through {@link FormatFilter#getDestinationStream(String, InputStream, boolean)}. The same thread
+ * then creates the derivatives from the results, and commits them in batches of
+ * <code>filter.commit-batch-size</code>: its Context is only used by that thread.
+ * <p>
+ * A filter running longer than <code>filter.&lt;class-name&gt;.timeout</code> (or <code>filter.timeout</code>)
+ * seconds is interrupted and its bitstream recorded in the {@link FilterTimeoutSkipList}. The filters do not all
+ * react to interruptions: the worker is then abandoned, and its permits given to the next bitstreams.
+ */
+public class MediaFilterPipeline {
+
+    private static final Logger log = LogManager.getLogger(MediaFilterPipeline.class);
+
+    private final MediaFilterServiceImpl mediaFilterService;
+
+    private final ConfigurationService configurationService;
+
+    private final BitstreamStorageService bitstreamStorageService =
+        StorageServiceFactory.getInstance().getBitstreamStorageService();
+
+    private final ExecutorService workers;
+
+    private final ScheduledExecutorService watchdog;
+
+    private final Semaphore workerPermits;
+
+    private final Map<String, Semaphore> filterPermits = new ConcurrentHashMap<>();
+
+    private final BlockingQueue<FilterTask> completedTasks = new LinkedBlockingQueue<>();
+
+    /**
+     * The bitstreams being filtered, by bitstream and filter, to not filter twice the bitstreams of the items
+     * mapped to several collections
+     */
+    private final Set<String> pendingKeys = new HashSet<>();
+
+    private final int maxPendingTasks;
+
+    private final int commitBatchSize;
+
+    private int pendingTasks = 0;
+
+    private int uncommitted = 0;
+
+    private volatile boolean shutdown = false;
+
+    /**
+     * @param mediaFilterService the service enumerating the bitstreams and storing the derivatives
+     * @param threads            the number of bitstreams filtered at once
+     */
+    public MediaFilterPipeline(MediaFilterServiceImpl mediaFilterService, int threads) {
+        this.mediaFilterService = mediaFilterService;
+        this.configurationService = mediaFilterService.configurationService;
+        this.workerPermits = new Semaphore(threads);
+        // keep the next bitstreams ready while the workers are busy
+        this.maxPendingTasks = threads * 2;
+        this.commitBatchSize = Math.max(1, configurationService.getIntProperty("filter.commit-batch-size", 100));
+        // the workers are not pooled, so that the abandoned ones do not reduce the parallelism
+        this.workers = Executors.newCachedThreadPool(new FilterThreadFactory("filter-media-worker"));
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(new FilterThreadFactory("filter-media-watchdog"));
+    }
+
+    /**
+     * Submit a bitstream to the filter workers, if it has to be filtered. Waits for a previous bitstream to be
+     * filtered when too many bitstreams are pending.
+     *
+     * @param context      context
+     * @param item         item containing the bitstream
+     * @param source       bitstream to filter
+     * @param formatFilter filter to apply
+     * @return true if the bitstream has been submitted
+     * @throws Exception if the bitstream cannot be read
+     */
+    public boolean submit(Context context, Item item, Bitstream source, FormatFilter formatFilter)
+        throws Exception {
+        String key = source.getID() + formatFilter.getClass().getName();
+        if (pendingKeys.contains(key)
+            || !mediaFilterService.isFilterNeeded(context, item, source, formatFilter)) {
+            return false;
+        }
+
+        while (pendingTasks >= maxPendingTasks) {
+            storeNext(context, true);
+        }
+
+        // the content is opened by the worker, check the access now as the worker has no user
+        mediaFilterService.authorizeService.authorizeAction(context, source, Constants.READ);
+        FilterTask task = new FilterTask(key, item.getID(), item.getHandle(), source.getID(), formatFilter);
+        pendingKeys.add(key);
+        pendingTasks++;
+        workers.execute(task);
+        return true;
+    }
+
+    /**
+     * Store the derivatives of the bitstreams already filtered, and commit them once a batch is complete. Must be
+     * called when no entity loaded before is in use any more, as the commit detaches them.
+     *
+     * @param context context
+     * @throws Exception if error
+     */
+    public void checkpoint(Context context) throws Exception {
+        while (storeNext(context, false)) {
+            // store all the completed tasks
+        }
+        if (uncommitted >= commitBatchSize) {
+            context.commit();
+            uncommitted = 0;
+        }
+    }
+
+    /**
+     * Wait for all the submitted bitstreams to be filtered, and store and commit their derivatives.
+     *
+     * @param context context
+     * @throws Exception if error
+     */
+    public void complete(Context context) throws Exception {
+        while (pendingTasks > 0) {
+            storeNext(context, true);
+        }
+        if (uncommitted > 0) {
+            context.commit();
+            uncommitted = 0;
+        }
+    }
+
+    /**
+     * Stop the filter workers, abandoning the bitstreams still being filtered, and delete their results.
+     */
+    public void shutdown() {
+        // the workers completing afterwards delete their own result
+        shutdown = true;
+        workers.shutdownNow();
+        watchdog.shutdownNow();
+        for (FilterTask task : completedTasks) {
+            task.deleteResult();
+        }
+    }
+
+    /**
+     * Store the derivative of the next filtered bitstream.
+     *
+     * @return false if no bitstream has been filtered and wait is false
+     */
+    private boolean storeNext(Context context, boolean wait) throws Exception {
+        FilterTask task = wait ? completedTasks.take() : completedTasks.poll();
+        if (task == null) {
+            return false;
+        }
+        pendingTasks--;
+        pendingKeys.remove(task.key);
+
+        Item item = mediaFilterService.itemService.find(context, task.itemId);
+        Bitstream source = mediaFilterService.bitstreamService.find(context, task.sourceId);
+        try {
+            if (task.timedOut) {
+                mediaFilterService.logError("TIMEOUT: filtering of bitstream " + source.getID() + " (item: "
+                    + item.getHandle() + ") by " + task.formatFilter.getClass().getName() + " interrupted after "
+                    + task.timeout + " seconds");
+                FilterTimeoutSkipList skipList = mediaFilterService.getTimeoutSkipList();
+                if (skipList != null) {
+                    skipList.recordTimeout(source, task.formatFilter);
+                }
+            } else if (task.error != null) {
+                mediaFilterService.logFilterError(item, source, task.error);
+            } else if (task.result == null) {
+                if (!mediaFilterService.isQuiet) {
+                    mediaFilterService.logInfo("SKIPPED: bitstream " + source.getID()
+                        + " (item: " + item.getHandle() + ") because filtering was unsuccessful");
+                }
+            } else {
+                try (InputStream destStream = new FileInputStream(task.result)) {
+                    mediaFilterService.storeFilteredBitstream(context, item, source, task.formatFilter, destStream);
+                }
+                // Make sure new bitstream has a sequence number
+                mediaFilterService.itemService.update(context, item);
+                uncommitted++;
+            }
+        } catch (Exception e) {
+            mediaFilterService.logFilterError(item, source, e);
+        } finally {
+            task.deleteResult();
+        }
+        return true;
+    }
+
+    private Semaphore getFilterPermits(FormatFilter formatFilter) {
+        String filterClassName = formatFilter.getClass().getName();
+        return filterPermits.computeIfAbsent(filterClassName, name -> {
+            int maxThreads = configurationService.getIntProperty("filter." + name + ".max-threads", 0);
+            return new Semaphore(maxThreads > 0 ? maxThreads : Integer.MAX_VALUE);
+        });
+    }
+
+    private long getTimeout(FormatFilter formatFilter) {
+        return configurationService.getLongProperty("filter." + formatFilter.getClass().getName() + ".timeout",
+            configurationService.getLongProperty("filter.timeout", 0));
+    }
+
+    /**
+     * The filtering of a bitstream, run by a worker.
+     */
+    private class FilterTask implements Runnable {
+
+        private final String key;
+
+        private final UUID itemId;
+
+        private final String itemHandle;
+
+        private final UUID sourceId;
+
+        private final FormatFilter formatFilter;
+
+        private final Semaphore permits;
+
+        private final long timeout;
+
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        private volatile boolean timedOut;
+
+        /**
+         * Whether the filter has returned, guarded by <code>this</code>
+         */
+        private boolean filtered;
+
+        private volatile boolean workerPermitAcquired;
+
+        private volatile boolean filterPermitAcquired;
+
+        private volatile File result;
+
+        private volatile Throwable error;
+
+        private FilterTask(String key, UUID itemId, String itemHandle, UUID sourceId, FormatFilter formatFilter) {
+            this.key = key;
+            this.itemId = itemId;
+            this.itemHandle = itemHandle;
+            this.sourceId = sourceId;
+            this.formatFilter = formatFilter;
+            this.permits = getFilterPermits(formatFilter);
+            this.timeout = getTimeout(formatFilter);
+        }
+
+        @Override
+        public void run() {
+            try {
+                workerPermits.acquire();
+                workerPermitAcquired = true;
+                permits.acquire();
+                filterPermitAcquired = true;
+                try (InputStream srcStream = openSource()) {
+                    filter(srcStream);
+                }
+            } catch (Exception | OutOfMemoryError e) {
+                error = e;
+            } finally {
+                if (!complete(false) || shutdown) {
+                    // timed out or shut down meanwhile, nobody will read the result
+                    deleteResult();
+                }
+            }
+        }
+
+        /**
+         * Open the content of the bitstream. The Context of the worker is closed before filtering, so that a long or
+         * abandoned filter does not hold a database connection.
+         */
+        private InputStream openSource() throws Exception {
+            try (Context context = new Context(Context.Mode.READ_ONLY)) {
+                Bitstream bitstream = mediaFilterService.bitstreamService.find(context, sourceId);
+                if (bitstream == null) {
+                    throw new IOException("Bitstream " + sourceId + " not found");
+                }
+                InputStream srcStream = bitstreamStorageService.retrieve(context, bitstream);
+                if (srcStream == null) {
+                    throw new IOException("Bitstream " + sourceId + " not found in its assetstore");
+                }
+                return srcStream;
+            }
+        }
+
+        private void filter(InputStream srcStream) throws Exception {
+            Thread worker = Thread.currentThread();
+            ScheduledFuture<?> watch = timeout > 0 ? watchdog.schedule(() -> {
+                synchronized (this) {
+                    if (!filtered && complete(true)) {
+                        worker.interrupt();
+                    }
+                }
+            }, timeout, TimeUnit.SECONDS) : null;
+            try (InputStream destStream = formatFilter.getDestinationStream(itemHandle, srcStream,
+                                                                            mediaFilterService.isVerbose)) {
+                if (destStream != null) {
+                    File file = File.createTempFile("filter-media", ".tmp");
+                    result = file;
+                    Files.copy(destStream, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                synchronized (this) {
+                    filtered = true;
+                }
+                if (watch != null) {
+                    watch.cancel(false);
+                }
+            }
+        }
+
+        /**
+         * Release the permits and hand the task over to the thread storing the derivatives, once.
+         *
+         * @param timeout whether the task is completed by its timeout
+         * @return false if the task was already completed
+         */
+        private boolean complete(boolean timeout) {
+            if (!completed.compareAndSet(false, true)) {
+                return false;
+            }
+            timedOut = timeout;
+            if (filterPermitAcquired) {
+                permits.release();
+            }
+            if (workerPermitAcquired) {
+                workerPermits.release();
+            }
+            completedTasks.add(this);
+            return true;
+        }
+
+        private void deleteResult() {
+            File file = result;
+            if (file != null) {
+                try {
+                    Files.deleteIfExists(file.toPath());
+                } catch (IOException e) {
+                    log.warn("Unable to delete the filter result " + file.getAbsolutePath(), e);
+                }
+            }
+        }
+    }
+
+    private static class FilterThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        private FilterThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
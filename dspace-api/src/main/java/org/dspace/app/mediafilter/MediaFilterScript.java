@@ -57,6 +57,8 @@ public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfigura
     private boolean isForce = false; // default to not forced
     private String identifier = null; // object scope limiter
     private int max2Process = Integer.MAX_VALUE;
+    private int threads = 1;
+    private long maxSize = -1;
     private String[] filterNames;
     private String[] skipIds = null;
     private Map<String, List<String>> filterFormats = new HashMap<>();
@@ -97,6 +99,19 @@ public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfigura
             }
         }
 
+        if (commandLine.hasOption('t')) {
+            threads = Integer.parseInt(commandLine.getOptionValue('t'));
+            if (threads < 1) {
+                handler.logWarning("Invalid number of threads '" +
+                                           commandLine.getOptionValue('t') + "' - ignoring");
+                threads = 1;
+            }
+        }
+
+        if (commandLine.hasOption('z')) {
+            maxSize = Long.parseLong(commandLine.getOptionValue('z')) * 1024 * 1024;
+        }
+
         if (commandLine.hasOption('p')) {
             //specified which media filter plugins we are using
             filterNames = commandLine.getOptionValues('p');
@@ -127,6 +142,8 @@ public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfigura
         mediaFilterService.setQuiet(isQuiet);
         mediaFilterService.setVerbose(isVerbose);
         mediaFilterService.setMax2Process(max2Process);
+        mediaFilterService.setThreads(threads);
+        mediaFilterService.setMaxSize(maxSize);
 
         //initialize an array of our enabled filters
         List<FormatFilter> filterList = new ArrayList<>();
@@ -248,12 +265,16 @@ public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfigura
                         break;
                 }
             }
+            // store the derivatives of the bitstreams still being filtered in parallel
+            mediaFilterService.completeFiltering(c);
 
             c.complete();
             c = null;
         } catch (Exception e) {
             handler.handleException(e);
         } finally {
+            // stop the parallel filter workers and delete their results if the filtering failed
+            mediaFilterService.abortFiltering();
             if (c != null) {
                 c.abort();
             }
@@ -57,6 +57,9 @@ public class MediaFilterScriptConfiguration<T extends MediaFilterScript> extends
         options.getOption("f").setType(boolean.class);
         options.addOption("i", "identifier", true, "ONLY process bitstreams belonging to identifier");
         options.addOption("m", "maximum", true, "process no more than maximum items");
+        options.addOption("t", "threads", true,
+                          "number of bitstreams filtered in parallel (Default: 1, sequential filtering)");
+        options.addOption("z", "max-size", true, "SKIP the bitstreams larger than the given size in megabytes");
         options.addOption("h", "help", false, "help");
         options.getOption("h").setType(boolean.class);
 
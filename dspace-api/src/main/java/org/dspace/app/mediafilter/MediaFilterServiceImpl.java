@@ -7,13 +7,20 @@
  */
 package org.dspace.app.mediafilter;
 
+import java.io.File;
 import java.io.InputStream;
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
 
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.dspace.app.mediafilter.service.MediaFilterService;
 import org.dspace.authorize.service.AuthorizeService;
 import org.dspace.content.Bitstream;
@@ -47,6 +54,9 @@ import org.springframework.beans.factory.annotation.Autowired;
  * recreate index after processing bitstreams; -i [identifier] limits processing
  * scope to a community, collection or item; and -m [max] limits processing to a
  * maximum number of items.
+ * <p>
+ * With more than one thread, the bitstreams are filtered by a {@link MediaFilterPipeline}: this service still
+ * enumerates the bitstreams to filter and stores the derivatives, the filters run in parallel.
  */
 public class MediaFilterServiceImpl implements MediaFilterService, InitializingBean {
     @Autowired(required = true)
@@ -88,6 +98,19 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     protected boolean isQuiet = false;
     protected boolean isForce = false; // default to not forced
 
+    protected int threads = 1; // number of parallel filter workers, 1 to filter sequentially
+
+    protected long maxSize = -1; // maximum size in bytes of the bitstreams to filter, -1 for no limit
+
+    protected MediaFilterPipeline pipeline = null; // the parallel filter workers, while filtering in parallel
+
+    protected FilterTimeoutSkipList timeoutSkipList = null; // the bitstreams which repeatedly timed out
+
+    /**
+     * The number of items whose ids are loaded at once when filtering in parallel
+     */
+    private static final int ITEMS_PAGE_SIZE = 1000;
+
     protected MediaFilterServiceImpl() {
 
     }
@@ -116,7 +139,7 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
             }
         } else {
             //otherwise, just find every item and process
-            Iterator<Item> itemIterator = itemService.findAll(context);
+            Iterator<Item> itemIterator = findItems(context, null);
             while (itemIterator.hasNext() && processed < max2Process) {
                 applyFiltersItem(context, itemIterator.next());
             }
@@ -126,6 +149,8 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     @Override
     public void applyFiltersCommunity(Context context, Community community)
         throws Exception {   //only apply filters if community not in skip-list
+        // the parallel mode commits in batches, which detaches the entities loaded before
+        community = context.reloadEntity(community);
         if (!inSkipList(community.getHandle())) {
             List<Community> subcommunities = community.getSubcommunities();
             for (Community subcommunity : subcommunities) {
@@ -143,8 +168,9 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     public void applyFiltersCollection(Context context, Collection collection)
         throws Exception {
         //only apply filters if collection not in skip-list
+        collection = context.reloadEntity(collection);
         if (!inSkipList(collection.getHandle())) {
-            Iterator<Item> itemIterator = itemService.findAllByCollection(context, collection);
+            Iterator<Item> itemIterator = findItems(context, collection);
             while (itemIterator.hasNext() && processed < max2Process) {
                 applyFiltersItem(context, itemIterator.next());
             }
@@ -166,9 +192,117 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
             // clear item objects from context cache and internal cache
             c.uncacheEntity(currentItem);
             currentItem = null;
+
+            if (pipeline != null) {
+                // store the derivatives already extracted by the parallel workers, and commit them in batches
+                pipeline.checkpoint(c);
+            }
         }
     }
 
+    @Override
+    public void completeFiltering(Context context) throws Exception {
+        if (pipeline != null) {
+            try {
+                pipeline.complete(context);
+            } finally {
+                pipeline.shutdown();
+                pipeline = null;
+            }
+        }
+        TextExtractionWorkerPool workerPool = TextExtractionWorkerPool.getStartedInstance();
+        if (workerPool != null && !isQuiet) {
+            for (String line : workerPool.getReport()) {
+                logInfo("TEXT EXTRACTION: " + line);
+            }
+        }
+    }
+
+    @Override
+    public void abortFiltering() {
+        if (pipeline != null) {
+            pipeline.shutdown();
+            pipeline = null;
+        }
+    }
+
+    /**
+     * Iterate over the archived items, of the given collection if any. When filtering in parallel the derivatives
+     * are committed in batches, which would close the database cursor of the iteration: the items are then loaded
+     * by their ids, read by pages.
+     */
+    protected Iterator<Item> findItems(Context context, Collection collection) throws SQLException {
+        if (getPipeline() == null) {
+            return collection == null ? itemService.findAll(context)
+                : itemService.findAllByCollection(context, collection);
+        }
+        return new Iterator<Item>() {
+            private List<UUID> page = Collections.emptyList();
+            private int offset = 0;
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                if (index == page.size() && (offset == 0 || page.size() == ITEMS_PAGE_SIZE)) {
+                    try {
+                        Iterator<Item> items = collection == null
+                            ? itemService.findAll(context, ITEMS_PAGE_SIZE, offset)
+                            : itemService.findAllByCollection(context, context.reloadEntity(collection),
+                                                              ITEMS_PAGE_SIZE, offset);
+                        page = new ArrayList<>();
+                        while (items.hasNext()) {
+                            page.add(items.next().getID());
+                        }
+                    } catch (SQLException e) {
+                        throw new RuntimeException(e);
+                    }
+                    offset += ITEMS_PAGE_SIZE;
+                    index = 0;
+                }
+                return index < page.size();
+            }
+
+            @Override
+            public Item next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                try {
+                    return itemService.find(context, page.get(index++));
+                } catch (SQLException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * @return the parallel filter workers, started on first use, or null when filtering sequentially
+     */
+    protected MediaFilterPipeline getPipeline() {
+        if (pipeline == null && threads > 1) {
+            pipeline = new MediaFilterPipeline(this, threads);
+        }
+        return pipeline;
+    }
+
+    /**
+     * @return the list of the bitstreams which timed out too many times to be filtered again, or null if the
+     * timeouts are not recorded
+     */
+    protected synchronized FilterTimeoutSkipList getTimeoutSkipList() {
+        if (timeoutSkipList == null) {
+            String file = configurationService.getProperty("filter.timeout.skip-list",
+                configurationService.getProperty("dspace.dir") + File.separator + "var" + File.separator
+                    + "filter-media-timeouts.txt");
+            if (StringUtils.isNotBlank(file)) {
+                timeoutSkipList = new FilterTimeoutSkipList(new File(file),
+                    configurationService.getIntProperty("filter.timeout.max-attempts", 2));
+            }
+        }
+        return timeoutSkipList;
+    }
+
     @Override
     public boolean filterItem(Context context, Item myItem) throws Exception {
         // get 'original' bundles
@@ -214,30 +348,17 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
 
             if (fmts.contains(myBitstream.getFormat(context).getShortDescription())) {
                 try {
-                    // only update item if bitstream not skipped
-                    if (processBitstream(context, myItem, myBitstream, filterClass)) {
+                    if (getPipeline() != null) {
+                        // the derivative is stored once extracted by the parallel workers
+                        filtered |= pipeline.submit(context, myItem, myBitstream, filterClass);
+                    } else if (processBitstream(context, myItem, myBitstream, filterClass)) {
+                        // only update item if bitstream not skipped
                         itemService.update(context, myItem); // Make sure new bitstream has a sequence
                         // number
                         filtered = true;
                     }
                 } catch (Exception e) {
-                    String handle = myItem.getHandle();
-                    List<Bundle> bundles = myBitstream.getBundles();
-                    long size = myBitstream.getSizeBytes();
-                    String checksum = myBitstream.getChecksum() + " (" + myBitstream.getChecksumAlgorithm() + ")";
-                    int assetstore = myBitstream.getStoreNumber();
-
-                    // Printout helpful information to find the errored bitstream.
-                    StringBuilder sb = new StringBuilder("ERROR filtering, skipping bitstream:\n");
-                    sb.append("\tItem Handle: ").append(handle);
-                    for (Bundle bundle : bundles) {
-                        sb.append("\tBundle Name: ").append(bundle.getName());
-                    }
-                    sb.append("\tFile Size: ").append(size);
-                    sb.append("\tChecksum: ").append(checksum);
-                    sb.append("\tAsset Store: ").append(assetstore);
-                    logError(sb.toString());
-                    logError(e.getMessage(), e);
+                    logFilterError(myItem, myBitstream, e);
                 }
             } else if (filterClass instanceof SelfRegisterInputFormats) {
                 // Filter implements self registration, so check to see if it should be applied
@@ -283,8 +404,10 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
                 // Filter claims to handle this type of file, so attempt to apply it
                 if (applyFilter) {
                     try {
-                        // only update item if bitstream not skipped
-                        if (processBitstream(context, myItem, myBitstream, filterClass)) {
+                        if (getPipeline() != null) {
+                            filtered |= pipeline.submit(context, myItem, myBitstream, filterClass);
+                        } else if (processBitstream(context, myItem, myBitstream, filterClass)) {
+                            // only update item if bitstream not skipped
                             itemService.update(context, myItem); // Make sure new bitstream has a sequence
                             // number
                             filtered = true;
@@ -304,36 +427,74 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     public boolean processBitstream(Context context, Item item, Bitstream source, FormatFilter formatFilter)
         throws Exception {
         //do pre-processing of this bitstream, and if it fails, skip this bitstream!
-        if (!formatFilter.preProcessBitstream(context, item, source, isVerbose)) {
+        if (!isFilterNeeded(context, item, source, formatFilter)) {
             return false;
         }
 
-        boolean overWrite = isForce;
+        // start filtering of the bitstream, using try with resource to close all InputStreams properly
+        try (
+                // get the source stream
+                InputStream srcStream = bitstreamService.retrieve(context, source);
+                // filter the source stream to produce the destination stream
+                // this is the hard work, check for OutOfMemoryErrors at the end of the try clause.
+                InputStream destStream = formatFilter.getDestinationStream(item, srcStream, isVerbose);
+        ) {
+            if (destStream == null) {
+                if (!isQuiet) {
+                    logInfo("SKIPPED: bitstream " + source.getID()
+                            + " (item: " + item.getHandle() + ") because filtering was unsuccessful");
+                }
+                return false;
+            }
 
-        // get bitstream filename, calculate destination filename
-        String newName = formatFilter.getFilteredName(source.getName());
+            storeFilteredBitstream(context, item, source, formatFilter, destStream);
+        } catch (OutOfMemoryError oome) {
+            logError("!!! OutOfMemoryError !!!");
+        }
 
-        // check if destination bitstream exists
-        Bundle existingBundle = null;
-        Bitstream existingBitstream = null;
-        List<Bundle> bundles = itemService.getBundles(item, formatFilter.getBundleName());
+        return true;
+    }
 
-        if (bundles.size() > 0) {
-            // only finds the last match (FIXME?)
-            for (Bundle bundle : bundles) {
-                List<Bitstream> bitstreams = bundle.getBitstreams();
+    /**
+     * Check whether the given bitstream has to be filtered by the given filter: the pre-processing of the filter
+     * must succeed, the bitstream must not be too big or have timed out too many times, and its derivative must not
+     * exist yet unless forced.
+     *
+     * @param context      context
+     * @param item         item containing the bitstream
+     * @param source       bitstream to filter
+     * @param formatFilter filter to apply
+     * @return true if the bitstream has to be filtered
+     * @throws Exception if the pre-processing fails
+     */
+    protected boolean isFilterNeeded(Context context, Item item, Bitstream source, FormatFilter formatFilter)
+        throws Exception {
+        if (!formatFilter.preProcessBitstream(context, item, source, isVerbose)) {
+            return false;
+        }
 
-                for (Bitstream bitstream : bitstreams) {
-                    if (bitstream.getName().trim().equals(newName.trim())) {
-                        existingBundle = bundle;
-                        existingBitstream = bitstream;
-                    }
-                }
+        if (maxSize >= 0 && source.getSizeBytes() > maxSize) {
+            if (!isQuiet) {
+                logInfo("SKIPPED: bitstream " + source.getID()
+                            + " (item: " + item.getHandle() + ") because it is larger than " + maxSize + " bytes");
+            }
+            return false;
+        }
+
+        FilterTimeoutSkipList skipList = getTimeoutSkipList();
+        if (skipList != null && skipList.isSkipped(source, formatFilter)) {
+            if (!isQuiet) {
+                logInfo("SKIPPED: bitstream " + source.getID()
+                            + " (item: " + item.getHandle() + ") because its filtering timed out too many times");
             }
+            return false;
         }
 
+        // get bitstream filename, calculate destination filename
+        String newName = formatFilter.getFilteredName(source.getName());
+
         // if exists and overwrite = false, exit
-        if (!overWrite && (existingBitstream != null)) {
+        if (!isForce && findFilteredBitstream(item, formatFilter, newName) != null) {
             if (!isQuiet) {
                 logInfo("SKIPPED: bitstream " + source.getID()
                                        + " (item: " + item.getHandle() + ") because '" + newName + "' already exists");
@@ -348,78 +509,120 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         }
 
         logInfo("File: " + newName);
+        return true;
+    }
 
-        // start filtering of the bitstream, using try with resource to close all InputStreams properly
-        try (
-                // get the source stream
-                InputStream srcStream = bitstreamService.retrieve(context, source);
-                // filter the source stream to produce the destination stream
-                // this is the hard work, check for OutOfMemoryErrors at the end of the try clause.
-                InputStream destStream = formatFilter.getDestinationStream(item, srcStream, isVerbose);
-        ) {
-            if (destStream == null) {
-                if (!isQuiet) {
-                    logInfo("SKIPPED: bitstream " + source.getID()
-                            + " (item: " + item.getHandle() + ") because filtering was unsuccessful");
-                }
-                return false;
-            }
-
-            Bundle targetBundle; // bundle we're modifying
-            if (bundles.size() < 1) {
-                // create new bundle if needed
-                targetBundle = bundleService.create(context, item, formatFilter.getBundleName());
-            } else {
-                // take the first match as we already looked out for the correct bundle name
-                targetBundle = bundles.get(0);
-            }
+    /**
+     * Store the result of the filtering of a bitstream as a new bitstream of the item, replacing the previous one
+     * with the same name if any.
+     *
+     * @param context      context
+     * @param item         item containing the bitstream
+     * @param source       filtered bitstream
+     * @param formatFilter filter applied
+     * @param destStream   result of the filtering
+     * @throws Exception if error
+     */
+    protected void storeFilteredBitstream(Context context, Item item, Bitstream source, FormatFilter formatFilter,
+                                          InputStream destStream) throws Exception {
+        String newName = formatFilter.getFilteredName(source.getName());
 
-            // create bitstream to store the filter result
-            Bitstream b = bitstreamService.create(context, targetBundle, destStream);
-            // set the name, source and description of the bitstream
-            b.setName(context, newName);
-            b.setSource(context, "Written by FormatFilter " + formatFilter.getClass().getName() +
-                    " on " + DCDate.getCurrent() + " (GMT).");
-            b.setDescription(context, formatFilter.getDescription());
-            // Set the format of the bitstream
-            BitstreamFormat bf = bitstreamFormatService.findByShortDescription(context,
-                    formatFilter.getFormatString());
-            bitstreamService.setFormat(context, b, bf);
-            bitstreamService.update(context, b);
-
-            //Set permissions on the derivative bitstream
-            //- First remove any existing policies
-            authorizeService.removeAllPolicies(context, b);
-
-            //- Determine if this is a public-derivative format
-            if (publicFiltersClasses.contains(formatFilter.getClass().getSimpleName())) {
-                //- Set derivative bitstream to be publicly accessible
-                Group anonymous = groupService.findByName(context, Group.ANONYMOUS);
-                authorizeService.addPolicy(context, b, Constants.READ, anonymous);
-            } else {
-                //- Inherit policies from the source bitstream
-                authorizeService.inheritPolicies(context, source, b);
-            }
+        // check if destination bitstream exists
+        Pair<Bundle, Bitstream> existing = findFilteredBitstream(item, formatFilter, newName);
+        List<Bundle> bundles = itemService.getBundles(item, formatFilter.getBundleName());
 
-            //do post-processing of the generated bitstream
-            formatFilter.postProcessBitstream(context, item, b);
+        Bundle targetBundle; // bundle we're modifying
+        if (bundles.size() < 1) {
+            // create new bundle if needed
+            targetBundle = bundleService.create(context, item, formatFilter.getBundleName());
+        } else {
+            // take the first match as we already looked out for the correct bundle name
+            targetBundle = bundles.get(0);
+        }
 
-        } catch (OutOfMemoryError oome) {
-            logError("!!! OutOfMemoryError !!!");
+        // create bitstream to store the filter result
+        Bitstream b = bitstreamService.create(context, targetBundle, destStream);
+        // set the name, source and description of the bitstream
+        b.setName(context, newName);
+        b.setSource(context, "Written by FormatFilter " + formatFilter.getClass().getName() +
+                " on " + DCDate.getCurrent() + " (GMT).");
+        b.setDescription(context, formatFilter.getDescription());
+        // Set the format of the bitstream
+        BitstreamFormat bf = bitstreamFormatService.findByShortDescription(context,
+                formatFilter.getFormatString());
+        bitstreamService.setFormat(context, b, bf);
+        bitstreamService.update(context, b);
+
+        //Set permissions on the derivative bitstream
+        //- First remove any existing policies
+        authorizeService.removeAllPolicies(context, b);
+
+        //- Determine if this is a public-derivative format
+        if (publicFiltersClasses.contains(formatFilter.getClass().getSimpleName())) {
+            //- Set derivative bitstream to be publicly accessible
+            Group anonymous = groupService.findByName(context, Group.ANONYMOUS);
+            authorizeService.addPolicy(context, b, Constants.READ, anonymous);
+        } else {
+            //- Inherit policies from the source bitstream
+            authorizeService.inheritPolicies(context, source, b);
         }
 
+        //do post-processing of the generated bitstream
+        formatFilter.postProcessBitstream(context, item, b);
+
         // fixme - set date?
         // we are overwriting, so remove old bitstream
-        if (existingBitstream != null) {
-            bundleService.removeBitstream(context, existingBundle, existingBitstream);
+        if (existing != null) {
+            bundleService.removeBitstream(context, existing.getLeft(), existing.getRight());
         }
 
         if (!isQuiet) {
             logInfo("FILTERED: bitstream " + source.getID()
                                    + " (item: " + item.getHandle() + ") and created '" + newName + "'");
         }
+    }
 
-        return true;
+    /**
+     * @return the bundle and the derivative with the given name produced by the given filter, or null if none
+     */
+    private Pair<Bundle, Bitstream> findFilteredBitstream(Item item, FormatFilter formatFilter, String newName) {
+        Pair<Bundle, Bitstream> existing = null;
+        // only finds the last match (FIXME?)
+        for (Bundle bundle : itemService.getBundles(item, formatFilter.getBundleName())) {
+            for (Bitstream bitstream : bundle.getBitstreams()) {
+                if (bitstream.getName().trim().equals(newName.trim())) {
+                    existing = Pair.of(bundle, bitstream);
+                }
+            }
+        }
+        return existing;
+    }
+
+    /**
+     * Log the details of a bitstream whose filtering failed.
+     */
+    protected void logFilterError(Item item, Bitstream bitstream, Throwable e) {
+        String handle = item.getHandle();
+        List<Bundle> bundles = bitstream.getBundles();
+        long size = bitstream.getSizeBytes();
+        String checksum = bitstream.getChecksum() + " (" + bitstream.getChecksumAlgorithm() + ")";
+        int assetstore = bitstream.getStoreNumber();
+
+        // Printout helpful information to find the errored bitstream.
+        StringBuilder sb = new StringBuilder("ERROR filtering, skipping bitstream:\n");
+        sb.append("\tItem Handle: ").append(handle);
+        for (Bundle bundle : bundles) {
+            sb.append("\tBundle Name: ").append(bundle.getName());
+        }
+        sb.append("\tFile Size: ").append(size);
+        sb.append("\tChecksum: ").append(checksum);
+        sb.append("\tAsset Store: ").append(assetstore);
+        logError(sb.toString());
+        if (e instanceof Exception) {
+            logError(e.getMessage(), (Exception) e);
+        } else {
+            logError(e.getClass().getName() + ": " + e.getMessage());
+        }
     }
 
     @Override
@@ -439,21 +642,21 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         }
     }
 
-    private void logInfo(String message) {
+    protected void logInfo(String message) {
         if (handler != null) {
             handler.logInfo(message);
         } else {
             System.out.println(message);
         }
     }
-    private void logError(String message) {
+    protected void logError(String message) {
         if (handler != null) {
             handler.logError(message);
         } else {
             System.out.println(message);
         }
     }
-    private void logError(String message, Exception e) {
+    protected void logError(String message, Exception e) {
         if (handler != null) {
             handler.logError(message, e);
         } else {
@@ -496,6 +699,20 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         this.filterFormats = filterFormats;
     }
 
+    @Override
+    public void setThreads(int threads) {
+        // left over by a failed run
+        abortFiltering();
+        // read the skip list again on the next run, it may have been edited meanwhile
+        timeoutSkipList = null;
+        this.threads = threads;
+    }
+
+    @Override
+    public void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
     @Override
     public void setLogHandler(DSpaceRunnableHandler handler) {
         this.handler = handler;
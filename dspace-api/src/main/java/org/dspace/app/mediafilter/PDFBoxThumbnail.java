@@ -67,6 +67,19 @@ public class PDFBoxThumbnail extends MediaFilter {
      */
     @Override
     public InputStream getDestinationStream(Item currentItem, InputStream source, boolean verbose)
+        throws Exception {
+        return getDestinationStream(currentItem != null ? currentItem.getHandle() : null, source, verbose);
+    }
+
+    /**
+     * @param itemHandle handle of the item
+     * @param source     source input stream
+     * @param verbose    verbose mode
+     * @return InputStream the resulting input stream
+     * @throws Exception if error
+     */
+    @Override
+    public InputStream getDestinationStream(String itemHandle, InputStream source, boolean verbose)
         throws Exception {
         BufferedImage buf;
 
@@ -75,12 +88,12 @@ public class PDFBoxThumbnail extends MediaFilter {
             PDFRenderer renderer = new PDFRenderer(doc);
             buf = renderer.renderImage(0);
         } catch (InvalidPasswordException ex) {
-            log.error("PDF is encrypted. Cannot create thumbnail (item: {})", currentItem::getHandle);
+            log.error("PDF is encrypted. Cannot create thumbnail (item: {})", itemHandle);
             return null;
         }
 
         // Generate thumbnail derivative and return as IO stream.
         JPEGFilter jpegFilter = new JPEGFilter();
-        return jpegFilter.getThumb(currentItem, buf, verbose);
+        return jpegFilter.getThumb(itemHandle, buf, verbose);
     }
 }
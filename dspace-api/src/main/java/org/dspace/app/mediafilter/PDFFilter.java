@@ -12,6 +12,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
@@ -73,16 +74,34 @@ public class PDFFilter extends MediaFilter {
     @Override
     public InputStream getDestinationStream(Item currentItem, InputStream source, boolean verbose)
         throws Exception {
+        return getDestinationStream(currentItem != null ? currentItem.getHandle() : null, source, verbose);
+    }
+
+    /**
+     * @param itemHandle handle of the item
+     * @param source     source input stream
+     * @param verbose    verbose mode
+     * @return InputStream the resulting input stream
+     * @throws Exception if error
+     */
+    @Override
+    public InputStream getDestinationStream(String itemHandle, InputStream source, boolean verbose)
+        throws Exception {
+        TextExtractionWorkerPool workerPool = TextExtractionWorkerPool.getInstance();
+        if (workerPool != null) {
+            // out of process: a document exhausting the memory of its worker is reported as an IOException
+            InputStream text = workerPool.extract(TextExtractionWorker.PDF, source);
+            if (text == null) {
+                log.error("PDF is encrypted. Cannot extract text (item: {})", itemHandle);
+            }
+            return text;
+        }
+
         ConfigurationService configurationService
                 = DSpaceServicesFactory.getInstance().getConfigurationService();
         try {
             boolean useTemporaryFile = configurationService.getBooleanProperty("pdffilter.largepdfs", false);
 
-            // get input stream from bitstream
-            // pass to filter, get string back
-            PDFTextStripper pts = new PDFTextStripper();
-            pts.setSortByPosition(true);
-            PDDocument pdfDoc = null;
             Writer writer = null;
             File tempTextFile = null;
             ByteArrayOutputStream byteStream = null;
@@ -97,21 +116,11 @@ public class PDFFilter extends MediaFilter {
             }
 
             try {
-                pdfDoc = PDDocument.load(source);
-                pts.writeText(pdfDoc, writer);
-            } catch (InvalidPasswordException ex) {
-                log.error("PDF is encrypted. Cannot extract text (item: {})",
-                    () -> currentItem.getHandle());
-                return null;
-            } finally {
-                try {
-                    if (pdfDoc != null) {
-                        pdfDoc.close();
-                    }
-                } catch (Exception e) {
-                    log.error("Error closing PDF file: " + e.getMessage(), e);
+                if (!extractText(source, writer)) {
+                    log.error("PDF is encrypted. Cannot extract text (item: {})", itemHandle);
+                    return null;
                 }
-
+            } finally {
                 try {
                     writer.close();
                 } catch (Exception e) {
@@ -134,4 +143,35 @@ public class PDFFilter extends MediaFilter {
 
         return null;
     }
+
+    /**
+     * Extract the text of a PDF document. Used in the JVM of the filters, and by the {@link TextExtractionWorker}.
+     *
+     * @param source the PDF document
+     * @param writer the writer of the text
+     * @return false if the document is encrypted
+     * @throws IOException if the document cannot be parsed
+     */
+    static boolean extractText(InputStream source, Writer writer) throws IOException {
+        // get input stream from bitstream
+        // pass to filter, get string back
+        PDFTextStripper pts = new PDFTextStripper();
+        pts.setSortByPosition(true);
+        PDDocument pdfDoc = null;
+        try {
+            pdfDoc = PDDocument.load(source);
+            pts.writeText(pdfDoc, writer);
+            return true;
+        } catch (InvalidPasswordException ex) {
+            return false;
+        } finally {
+            try {
+                if (pdfDoc != null) {
+                    pdfDoc.close();
+                }
+            } catch (Exception e) {
+                log.error("Error closing PDF file: " + e.getMessage(), e);
+            }
+        }
+    }
 }
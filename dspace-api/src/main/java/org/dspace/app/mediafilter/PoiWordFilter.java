@@ -50,11 +50,15 @@ public class PoiWordFilter
     @Override
     public InputStream getDestinationStream(Item currentItem, InputStream source, boolean verbose)
         throws Exception {
+        TextExtractionWorkerPool workerPool = TextExtractionWorkerPool.getInstance();
+        if (workerPool != null) {
+            // out of process, the text is not printed in verbose mode
+            return workerPool.extract(TextExtractionWorker.WORD, source);
+        }
+
         String text;
         try {
-            // get input stream from bitstream, pass to filter, get string back
-            POITextExtractor extractor = ExtractorFactory.createExtractor(source);
-            text = extractor.getText();
+            text = extractText(source);
         } catch (IOException | OpenXML4JException | XmlException e) {
             System.err.format("Invalid File Format:  %s%n", e.getMessage());
             LOG.error("Unable to parse the bitstream:  ", e);
@@ -69,4 +73,19 @@ public class PoiWordFilter
         // return the extracted text as a stream.
         return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
     }
+
+    /**
+     * Extract the text of a Word document. Used in the JVM of the filters, and by the {@link TextExtractionWorker}.
+     *
+     * @param source the Word document
+     * @return the text
+     * @throws IOException        if the document cannot be read
+     * @throws OpenXML4JException if the document cannot be parsed
+     * @throws XmlException       if the document cannot be parsed
+     */
+    static String extractText(InputStream source) throws IOException, OpenXML4JException, XmlException {
+        // get input stream from bitstream, pass to filter, get string back
+        POITextExtractor extractor = ExtractorFactory.createExtractor(source);
+        return extractor.getText();
+    }
 }
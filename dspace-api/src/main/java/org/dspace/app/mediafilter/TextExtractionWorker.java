@@ -0,0 +1,104 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.mediafilter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Main class of the child JVMs started by the {@link TextExtractionWorkerPool}.
+ * <p>
+ * The worker reads one request per line on its standard input: the name of the extractor, the file to extract the
+ * text from and the file to write the (UTF-8) text to, separated by tabs. It answers each request by a line on its
+ * standard output: {@link #OK}, {@link #NONE} when the document has no text to extract (e.g. an encrypted PDF), or
+ * {@link #ERROR} followed by the error message. Anything else the libraries print goes to the standard error.
+ * <p>
+ * The worker does not start the DSpace kernel: the extractors only depend on their parsing libraries.
+ */
+public class TextExtractionWorker {
+
+    /**
+     * Extractor of {@link PDFFilter}
+     */
+    public static final String PDF = "PDFFilter";
+
+    /**
+     * Extractor of {@link PoiWordFilter}
+     */
+    public static final String WORD = "PoiWordFilter";
+
+    public static final String OK = "OK";
+
+    public static final String NONE = "NONE";
+
+    public static final String ERROR = "ERROR";
+
+    public static final String SEPARATOR = "\t";
+
+    /**
+     * Default constructor
+     */
+    private TextExtractionWorker() { }
+
+    public static void main(String[] args) throws IOException {
+        // keep the standard output for the responses
+        PrintStream responses = new PrintStream(System.out, true, StandardCharsets.UTF_8.name());
+        System.setOut(System.err);
+
+        BufferedReader requests = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        String request;
+        // the parent closes the standard input, or dies, to stop the worker
+        while ((request = requests.readLine()) != null) {
+            String[] fields = request.split(SEPARATOR);
+            String response;
+            try {
+                if (fields.length != 3) {
+                    throw new IllegalArgumentException("Invalid request: " + request);
+                }
+                response = extract(fields[0], new File(fields[1]), new File(fields[2])) ? OK : NONE;
+            } catch (Exception e) {
+                response = ERROR + " " + (e.getClass().getName() + ": " + e.getMessage()).replaceAll("\\s+", " ");
+            }
+            responses.println(response);
+        }
+    }
+
+    /**
+     * Extract the text of a document.
+     *
+     * @param extractor the name of the extractor
+     * @param input     the document
+     * @param output    the file to write the text to
+     * @return false if the document has no text to extract
+     * @throws Exception if the document cannot be parsed
+     */
+    static boolean extract(String extractor, File input, File output) throws Exception {
+        try (InputStream source = new BufferedInputStream(new FileInputStream(input));
+             Writer writer = new OutputStreamWriter(new FileOutputStream(output), StandardCharsets.UTF_8)) {
+            switch (extractor) {
+                case PDF:
+                    return PDFFilter.extractText(source, writer);
+                case WORD:
+                    writer.write(PoiWordFilter.extractText(source));
+                    return true;
+                default:
+                    throw new IllegalArgumentException("Unknown extractor: " + extractor);
+            }
+        }
+    }
+}
@@ -0,0 +1,411 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.mediafilter;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.instrumentation.MetricsRegistry;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+
+/**
+ * Pool of child JVMs extracting the text of the documents for the text extraction filters, so that a document
+ * exhausting the memory or looping forever in its parser only kills its worker instead of the whole filter-media
+ * run (or the web application).
+ * <p>
+ * Each worker is a {@link TextExtractionWorker} started with its own maximum heap, and exiting on an
+ * OutOfMemoryError. The documents are handed over through temporary files, and the text read back from them. A
+ * worker that crashes, or exceeds the time allowed for a document, is killed and restarted for the next document.
+ * The throughput and the failures of each extractor are reported by {@link #getReport()}, and recorded in the
+ * {@link MetricsRegistry} along with the time spent waiting for a worker.
+ */
+public class TextExtractionWorkerPool {
+
+    private static final Logger log = LogManager.getLogger(TextExtractionWorkerPool.class);
+
+    /**
+     * Response queued when the output of a worker ends, i.e. when the worker has died
+     */
+    private static final String EOF = "\u0000EOF";
+
+    private static TextExtractionWorkerPool instance;
+
+    private final List<String> command;
+
+    private final long timeout;
+
+    private final BlockingQueue<Worker> idleWorkers = new LinkedBlockingQueue<>();
+
+    private final List<Worker> allWorkers = new ArrayList<>();
+
+    private final Map<String, ExtractionStatistics> statistics = new ConcurrentSkipListMap<>();
+
+    /**
+     * @param command the command starting a worker
+     * @param workers the number of workers, i.e. of documents extracted at once
+     * @param timeout the number of seconds after which the extraction of a document is aborted, 0 for no limit
+     */
+    public TextExtractionWorkerPool(List<String> command, int workers, long timeout) {
+        this.command = command;
+        this.timeout = timeout;
+        for (int i = 0; i < workers; i++) {
+            // started on their first document
+            Worker worker = new Worker();
+            allWorkers.add(worker);
+            idleWorkers.add(worker);
+        }
+    }
+
+    /**
+     * Get the pool of workers configured by <code>filter.text-extraction.*</code>, started on the first call.
+     *
+     * @return the pool, or null if the text is extracted in the JVM of the filters
+     * @throws IllegalStateException if the classpath of the workers isn't configured and [dspace]/lib doesn't exist
+     */
+    public static synchronized TextExtractionWorkerPool getInstance() {
+        if (instance == null) {
+            ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+            int workers = configurationService.getIntProperty("filter.text-extraction.workers", 0);
+            if (workers <= 0) {
+                return null;
+            }
+            instance = new TextExtractionWorkerPool(buildCommand(
+                configurationService.getProperty("filter.text-extraction.java",
+                    System.getProperty("java.home") + File.separator + "bin" + File.separator + "java"),
+                configurationService.getProperty("filter.text-extraction.max-heap", "512m"),
+                getClasspath(configurationService),
+                configurationService.getArrayProperty("filter.text-extraction.jvm-options")),
+                workers, configurationService.getLongProperty("filter.text-extraction.timeout", 300));
+            Runtime.getRuntime().addShutdownHook(new Thread(instance::shutdown, "text-extraction-shutdown"));
+        }
+        return instance;
+    }
+
+    /**
+     * @return the pool if it has already been started by a filter, without starting it
+     */
+    public static synchronized TextExtractionWorkerPool getStartedInstance() {
+        return instance;
+    }
+
+    /**
+     * Get the classpath of the workers, [dspace]/lib/* by default. The classpath of the running JVM can't be used:
+     * in a servlet container it doesn't include the DSpace API and the parsing libraries.
+     */
+    private static String getClasspath(ConfigurationService configurationService) {
+        String classpath = configurationService.getProperty("filter.text-extraction.classpath");
+        if (StringUtils.isNotBlank(classpath)) {
+            return classpath;
+        }
+        File lib = new File(configurationService.getProperty("dspace.dir"), "lib");
+        if (!lib.isDirectory()) {
+            throw new IllegalStateException("The classpath of the text extraction workers can't be defaulted to "
+                + lib.getAbsolutePath() + ", which doesn't exist: set filter.text-extraction.classpath");
+        }
+        return lib.getAbsolutePath() + File.separator + "*";
+    }
+
+    /**
+     * Build the command starting a worker.
+     *
+     * @param java       the java executable
+     * @param maxHeap    the maximum heap of the worker, as given to -Xmx
+     * @param classpath  the classpath of the worker, including the DSpace API and the parsing libraries
+     * @param jvmOptions additional options of the JVM
+     * @return the command
+     */
+    public static List<String> buildCommand(String java, String maxHeap, String classpath, String... jvmOptions) {
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.add("-Xmx" + maxHeap);
+        command.add("-XX:+ExitOnOutOfMemoryError");
+        command.add("-Djava.awt.headless=true");
+        if (jvmOptions != null) {
+            command.addAll(Arrays.asList(jvmOptions));
+        }
+        command.add("-cp");
+        command.add(classpath);
+        command.add(TextExtractionWorker.class.getName());
+        return command;
+    }
+
+    /**
+     * Extract the text of a document in a worker. Waits for a worker to be available.
+     *
+     * @param extractor the name of the extractor, see {@link TextExtractionWorker}
+     * @param source    the document, not closed
+     * @return the (UTF-8) text, deleted once the stream is closed, or null if the document has no text to extract
+     * @throws IOException if the document cannot be parsed, or its extraction crashed or timed out
+     */
+    public InputStream extract(String extractor, InputStream source) throws IOException {
+        ExtractionStatistics stats = statistics.computeIfAbsent(extractor, ExtractionStatistics::new);
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        // only the time spent by a worker on the document is extraction time
+        long start = 0;
+        boolean started = false;
+        String outcome = "error";
+        File input = File.createTempFile("text-extraction", ".tmp");
+        File output = File.createTempFile("text-extraction", ".txt");
+        boolean extracted = false;
+        try {
+            long size = Files.copy(source, input.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            long waitStart = System.nanoTime();
+            Worker worker = takeWorker();
+            start = System.nanoTime();
+            started = true;
+            metrics.recordDuration(start - waitStart, "dspace.mediafilter.extraction.wait", "extractor", extractor);
+            String response;
+            int exitValue = -1;
+            try {
+                response = worker.execute(extractor + TextExtractionWorker.SEPARATOR + input.getAbsolutePath()
+                                              + TextExtractionWorker.SEPARATOR + output.getAbsolutePath());
+                if (response == null || EOF.equals(response)) {
+                    // killed before being given back, restarted for the next document
+                    exitValue = worker.stop();
+                }
+            } catch (InterruptedException e) {
+                // e.g. by the timeout of the media filter pipeline: the worker is still busy with the document
+                worker.stop();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Text extraction by " + extractor + " interrupted");
+            } finally {
+                idleWorkers.add(worker);
+            }
+
+            if (response == null) {
+                outcome = "timeout";
+                stats.timeouts.incrementAndGet();
+                throw new IOException("Text extraction by " + extractor + " timed out after " + timeout + " seconds");
+            } else if (EOF.equals(response)) {
+                outcome = "crash";
+                stats.crashes.incrementAndGet();
+                throw new IOException("Text extraction worker of " + extractor + " crashed with exit code "
+                                          + exitValue + ", e.g. out of memory");
+            } else if (response.startsWith(TextExtractionWorker.ERROR)) {
+                stats.failures.incrementAndGet();
+                throw new IOException(StringUtils.removeStart(response, TextExtractionWorker.ERROR).trim());
+            }
+
+            stats.documents.incrementAndGet();
+            stats.bytes.addAndGet(size);
+            if (TextExtractionWorker.NONE.equals(response)) {
+                outcome = "none";
+                return null;
+            }
+            outcome = "success";
+            extracted = true;
+            return new TemporaryFileInputStream(output);
+        } finally {
+            if (started) {
+                long nanos = System.nanoTime() - start;
+                stats.nanos.addAndGet(nanos);
+                metrics.recordDuration(nanos, "dspace.mediafilter.extraction", "extractor", extractor,
+                                       "outcome", outcome);
+            }
+            Files.deleteIfExists(input.toPath());
+            if (!extracted) {
+                Files.deleteIfExists(output.toPath());
+            }
+        }
+    }
+
+    /**
+     * @return a line for each extractor, with the number of documents it extracted, its throughput and failures
+     */
+    public List<String> getReport() {
+        List<String> report = new ArrayList<>();
+        for (ExtractionStatistics stats : statistics.values()) {
+            double seconds = stats.nanos.get() / 1e9;
+            double megabytes = stats.bytes.get() / (1024.0 * 1024.0);
+            report.add(String.format("%s: %d documents (%.1f MB) extracted in %.1f s of extraction time "
+                                         + "(%.2f documents/s, %.2f MB/s), %d failures, %d timeouts, "
+                                         + "%d worker crashes",
+                                     stats.extractor, stats.documents.get(), megabytes, seconds,
+                                     seconds > 0 ? stats.documents.get() / seconds : 0,
+                                     seconds > 0 ? megabytes / seconds : 0,
+                                     stats.failures.get(), stats.timeouts.get(), stats.crashes.get()));
+        }
+        return report;
+    }
+
+    /**
+     * Stop the workers. The workers busy with a document are killed.
+     */
+    public void shutdown() {
+        for (Worker worker : allWorkers) {
+            worker.stop();
+        }
+    }
+
+    private Worker takeWorker() throws InterruptedIOException {
+        try {
+            return idleWorkers.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a text extraction worker");
+        }
+    }
+
+    /**
+     * A child JVM, used by one thread at a time.
+     */
+    private class Worker {
+
+        private volatile Process process;
+
+        private Writer requests;
+
+        private BlockingQueue<String> responses;
+
+        private boolean started;
+
+        /**
+         * Send a request to the worker, (re)starting it if needed, and wait for the response.
+         *
+         * @return the response, {@link #EOF} if the worker died, or null on timeout
+         */
+        private synchronized String execute(String request) throws IOException, InterruptedException {
+            if (process == null || !process.isAlive()) {
+                stop();
+                start();
+            }
+            try {
+                requests.write(request + "\n");
+                requests.flush();
+            } catch (IOException e) {
+                // the worker died, the output holds the end of the stream
+                log.debug("Unable to send the request to the text extraction worker", e);
+            }
+            return timeout > 0 ? responses.poll(timeout, TimeUnit.SECONDS) : responses.take();
+        }
+
+        private void start() throws IOException {
+            if (started) {
+                MetricsRegistry.getInstance().increment("dspace.mediafilter.extraction.restarts");
+                log.info("Restarting a text extraction worker");
+            }
+            started = true;
+            ProcessBuilder builder = new ProcessBuilder(command);
+            builder.redirectError(ProcessBuilder.Redirect.INHERIT);
+            Process child = builder.start();
+            BlockingQueue<String> queue = new LinkedBlockingQueue<>();
+            // a reader by process, so that the responses of a killed worker are never read for the next one
+            Thread reader = new Thread(() -> {
+                try (BufferedReader output = new BufferedReader(
+                    new InputStreamReader(child.getInputStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = output.readLine()) != null) {
+                        queue.add(line);
+                    }
+                } catch (IOException e) {
+                    log.debug("Unable to read the output of the text extraction worker", e);
+                } finally {
+                    queue.add(EOF);
+                }
+            }, "text-extraction-worker-reader");
+            reader.setDaemon(true);
+            reader.start();
+            process = child;
+            requests = new BufferedWriter(new OutputStreamWriter(child.getOutputStream(), StandardCharsets.UTF_8));
+            responses = queue;
+        }
+
+        /**
+         * Kill the worker, if started.
+         *
+         * @return the exit value of the worker, -1 if unknown
+         */
+        private int stop() {
+            Process stopped = process;
+            if (stopped == null) {
+                return -1;
+            }
+            process = null;
+            stopped.destroyForcibly();
+            try {
+                if (stopped.waitFor(10, TimeUnit.SECONDS)) {
+                    return stopped.exitValue();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * The counters of an extractor.
+     */
+    private static class ExtractionStatistics {
+
+        private final String extractor;
+
+        private final AtomicLong documents = new AtomicLong();
+
+        private final AtomicLong bytes = new AtomicLong();
+
+        private final AtomicLong nanos = new AtomicLong();
+
+        private final AtomicLong failures = new AtomicLong();
+
+        private final AtomicLong timeouts = new AtomicLong();
+
+        private final AtomicLong crashes = new AtomicLong();
+
+        private ExtractionStatistics(String extractor) {
+            this.extractor = extractor;
+        }
+    }
+
+    /**
+     * Stream on a temporary file, deleting the file once closed.
+     */
+    private static class TemporaryFileInputStream extends FilterInputStream {
+
+        private final File file;
+
+        private TemporaryFileInputStream(File file) throws IOException {
+            super(new FileInputStream(file));
+            this.file = file;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                Files.deleteIfExists(file.toPath());
+            }
+        }
+    }
+}
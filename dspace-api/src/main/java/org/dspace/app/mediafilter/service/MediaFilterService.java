@@ -44,6 +44,22 @@ public interface MediaFilterService {
 
     public void applyFiltersItem(Context c, Item item) throws Exception;
 
+    /**
+     * Wait for the bitstreams still being filtered in parallel and store their derivatives, then report the
+     * statistics of the text extraction workers, if any. Must be called once the filters have been applied.
+     *
+     * @param context context
+     * @throws Exception if error
+     */
+    public void completeFiltering(Context context) throws Exception;
+
+    /**
+     * Stop the bitstreams still being filtered in parallel without storing their derivatives, and delete their
+     * temporary results. Does nothing once {@link #completeFiltering(Context)} has returned, so it can be called in
+     * a finally block.
+     */
+    public void abortFiltering();
+
 
     /**
      * Iterate through the item's bitstreams in the ORIGINAL bundle, applying
@@ -120,6 +136,20 @@ public interface MediaFilterService {
 
     public void setMax2Process(int max2Process);
 
+    /**
+     * Set the number of bitstreams filtered in parallel, 1 (the default) to filter them sequentially.
+     *
+     * @param threads the number of parallel filter workers
+     */
+    public void setThreads(int threads);
+
+    /**
+     * Set the maximum size of the bitstreams to filter, the bigger ones are skipped.
+     *
+     * @param maxSize the maximum size in bytes, -1 for no limit
+     */
+    public void setMaxSize(long maxSize);
+
     public void setFilterClasses(List<FormatFilter> filterClasses);
 
     public void setSkipList(List<String> skipList);
@@ -10,10 +10,12 @@ package org.dspace.app.nbevent;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.json.JsonMapper;
@@ -40,6 +42,9 @@ public class NBEventsRunnable extends DSpaceRunnable<NBEventsScriptConfiguration
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NBEventsRunnable.class);
 
+    /** Interval between progress reports, in milliseconds. */
+    private static final long PROGRESS_INTERVAL = 30 * 1000;
+
     protected NBEventService nbEventService;
 
     protected String[] topicsToImport;
@@ -48,10 +53,22 @@ public class NBEventsRunnable extends DSpaceRunnable<NBEventsScriptConfiguration
 
     protected String fileLocation;
 
-    protected List<NBEvent> entries;
+    protected int batchSize;
 
     protected Context context;
 
+    private long startTime;
+
+    private long lastProgressReport;
+
+    private long read = 0;
+
+    private long stored = 0;
+
+    private long skippedTopics = 0;
+
+    private long failed = 0;
+
     @Override
     @SuppressWarnings({ "rawtypes" })
     public NBEventsScriptConfiguration getScriptConfiguration() {
@@ -76,6 +93,8 @@ public class NBEventsRunnable extends DSpaceRunnable<NBEventsScriptConfiguration
 
         topicsToImport = configurationService.getArrayProperty("oaire-nbevents.import.topic");
 
+        batchSize = configurationService.getIntProperty("oaire-nbevents.import.batch-size", 1000);
+
         fileLocation = commandLine.getOptionValue("f");
 
     }
@@ -88,29 +107,68 @@ public class NBEventsRunnable extends DSpaceRunnable<NBEventsScriptConfiguration
         }
 
         context = new Context();
+        startTime = System.currentTimeMillis();
+        lastProgressReport = startTime;
 
         ObjectMapper jsonMapper = new JsonMapper();
         jsonMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        try {
-            this.entries = jsonMapper.readValue(getNBEventsInputStream(), new TypeReference<List<NBEvent>>() {
-            });
+
+        // the dump can hold millions of events: walk the array one event at a time, storing them in batches
+        try (InputStream inputStream = getNBEventsInputStream();
+             JsonParser parser = jsonMapper.getFactory().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("The file " + fileLocation + " is not a JSON array of events");
+            }
+            List<NBEvent> batch = new ArrayList<>(batchSize);
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                NBEvent entry = jsonMapper.readValue(parser, NBEvent.class);
+                read++;
+                if (!StringUtils.equalsAny(entry.getTopic(), topicsToImport)) {
+                    LOGGER.debug("Skip event for topic " + entry.getTopic()
+                        + " is not allowed in the oaire-nbevents.cfg");
+                    skippedTopics++;
+                    continue;
+                }
+                batch.add(entry);
+                if (batch.size() >= batchSize) {
+                    storeBatch(batch);
+                }
+            }
+            storeBatch(batch);
         } catch (IOException e) {
             LOGGER.error("File is not found or not readable: " + fileLocation);
             throw new RuntimeException(e);
         }
 
-        for (NBEvent entry : entries) {
-            if (!StringUtils.equalsAny(entry.getTopic(), topicsToImport)) {
-                LOGGER.info("Skip event for topic " + entry.getTopic() + " is not allowed in the oaire-nbevents.cfg");
-                continue;
-            }
-            try {
-                nbEventService.store(context, entry);
-            } catch (RuntimeException e) {
-                LOGGER.info("Skip event for originalId " + entry.getOriginalId() + ": " + e.getMessage());
-            }
+        nbEventService.commit();
+        logProgress("Import completed");
+    }
+
+    private void storeBatch(List<NBEvent> batch) {
+        if (batch.isEmpty()) {
+            return;
         }
+        try {
+            stored += nbEventService.store(context, batch);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Skip " + batch.size() + " events: " + e.getMessage(), e);
+            failed += batch.size();
+        }
+        batch.clear();
+
+        long now = System.currentTimeMillis();
+        if (now - lastProgressReport >= PROGRESS_INTERVAL) {
+            lastProgressReport = now;
+            logProgress("Import in progress");
+        }
+    }
 
+    private void logProgress(String message) {
+        double seconds = Math.max(1, System.currentTimeMillis() - startTime) / 1000d;
+        long skipped = read - stored - skippedTopics - failed;
+        handler.logInfo(String.format("%s: %d events read (%.1f events/s), %d stored, %d skipped as already "
+            + "processed or not related to an item, %d skipped for their topic, %d failed",
+            message, read, read / seconds, stored, skipped, skippedTopics, failed));
     }
 
     /**
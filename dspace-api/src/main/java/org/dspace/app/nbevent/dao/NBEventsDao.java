@@ -8,6 +8,7 @@
 package org.dspace.app.nbevent.dao;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 
 import org.dspace.content.Item;
@@ -31,6 +32,16 @@ public interface NBEventsDao {
 
     public boolean isEventStored(Context c, String checksum) throws SQLException;
 
+    /**
+     * Find which of the given notification broker events have already been stored.
+     *
+     * @param c         the DSpace context
+     * @param checksums the ids of the events
+     * @return the ids of the stored events
+     * @throws SQLException if a database error occurs
+     */
+    public List<String> findStoredEventIds(Context c, Collection<String> checksums) throws SQLException;
+
     boolean storeEvent(Context c, String checksum, EPerson eperson, Item item);
 
 }
@@ -8,10 +8,13 @@
 package org.dspace.app.nbevent.dao.impl;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import javax.persistence.Query;
 
+import org.apache.commons.collections4.ListUtils;
 import org.dspace.app.nbevent.dao.NBEventsDao;
 import org.dspace.content.Item;
 import org.dspace.content.NBEventProcessed;
@@ -21,6 +24,8 @@ import org.dspace.eperson.EPerson;
 
 public class NBEventsDaoImpl extends AbstractHibernateDAO<NBEventProcessed> implements NBEventsDao {
 
+    private static final int MAX_VALUES_PER_QUERY = 1000;
+
     @Override
     public boolean storeEvent(Context context, String checksum, EPerson eperson, Item item) {
         NBEventProcessed nbEvent = new NBEventProcessed();
@@ -44,6 +49,23 @@ public class NBEventsDaoImpl extends AbstractHibernateDAO<NBEventProcessed> impl
         return count(query) != 0;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> findStoredEventIds(Context context, Collection<String> checksums) throws SQLException {
+        if (checksums.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<String> storedEventIds = new ArrayList<>();
+        // split the checksums to stay within the limit of values of an IN clause (e.g. 1000 on Oracle)
+        for (List<String> partition : ListUtils.partition(new ArrayList<>(checksums), MAX_VALUES_PER_QUERY)) {
+            Query query = createQuery(context,
+                    "SELECT nbevent.eventId FROM NBEventProcessed nbevent WHERE nbevent.eventId IN (:event_ids) ");
+            query.setParameter("event_ids", partition);
+            storedEventIds.addAll(query.getResultList());
+        }
+        return storedEventIds;
+    }
+
     @Override
     public List<NBEventProcessed> searchByEventId(Context context, String eventId, Integer start, Integer size)
             throws SQLException {
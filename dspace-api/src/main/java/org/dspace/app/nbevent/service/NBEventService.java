@@ -32,6 +32,22 @@ public interface NBEventService {
 
     public void store(Context context, NBEvent event);
 
+    /**
+     * Store a batch of events. The events already processed, and those whose original id doesn't resolve to an
+     * item, are skipped. The target items of the whole batch are resolved with a single query, and the events
+     * are sent to the index without committing it: call {@link #commit()} once all the batches are stored.
+     *
+     * @param context the DSpace context
+     * @param events  the events to store
+     * @return the number of events stored
+     */
+    public int store(Context context, List<NBEvent> events);
+
+    /**
+     * Commit the events stored in batches, making them visible to searches.
+     */
+    public void commit();
+
     public void deleteEventByEventId(Context context, String id);
 
     public void deleteEventsByTargetId(Context context, UUID targetId);
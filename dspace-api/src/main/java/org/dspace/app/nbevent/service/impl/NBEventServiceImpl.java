@@ -8,9 +8,14 @@
 package org.dspace.app.nbevent.service.impl;
 
 import java.io.IOException;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
@@ -32,6 +37,7 @@ import org.apache.solr.common.SolrInputDocument;
 import org.dspace.app.nbevent.NBTopic;
 import org.dspace.app.nbevent.dao.impl.NBEventsDaoImpl;
 import org.dspace.app.nbevent.service.NBEventService;
+import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
 import org.dspace.content.NBEvent;
 import org.dspace.content.service.ItemService;
@@ -83,7 +89,7 @@ public class NBEventServiceImpl implements NBEventService {
         if (solr == null) {
             String solrService = DSpaceServicesFactory.getInstance().getConfigurationService()
                     .getProperty("oaire-nbevents.solr.server", "http://localhost:8983/solr/nbevent");
-            return new HttpSolrClient.Builder(solrService).build();
+            solr = new HttpSolrClient.Builder(solrService).build();
         }
         return solr;
     }
@@ -211,23 +217,13 @@ public class NBEventServiceImpl implements NBEventService {
             String checksum = dto.getEventId();
             try {
                 if (!nbEventsDao.isEventStored(context, checksum)) {
-                    SolrInputDocument doc = new SolrInputDocument();
-                    doc.addField(EVENT_ID, checksum);
-                    doc.addField(ORIGINAL_ID, dto.getOriginalId());
-                    doc.addField(TITLE, dto.getTitle());
-                    doc.addField(TOPIC, topic);
-                    doc.addField(TRUST, dto.getTrust());
-                    doc.addField(MESSAGE, dto.getMessage());
-                    doc.addField(LAST_UPDATE, new Date());
                     final String resourceUUID = getResourceUUID(context, dto.getOriginalId());
                     if (resourceUUID == null) {
                         log.warn("Skipped event " + checksum + " related to the oai record " + dto.getOriginalId()
                                 + " as the record was not found");
                         return;
                     }
-                    doc.addField(RESOURCE_UUID, resourceUUID);
-                    doc.addField(RELATED_UUID, dto.getRelated());
-                    updateRequest.add(doc);
+                    updateRequest.add(toSolrDocument(dto, resourceUUID));
                     updateRequest.process(getSolr());
                     getSolr().commit();
                 }
@@ -237,6 +233,73 @@ public class NBEventServiceImpl implements NBEventService {
         }
     }
 
+    @Override
+    public int store(Context context, List<NBEvent> events) {
+        Map<String, NBEvent> eventsById = new LinkedHashMap<>();
+        for (NBEvent event : events) {
+            if (event.getTopic() != null) {
+                eventsById.put(event.getEventId(), event);
+            }
+        }
+        try {
+            nbEventsDao.findStoredEventIds(context, eventsById.keySet()).forEach(eventsById::remove);
+
+            Set<String> handles = new HashSet<>();
+            for (NBEvent event : eventsById.values()) {
+                String handle = getHandleFromOriginalId(event.getOriginalId());
+                if (handle != null) {
+                    handles.add(handle);
+                }
+            }
+            Map<String, DSpaceObject> targets = handleService.resolveToObjects(context, handles);
+
+            List<SolrInputDocument> docs = new ArrayList<>();
+            for (NBEvent event : eventsById.values()) {
+                String handle = getHandleFromOriginalId(event.getOriginalId());
+                DSpaceObject target = handle != null ? targets.get(handle) : null;
+                if (target instanceof Item) {
+                    docs.add(toSolrDocument(event, target.getID().toString()));
+                } else {
+                    log.warn("Skipped event " + event.getEventId() + " related to the oai record "
+                            + event.getOriginalId() + " as the record was not found");
+                }
+            }
+            for (DSpaceObject target : targets.values()) {
+                context.uncacheEntity(target);
+            }
+
+            if (!docs.isEmpty()) {
+                getSolr().add(docs);
+            }
+            return docs.size();
+        } catch (SQLException | SolrServerException | IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void commit() {
+        try {
+            getSolr().commit();
+        } catch (SolrServerException | IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private SolrInputDocument toSolrDocument(NBEvent dto, String resourceUUID) {
+        SolrInputDocument doc = new SolrInputDocument();
+        doc.addField(EVENT_ID, dto.getEventId());
+        doc.addField(ORIGINAL_ID, dto.getOriginalId());
+        doc.addField(TITLE, dto.getTitle());
+        doc.addField(TOPIC, dto.getTopic());
+        doc.addField(TRUST, dto.getTrust());
+        doc.addField(MESSAGE, dto.getMessage());
+        doc.addField(LAST_UPDATE, new Date());
+        doc.addField(RESOURCE_UUID, resourceUUID);
+        doc.addField(RELATED_UUID, dto.getRelated());
+        return doc;
+    }
+
     @Override
     public NBEvent findEventByEventId(Context context, String eventId) {
         SolrQuery param = new SolrQuery(EVENT_ID + ":" + eventId);
@@ -329,6 +392,9 @@ public class NBEventServiceImpl implements NBEventService {
 
     // oai:www.openstarts.units.it:10077/21486
     private String getHandleFromOriginalId(String originalId) {
+        if (originalId == null) {
+            return null;
+        }
         Integer startPosition = originalId.lastIndexOf(':');
         if (startPosition != -1) {
             return originalId.substring(startPosition + 1, originalId.length());
@@ -84,4 +84,17 @@ public class OrcidQueueDAOImpl extends AbstractHibernateDAO<OrcidQueue> implemen
         return query.getResultList();
     }
 
+    @Override
+    public List<OrcidQueue> findByAttemptsLessThan(Context context, Integer attempts, int afterId, int limit)
+        throws SQLException {
+        String attemptsCondition = attempts != null ? " AND (attempts IS NULL OR attempts < :attempts)" : "";
+        Query query = createQuery(context, "FROM OrcidQueue WHERE id > :afterId" + attemptsCondition + " ORDER BY id");
+        query.setParameter("afterId", afterId);
+        if (attempts != null) {
+            query.setParameter("attempts", attempts);
+        }
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+
 }
@@ -12,13 +12,21 @@ import static org.dspace.app.profile.OrcidSynchronizationMode.MANUAL;
 import static org.dspace.util.ExceptionMessageUtils.getRootMessage;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
-
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.PersistenceException;
+
+import com.google.common.util.concurrent.RateLimiter;
 import org.apache.commons.cli.ParseException;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.dspace.app.orcid.OrcidHistory;
 import org.dspace.app.orcid.OrcidQueue;
 import org.dspace.app.orcid.exception.OrcidValidationException;
@@ -60,10 +68,14 @@ public class OrcidBulkPush extends DSpaceRunnable<OrcidBulkPushScriptConfigurati
 
     private Context context;
 
-    private Map<Item, OrcidSynchronizationMode> synchronizationModeByOwner = new HashMap<>();
+    private Map<UUID, OrcidSynchronizationMode> synchronizationModeByOwner = new HashMap<>();
 
     private boolean ignoreMaxAttempts = false;
 
+    private RateLimiter rateLimiter;
+
+    private int commitBatchSize;
+
     @Override
     public void setup() throws ParseException {
         OrcidServiceFactory orcidServiceFactory = OrcidServiceFactory.getInstance();
@@ -98,65 +110,302 @@ public class OrcidBulkPush extends DSpaceRunnable<OrcidBulkPushScriptConfigurati
 
     private void performBulkSynchronization() throws SQLException {
 
-        List<OrcidQueue> queueRecords = findQueueRecordsToSynchronize();
-        handler.logInfo("Found " + queueRecords.size() + " queue records to synchronize with ORCID");
-
-        for (OrcidQueue queueRecord : queueRecords) {
-            performSynchronization(queueRecord);
+        int threads = configurationService.getIntProperty("orcid.bulk-synchronization.threads", 1);
+        int pageSize = configurationService.getIntProperty("orcid.bulk-synchronization.page-size", 500);
+        int maxRequestsPerSecond = configurationService
+            .getIntProperty("orcid.bulk-synchronization.max-requests-per-second", 0);
+        rateLimiter = maxRequestsPerSecond > 0 ? RateLimiter.create(maxRequestsPerSecond) : null;
+        commitBatchSize = Math.max(configurationService.getIntProperty("orcid.bulk-synchronization.commit-batch-size",
+            1), 1);
+
+        List<OwnerPartitionWorker> workers = new ArrayList<>();
+        ExecutorService executor = null;
+        if (threads > 1) {
+            executor = Executors.newFixedThreadPool(threads, new BasicThreadFactory.Builder()
+                .namingPattern("orcid-bulk-push-%d")
+                .daemon(true)
+                .build());
+            for (int i = 0; i < threads; i++) {
+                OwnerPartitionWorker worker = new OwnerPartitionWorker(pageSize);
+                workers.add(worker);
+                executor.execute(worker);
+            }
         }
 
-    }
+        int found = 0;
+        try {
+            OwnerPartitionWorker sequentialWorker = new OwnerPartitionWorker(context);
+            int lastId = 0;
+            List<OrcidQueue> page = findQueueRecords(lastId, pageSize);
+            while (!page.isEmpty()) {
+                // the page is read and dispatched before the records are synchronized in the current context
+                List<Integer> recordIds = new ArrayList<>();
+                List<OwnerPartitionWorker> recordWorkers = new ArrayList<>();
+                for (OrcidQueue queueRecord : page) {
+                    lastId = queueRecord.getID();
+                    Item owner = queueRecord.getOwner();
+                    if (getOwnerSynchronizationMode(owner) == BATCH) {
+                        recordIds.add(queueRecord.getID());
+                        // all the records of the same owner are synchronized in order by the same worker
+                        recordWorkers.add(workers.isEmpty() ? sequentialWorker
+                            : workers.get(Math.floorMod(owner.getID().hashCode(), workers.size())));
+                    }
+                    context.uncacheEntity(queueRecord);
+                }
+                for (int i = 0; i < recordIds.size(); i++) {
+                    recordWorkers.get(i).submit(recordIds.get(i));
+                }
+                found += recordIds.size();
+                page = findQueueRecords(lastId, pageSize);
+            }
+            sequentialWorker.commitPendingRecords();
+        } finally {
+            logInfo("Found " + found + " queue records to synchronize with ORCID");
+            if (executor != null) {
+                workers.forEach(OwnerPartitionWorker::stop);
+                executor.shutdown();
+                awaitTermination(executor);
+            }
+        }
 
-    private List<OrcidQueue> findQueueRecordsToSynchronize() throws SQLException {
-        return findQueueRecords().stream()
-            .filter(record -> getOwnerSynchronizationMode(record.getOwner()) == BATCH)
-            .collect(Collectors.toList());
     }
 
-    private List<OrcidQueue> findQueueRecords() throws SQLException {
+    private List<OrcidQueue> findQueueRecords(int lastId, int pageSize) throws SQLException {
         if (ignoreMaxAttempts) {
-            return orcidQueueService.findAll(context);
+            return orcidQueueService.findByAttemptsLessThan(context, null, lastId, pageSize);
         } else {
             int attempts = configurationService.getIntProperty("orcid.bulk-synchronization.max-attempts");
-            return orcidQueueService.findByAttemptsLessThan(context, attempts);
+            return orcidQueueService.findByAttemptsLessThan(context, attempts, lastId, pageSize);
         }
     }
 
-    private void performSynchronization(OrcidQueue queueRecord) {
-
+    private void awaitTermination(ExecutorService executor) {
         try {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                LOGGER.info("Waiting for the ORCID bulk synchronization workers to complete");
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private OrcidSynchronizationMode getOwnerSynchronizationMode(Item owner) {
+        OrcidSynchronizationMode synchronizationMode = synchronizationModeByOwner.get(owner.getID());
+        if (synchronizationMode == null) {
+            synchronizationMode = orcidSynchronizationService.getSynchronizationMode(owner).orElse(MANUAL);
+            synchronizationModeByOwner.put(owner.getID(), synchronizationMode);
+        }
+        return synchronizationMode;
+    }
 
-            queueRecord = reload(queueRecord);
+    /**
+     * Worker synchronizing in order the queue records of a partition of the
+     * owners. A concurrent worker runs in its own thread with its own context,
+     * the sequential one uses the context of the script. A concurrent worker
+     * failing on a record stops synchronizing and only drains the records
+     * dispatched to it, which are left to the next run.
+     */
+    private class OwnerPartitionWorker implements Runnable {
 
-            handler.logInfo(getOperationInfoMessage(queueRecord));
+        private static final int STOP = -1;
 
-            OrcidHistory orcidHistory = orcidHistoryService.synchronizeWithOrcid(context, queueRecord, false);
+        private final BlockingQueue<Integer> recordIds;
 
-            handler.logInfo(getSynchronizationResultMessage(orcidHistory));
+        private Context workerContext;
 
-            commitTransaction();
+        private int pendingRecords;
+
+        OwnerPartitionWorker(int capacity) {
+            this.recordIds = new ArrayBlockingQueue<>(Math.max(capacity, 1));
+        }
+
+        OwnerPartitionWorker(Context context) {
+            this.recordIds = null;
+            this.workerContext = context;
+        }
+
+        void submit(Integer recordId) {
+            if (recordIds == null) {
+                performSynchronization(recordId);
+                return;
+            }
+            try {
+                recordIds.put(recordId);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted dispatching the ORCID queue record " + recordId, e);
+            }
+        }
+
+        void stop() {
+            submit(STOP);
+        }
+
+        @Override
+        public void run() {
+            Context threadContext = null;
+            try {
+                threadContext = createWorkerContext();
+                workerContext = threadContext;
+            } catch (Exception ex) {
+                LOGGER.error("Unable to start the ORCID bulk synchronization worker", ex);
+                logError(getUnexpectedErrorMessage(ex));
+            }
+            try {
+                Integer recordId;
+                while ((recordId = recordIds.take()) != STOP) {
+                    // once the worker failed, the records are only drained so the dispatch never blocks
+                    if (workerContext != null) {
+                        processRecord(recordId);
+                    }
+                }
+                if (workerContext != null) {
+                    commitPendingRecords();
+                    workerContext.complete();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception ex) {
+                LOGGER.error("Unexpected error completing the ORCID bulk synchronization worker", ex);
+                logError(getUnexpectedErrorMessage(ex));
+            } finally {
+                if (threadContext != null && threadContext.isValid()) {
+                    threadContext.abort();
+                }
+            }
+        }
+
+        private void processRecord(Integer recordId) {
+            try {
+                performSynchronization(recordId);
+            } catch (RuntimeException ex) {
+                // the context of the worker can't be trusted anymore: its remaining records are left to the next run
+                LOGGER.error("Unexpected error synchronizing the ORCID queue record " + recordId, ex);
+                logError(getUnexpectedErrorMessage(ex));
+                workerContext.abort();
+                workerContext = null;
+            }
+        }
+
+        private Context createWorkerContext() throws SQLException {
+            Context threadContext = new Context();
+            if (context.getCurrentUser() != null) {
+                threadContext.setCurrentUser(EPersonServiceFactory.getInstance().getEPersonService()
+                    .find(threadContext, context.getCurrentUser().getID()));
+            }
+            for (UUID uuid : handler.getSpecialGroups()) {
+                threadContext.setSpecialGroup(uuid);
+            }
+            threadContext.turnOffAuthorisationSystem();
+            return threadContext;
+        }
+
+        private void performSynchronization(Integer recordId) {
+
+            OrcidQueue queueRecord = find(recordId);
+            if (queueRecord == null) {
+                return;
+            }
+
+            boolean sent = false;
+            try {
+
+                logInfo(getOperationInfoMessage(queueRecord));
+
+                if (rateLimiter != null) {
+                    rateLimiter.acquire();
+                }
+
+                OrcidHistory orcidHistory = orcidHistoryService.synchronizeWithOrcid(workerContext, queueRecord,
+                    false);
+                sent = true;
+
+                logInfo(getSynchronizationResultMessage(orcidHistory));
+
+            } catch (OrcidValidationException ex) {
+                logError(getValidationErrorMessage(ex));
+            } catch (SQLException | PersistenceException ex) {
+                // the transaction can't be trusted anymore: the records sent to ORCID are already committed,
+                // only the attempts of the not committed records are lost
+                rollbackTransaction();
+                String errorMessage = getUnexpectedErrorMessage(ex);
+                LOGGER.error(errorMessage, ex);
+                logError(errorMessage);
+            } catch (Exception ex) {
+                String errorMessage = getUnexpectedErrorMessage(ex);
+                LOGGER.error(errorMessage, ex);
+                logError(errorMessage);
+            } finally {
+                incrementAttempts(recordId, sent);
+            }
 
-        } catch (OrcidValidationException ex) {
-            rollbackTransaction();
-            handler.logError(getValidationErrorMessage(ex));
-        } catch (Exception ex) {
-            rollbackTransaction();
-            String errorMessage = getUnexpectedErrorMessage(ex);
-            LOGGER.error(errorMessage, ex);
-            handler.logError(errorMessage);
-        } finally {
-            incrementAttempts(queueRecord);
+        }
+
+        /**
+         * Increment the attempts of the record, if still queued. The history of a
+         * record sent to ORCID is committed at once, so that a later rollback
+         * never causes the record to be sent again; only the attempts of the
+         * records not sent are committed by batches.
+         */
+        private void incrementAttempts(Integer recordId, boolean sent) {
+            // the record is not found if it has been removed by a successful synchronization
+            OrcidQueue queueRecord = find(recordId);
+            if (queueRecord != null) {
+                try {
+                    queueRecord.setAttempts(queueRecord.getAttempts() != null ? queueRecord.getAttempts() + 1 : 1);
+                    orcidQueueService.update(workerContext, queueRecord);
+                } catch (SQLException e) {
+                    throw new SQLRuntimeException(e);
+                }
+            }
+
+            if (++pendingRecords >= commitBatchSize || sent) {
+                commitPendingRecords();
+            }
+        }
+
+        private void commitPendingRecords() {
+            if (pendingRecords == 0) {
+                return;
+            }
+            try {
+                workerContext.commit();
+                pendingRecords = 0;
+            } catch (SQLException e) {
+                throw new SQLRuntimeException(e);
+            }
+        }
+
+        private OrcidQueue find(Integer recordId) {
+            try {
+                return orcidQueueService.find(workerContext, recordId);
+            } catch (SQLException e) {
+                throw new SQLRuntimeException(e);
+            }
+        }
+
+        private void rollbackTransaction() {
+            try {
+                workerContext.rollback();
+                pendingRecords = 0;
+            } catch (SQLException e) {
+                throw new SQLRuntimeException(e);
+            }
         }
 
     }
 
-    private OrcidSynchronizationMode getOwnerSynchronizationMode(Item owner) {
-        OrcidSynchronizationMode synchronizationMode = synchronizationModeByOwner.get(owner);
-        if (synchronizationMode == null) {
-            synchronizationMode = orcidSynchronizationService.getSynchronizationMode(owner).orElse(MANUAL);
-            synchronizationModeByOwner.put(owner, synchronizationMode);
+    private void logInfo(String message) {
+        synchronized (handler) {
+            handler.logInfo(message);
+        }
+    }
+
+    private void logError(String message) {
+        synchronized (handler) {
+            handler.logError(message);
         }
-        return synchronizationMode;
     }
 
     private String getOperationInfoMessage(OrcidQueue record) {
@@ -217,22 +466,6 @@ public class OrcidBulkPush extends DSpaceRunnable<OrcidBulkPushScriptConfigurati
         return "An unexpected error occurs during the synchronization: " + getRootMessage(ex);
     }
 
-    private void incrementAttempts(OrcidQueue queueRecord) {
-        queueRecord = reload(queueRecord);
-        if (queueRecord == null) {
-            return;
-        }
-
-        try {
-            queueRecord.setAttempts(queueRecord.getAttempts() != null ? queueRecord.getAttempts() + 1 : 1);
-            orcidQueueService.update(context, queueRecord);
-            commitTransaction();
-        } catch (SQLException e) {
-            throw new SQLRuntimeException(e);
-        }
-
-    }
-
     private void assignCurrentUserInContext() throws SQLException {
         UUID uuid = getEpersonIdentifier();
         if (uuid != null) {
@@ -247,30 +480,6 @@ public class OrcidBulkPush extends DSpaceRunnable<OrcidBulkPushScriptConfigurati
         }
     }
 
-    private OrcidQueue reload(OrcidQueue queueRecord) {
-        try {
-            return context.reloadEntity(queueRecord);
-        } catch (SQLException e) {
-            throw new SQLRuntimeException(e);
-        }
-    }
-
-    private void commitTransaction() {
-        try {
-            context.commit();
-        } catch (SQLException e) {
-            throw new SQLRuntimeException(e);
-        }
-    }
-
-    private void rollbackTransaction() {
-        try {
-            context.rollback();
-        } catch (SQLException e) {
-            throw new SQLRuntimeException(e);
-        }
-    }
-
     @Override
     @SuppressWarnings("unchecked")
     public OrcidBulkPushScriptConfiguration<OrcidBulkPush> getScriptConfiguration() {
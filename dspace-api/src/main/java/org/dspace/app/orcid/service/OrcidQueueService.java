@@ -173,6 +173,24 @@ public interface OrcidQueueService {
      */
     public List<OrcidQueue> findByAttemptsLessThan(Context context, int attempts) throws SQLException;
 
+    /**
+     * Get a page of the OrcidQueue records with attempts less than the given
+     * attempts, ordered by id. The records after the last record of a page are
+     * found passing its id as afterId, so that the pages aren't affected by the
+     * records removed meanwhile.
+     *
+     * @param  context      DSpace context object
+     * @param  attempts     the maximum value of attempts, null to find the
+     *                      records regardless of their attempts
+     * @param  afterId      the id of the last record of the previous page, 0 for
+     *                      the first page
+     * @param  limit        the maximum number of records to find
+     * @return              the found OrcidQueue records
+     * @throws SQLException if database error
+     */
+    public List<OrcidQueue> findByAttemptsLessThan(Context context, Integer attempts, int afterId, int limit)
+        throws SQLException;
+
     /**
      * Returns the number of records on the OrcidQueue associated with the given
      * ownerId.
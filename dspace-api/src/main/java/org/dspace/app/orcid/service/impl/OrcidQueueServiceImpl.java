@@ -179,6 +179,12 @@ public class OrcidQueueServiceImpl implements OrcidQueueService {
         return orcidQueueDAO.findByAttemptsLessThan(context, attempts);
     }
 
+    @Override
+    public List<OrcidQueue> findByAttemptsLessThan(Context context, Integer attempts, int afterId, int limit)
+        throws SQLException {
+        return orcidQueueDAO.findByAttemptsLessThan(context, attempts, afterId, limit);
+    }
+
     @Override
     public void delete(Context context, OrcidQueue orcidQueue) throws SQLException {
         orcidQueueDAO.delete(context, orcidQueue);
@@ -17,10 +17,8 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLEncoder;
 import java.sql.SQLException;
-import java.util.Date;
-import java.util.Iterator;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
@@ -28,29 +26,21 @@ import org.apache.commons.cli.DefaultParser;
 import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
-import org.dspace.app.customurl.CustomUrlService;
 import org.dspace.content.Collection;
 import org.dspace.content.Community;
-import org.dspace.content.Item;
 import org.dspace.content.factory.ContentServiceFactory;
 import org.dspace.content.service.CollectionService;
 import org.dspace.content.service.CommunityService;
-import org.dspace.content.service.ItemService;
 import org.dspace.core.Context;
 import org.dspace.core.LogHelper;
-import org.dspace.discovery.DiscoverQuery;
-import org.dspace.discovery.DiscoverResult;
 import org.dspace.discovery.SearchService;
-import org.dspace.discovery.SearchServiceException;
 import org.dspace.discovery.SearchUtils;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
-import org.dspace.utils.DSpace;
 
 /**
  * Command-line utility for generating HTML and Sitemaps.org protocol Sitemaps.
@@ -67,13 +57,10 @@ public class GenerateSitemaps {
     private static final CommunityService communityService = ContentServiceFactory.getInstance().getCommunityService();
     private static final CollectionService collectionService =
         ContentServiceFactory.getInstance().getCollectionService();
-    private static final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
     private static final ConfigurationService configurationService =
         DSpaceServicesFactory.getInstance().getConfigurationService();
     private static final SearchService searchService = SearchUtils.getSearchService();
 
-    private static final CustomUrlService customUrlService = new DSpace().getSingletonService(CustomUrlService.class);
-
     /**
      * Default constructor
      */
@@ -100,6 +87,8 @@ public class GenerateSitemaps {
         options
             .addOption("d", "delete", false,
                 "delete sitemaps dir and its contents");
+        options.addOption("i", "incremental", false,
+                          "only rewrite the sitemaps.org sitemaps containing items changed since the last run");
 
         CommandLine line = null;
 
@@ -135,7 +124,7 @@ public class GenerateSitemaps {
 
         // Note the negation (CLI options indicate NOT to generate a sitemap)
         if (!line.hasOption('b') || !line.hasOption('s')) {
-            generateSitemaps(!line.hasOption('b'), !line.hasOption('s'));
+            generateSitemaps(!line.hasOption('b'), !line.hasOption('s'), line.hasOption('i'));
         }
 
         if (line.hasOption('d')) {
@@ -166,7 +155,7 @@ public class GenerateSitemaps {
      * @throws IOException  if IO error occurs.
      */
     public static void generateSitemapsScheduled() throws IOException, SQLException {
-        generateSitemaps(true, true);
+        generateSitemaps(true, true, configurationService.getBooleanProperty("sitemap.incremental", false));
     }
 
     /**
@@ -193,6 +182,23 @@ public class GenerateSitemaps {
      *                      if IO error occurs.
      */
     public static void generateSitemaps(boolean makeHTMLMap, boolean makeSitemapOrg) throws SQLException, IOException {
+        generateSitemaps(makeHTMLMap, makeSitemapOrg, false);
+    }
+
+    /**
+     * Generate sitemap.org protocol and/or basic HTML sitemaps.
+     *
+     * @param makeHTMLMap    if {@code true}, generate an HTML sitemap.
+     * @param makeSitemapOrg if {@code true}, generate an sitemap.org sitemap.
+     * @param incremental    if {@code true}, only rewrite the sitemap.org shards changed since the last run; the
+     *                       HTML sitemap is always fully generated.
+     * @throws SQLException if database error
+     *                      if a database error occurs.
+     * @throws IOException  if IO error
+     *                      if IO error occurs.
+     */
+    public static void generateSitemaps(boolean makeHTMLMap, boolean makeSitemapOrg, boolean incremental)
+        throws SQLException, IOException {
         String uiURLStem = configurationService.getProperty("dspace.ui.url");
         String sitemapStem = uiURLStem + "/sitemap";
 
@@ -202,18 +208,15 @@ public class GenerateSitemaps {
         }
 
         AbstractGenerator html = null;
-        AbstractGenerator sitemapsOrg = null;
 
         if (makeHTMLMap) {
             html = new HTMLSitemapGenerator(outputDir, sitemapStem, ".html");
         }
 
-        if (makeSitemapOrg) {
-            sitemapsOrg = new SitemapsOrgGenerator(outputDir, sitemapStem, ".xml");
-        }
-
         Context c = new Context(Context.Mode.READ_ONLY);
 
+        List<String> structureURLs = new ArrayList<>();
+
         List<Community> comms = communityService.findAll(c);
 
         for (Community comm : comms) {
@@ -222,9 +225,7 @@ public class GenerateSitemaps {
             if (makeHTMLMap) {
                 html.addURL(url, null);
             }
-            if (makeSitemapOrg) {
-                sitemapsOrg.addURL(url, null);
-            }
+            structureURLs.add(url);
 
             c.uncacheEntity(comm);
         }
@@ -237,85 +238,42 @@ public class GenerateSitemaps {
             if (makeHTMLMap) {
                 html.addURL(url, null);
             }
-            if (makeSitemapOrg) {
-                sitemapsOrg.addURL(url, null);
-            }
+            structureURLs.add(url);
 
             c.uncacheEntity(coll);
         }
 
-        Iterator<Item> allItems = itemService.findAll(c);
-        int itemCount = 0;
-
-        while (allItems.hasNext()) {
-            Item i = allItems.next();
+        // the items are read from the Discovery index, without loading them from the database
+        SitemapItemReader itemReader = new SitemapItemReader(searchService.getSolrSearchCore(),
+            configurationService.getIntProperty("sitemap.batch-size", 10000));
 
-            Optional<String> customUrl = customUrlService.getCustomUrl(i);
-            if (customUrl.isPresent()) {
-
-                String url = uiURLStem + "/entities/" + StringUtils.lowerCase(itemService.getEntityType(i))
-                    + "/" + customUrl.get();
-
-                if (makeHTMLMap) {
-                    html.addURL(url, null);
-                }
-                if (makeSitemapOrg) {
-                    sitemapsOrg.addURL(url, null);
-                }
-
-            }
-
-            DiscoverQuery entityQuery = new DiscoverQuery();
-            entityQuery.setQuery("search.uniqueid:\"Item-" + i.getID() + "\" and entityType:*");
-            entityQuery.addSearchField("entityType");
-
-            try {
-                DiscoverResult discoverResult = searchService.search(c, entityQuery);
-
-                String url;
-                if (CollectionUtils.isNotEmpty(discoverResult.getIndexableObjects())
-                    && CollectionUtils.isNotEmpty(discoverResult.getSearchDocument(
-                        discoverResult.getIndexableObjects().get(0)).get(0).getSearchFieldValues("entityType"))
-                    && StringUtils.isNotBlank(discoverResult.getSearchDocument(
-                        discoverResult.getIndexableObjects().get(0)).get(0).getSearchFieldValues("entityType").get(0))
-                ) {
-                    url = uiURLStem + "/entities/" + StringUtils.lowerCase(discoverResult.getSearchDocument(
-                            discoverResult.getIndexableObjects().get(0))
-                        .get(0).getSearchFieldValues("entityType").get(0)) + "/" + i.getID();
-                } else {
-                    url = uiURLStem + "/items/" + i.getID();
-                }
-                Date lastMod = i.getLastModified();
-
-                if (makeHTMLMap) {
-                    html.addURL(url, lastMod);
-                }
-                if (makeSitemapOrg) {
-                    sitemapsOrg.addURL(url, lastMod);
+        if (makeHTMLMap) {
+            int[] itemCount = { 0 };
+            AbstractGenerator htmlGenerator = html;
+            itemReader.read(null, item -> {
+                for (String url : item.getURLs(uiURLStem)) {
+                    htmlGenerator.addURL(url, item.getLastModified());
                 }
-            } catch (SearchServiceException e) {
-                log.error("Failed getting entitytype through solr for item " + i.getID() + ": " + e.getMessage());
-            }
-
-            c.uncacheEntity(i);
+                itemCount[0]++;
+            });
 
-            itemCount++;
-        }
-
-        if (makeHTMLMap) {
             int files = html.finish();
             log.info(LogHelper.getHeader(c, "write_sitemap",
                                           "type=html,num_files=" + files + ",communities="
                                               + comms.size() + ",collections=" + colls.size()
-                                              + ",items=" + itemCount));
+                                              + ",items=" + itemCount[0]));
         }
 
         if (makeSitemapOrg) {
-            int files = sitemapsOrg.finish();
+            ShardedSitemapGenerator sitemapsOrg = new ShardedSitemapGenerator(outputDir, uiURLStem, itemReader,
+                configurationService.getBooleanProperty("sitemap.compress", true),
+                configurationService.getIntProperty("sitemap.shard.items", 20000),
+                configurationService.getLongProperty("sitemap.incremental.overlap", 3600) * 1000);
+            int files = sitemapsOrg.generate(structureURLs, incremental);
             log.info(LogHelper.getHeader(c, "write_sitemap",
-                                          "type=html,num_files=" + files + ",communities="
+                                          "type=sitemaps.org,num_files=" + files + ",communities="
                                               + comms.size() + ",collections=" + colls.size()
-                                              + ",items=" + itemCount));
+                                              + ",incremental=" + incremental));
         }
 
         c.abort();
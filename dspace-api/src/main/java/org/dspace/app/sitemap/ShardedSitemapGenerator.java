@@ -0,0 +1,355 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.sitemap;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.text.StringEscapeUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.util.SolrUtils;
+
+/**
+ * Generator of <a href="http://sitemaps.org/">Sitemaps</a> reading the items from the Discovery index, see
+ * {@link SitemapItemReader}.
+ * <p>
+ * The items are split in shards by ranges of their UUIDs, so that each item always belongs to the same shard as long
+ * as the number of shards does not change. Each shard is written to its own sitemap file, optionally compressed with
+ * gzip, listing at most 50000 URLs with the last modification date of each item. The communities and the collections
+ * are written to a separate sitemap file.
+ * <p>
+ * The state of the last run (the number of shards, the number of items and the last modification date of each shard)
+ * is saved in the output directory: an incremental run only rewrites the shards whose number of items changed or
+ * containing items modified since the last run. A full run is performed instead if there is no previous state, if the
+ * output settings changed or if a shard grew over the maximum number of items.
+ */
+public class ShardedSitemapGenerator {
+
+    private static final Logger log = LogManager.getLogger(ShardedSitemapGenerator.class);
+
+    public static final String INDEX_FILENAME = "sitemap_index.xml";
+
+    public static final String STATE_FILENAME = "sitemap_shards.properties";
+
+    private static final String STRUCTURE_FILENAME = "sitemap_structure";
+
+    private static final Pattern SHARD_FILENAME = Pattern.compile("sitemap(\\d+)\\.xml(\\.gz)?");
+
+    /**
+     * The maximum number of URLs of a sitemap file, according to the sitemaps.org protocol.
+     */
+    private static final int MAX_URLS = 50000;
+
+    /**
+     * Each item is listed with its UUID URL and, if any, with its custom URL.
+     */
+    private static final int MAX_URLS_PER_ITEM = 2;
+
+    private static final int MAX_ITEMS_PER_SHARD = MAX_URLS / MAX_URLS_PER_ITEM;
+
+    private static final BigInteger UUID_RANGE = BigInteger.ONE.shiftLeft(128);
+
+    private static final DateTimeFormatter W3C_DATETIME = DateTimeFormatter.ISO_INSTANT;
+
+    private final File outputDir;
+
+    private final String uiURLStem;
+
+    private final SitemapItemReader itemReader;
+
+    private final boolean compress;
+
+    private final int itemsPerShard;
+
+    private final long overlapMillis;
+
+    /**
+     * @param outputDir     the directory to write the sitemap files to
+     * @param uiURLStem     the base URL of the user interface
+     * @param itemReader    the reader of the items from the Discovery index
+     * @param compress      whether to compress the sitemap files with gzip
+     * @param itemsPerShard the target number of items of each shard in a full run
+     * @param overlapMillis the time subtracted from the start of the last run when looking for the modified items,
+     *                      to account for the items indexed after they were modified
+     */
+    public ShardedSitemapGenerator(File outputDir, String uiURLStem, SitemapItemReader itemReader, boolean compress,
+                                   int itemsPerShard, long overlapMillis) {
+        this.outputDir = outputDir;
+        this.uiURLStem = uiURLStem;
+        this.itemReader = itemReader;
+        this.compress = compress;
+        this.itemsPerShard = Math.max(1, Math.min(itemsPerShard, MAX_ITEMS_PER_SHARD));
+        this.overlapMillis = overlapMillis;
+    }
+
+    /**
+     * Write the sitemap files and the sitemap index.
+     *
+     * @param structureURLs the URLs of the communities and of the collections
+     * @param incremental   if {@code true}, only rewrite the shards changed since the last run, when possible
+     * @return the number of item shards written
+     * @throws IOException if the items cannot be read or the files cannot be written
+     */
+    public int generate(List<String> structureURLs, boolean incremental) throws IOException {
+        Date start = new Date();
+        Properties state = incremental ? loadState() : new Properties();
+
+        int shards = getShardCount(state);
+        TreeSet<Integer> shardsToWrite = new TreeSet<>();
+        if (shards > 0) {
+            long[] counts = itemReader.count(getShardFilterQueries(shards));
+            for (int shard = 0; shard < shards; shard++) {
+                if (counts[shard] > MAX_ITEMS_PER_SHARD) {
+                    log.info("The sitemap shard " + shard + " has too many items, regenerating all the shards");
+                    shards = 0;
+                    break;
+                }
+                if (counts[shard] != getLongProperty(state, "shard." + shard + ".count")) {
+                    shardsToWrite.add(shard);
+                }
+            }
+        }
+
+        if (shards > 0) {
+            Date since = new Date(getLongProperty(state, "lastRun") - overlapMillis);
+            int shardCount = shards;
+            itemReader.read(getLastModifiedFilter(since),
+                item -> shardsToWrite.add(getShard(item.getID(), shardCount)));
+        } else {
+            shards = (int) Math.max(1, (itemReader.count(null) + itemsPerShard - 1) / itemsPerShard);
+            state.clear();
+            shardsToWrite.clear();
+            for (int shard = 0; shard < shards; shard++) {
+                shardsToWrite.add(shard);
+            }
+        }
+
+        List<String> shardFilterQueries = getShardFilterQueries(shards);
+        for (int shard : shardsToWrite) {
+            writeShard(state, shard, shardFilterQueries.get(shard), start);
+        }
+        writeFile(getFilename(STRUCTURE_FILENAME), output -> {
+            for (String url : structureURLs) {
+                output.print(getURLText(url, null));
+            }
+        });
+        deleteStaleShards(shards);
+        writeIndex(state, shards, start);
+
+        state.setProperty("shards", String.valueOf(shards));
+        state.setProperty("compress", String.valueOf(compress));
+        state.setProperty("url", uiURLStem);
+        state.setProperty("lastRun", String.valueOf(start.getTime()));
+        saveState(state);
+
+        log.info("Written " + shardsToWrite.size() + " of " + shards + " sitemap shards");
+        return shardsToWrite.size();
+    }
+
+    /**
+     * @param id     the UUID of an item
+     * @param shards the number of shards
+     * @return the shard of the item
+     */
+    public static int getShard(UUID id, int shards) {
+        BigInteger value = new BigInteger(id.toString().replace("-", ""), 16);
+        return value.multiply(BigInteger.valueOf(shards)).shiftRight(128).intValue();
+    }
+
+    /**
+     * @param shards the number of shards
+     * @return the filter queries matching the items of each shard, by range of their UUIDs
+     */
+    static List<String> getShardFilterQueries(int shards) {
+        List<String> filterQueries = new ArrayList<>(shards);
+        for (int shard = 0; shard < shards; shard++) {
+            String lowerBound = shard == 0 ? "*" : "\"" + getLowerBound(shard, shards) + "\"";
+            String upperBound = shard == shards - 1 ? "*]" : "\"" + getLowerBound(shard + 1, shards) + "\"}";
+            filterQueries.add("search.resourceid:[" + lowerBound + " TO " + upperBound);
+        }
+        return filterQueries;
+    }
+
+    /**
+     * @return the lowest UUID of the given shard, formatted as the UUIDs stored in the Discovery index
+     */
+    private static String getLowerBound(int shard, int shards) {
+        BigInteger value = UUID_RANGE.multiply(BigInteger.valueOf(shard)).divide(BigInteger.valueOf(shards));
+        String hex = StringUtils.leftPad(value.toString(16), 32, '0');
+        return hex.substring(0, 8) + "-" + hex.substring(8, 12) + "-" + hex.substring(12, 16) + "-"
+            + hex.substring(16, 20) + "-" + hex.substring(20);
+    }
+
+    private static String getLastModifiedFilter(Date since) {
+        return "lastModified:[" + SolrUtils.getDateFormatter().format(since) + " TO *]";
+    }
+
+    private void writeShard(Properties state, int shard, String filterQuery, Date start) throws IOException {
+        long[] count = { 0 };
+        Date[] lastModified = { null };
+        writeFile(getFilename("sitemap" + shard), output -> itemReader.read(filterQuery, item -> {
+            for (String url : item.getURLs(uiURLStem)) {
+                output.print(getURLText(url, item.getLastModified()));
+            }
+            if (item.getLastModified() != null
+                && (lastModified[0] == null || item.getLastModified().after(lastModified[0]))) {
+                lastModified[0] = item.getLastModified();
+            }
+            count[0]++;
+        }));
+        state.setProperty("shard." + shard + ".count", String.valueOf(count[0]));
+        state.setProperty("shard." + shard + ".lastmod",
+            String.valueOf(Objects.requireNonNullElse(lastModified[0], start).getTime()));
+    }
+
+    /**
+     * Write a sitemap file to a temporary file first, so that a complete file is always served.
+     */
+    private void writeFile(String filename, SitemapWriter writer) throws IOException {
+        File tempFile = new File(outputDir, filename + ".tmp");
+        OutputStream fo = new FileOutputStream(tempFile);
+        if (compress) {
+            fo = new GZIPOutputStream(fo);
+        }
+        try (PrintStream output = new PrintStream(fo, false, StandardCharsets.UTF_8)) {
+            output.print("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<urlset xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">\n");
+            writer.write(output);
+            output.print("</urlset>");
+        }
+        Files.move(tempFile.toPath(), new File(outputDir, filename).toPath(), StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void writeIndex(Properties state, int shards, Date start) throws IOException {
+        File tempFile = new File(outputDir, INDEX_FILENAME + ".tmp");
+        try (PrintStream output = new PrintStream(new FileOutputStream(tempFile), false, StandardCharsets.UTF_8)) {
+            output.print("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<sitemapindex xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">\n");
+            output.print(getSitemapText(getFilename(STRUCTURE_FILENAME), start));
+            for (int shard = 0; shard < shards; shard++) {
+                long lastModified = getLongProperty(state, "shard." + shard + ".lastmod");
+                output.print(getSitemapText(getFilename("sitemap" + shard), new Date(lastModified)));
+            }
+            output.print("</sitemapindex>");
+        }
+        Files.move(tempFile.toPath(), new File(outputDir, INDEX_FILENAME).toPath(),
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Delete the shards left by a previous run with more shards or with a different compression setting.
+     */
+    private void deleteStaleShards(int shards) throws IOException {
+        File[] files = outputDir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            Matcher matcher = SHARD_FILENAME.matcher(file.getName());
+            if (matcher.matches()
+                && (Integer.parseInt(matcher.group(1)) >= shards || compress != (matcher.group(2) != null))) {
+                Files.delete(file.toPath());
+            }
+        }
+    }
+
+    private String getFilename(String name) {
+        return name + ".xml" + (compress ? ".gz" : "");
+    }
+
+    private String getURLText(String url, Date lastModified) {
+        StringBuilder urlText = new StringBuilder("<url><loc>").append(StringEscapeUtils.escapeXml10(url))
+            .append("</loc>");
+        if (lastModified != null) {
+            urlText.append("<lastmod>").append(formatDate(lastModified)).append("</lastmod>");
+        }
+        return urlText.append("</url>\n").toString();
+    }
+
+    private String getSitemapText(String filename, Date lastModified) {
+        return "<sitemap><loc>" + StringEscapeUtils.escapeXml10(uiURLStem + "/" + filename) + "</loc><lastmod>"
+            + formatDate(lastModified) + "</lastmod></sitemap>\n";
+    }
+
+    private String formatDate(Date date) {
+        return W3C_DATETIME.format(date.toInstant().truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    /**
+     * @return the number of shards of the last run, or 0 if its state is missing or its output settings differ
+     */
+    private int getShardCount(Properties state) {
+        if (!String.valueOf(compress).equals(state.getProperty("compress"))
+            || !uiURLStem.equals(state.getProperty("url")) || state.getProperty("lastRun") == null) {
+            return 0;
+        }
+        return (int) getLongProperty(state, "shards");
+    }
+
+    private long getLongProperty(Properties state, String key) {
+        try {
+            return Long.parseLong(state.getProperty(key, "-1"));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private Properties loadState() {
+        Properties state = new Properties();
+        File stateFile = new File(outputDir, STATE_FILENAME);
+        if (stateFile.isFile()) {
+            try (InputStream input = new FileInputStream(stateFile)) {
+                state.load(input);
+            } catch (IOException e) {
+                log.warn("Unable to read the state of the last sitemap generation, regenerating all the shards", e);
+                state.clear();
+            }
+        }
+        return state;
+    }
+
+    private void saveState(Properties state) throws IOException {
+        try (OutputStream output = new FileOutputStream(new File(outputDir, STATE_FILENAME))) {
+            state.store(output, "State of the last sitemap generation, do not edit");
+        }
+    }
+
+    /**
+     * Writer of the URLs of a sitemap file.
+     */
+    @FunctionalInterface
+    private interface SitemapWriter {
+
+        void write(PrintStream output) throws IOException;
+
+    }
+}
@@ -0,0 +1,197 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.sitemap;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.params.CursorMarkParams;
+import org.dspace.discovery.SearchUtils;
+import org.dspace.discovery.SolrSearchCore;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.util.UUIDUtils;
+
+/**
+ * Reads the items to list in the sitemaps from the Discovery index, paging through the results with a cursor and
+ * retrieving only the stored fields needed to build their URLs, so that no item is loaded from the database.
+ */
+public class SitemapItemReader {
+
+    private static final String QUERY = SearchUtils.RESOURCE_TYPE_FIELD + ":" + IndexableItem.TYPE;
+
+    private static final String[] FILTER_QUERIES = { "archived:true", "withdrawn:false" };
+
+    /**
+     * The metadata field of the current custom URL: the customurl field also lists the old custom URLs, which are
+     * only kept to redirect to the item.
+     */
+    private static final String CUSTOM_URL_FIELD = "cris.customurl";
+
+    private static final String ENTITY_TYPE_FIELD = "search.entitytype";
+
+    private static final String LAST_MODIFIED_FIELD = "lastModified";
+
+    private final SolrSearchCore solrSearchCore;
+
+    private final int batchSize;
+
+    /**
+     * @param solrSearchCore the Discovery core
+     * @param batchSize      the number of items to retrieve with each request
+     */
+    public SitemapItemReader(SolrSearchCore solrSearchCore, int batchSize) {
+        this.solrSearchCore = solrSearchCore;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Count the items to list in the sitemaps.
+     *
+     * @param filterQuery an additional filter query, or null
+     * @return the number of items matching the filter query
+     * @throws IOException if the Discovery index cannot be queried
+     */
+    public long count(String filterQuery) throws IOException {
+        SolrQuery solrQuery = createQuery(filterQuery).setRows(0);
+        return query(solrQuery).getResults().getNumFound();
+    }
+
+    /**
+     * Count the items to list in the sitemaps matching each of the given filter queries, with a single request.
+     *
+     * @param filterQueries the filter queries
+     * @return the number of items matching each filter query, in the same order
+     * @throws IOException if the Discovery index cannot be queried
+     */
+    public long[] count(List<String> filterQueries) throws IOException {
+        SolrQuery solrQuery = createQuery(null).setRows(0).setFacet(true);
+        filterQueries.forEach(solrQuery::addFacetQuery);
+
+        Map<String, Integer> facetCounts = query(solrQuery).getFacetQuery();
+        long[] counts = new long[filterQueries.size()];
+        for (int i = 0; i < counts.length; i++) {
+            Integer count = facetCounts != null ? facetCounts.get(filterQueries.get(i)) : null;
+            counts[i] = count != null ? count : 0;
+        }
+        return counts;
+    }
+
+    /**
+     * Pass all the items to list in the sitemaps to the given consumer, sorted by their unique id.
+     *
+     * @param filterQuery an additional filter query, or null
+     * @param consumer    the consumer of the items
+     * @throws IOException if the Discovery index cannot be queried or the consumer fails
+     */
+    public void read(String filterQuery, SitemapItemConsumer consumer) throws IOException {
+        SolrQuery solrQuery = createQuery(filterQuery)
+            .setFields(SearchUtils.RESOURCE_ID_FIELD, CUSTOM_URL_FIELD, ENTITY_TYPE_FIELD, LAST_MODIFIED_FIELD)
+            .setRows(batchSize)
+            .setSort("search.uniqueid", SolrQuery.ORDER.asc);
+
+        String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+        String nextCursorMark = null;
+        while (!cursorMark.equals(nextCursorMark)) {
+            if (nextCursorMark != null) {
+                cursorMark = nextCursorMark;
+            }
+            solrQuery.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+            QueryResponse response = query(solrQuery);
+            for (SolrDocument document : response.getResults()) {
+                UUID id = UUIDUtils.fromString((String) document.getFirstValue(SearchUtils.RESOURCE_ID_FIELD));
+                if (id != null) {
+                    consumer.accept(new SitemapItem(id, (String) document.getFirstValue(CUSTOM_URL_FIELD),
+                        (String) document.getFirstValue(ENTITY_TYPE_FIELD),
+                        (Date) document.getFirstValue(LAST_MODIFIED_FIELD)));
+                }
+            }
+            nextCursorMark = response.getNextCursorMark();
+        }
+    }
+
+    private SolrQuery createQuery(String filterQuery) {
+        SolrQuery solrQuery = new SolrQuery(QUERY).addFilterQuery(FILTER_QUERIES);
+        if (StringUtils.isNotBlank(filterQuery)) {
+            solrQuery.addFilterQuery(filterQuery);
+        }
+        return solrQuery;
+    }
+
+    private QueryResponse query(SolrQuery solrQuery) throws IOException {
+        try {
+            return solrSearchCore.getSolr().query(solrQuery, solrSearchCore.REQUEST_METHOD);
+        } catch (SolrServerException e) {
+            throw new IOException("Unable to read the sitemap items from the Discovery index", e);
+        }
+    }
+
+    /**
+     * Consumer of the items read from the Discovery index.
+     */
+    @FunctionalInterface
+    public interface SitemapItemConsumer {
+
+        void accept(SitemapItem item) throws IOException;
+
+    }
+
+    /**
+     * An item to list in the sitemaps, built from the fields stored in the Discovery index.
+     */
+    public static class SitemapItem {
+
+        private final UUID id;
+
+        private final String customUrl;
+
+        private final String entityType;
+
+        private final Date lastModified;
+
+        public SitemapItem(UUID id, String customUrl, String entityType, Date lastModified) {
+            this.id = id;
+            this.customUrl = customUrl;
+            this.entityType = entityType;
+            this.lastModified = lastModified;
+        }
+
+        public UUID getID() {
+            return id;
+        }
+
+        public Date getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * The URLs of the item in the user interface: the custom URL, if any, followed by the URL built from the
+         * UUID of the item.
+         *
+         * @param uiURLStem the base URL of the user interface
+         * @return the URLs of the item
+         */
+        public List<String> getURLs(String uiURLStem) {
+            List<String> urls = new ArrayList<>(2);
+            String entityPath = uiURLStem + "/entities/" + StringUtils.lowerCase(entityType) + "/";
+            if (StringUtils.isNotBlank(customUrl)) {
+                urls.add(entityPath + customUrl);
+            }
+            urls.add(StringUtils.isNotBlank(entityType) ? entityPath + id : uiURLStem + "/items/" + id);
+            return urls;
+        }
+    }
+}
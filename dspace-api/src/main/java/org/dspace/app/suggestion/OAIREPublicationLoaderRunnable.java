@@ -38,6 +38,8 @@ public class OAIREPublicationLoaderRunnable
 
     private OAIREPublicationLoader oairePublicationLoader = null;
 
+    private SolrSuggestionStorageService solrSuggestionStorageService = null;
+
     protected Context context;
 
     protected String profile;
@@ -56,6 +58,8 @@ public class OAIREPublicationLoaderRunnable
         oairePublicationLoader = new DSpace().getServiceManager().getServiceByName(
                 "OAIREPublicationLoader", OAIREPublicationLoader.class);
 
+        solrSuggestionStorageService = new DSpace().getSingletonService(SolrSuggestionStorageService.class);
+
         profile = commandLine.getOptionValue("s");
         if (profile == null) {
             LOGGER.info("No argument for -s, process all profile");
@@ -76,6 +80,9 @@ public class OAIREPublicationLoaderRunnable
             oairePublicationLoader.importAuthorRecords(context, researcher);
         }
 
+        // a single commit for the whole import, the Solr autoCommit takes care of the intermediate ones
+        solrSuggestionStorageService.commit();
+
     }
 
     /**
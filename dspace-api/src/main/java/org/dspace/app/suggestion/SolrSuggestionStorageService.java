@@ -8,6 +8,7 @@
 package org.dspace.app.suggestion;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -51,6 +52,20 @@ public interface SolrSuggestionStorageService {
     public void addSuggestion(Suggestion suggestion, boolean force, boolean commit)
             throws SolrServerException, IOException;
 
+    /**
+     * Add the given suggestions to SOLR with a single request. Unless forced, the
+     * suggestions already flagged as processed are skipped. The changes are not
+     * committed: they become visible with the next commit, explicit or automatic.
+     *
+     * @param  suggestions         the suggestions to add
+     * @param  force               true if the processed suggestions must be
+     *                             reindexed too
+     * @throws SolrServerException
+     * @throws IOException
+     */
+    public void addSuggestions(Collection<Suggestion> suggestions, boolean force)
+            throws SolrServerException, IOException;
+
     /**
      * Return true if the suggestion is already in SOLR and flagged as processed
      * 
@@ -70,6 +85,16 @@ public interface SolrSuggestionStorageService {
      */
     public void deleteSuggestion(Suggestion suggestion) throws SolrServerException, IOException;
 
+    /**
+     * Delete the given suggestions from SOLR with a single request, without
+     * committing.
+     *
+     * @param  suggestions         the suggestions to delete
+     * @throws SolrServerException
+     * @throws IOException
+     */
+    public void deleteSuggestions(Collection<Suggestion> suggestions) throws SolrServerException, IOException;
+
     /**
      * Flag a suggestion as processed in SOLR if any
      * 
@@ -79,6 +104,17 @@ public interface SolrSuggestionStorageService {
      */
     public void flagSuggestionAsProcessed(Suggestion suggestion) throws SolrServerException, IOException;
 
+    /**
+     * Flag the given suggestions as processed in SOLR with a single request of
+     * atomic updates, without committing.
+     *
+     * @param  suggestions         the suggestions to flag
+     * @throws SolrServerException
+     * @throws IOException
+     */
+    public void flagSuggestionsAsProcessed(Collection<Suggestion> suggestions)
+            throws SolrServerException, IOException;
+
     /**
      * Delete all the suggestions from SOLR if any related to a specific target
      * 
@@ -13,9 +13,13 @@ import java.io.IOException;
 import java.lang.reflect.Type;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -74,30 +78,73 @@ public class SolrSuggestionStorageServiceImpl implements SolrSuggestionStorageSe
     public void addSuggestion(Suggestion suggestion, boolean force, boolean commit)
             throws SolrServerException, IOException {
         if (force || !exist(suggestion)) {
-            Gson gson = new Gson();
-            SolrInputDocument document = new SolrInputDocument();
-            document.addField(SOURCE, suggestion.getSource());
-            String suggestionFullID = suggestion.getID();
-            document.addField(SUGGESTION_FULLID, suggestionFullID);
-            document.addField(SUGGESTION_ID, suggestionFullID.split(":", 3)[2]);
-            document.addField(TARGET_ID, suggestion.getTarget().getID().toString());
-            document.addField(DISPLAY, suggestion.getDisplay());
-            document.addField(TITLE, getFirstValue(suggestion, "dc", "title", null));
-            document.addField(DATE, getFirstValue(suggestion, "dc", "date", "issued"));
-            document.addField(CONTRIBUTORS, getAllValues(suggestion, "dc", "contributor", "author"));
-            document.addField(ABSTRACT, getFirstValue(suggestion, "dc", "description", "abstract"));
-            document.addField(CATEGORY, getAllValues(suggestion, "dc", "source", null));
-            document.addField(EXTERNAL_URI, suggestion.getExternalSourceUri());
-            document.addField(SCORE, suggestion.getScore());
-            document.addField(PROCESSED, false);
-            document.addField(EVIDENCES, gson.toJson(suggestion.getEvidences()));
-            getSolr().add(document);
+            getSolr().add(toSolrDocument(suggestion));
             if (commit) {
                 getSolr().commit();
             }
         }
     }
 
+    @Override
+    public void addSuggestions(Collection<Suggestion> suggestions, boolean force)
+            throws SolrServerException, IOException {
+        Set<String> processed = force ? Collections.emptySet() : findProcessedSuggestionIds(suggestions);
+        List<SolrInputDocument> documents = suggestions.stream()
+            .filter(suggestion -> !processed.contains(suggestion.getID()))
+            .map(this::toSolrDocument)
+            .collect(Collectors.toList());
+        if (!documents.isEmpty()) {
+            getSolr().add(documents);
+        }
+    }
+
+    private SolrInputDocument toSolrDocument(Suggestion suggestion) {
+        Gson gson = new Gson();
+        SolrInputDocument document = new SolrInputDocument();
+        document.addField(SOURCE, suggestion.getSource());
+        String suggestionFullID = suggestion.getID();
+        document.addField(SUGGESTION_FULLID, suggestionFullID);
+        document.addField(SUGGESTION_ID, suggestionFullID.split(":", 3)[2]);
+        document.addField(TARGET_ID, suggestion.getTarget().getID().toString());
+        document.addField(DISPLAY, suggestion.getDisplay());
+        document.addField(TITLE, getFirstValue(suggestion, "dc", "title", null));
+        document.addField(DATE, getFirstValue(suggestion, "dc", "date", "issued"));
+        document.addField(CONTRIBUTORS, getAllValues(suggestion, "dc", "contributor", "author"));
+        document.addField(ABSTRACT, getFirstValue(suggestion, "dc", "description", "abstract"));
+        document.addField(CATEGORY, getAllValues(suggestion, "dc", "source", null));
+        document.addField(EXTERNAL_URI, suggestion.getExternalSourceUri());
+        document.addField(SCORE, suggestion.getScore());
+        document.addField(PROCESSED, false);
+        document.addField(EVIDENCES, gson.toJson(suggestion.getEvidences()));
+        return document;
+    }
+
+    /**
+     * Find which of the given suggestions are already flagged as processed, with
+     * a single query for each source and target.
+     */
+    private Set<String> findProcessedSuggestionIds(Collection<Suggestion> suggestions)
+            throws SolrServerException, IOException {
+        Set<String> queriedTargets = new HashSet<>();
+        Set<String> processed = new HashSet<>();
+        for (Suggestion suggestion : suggestions) {
+            UUID target = suggestion.getTarget().getID();
+            if (queriedTargets.add(suggestion.getSource() + ":" + target)) {
+                SolrQuery query = new SolrQuery("*:*");
+                query.addFilterQuery(
+                    SOURCE + ":" + suggestion.getSource(),
+                    TARGET_ID + ":" + target.toString(),
+                    PROCESSED + ":true");
+                query.setFields(SUGGESTION_FULLID);
+                query.setRows(Integer.MAX_VALUE);
+                for (SolrDocument document : getSolr().query(query).getResults()) {
+                    processed.add((String) document.getFieldValue(SUGGESTION_FULLID));
+                }
+            }
+        }
+        return processed;
+    }
+
     @Override
     public void commit() throws SolrServerException, IOException {
         getSolr().commit();
@@ -130,18 +177,30 @@ public class SolrSuggestionStorageServiceImpl implements SolrSuggestionStorageSe
     @Override
     public void deleteSuggestion(Suggestion suggestion) throws SolrServerException, IOException {
         getSolr().deleteById(suggestion.getID());
-        getSolr().commit();
+        softCommit();
+    }
+
+    @Override
+    public void deleteSuggestions(Collection<Suggestion> suggestions) throws SolrServerException, IOException {
+        if (!suggestions.isEmpty()) {
+            getSolr().deleteById(suggestions.stream().map(Suggestion::getID).collect(Collectors.toList()));
+        }
     }
 
     @Override
     public void flagSuggestionAsProcessed(Suggestion suggestion) throws SolrServerException, IOException {
-        SolrInputDocument sdoc = new SolrInputDocument();
-        sdoc.addField(SUGGESTION_FULLID, suggestion.getID());
-        Map<String, Object> fieldModifier = new HashMap<>(1);
-        fieldModifier.put("set", true);
-        sdoc.addField(PROCESSED, fieldModifier); // add the map as the field value
-        getSolr().add(sdoc);
-        getSolr().commit();
+        getSolr().add(toProcessedFlagUpdate(suggestion.getID()));
+        softCommit();
+    }
+
+    @Override
+    public void flagSuggestionsAsProcessed(Collection<Suggestion> suggestions)
+            throws SolrServerException, IOException {
+        if (!suggestions.isEmpty()) {
+            getSolr().add(suggestions.stream()
+                .map(suggestion -> toProcessedFlagUpdate(suggestion.getID()))
+                .collect(Collectors.toList()));
+        }
     }
 
     @Override
@@ -151,23 +210,38 @@ public class SolrSuggestionStorageServiceImpl implements SolrSuggestionStorageSe
         query.setFields(SUGGESTION_FULLID);
         SolrDocumentList results = getSolr().query(query).getResults();
         if (results.getNumFound() > 0) {
-            for (SolrDocument rDoc : results) {
-                SolrInputDocument sdoc = new SolrInputDocument();
-                sdoc.addField(SUGGESTION_FULLID, rDoc.getFieldValue(SUGGESTION_FULLID));
-                Map<String, Object> fieldModifier = new HashMap<>(1);
-                fieldModifier.put("set", true);
-                sdoc.addField(PROCESSED, fieldModifier); // add the map as the field value
-                getSolr().add(sdoc);
-            }
+            getSolr().add(results.stream()
+                .map(rDoc -> toProcessedFlagUpdate((String) rDoc.getFieldValue(SUGGESTION_FULLID)))
+                .collect(Collectors.toList()));
         }
-        getSolr().commit();
+        softCommit();
+    }
+
+    /**
+     * Build the atomic update that flags the suggestion with the given id as processed.
+     */
+    private SolrInputDocument toProcessedFlagUpdate(String suggestionFullID) {
+        SolrInputDocument sdoc = new SolrInputDocument();
+        sdoc.addField(SUGGESTION_FULLID, suggestionFullID);
+        Map<String, Object> fieldModifier = new HashMap<>(1);
+        fieldModifier.put("set", true);
+        sdoc.addField(PROCESSED, fieldModifier); // add the map as the field value
+        return sdoc;
     }
 
     @Override
     public void deleteTarget(SuggestionTarget target) throws SolrServerException, IOException {
         getSolr().deleteByQuery(
                 SOURCE + ":" + target.getSource() + " AND " + TARGET_ID + ":" + target.getTarget().getID().toString());
-        getSolr().commit();
+        softCommit();
+    }
+
+    /**
+     * Make the changes of a single interactive operation visible to the following requests. A soft commit opens
+     * a new searcher without the cost of flushing the index to disk, which is left to the autoCommit.
+     */
+    private void softCommit() throws SolrServerException, IOException {
+        getSolr().commit(true, true, true);
     }
 
     @Override
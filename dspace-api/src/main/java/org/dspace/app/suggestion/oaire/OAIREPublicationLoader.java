@@ -97,6 +97,7 @@ public class OAIREPublicationLoader extends SolrSuggestionProvider {
     /**
      * Save a List of ImportRecord into Solr.
      * ImportRecord will be translate into a SolrDocument by the method translateImportRecordToSolrDocument.
+     * The records are sent with a single request and are not committed: the caller is in charge of the commit.
      *
      * @param context the DSpace Context
      * @param researcher a DSpace Item
@@ -107,10 +108,7 @@ public class OAIREPublicationLoader extends SolrSuggestionProvider {
             throws SolrServerException, IOException {
         List<ExternalDataObject> metadata = getImportRecords(researcher);
         List<Suggestion> records = reduceAndTransform(researcher, metadata);
-        for (Suggestion record : records) {
-            solrSuggestionStorageService.addSuggestion(record, false, false);
-        }
-        solrSuggestionStorageService.commit();
+        solrSuggestionStorageService.addSuggestions(records, false);
     }
 
     /**
@@ -55,10 +55,7 @@ public class OrcidPublicationLoader extends SolrSuggestionProvider {
         List<ExternalDataObject> externalObjects = provider.searchExternalDataObjects(orcid, 0, -1);
 
         List<Suggestion> suggestions = convertToSuggestions(profile, externalObjects);
-        for (Suggestion suggestion : suggestions) {
-            solrSuggestionStorageService.addSuggestion(suggestion, false, false);
-        }
-
+        solrSuggestionStorageService.addSuggestions(suggestions, false);
         solrSuggestionStorageService.commit();
     }
 
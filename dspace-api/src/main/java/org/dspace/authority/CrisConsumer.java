@@ -12,8 +12,12 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.dspace.content.MetadataSchemaEnum.CRIS;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -39,12 +43,14 @@ import org.dspace.content.service.CollectionService;
 import org.dspace.content.service.InstallItemService;
 import org.dspace.content.service.ItemService;
 import org.dspace.content.service.WorkspaceItemService;
+import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.core.CrisConstants;
 import org.dspace.event.Consumer;
 import org.dspace.event.Event;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.util.UUIDUtils;
 import org.dspace.utils.DSpace;
 import org.dspace.workflow.WorkflowService;
 import org.dspace.workflow.factory.WorkflowServiceFactory;
@@ -53,6 +59,12 @@ import org.dspace.xmlworkflow.storedcomponents.XmlWorkflowItem;
 /**
  * Consumer to store item related entities when an item submission/modification
  * occurs.
+ * <p>
+ * On the first event of a dispatch the consumer collects the cris.sourceId of
+ * all the related entities referenced by the items of the pending events, and
+ * resolves them with one query for each entity type. The found items, and the
+ * ones created while consuming the events, are kept until the end of the
+ * dispatch, so that each related entity is searched at most once.
  *
  * @author Luca Giamminonni (luca.giamminonni at 4science.it)
  *
@@ -74,6 +86,14 @@ public class CrisConsumer implements Consumer {
 
     private Set<Item> itemsAlreadyProcessed = new HashSet<Item>();
 
+    /**
+     * The related items already resolved in the current dispatch, by entity
+     * type and cris.sourceId; a null value records that no item exists.
+     */
+    private Map<String, Item> relatedItemsBySourceId = new HashMap<String, Item>();
+
+    private boolean relatedItemsPrefetched = false;
+
     private ChoiceAuthorityService choiceAuthorityService;
 
     private ItemService itemService;
@@ -123,6 +143,10 @@ public class CrisConsumer implements Consumer {
 
         context.turnOffAuthorisationSystem();
         try {
+            if (!relatedItemsPrefetched) {
+                relatedItemsPrefetched = true;
+                prefetchRelatedItems(context, item);
+            }
             consumeItem(context, item);
         } finally {
             context.restoreAuthSystemState();
@@ -138,21 +162,12 @@ public class CrisConsumer implements Consumer {
 
             String authority = metadata.getAuthority();
 
-            if (isNestedMetadataPlaceholder(metadata) || isAuthorityAlreadySet(authority)) {
-                continue;
-            }
-
-            boolean skipEmptyAuthority = configurationService.getBooleanProperty("cris-consumer.skip-empty-authority");
-            if (skipEmptyAuthority && StringUtils.isBlank(authority)) {
+            if (!hasAuthorityToResolve(metadata)) {
                 continue;
             }
 
             String fieldKey = getFieldKey(metadata);
 
-            if (!choiceAuthorityService.isChoicesConfigured(fieldKey, null)) {
-                continue;
-            }
-
             String entityType = choiceAuthorityService.getLinkedEntityType(fieldKey);
             if (entityType == null) {
                 log.warn(NO_ENTITY_TYPE_FOUND_MSG, fieldKey);
@@ -161,7 +176,7 @@ public class CrisConsumer implements Consumer {
 
             String crisSourceId = generateCrisSourceId(metadata);
 
-            Item relatedItem = itemSearchService.search(context, crisSourceId, entityType);
+            Item relatedItem = findRelatedItem(context, crisSourceId, entityType);
             boolean relatedItemAlreadyPresent = relatedItem != null;
 
             if (!relatedItemAlreadyPresent && isNotBlank(authority) && isReferenceAuthority(authority)) {
@@ -180,6 +195,7 @@ public class CrisConsumer implements Consumer {
 
                 log.debug(ITEM_CREATION_MSG, entityType, item.getID());
                 relatedItem = buildRelatedItem(context, item, collection, metadata, entityType, crisSourceId);
+                relatedItemsBySourceId.put(getRelatedItemKey(crisSourceId, entityType), relatedItem);
 
             }
 
@@ -191,6 +207,86 @@ public class CrisConsumer implements Consumer {
 
     }
 
+    private boolean hasAuthorityToResolve(MetadataValue metadata) {
+        String authority = metadata.getAuthority();
+
+        if (isNestedMetadataPlaceholder(metadata) || isAuthorityAlreadySet(authority)) {
+            return false;
+        }
+
+        boolean skipEmptyAuthority = configurationService.getBooleanProperty("cris-consumer.skip-empty-authority");
+        if (skipEmptyAuthority && StringUtils.isBlank(authority)) {
+            return false;
+        }
+
+        return choiceAuthorityService.isChoicesConfigured(getFieldKey(metadata), null);
+    }
+
+    /**
+     * Resolves with one query for each entity type the related items referenced
+     * by the given item and by the subjects of the events still to be consumed.
+     * Only the cris.sourceId values that can't be matched by the other search
+     * strategies of the {@link ItemSearchService} are resolved in advance, so
+     * that a missing item is known not to exist.
+     */
+    private void prefetchRelatedItems(Context context, Item item) throws SQLException {
+
+        Set<Item> items = new LinkedHashSet<Item>();
+        items.add(item);
+        for (Event event : context.getEvents()) {
+            if (event.getSubjectType() == Constants.ITEM) {
+                DSpaceObject subject = event.getSubject(context);
+                if (subject != null && ((Item) subject).isArchived()) {
+                    items.add((Item) subject);
+                }
+            }
+        }
+
+        Map<String, Set<String>> crisSourceIdsByEntityType = new HashMap<String, Set<String>>();
+        for (Item itemToConsume : items) {
+            for (MetadataValue metadata : itemToConsume.getMetadata()) {
+                if (!hasAuthorityToResolve(metadata) || isUuidStrategyEnabled(metadata)) {
+                    continue;
+                }
+                String entityType = choiceAuthorityService.getLinkedEntityType(getFieldKey(metadata));
+                String crisSourceId = generateCrisSourceId(metadata);
+                if (entityType != null && isResolvableBySourceIdOnly(crisSourceId)) {
+                    crisSourceIdsByEntityType.computeIfAbsent(entityType, type -> new HashSet<String>())
+                        .add(crisSourceId);
+                }
+            }
+        }
+
+        for (Map.Entry<String, Set<String>> entry : crisSourceIdsByEntityType.entrySet()) {
+            String entityType = entry.getKey();
+            List<String> crisSourceIds = new ArrayList<String>(entry.getValue());
+            Map<String, Item> relatedItems = itemSearchService.searchByCrisSourceIds(context, crisSourceIds,
+                entityType);
+            for (String crisSourceId : crisSourceIds) {
+                relatedItemsBySourceId.put(getRelatedItemKey(crisSourceId, entityType), relatedItems.get(crisSourceId));
+            }
+        }
+
+    }
+
+    private boolean isResolvableBySourceIdOnly(String crisSourceId) {
+        return UUIDUtils.fromString(crisSourceId) == null && !crisSourceId.contains(AuthorityValueService.SPLIT);
+    }
+
+    private Item findRelatedItem(Context context, String crisSourceId, String entityType) {
+        String key = getRelatedItemKey(crisSourceId, entityType);
+        if (relatedItemsBySourceId.containsKey(key)) {
+            return relatedItemsBySourceId.get(key);
+        }
+        Item relatedItem = itemSearchService.search(context, crisSourceId, entityType);
+        relatedItemsBySourceId.put(key, relatedItem);
+        return relatedItem;
+    }
+
+    private String getRelatedItemKey(String crisSourceId, String entityType) {
+        return entityType + AuthorityValueService.SPLIT + crisSourceId;
+    }
+
     private boolean isAuthorityAlreadySet(String authority) {
         return isNotBlank(authority) && !isGenerateAuthority(authority) && !isReferenceAuthority(authority);
     }
@@ -210,6 +306,8 @@ public class CrisConsumer implements Consumer {
     @Override
     public void end(Context context) throws Exception {
         itemsAlreadyProcessed.clear();
+        relatedItemsBySourceId.clear();
+        relatedItemsPrefetched = false;
     }
 
     private String getFieldKey(MetadataValue metadata) {
@@ -7,6 +7,9 @@
  */
 package org.dspace.authority.service;
 
+import java.util.List;
+import java.util.Map;
+
 import org.dspace.content.Item;
 import org.dspace.core.Context;
 
@@ -37,4 +40,16 @@ public interface ItemSearchService {
      */
     public Item search(Context context, String searchParam, String entityType);
 
+    /**
+     * Search, with a single query, the items of the given entity type with one
+     * of the given cris.sourceId values. Unlike {@link #search(Context, String, String)},
+     * the given values are only matched against the cris.sourceId metadata.
+     *
+     * @param  context       the DSpace context
+     * @param  crisSourceIds the cris.sourceId values to search for
+     * @param  entityType    the item entityType
+     * @return               the found items, by cris.sourceId
+     */
+    public Map<String, Item> searchByCrisSourceIds(Context context, List<String> crisSourceIds, String entityType);
+
 }
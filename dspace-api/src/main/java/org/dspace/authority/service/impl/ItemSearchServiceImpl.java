@@ -11,8 +11,13 @@ import static org.dspace.content.Item.ANY;
 import static org.dspace.content.MetadataSchemaEnum.CRIS;
 
 import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.UUID;
@@ -24,6 +29,7 @@ import org.dspace.authority.service.ItemSearchService;
 import org.dspace.authority.service.ItemSearcherMapper;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.content.Item;
+import org.dspace.content.MetadataValue;
 import org.dspace.content.service.ItemService;
 import org.dspace.core.Context;
 import org.dspace.util.UUIDUtils;
@@ -59,6 +65,31 @@ public class ItemSearchServiceImpl implements ItemSearchService {
         }
     }
 
+    @Override
+    public Map<String, Item> searchByCrisSourceIds(Context context, List<String> crisSourceIds, String entityType) {
+        List<Item> items;
+        try {
+            items = itemService.findUnfilteredByMetadataFieldValues(context, CRIS.getName(), "sourceId", null,
+                crisSourceIds);
+        } catch (SQLException | AuthorizeException e) {
+            throw new RuntimeException("An error occurs searching items by crisSourceIds " + crisSourceIds, e);
+        }
+
+        Set<String> searchedIds = new HashSet<>(crisSourceIds);
+        Map<String, Item> itemsBySourceId = new HashMap<>();
+        for (Item item : items) {
+            if (!hasEntityTypeEqualsTo(item, entityType)) {
+                continue;
+            }
+            for (MetadataValue sourceId : itemService.getMetadata(item, CRIS.getName(), "sourceId", null, ANY)) {
+                if (searchedIds.contains(sourceId.getValue())) {
+                    itemsBySourceId.putIfAbsent(sourceId.getValue(), item);
+                }
+            }
+        }
+        return itemsBySourceId;
+    }
+
     private Item performSearch(Context context, String searchParam, String entityType)
         throws SQLException, AuthorizeException {
 
@@ -42,6 +42,7 @@ import org.dspace.discovery.indexobject.IndexableCommunity;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Group;
 import org.dspace.eperson.service.GroupService;
+import org.dspace.instrumentation.MetricsRegistry;
 import org.dspace.workflow.WorkflowItemService;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -75,6 +76,8 @@ public class AuthorizeServiceImpl implements AuthorizeService {
     @Autowired(required = true)
     protected WorkspaceItemService workspaceItemService;
     @Autowired(required = true)
+    protected MetricsRegistry metricsRegistry;
+    @Autowired(required = true)
     protected WorkflowItemService workflowItemService;
     @Autowired(required = true)
     private SearchService searchService;
@@ -184,10 +187,13 @@ public class AuthorizeServiceImpl implements AuthorizeService {
             return false;
         }
 
+        long start = metricsRegistry.startTimer();
         try {
             authorizeAction(c, o, a, useInheritance);
         } catch (AuthorizeException e) {
             isAuthorized = false;
+        } finally {
+            metricsRegistry.stopTimer(start, "dspace.authorize.action", "action", Constants.actionText[a]);
         }
 
         return isAuthorized;
@@ -202,10 +208,13 @@ public class AuthorizeServiceImpl implements AuthorizeService {
             return false;
         }
 
+        long start = metricsRegistry.startTimer();
         try {
             authorizeAction(c, e, o, a, useInheritance);
         } catch (AuthorizeException ex) {
             isAuthorized = false;
+        } finally {
+            metricsRegistry.stopTimer(start, "dspace.authorize.action", "action", Constants.actionText[a]);
         }
 
         return isAuthorized;
@@ -49,4 +49,15 @@ public interface BitstreamDispatcher {
      * @throws SQLException if database error
      */
     public Bitstream next() throws SQLException;
+
+    /**
+     * Notifies the dispatcher that the check of a bitstream returned by
+     * <code>next()</code> has been completed and its results have been
+     * committed. Used by dispatchers that hand out bitstreams before the
+     * results of the previous ones are saved (e.g. with parallel checking).
+     *
+     * @param bitstream the checked bitstream
+     */
+    public default void processed(Bitstream bitstream) {
+    }
 }
@@ -9,16 +9,21 @@ package org.dspace.checker;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
 import org.dspace.checker.factory.CheckerServiceFactory;
 import org.dspace.checker.service.ChecksumHistoryService;
 import org.dspace.checker.service.ChecksumResultService;
 import org.dspace.checker.service.MostRecentChecksumService;
 import org.dspace.content.Bitstream;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.BitstreamService;
 import org.dspace.core.Context;
 import org.dspace.storage.bitstore.factory.StorageServiceFactory;
 import org.dspace.storage.bitstore.service.BitstreamStorageService;
@@ -44,6 +49,8 @@ public final class CheckerCommand {
      */
     private static final Logger LOG = org.apache.logging.log4j.LogManager.getLogger(CheckerCommand.class);
 
+    private static final String DEFAULT_CHECKSUM_ALGORITHM = "MD5";
+
     private Context context;
 
     /**
@@ -56,6 +63,7 @@ public final class CheckerCommand {
      */
     private ChecksumHistoryService checksumHistoryService = null;
     private BitstreamStorageService bitstreamStorageService = null;
+    private BitstreamService bitstreamService = null;
     private ChecksumResultService checksumResultService = null;
 
     /**
@@ -78,6 +86,31 @@ public final class CheckerCommand {
      */
     private boolean reportVerbose = false;
 
+    /**
+     * Number of checksum workers, the bitstreams are checked sequentially if lower than 2
+     */
+    private int threads = 1;
+
+    /**
+     * Number of results committed together in parallel mode
+     */
+    private int batchSize = 100;
+
+    /**
+     * Size in bytes of the read buffer of each worker in parallel mode
+     */
+    private int bufferSize = 1024 * 1024;
+
+    /**
+     * Maximum number of bytes read per second in parallel mode, 0 for no limit
+     */
+    private long maxBytesPerSecond = 0;
+
+    /**
+     * Maximum number of read operations per second in parallel mode, 0 for no limit
+     */
+    private int maxReadsPerSecond = 0;
+
     /**
      * Default constructor uses DSpace plugin manager to construct dependencies.
      *
@@ -87,6 +120,7 @@ public final class CheckerCommand {
         checksumService = CheckerServiceFactory.getInstance().getMostRecentChecksumService();
         checksumHistoryService = CheckerServiceFactory.getInstance().getChecksumHistoryService();
         bitstreamStorageService = StorageServiceFactory.getInstance().getBitstreamStorageService();
+        bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
         checksumResultService = CheckerServiceFactory.getInstance().getChecksumResultService();
         this.context = context;
     }
@@ -120,6 +154,11 @@ public final class CheckerCommand {
         // bitstream table - this always done.
         checksumService.updateMissingBitstreams(context);
 
+        if (threads > 1) {
+            processParallel();
+            return;
+        }
+
         Bitstream bitstream = dispatcher.next();
 
         while (bitstream != null) {
@@ -136,6 +175,107 @@ public final class CheckerCommand {
         }
     }
 
+    /**
+     * Check the bitstreams handed out by the dispatcher with a pool of workers. The database is only accessed by
+     * the calling thread: the workers compute the checksums, the results are saved and committed in batches.
+     *
+     * @throws SQLException if database error
+     */
+    protected void processParallel() throws SQLException {
+        ChecksumDigester digester = new ChecksumDigester(threads, bufferSize, maxBytesPerSecond, maxReadsPerSecond);
+        int maxInFlight = threads * 2;
+        int inFlight = 0;
+        List<Bitstream> uncommitted = new ArrayList<>(batchSize);
+        try {
+            Bitstream bitstream = dispatcher.next();
+            while (true) {
+                if (bitstream == null) {
+                    if (inFlight == 0 && uncommitted.isEmpty()) {
+                        break;
+                    }
+                    // the dispatcher may be waiting for the pending bitstreams to be saved
+                    for (; inFlight > 0; inFlight--) {
+                        saveResult(digester.take(), uncommitted);
+                    }
+                    commitResults(uncommitted);
+                    bitstream = dispatcher.next();
+                    continue;
+                }
+
+                LOG.debug("Processing bitstream id = " + bitstream.getID());
+                MostRecentChecksum info = checksumService.findByBitstream(context, bitstream);
+                if (info != null && info.isToBeProcessed() && !info.getBitstream().isDeleted()) {
+                    digester.submit(bitstream.getID(), StringUtils.defaultIfBlank(info.getChecksumAlgorithm(),
+                                                                                    DEFAULT_CHECKSUM_ALGORITHM));
+                    inFlight++;
+                } else {
+                    // no content to read, the bitstream is handled synchronously
+                    collect(checkBitstream(bitstream, info));
+                    uncommitted.add(bitstream);
+                }
+
+                for (; inFlight >= maxInFlight; inFlight--) {
+                    saveResult(digester.take(), uncommitted);
+                }
+                for (ChecksumDigester.Result result = digester.poll(); result != null; result = digester.poll()) {
+                    saveResult(result, uncommitted);
+                    inFlight--;
+                }
+                if (uncommitted.size() >= batchSize) {
+                    commitResults(uncommitted);
+                }
+                bitstream = dispatcher.next();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the checksum workers", e);
+        } finally {
+            digester.shutdown();
+        }
+    }
+
+    private void saveResult(ChecksumDigester.Result result, List<Bitstream> uncommitted) throws SQLException {
+        Bitstream bitstream = bitstreamService.find(context, result.getBitstreamId());
+        MostRecentChecksum info = bitstream != null ? checksumService.findByBitstream(context, bitstream) : null;
+        if (info == null) {
+            LOG.warn("Bitstream ID " + result.getBitstreamId() + " removed while being checked");
+            return;
+        }
+        info.setProcessStartDate(result.getProcessStartDate());
+        if (result.getError() == null) {
+            info.setBitstreamFound(true);
+            info.setCurrentChecksum(result.getChecksum());
+            info.setChecksumAlgorithm(result.getChecksumAlgorithm());
+            info.setChecksumResult(compareChecksums(info.getExpectedChecksum(), info.getCurrentChecksum()));
+        } else {
+            // bitstream located, but file missing from asset store
+            info.setChecksumResult(getChecksumResultByCode(ChecksumResultCode.BITSTREAM_NOT_FOUND));
+            info.setToBeProcessed(false);
+            LOG.error("Error retrieving bitstream ID " + bitstream.getID() + " from " + "asset store.",
+                      result.getError());
+        }
+        info.setProcessEndDate(new Date());
+        checksumService.update(context, info);
+        checksumHistoryService.addHistory(context, info);
+        collect(info);
+        uncommitted.add(bitstream);
+    }
+
+    private void commitResults(List<Bitstream> uncommitted) throws SQLException {
+        context.commit();
+        for (Bitstream bitstream : uncommitted) {
+            dispatcher.processed(bitstream);
+        }
+        uncommitted.clear();
+    }
+
+    private void collect(MostRecentChecksum info) throws SQLException {
+        if (reportVerbose
+            || !ChecksumResultCode.CHECKSUM_MATCH.equals(info.getChecksumResult().getResultCode())) {
+            collector.collect(context, info);
+        }
+    }
+
     /**
      * Check a specified bitstream.
      *
@@ -145,8 +285,19 @@ public final class CheckerCommand {
      */
     protected MostRecentChecksum checkBitstream(final Bitstream bitstream) throws SQLException {
         // get bitstream info from bitstream table
-        MostRecentChecksum info = checksumService.findByBitstream(context, bitstream);
+        return checkBitstream(bitstream, checksumService.findByBitstream(context, bitstream));
+    }
 
+    /**
+     * Check a specified bitstream, whose information has already been loaded.
+     *
+     * @param bitstream the bitstream
+     * @param info      the information about the bitstream, null if not found
+     * @return the information about the bitstream and its checksum data
+     * @throws SQLException if database error
+     */
+    protected MostRecentChecksum checkBitstream(final Bitstream bitstream, MostRecentChecksum info)
+        throws SQLException {
         // requested id was not found in bitstream
         // or most_recent_checksum table
         if (info == null) {
@@ -339,6 +490,65 @@ public final class CheckerCommand {
         processStartDate = startDate == null ? null : new Date(startDate.getTime());
     }
 
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Set the number of checksum workers, the bitstreams are checked sequentially if lower than 2.
+     * In parallel mode the results are committed in batches, and the dispatcher must not hand out again a
+     * bitstream until it is reported as processed (see {@link PrefetchingDispatcher}).
+     *
+     * @param threads number of workers
+     */
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @param batchSize number of results committed together in parallel mode
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * @param bufferSize size in bytes of the read buffer of each worker
+     */
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public long getMaxBytesPerSecond() {
+        return maxBytesPerSecond;
+    }
+
+    /**
+     * @param maxBytesPerSecond maximum number of bytes read per second by all the workers, 0 for no limit
+     */
+    public void setMaxBytesPerSecond(long maxBytesPerSecond) {
+        this.maxBytesPerSecond = maxBytesPerSecond;
+    }
+
+    public int getMaxReadsPerSecond() {
+        return maxReadsPerSecond;
+    }
+
+    /**
+     * @param maxReadsPerSecond maximum number of read operations per second by all the workers, 0 for no limit
+     */
+    public void setMaxReadsPerSecond(int maxReadsPerSecond) {
+        this.maxReadsPerSecond = maxReadsPerSecond;
+    }
+
     /**
      * Determine if any errors are reported
      *
@@ -0,0 +1,213 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.checker;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.google.common.util.concurrent.RateLimiter;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.dspace.content.Bitstream;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.BitstreamService;
+import org.dspace.core.Context;
+import org.dspace.core.Utils;
+import org.dspace.storage.bitstore.factory.StorageServiceFactory;
+import org.dspace.storage.bitstore.service.BitstreamStorageService;
+
+/**
+ * Pool of workers computing the checksum of bitstreams in parallel, used by the {@link CheckerCommand} in parallel
+ * mode.
+ * <p>
+ * Each worker reads the content through its own direct buffer. The workers share optional limits on the number of
+ * bytes and on the number of read operations per second, so that the check doesn't starve the production I/O.
+ * The bitstreams are handed over by id: the entities of the {@link Context} of the checker are only used by its
+ * thread, which commits and clears it while the workers read. Each worker loads the bitstream it reads in its own,
+ * read-only, Context.
+ */
+public class ChecksumDigester {
+
+    /**
+     * Result of the computation of a checksum.
+     */
+    public static class Result {
+        private final UUID bitstreamId;
+        private final Date processStartDate;
+        private final String checksum;
+        private final String checksumAlgorithm;
+        private final IOException error;
+
+        private Result(UUID bitstreamId, Date processStartDate, String checksum, String checksumAlgorithm,
+                       IOException error) {
+            this.bitstreamId = bitstreamId;
+            this.processStartDate = processStartDate;
+            this.checksum = checksum;
+            this.checksumAlgorithm = checksumAlgorithm;
+            this.error = error;
+        }
+
+        public UUID getBitstreamId() {
+            return bitstreamId;
+        }
+
+        public Date getProcessStartDate() {
+            return processStartDate;
+        }
+
+        public String getChecksum() {
+            return checksum;
+        }
+
+        public String getChecksumAlgorithm() {
+            return checksumAlgorithm;
+        }
+
+        /**
+         * @return the error raised reading the bitstream, or null if the checksum has been computed
+         */
+        public IOException getError() {
+            return error;
+        }
+    }
+
+    private final BitstreamService bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
+
+    private final BitstreamStorageService bitstreamStorageService =
+        StorageServiceFactory.getInstance().getBitstreamStorageService();
+
+    private final ExecutorService executor;
+
+    private final CompletionService<Result> completionService;
+
+    private final ThreadLocal<ByteBuffer> buffers;
+
+    private final RateLimiter bytesLimiter;
+
+    private final RateLimiter readsLimiter;
+
+    /**
+     * @param threads           number of workers
+     * @param bufferSize        size in bytes of the read buffer of each worker
+     * @param maxBytesPerSecond maximum number of bytes read per second by all the workers, 0 for no limit
+     * @param maxReadsPerSecond maximum number of read operations per second by all the workers, 0 for no limit
+     */
+    public ChecksumDigester(int threads, int bufferSize, long maxBytesPerSecond, int maxReadsPerSecond) {
+        this.executor = Executors.newFixedThreadPool(threads, new BasicThreadFactory.Builder()
+            .namingPattern("checksum-checker-%d")
+            .daemon(true)
+            .build());
+        this.completionService = new ExecutorCompletionService<>(executor);
+        this.buffers = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(bufferSize));
+        this.bytesLimiter = maxBytesPerSecond > 0 ? RateLimiter.create(maxBytesPerSecond) : null;
+        this.readsLimiter = maxReadsPerSecond > 0 ? RateLimiter.create(maxReadsPerSecond) : null;
+    }
+
+    /**
+     * Schedule the computation of the checksum of the given bitstream.
+     *
+     * @param bitstreamId       the id of the bitstream to check
+     * @param checksumAlgorithm the algorithm of the checksum
+     */
+    public void submit(UUID bitstreamId, String checksumAlgorithm) {
+        Date processStartDate = new Date();
+        completionService.submit(() -> {
+            try {
+                return new Result(bitstreamId, processStartDate, digest(bitstreamId, checksumAlgorithm),
+                                  checksumAlgorithm, null);
+            } catch (IOException e) {
+                return new Result(bitstreamId, processStartDate, null, checksumAlgorithm, e);
+            }
+        });
+    }
+
+    /**
+     * Wait for the next computed checksum.
+     *
+     * @return the next result
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public Result take() throws InterruptedException {
+        return get(completionService.take());
+    }
+
+    /**
+     * @return the next computed checksum, or null if none is available yet
+     */
+    public Result poll() {
+        Future<Result> future = completionService.poll();
+        return future == null ? null : get(future);
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Result get(Future<Result> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            // the task handles its own errors, this can only be a programming error
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String digest(UUID bitstreamId, String checksumAlgorithm) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(checksumAlgorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("Invalid checksum algorithm " + checksumAlgorithm, e);
+        }
+
+        ByteBuffer buffer = buffers.get();
+        try (Context context = new Context(Context.Mode.READ_ONLY)) {
+            Bitstream bitstream = bitstreamService.find(context, bitstreamId);
+            if (bitstream == null) {
+                throw new IOException("Bitstream " + bitstreamId + " not found");
+            }
+            try (InputStream in = bitstreamStorageService.retrieve(context, bitstream)) {
+                if (in == null) {
+                    throw new IOException("Bitstream " + bitstreamId + " not found in its assetstore");
+                }
+                // files are read straight into the direct buffer, without intermediate copies
+                ReadableByteChannel channel = in instanceof FileInputStream
+                    ? ((FileInputStream) in).getChannel() : Channels.newChannel(in);
+                buffer.clear();
+                int count;
+                while ((count = channel.read(buffer)) >= 0) {
+                    if (readsLimiter != null) {
+                        readsLimiter.acquire();
+                    }
+                    if (bytesLimiter != null && count > 0) {
+                        bytesLimiter.acquire(count);
+                    }
+                    buffer.flip();
+                    digest.update(buffer);
+                    buffer.clear();
+                }
+            }
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+        return Utils.toHex(digest.digest());
+    }
+}
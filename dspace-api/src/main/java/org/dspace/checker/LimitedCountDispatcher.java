@@ -75,4 +75,9 @@ public class LimitedCountDispatcher implements BitstreamDispatcher {
             return null;
         }
     }
+
+    @Override
+    public void processed(Bitstream bitstream) {
+        delegate.processed(bitstream);
+    }
 }
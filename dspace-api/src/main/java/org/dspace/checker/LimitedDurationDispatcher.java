@@ -68,4 +68,9 @@ public class LimitedDurationDispatcher implements BitstreamDispatcher {
     public Bitstream next() throws SQLException {
         return (System.currentTimeMillis() > end) ? null : delegate.next();
     }
+
+    @Override
+    public void processed(Bitstream bitstream) {
+        delegate.processed(bitstream);
+    }
 }
@@ -179,6 +179,17 @@ public class MostRecentChecksumServiceImpl implements MostRecentChecksumService
         return mostRecentChecksumDAO.getOldestRecord(context, lessThanDate);
     }
 
+    @Override
+    public List<MostRecentChecksum> findOldestRecords(Context context, int limit) throws SQLException {
+        return mostRecentChecksumDAO.getOldestRecords(context, limit);
+    }
+
+    @Override
+    public List<MostRecentChecksum> findOldestRecords(Context context, Date lessThanDate, int limit)
+        throws SQLException {
+        return mostRecentChecksumDAO.getOldestRecords(context, lessThanDate, limit);
+    }
+
     @Override
     public List<MostRecentChecksum> findNotInHistory(Context context) throws SQLException {
         return mostRecentChecksumDAO.findNotInHistory(context);
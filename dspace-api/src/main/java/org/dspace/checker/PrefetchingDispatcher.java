@@ -0,0 +1,106 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.checker;
+
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.checker.factory.CheckerServiceFactory;
+import org.dspace.checker.service.MostRecentChecksumService;
+import org.dspace.content.Bitstream;
+import org.dspace.core.Context;
+
+/**
+ * A dispatcher with the same semantics as {@link SimpleDispatcher}, that loads the oldest records of the
+ * most_recent_checksum table in batches instead of querying the database for each bitstream.
+ * <p>
+ * The bitstreams handed out are remembered until they are reported as {@link #processed(Bitstream)}, so that a
+ * bitstream whose results are not yet committed is not dispatched twice.
+ */
+public class PrefetchingDispatcher implements BitstreamDispatcher {
+
+    /**
+     * Should this dispatcher keep on dispatching around the collection?
+     */
+    protected boolean loopContinuously = false;
+
+    /**
+     * Date this dispatcher started dispatching.
+     */
+    protected Date processStartTime = null;
+
+    /**
+     * Number of records loaded with each query.
+     */
+    protected int batchSize;
+
+    protected MostRecentChecksumService checksumService;
+
+    protected Context context;
+
+    private final Deque<Bitstream> prefetched = new ArrayDeque<>();
+
+    private final Set<UUID> dispatched = new HashSet<>();
+
+    /**
+     * Creates a new PrefetchingDispatcher.
+     *
+     * @param context   Context
+     * @param startTime timestamp for beginning of checker process
+     * @param looping   indicates whether checker should loop infinitely through
+     *                  most_recent_checksum table
+     * @param batchSize number of records loaded with each query
+     */
+    public PrefetchingDispatcher(Context context, Date startTime, boolean looping, int batchSize) {
+        checksumService = CheckerServiceFactory.getInstance().getMostRecentChecksumService();
+        this.context = context;
+        this.processStartTime = (startTime == null ? null : new Date(startTime.getTime()));
+        this.loopContinuously = looping;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public synchronized Bitstream next() throws SQLException {
+        if (prefetched.isEmpty()) {
+            prefetch();
+        }
+        Bitstream bitstream = prefetched.poll();
+        if (bitstream != null) {
+            dispatched.add(bitstream.getID());
+        }
+        return bitstream;
+    }
+
+    @Override
+    public synchronized void processed(Bitstream bitstream) {
+        dispatched.remove(bitstream.getID());
+    }
+
+    private void prefetch() throws SQLException {
+        // the records dispatched but not yet committed are still among the oldest ones
+        int limit = batchSize + dispatched.size();
+        List<MostRecentChecksum> records;
+        if (!loopContinuously && (processStartTime != null)) {
+            records = checksumService.findOldestRecords(context, processStartTime, limit);
+        } else {
+            records = checksumService.findOldestRecords(context, limit);
+        }
+        for (MostRecentChecksum record : records) {
+            Bitstream bitstream = record.getBitstream();
+            if (!dispatched.contains(bitstream.getID())) {
+                prefetched.add(bitstream);
+            }
+        }
+    }
+}
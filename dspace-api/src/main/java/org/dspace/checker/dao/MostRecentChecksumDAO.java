@@ -39,6 +39,11 @@ public interface MostRecentChecksumDAO extends GenericDAO<MostRecentChecksum> {
 
     public MostRecentChecksum getOldestRecord(Context context, Date lessThanDate) throws SQLException;
 
+    public List<MostRecentChecksum> getOldestRecords(Context context, int limit) throws SQLException;
+
+    public List<MostRecentChecksum> getOldestRecords(Context context, Date lessThanDate, int limit)
+        throws SQLException;
+
     public List<MostRecentChecksum> findNotInHistory(Context context) throws SQLException;
 
     public MostRecentChecksum findByBitstream(Context context, Bitstream bitstream) throws SQLException;
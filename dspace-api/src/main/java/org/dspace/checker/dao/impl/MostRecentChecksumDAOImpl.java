@@ -145,6 +145,39 @@ public class MostRecentChecksumDAOImpl extends AbstractHibernateDAO<MostRecentCh
         return singleResult(context, criteriaQuery);
     }
 
+    @Override
+    public List<MostRecentChecksum> getOldestRecords(Context context, int limit) throws SQLException {
+        CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
+        CriteriaQuery<MostRecentChecksum> criteriaQuery = getCriteriaQuery(criteriaBuilder, MostRecentChecksum.class);
+        Root<MostRecentChecksum> mostRecentChecksumRoot = criteriaQuery.from(MostRecentChecksum.class);
+        criteriaQuery.select(mostRecentChecksumRoot);
+        criteriaQuery.where(criteriaBuilder.equal(mostRecentChecksumRoot.get(MostRecentChecksum_.toBeProcessed), true));
+        List<Order> orderList = new LinkedList<>();
+        orderList.add(criteriaBuilder.asc(mostRecentChecksumRoot.get(MostRecentChecksum_.processEndDate)));
+        orderList.add(criteriaBuilder.asc(mostRecentChecksumRoot.get(MostRecentChecksum_.bitstream)));
+        criteriaQuery.orderBy(orderList);
+        return list(context, criteriaQuery, false, MostRecentChecksum.class, limit, 0, false);
+    }
+
+    @Override
+    public List<MostRecentChecksum> getOldestRecords(Context context, Date lessThanDate, int limit)
+        throws SQLException {
+        CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
+        CriteriaQuery<MostRecentChecksum> criteriaQuery = getCriteriaQuery(criteriaBuilder, MostRecentChecksum.class);
+        Root<MostRecentChecksum> mostRecentChecksumRoot = criteriaQuery.from(MostRecentChecksum.class);
+        criteriaQuery.select(mostRecentChecksumRoot);
+        criteriaQuery.where(criteriaBuilder.and(
+            criteriaBuilder.equal(mostRecentChecksumRoot.get(MostRecentChecksum_.toBeProcessed), true),
+            criteriaBuilder.lessThan(mostRecentChecksumRoot.get(MostRecentChecksum_.processStartDate), lessThanDate)
+                            )
+        );
+        List<Order> orderList = new LinkedList<>();
+        orderList.add(criteriaBuilder.asc(mostRecentChecksumRoot.get(MostRecentChecksum_.processEndDate)));
+        orderList.add(criteriaBuilder.asc(mostRecentChecksumRoot.get(MostRecentChecksum_.bitstream)));
+        criteriaQuery.orderBy(orderList);
+        return list(context, criteriaQuery, false, MostRecentChecksum.class, limit, 0, false);
+    }
+
     @Override
     public List<MostRecentChecksum> findNotInHistory(Context context) throws SQLException {
 
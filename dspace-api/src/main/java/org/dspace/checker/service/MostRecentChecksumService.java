@@ -43,6 +43,30 @@ public interface MostRecentChecksumService {
 
     public MostRecentChecksum findOldestRecord(Context context, Date lessThanDate) throws SQLException;
 
+    /**
+     * Find the records to be processed with the oldest check, in the same order as
+     * {@link #findOldestRecord(Context)}.
+     *
+     * @param context Context
+     * @param limit   maximum number of records to return
+     * @return the oldest records
+     * @throws SQLException if database error
+     */
+    public List<MostRecentChecksum> findOldestRecords(Context context, int limit) throws SQLException;
+
+    /**
+     * Find the records to be processed with the oldest check started before the given date, in the same order as
+     * {@link #findOldestRecord(Context, Date)}.
+     *
+     * @param context      Context
+     * @param lessThanDate date
+     * @param limit        maximum number of records to return
+     * @return the oldest records
+     * @throws SQLException if database error
+     */
+    public List<MostRecentChecksum> findOldestRecords(Context context, Date lessThanDate, int limit)
+        throws SQLException;
+
     public List<MostRecentChecksum> findNotInHistory(Context context) throws SQLException;
 
     public void update(Context context, MostRecentChecksum mostRecentChecksum) throws SQLException;
@@ -447,6 +447,17 @@ public class BitstreamServiceImpl extends DSpaceObjectServiceImpl<Bitstream> imp
         return bitstreamDAO.countByStoreNumber(context, storeNumber);
     }
 
+    @Override
+    public List<UUID> findIdsByStoreNumber(Context context, Integer storeNumber, UUID afterId, int limit)
+        throws SQLException {
+        return bitstreamDAO.findIdsByStoreNumber(context, storeNumber, afterId, limit);
+    }
+
+    @Override
+    public Long sumSizeBytesByStoreNumber(Context context, Integer storeNumber) throws SQLException {
+        return bitstreamDAO.sumSizeBytesByStoreNumber(context, storeNumber);
+    }
+
     @Override
     public int countTotal(Context context) throws SQLException {
         return bitstreamDAO.countRows(context);
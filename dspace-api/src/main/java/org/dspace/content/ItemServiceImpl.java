@@ -639,8 +639,10 @@ public class ItemServiceImpl extends DSpaceObjectServiceImpl<Item> implements It
                         getIdentifiers(context, item)));
             }
 
+            // let the consumers know when the MODIFY event is only due to the changed metadata
+            String detail = item.isModified() ? null : Event.DETAIL_METADATA_ONLY;
             context.addEvent(new Event(Event.MODIFY, Constants.ITEM, item.getID(),
-                    null, getIdentifiers(context, item)));
+                    detail, getIdentifiers(context, item)));
             item.clearModified();
             item.clearDetails();
         }
@@ -1271,6 +1273,25 @@ prevent the generation of resource policy entry values with null dspace_object a
         }
     }
 
+    @Override
+    public List<Item> findUnfilteredByMetadataFieldValues(Context context, String schema, String element,
+        String qualifier, List<String> values) throws SQLException, AuthorizeException {
+        MetadataSchema mds = metadataSchemaService.find(context, schema);
+        if (mds == null) {
+            throw new IllegalArgumentException("No such metadata schema: " + schema);
+        }
+        MetadataField mdf = metadataFieldService.findByElement(context, mds, element, qualifier);
+        if (mdf == null) {
+            throw new IllegalArgumentException(
+                    "No such metadata field: schema=" + schema + ", element=" + element + ", qualifier=" + qualifier);
+        }
+
+        if (values.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return itemDAO.findByMetadataFieldValues(context, mdf, values);
+    }
+
     @Override
     public Iterator<Item> findByMetadataQuery(Context context, List<List<MetadataField>> listFieldList,
                                               List<String> query_op, List<String> query_val, List<UUID> collectionUuids,
@@ -1426,6 +1447,14 @@ prevent the generation of resource policy entry values with null dspace_object a
                 ids.stream().map(uuid -> UUID.fromString(uuid)).collect(Collectors.toList()));
     }
 
+    @Override
+    public List<Item> findByIdsWithMetadata(Context context, List<UUID> ids) throws SQLException {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return itemDAO.findByIdsWithMetadata(context, ids);
+    }
+
     @Override
     public int countItems(Context context, Collection collection) throws SQLException {
         return itemDAO.countItems(context, collection, true, false);
@@ -13,6 +13,7 @@ import java.io.FileNotFoundException;
 import java.util.ArrayList;
 import java.util.List;
 import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
@@ -136,18 +137,20 @@ public abstract class XSLTCrosswalk extends SelfNamedPlugin {
     private static final String TRANSFORMER_FACTORY_CLASS
         = "com.sun.org.apache.xalan.internal.xsltc.trax.TransformerFactoryImpl";
 
-    private Transformer transformer = null;
+    private Templates templates = null;
     private File transformFile = null;
     private long transformLastModified = 0;
 
     /**
      * Initialize the Transformation stylesheet from configured stylesheet file.
+     * The stylesheet is compiled once, while a new transformer is returned for
+     * each call so that the crosswalk can be used by concurrent threads.
      *
      * @param direction the direction of xwalk, either "submission" or
      *                  "dissemination"
      * @return transformer or null if there was error initializing.
      */
-    protected Transformer getTransformer(String direction) {
+    protected synchronized Transformer getTransformer(String direction) {
         if (transformFile == null) {
             String myAlias = getPluginInstanceName();
             if (myAlias == null) {
@@ -170,11 +173,11 @@ public abstract class XSLTCrosswalk extends SelfNamedPlugin {
         }
 
         // load if first time, or reload if stylesheet changed:
-        if (transformer == null ||
+        if (templates == null ||
             transformFile.lastModified() > transformLastModified) {
             try {
                 LOG.debug(
-                    (transformer == null ? "Loading {} XSLT stylesheet from {}" : "Reloading {} XSLT stylesheet from " +
+                    (templates == null ? "Loading {} XSLT stylesheet from {}" : "Reloading {} XSLT stylesheet from " +
                         "{}"),
                     getPluginInstanceName(), transformFile.toString());
 
@@ -183,13 +186,22 @@ public abstract class XSLTCrosswalk extends SelfNamedPlugin {
                 TransformerFactory transformerFactory
                     = TransformerFactory.newInstance(
                     TRANSFORMER_FACTORY_CLASS, null);
-                transformer = transformerFactory.newTransformer(transformSource);
+                templates = transformerFactory.newTemplates(transformSource);
                 transformLastModified = transformFile.lastModified();
             } catch (TransformerConfigurationException | FileNotFoundException e) {
                 LOG.error("Failed to initialize XSLTCrosswalk({}):  {}",
                           getPluginInstanceName(), e.toString());
             }
         }
-        return transformer;
+        if (templates == null) {
+            return null;
+        }
+        try {
+            return templates.newTransformer();
+        } catch (TransformerConfigurationException e) {
+            LOG.error("Failed to initialize XSLTCrosswalk({}):  {}",
+                      getPluginInstanceName(), e.toString());
+            return null;
+        }
     }
 }
@@ -10,6 +10,7 @@ package org.dspace.content.dao;
 import java.sql.SQLException;
 import java.util.Iterator;
 import java.util.List;
+import java.util.UUID;
 
 import org.dspace.content.Bitstream;
 import org.dspace.content.Collection;
@@ -43,8 +44,13 @@ public interface BitstreamDAO extends DSpaceObjectLegacySupportDAO<Bitstream> {
 
     public Iterator<Bitstream> findByStoreNumber(Context context, Integer storeNumber) throws SQLException;
 
+    public List<UUID> findIdsByStoreNumber(Context context, Integer storeNumber, UUID afterId, int limit)
+        throws SQLException;
+
     public Long countByStoreNumber(Context context, Integer storeNumber) throws SQLException;
 
+    public Long sumSizeBytesByStoreNumber(Context context, Integer storeNumber) throws SQLException;
+
     int countRows(Context context) throws SQLException;
 
     int countDeleted(Context context) throws SQLException;
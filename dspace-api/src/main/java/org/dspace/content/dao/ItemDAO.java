@@ -69,6 +69,19 @@ public interface ItemDAO extends DSpaceObjectLegacySupportDAO<Item> {
     public Iterator<Item> findByMetadataField(Context context, MetadataField metadataField, String value)
         throws SQLException;
 
+    /**
+     * Find all the items, regardless of their status, having one of the given
+     * values in the given metadata field.
+     *
+     * @param context       DSpace context object
+     * @param metadataField the metadata field
+     * @param values        the values to search for
+     * @return the matching items
+     * @throws SQLException if database error
+     */
+    public List<Item> findByMetadataFieldValues(Context context, MetadataField metadataField, List<String> values)
+        throws SQLException;
+
     public Iterator<Item> findByMetadataQuery(Context context, List<List<MetadataField>> listFieldList,
                                               List<String> query_op, List<String> query_val, List<UUID> collectionUuids,
                                               String regexClause, int offset, int limit) throws SQLException;
@@ -207,5 +220,15 @@ public interface ItemDAO extends DSpaceObjectLegacySupportDAO<Item> {
      */
     Iterator<Item> findByIds(Context context, List<UUID> ids) throws SQLException;
 
+    /**
+     * Get all Items matching the given ids, fetching their metadata values and
+     * their owning collection with the same query.
+     * @param context          context
+     * @param ids              the list of ids
+     * @return the found items, in no particular order
+     * @throws SQLException
+     */
+    List<Item> findByIdsWithMetadata(Context context, List<UUID> ids) throws SQLException;
+
 
 }
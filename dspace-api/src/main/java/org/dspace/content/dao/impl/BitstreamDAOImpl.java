@@ -12,6 +12,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import javax.persistence.Query;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
@@ -119,6 +120,20 @@ public class BitstreamDAOImpl extends AbstractHibernateDSODAO<Bitstream> impleme
         return iterate(query);
     }
 
+    @Override
+    public List<UUID> findIdsByStoreNumber(Context context, Integer storeNumber, UUID afterId, int limit)
+        throws SQLException {
+        String afterCondition = afterId != null ? " and b.id > :afterId" : "";
+        Query query = createQuery(context, "select b.id from Bitstream b where b.storeNumber = :storeNumber"
+            + afterCondition + " order by b.id");
+        query.setParameter("storeNumber", storeNumber);
+        if (afterId != null) {
+            query.setParameter("afterId", afterId);
+        }
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+
     @Override
     public Long countByStoreNumber(Context context, Integer storeNumber) throws SQLException {
 
@@ -131,6 +146,14 @@ public class BitstreamDAOImpl extends AbstractHibernateDSODAO<Bitstream> impleme
         return countLong(context, criteriaQuery, criteriaBuilder, bitstreamRoot);
     }
 
+    @Override
+    public Long sumSizeBytesByStoreNumber(Context context, Integer storeNumber) throws SQLException {
+        Query query = createQuery(context,
+            "select coalesce(sum(b.sizeBytes), 0) from Bitstream b where b.storeNumber = :storeNumber");
+        query.setParameter("storeNumber", storeNumber);
+        return (Long) query.getSingleResult();
+    }
+
     @Override
     public int countRows(Context context) throws SQLException {
         return count(createQuery(context, "SELECT count(*) from Bitstream"));
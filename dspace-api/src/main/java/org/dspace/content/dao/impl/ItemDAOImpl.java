@@ -8,11 +8,14 @@
 package org.dspace.content.dao.impl;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import javax.persistence.Query;
 import javax.persistence.TemporalType;
@@ -20,6 +23,7 @@ import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
 
+import org.apache.commons.collections4.ListUtils;
 import org.apache.logging.log4j.Logger;
 import org.dspace.content.Collection;
 import org.dspace.content.Item;
@@ -50,6 +54,8 @@ import org.hibernate.type.StandardBasicTypes;
 public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDAO {
     private static final Logger log = org.apache.logging.log4j.LogManager.getLogger(ItemDAOImpl.class);
 
+    private static final int MAX_VALUES_PER_QUERY = 1000;
+
     protected ItemDAOImpl() {
         super();
     }
@@ -178,6 +184,23 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         return iterate(query);
     }
 
+    @Override
+    public List<Item> findByMetadataFieldValues(Context context, MetadataField metadataField, List<String> values)
+        throws SQLException {
+        String hqlQueryString = "SELECT DISTINCT item FROM Item as item join item.metadata metadatavalue " +
+            "WHERE metadatavalue.metadataField = :metadata_field AND STR(metadatavalue.value) IN (:text_values)";
+
+        Set<Item> items = new LinkedHashSet<>();
+        // split the values to keep the number of bound parameters of each query reasonable
+        for (List<String> partition : ListUtils.partition(values, MAX_VALUES_PER_QUERY)) {
+            Query query = createQuery(context, hqlQueryString);
+            query.setParameter("metadata_field", metadataField);
+            query.setParameter("text_values", partition);
+            items.addAll(list(query));
+        }
+        return new ArrayList<>(items);
+    }
+
     enum OP {
         equals {
             public Criterion buildPredicate(String val, String regexClause) {
@@ -466,4 +489,21 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         return iterate(query);
     }
 
+    @Override
+    public List<Item> findByIdsWithMetadata(Context context, List<UUID> ids) throws SQLException {
+        // no DISTINCT: with the fetched metadata it would compare their CLOB values in the database
+        String hqlQueryString = "SELECT item FROM Item as item " +
+            "LEFT JOIN FETCH item.metadata LEFT JOIN FETCH item.owningCollection WHERE item.id IN (:ids)";
+
+        // the fetch join returns an item for each of its metadata values
+        Set<Item> items = new LinkedHashSet<>();
+        // split the ids to keep the number of bound parameters of each query reasonable
+        for (List<UUID> partition : ListUtils.partition(ids, MAX_VALUES_PER_QUERY)) {
+            Query query = createQuery(context, hqlQueryString);
+            query.setParameter("ids", partition);
+            items.addAll(list(query));
+        }
+        return new ArrayList<>(items);
+    }
+
 }
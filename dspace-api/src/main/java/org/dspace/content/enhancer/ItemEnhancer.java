@@ -45,6 +45,8 @@ public interface ItemEnhancer {
      *
      * @param  context the DSpace Context
      * @param  item    the item to enhance
+     * @return         true if the metadata values of the given item are changed,
+     *                 false otherwise
      */
-    void enhance(Context context, Item item);
+    boolean enhance(Context context, Item item);
 }
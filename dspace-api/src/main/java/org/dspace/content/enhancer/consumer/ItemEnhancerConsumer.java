@@ -19,7 +19,8 @@ import org.dspace.utils.DSpace;
 
 /**
  * Implementation of {@link Consumer} that force the item enhancement on the
- * item subject of the event, if any.
+ * item subject of the event, if any. When the metadata of an item change, the
+ * items enhanced with information taken from it are enhanced again.
  * 
  * @author Luca Giamminonni (luca.giamminonni at 4science.it)
  *
@@ -28,6 +29,8 @@ public class ItemEnhancerConsumer implements Consumer {
 
     private Set<Item> itemsAlreadyProcessed = new HashSet<Item>();
 
+    private Set<Item> relatedItemsAlreadyProcessed = new HashSet<Item>();
+
     private ItemEnhancerService itemEnhancerService;
 
     @Override
@@ -44,15 +47,21 @@ public class ItemEnhancerConsumer implements Consumer {
     public void consume(Context context, Event event) throws Exception {
 
         Item item = (Item) event.getSubject(context);
-        if (item == null || itemsAlreadyProcessed.contains(item) || !item.isArchived()) {
+        if (item == null || !item.isArchived()) {
             return;
         }
 
-        itemsAlreadyProcessed.add(item);
-
         context.turnOffAuthorisationSystem();
         try {
-            itemEnhancerService.enhance(context, item);
+
+            if (itemsAlreadyProcessed.add(item)) {
+                itemEnhancerService.enhance(context, item);
+            }
+
+            if (event.getEventType() == Event.MODIFY_METADATA && relatedItemsAlreadyProcessed.add(item)) {
+                itemsAlreadyProcessed.addAll(itemEnhancerService.enhanceDependentItems(context, item));
+            }
+
         } finally {
             context.restoreAuthSystemState();
         }
@@ -62,6 +71,7 @@ public class ItemEnhancerConsumer implements Consumer {
     @Override
     public void end(Context ctx) throws Exception {
         itemsAlreadyProcessed.clear();
+        relatedItemsAlreadyProcessed.clear();
     }
 
 }
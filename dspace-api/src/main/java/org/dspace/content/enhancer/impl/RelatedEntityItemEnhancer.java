@@ -9,9 +9,14 @@ package org.dspace.content.enhancer.impl;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -54,73 +59,134 @@ public class RelatedEntityItemEnhancer extends AbstractItemEnhancer {
     }
 
     @Override
-    public void enhance(Context context, Item item) {
+    public boolean enhance(Context context, Item item) {
         try {
-            cleanObsoleteVirtualFields(context, item);
-            performEnhancement(context, item);
+            Map<UUID, Item> relatedItems = findRelatedEntityItems(context, item);
+            boolean changed = updateVirtualFields(context, item, relatedItems);
+            return performEnhancement(context, item, relatedItems) || changed;
         } catch (SQLException e) {
             LOGGER.error("An error occurs enhancing item with id {}: {}", item.getID(), e.getMessage(), e);
             throw new SQLRuntimeException(e);
         }
     }
 
-    private void cleanObsoleteVirtualFields(Context context, Item item) throws SQLException {
+    /**
+     * Aligns the virtual fields already present on the given item with the
+     * current values of their related items. The virtual fields, with their
+     * virtual source fields, whose related item is no more referenced are
+     * removed; the ones whose value no more matches the related item are
+     * updated in place, so that they keep their position.
+     */
+    private boolean updateVirtualFields(Context context, Item item, Map<UUID, Item> relatedItems)
+        throws SQLException {
+
+        Set<String> enhanceableAuthorities = getEnhanceableAuthorities(item);
+
+        Map<Integer, MetadataValue> virtualFieldsByPlace = new HashMap<>();
+        for (MetadataValue virtualField : getMetadataValues(item, getVirtualMetadataField())) {
+            virtualFieldsByPlace.putIfAbsent(virtualField.getPlace(), virtualField);
+        }
 
-        List<MetadataValue> metadataValuesToDelete = getObsoleteVirtualFields(item);
-        if (!metadataValuesToDelete.isEmpty()) {
-            itemService.removeMetadataValues(context, item, metadataValuesToDelete);
+        Map<String, List<MetadataValue>> virtualSourceFieldsByAuthority = new LinkedHashMap<>();
+        for (MetadataValue virtualSourceField : getMetadataValues(item, getVirtualSourceMetadataField())) {
+            virtualSourceFieldsByAuthority.computeIfAbsent(virtualSourceField.getValue(), key -> new ArrayList<>())
+                .add(virtualSourceField);
         }
 
-    }
+        boolean changed = false;
+        List<MetadataValue> obsoleteFields = new ArrayList<>();
+        Map<String, List<String>> missingValuesByAuthority = new LinkedHashMap<>();
+
+        for (Map.Entry<String, List<MetadataValue>> entry : virtualSourceFieldsByAuthority.entrySet()) {
+            String authority = entry.getKey();
+            List<MetadataValue> sourceFields = entry.getValue();
+            List<MetadataValue> virtualFields = sourceFields.stream()
+                .map(virtualSourceField -> virtualFieldsByPlace.get(virtualSourceField.getPlace()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+            if (!enhanceableAuthorities.contains(authority)) {
+                obsoleteFields.addAll(sourceFields);
+                obsoleteFields.addAll(virtualFields);
+                continue;
+            }
 
-    private List<MetadataValue> getObsoleteVirtualFields(Item item) {
+            Item relatedItem = getRelatedItem(relatedItems, authority);
+            if (relatedItem == null) {
+                continue;
+            }
 
-        List<MetadataValue> obsoleteVirtualFields = new ArrayList<>();
+            List<String> currentValues = getValues(getMetadataValues(relatedItem, relatedItemMetadataField));
+            if (virtualFields.size() != sourceFields.size()) {
+                // broken pairing between virtual and source fields, rebuild them all
+                obsoleteFields.addAll(sourceFields);
+                obsoleteFields.addAll(virtualFields);
+                missingValuesByAuthority.put(authority, currentValues);
+                continue;
+            }
 
-        List<MetadataValue> virtualSourceFields = getMetadataValues(item, getVirtualSourceMetadataField());
-        for (MetadataValue virtualSourceField : virtualSourceFields) {
-            if (isRelatedSourceNoMorePresent(item, virtualSourceField)) {
-                obsoleteVirtualFields.add(virtualSourceField);
-                getRelatedVirtualField(item, virtualSourceField).ifPresent(obsoleteVirtualFields::add);
+            for (int i = 0; i < virtualFields.size(); i++) {
+                MetadataValue virtualField = virtualFields.get(i);
+                if (i >= currentValues.size()) {
+                    obsoleteFields.add(sourceFields.get(i));
+                    obsoleteFields.add(virtualField);
+                } else if (!Objects.equals(currentValues.get(i), virtualField.getValue())) {
+                    virtualField.setValue(currentValues.get(i));
+                    changed = true;
+                }
+            }
+
+            if (currentValues.size() > virtualFields.size()) {
+                missingValuesByAuthority.put(authority, currentValues.subList(virtualFields.size(),
+                    currentValues.size()));
             }
         }
 
-        return obsoleteVirtualFields;
+        if (changed) {
+            itemService.setMetadataModified(item);
+        }
 
-    }
+        if (!obsoleteFields.isEmpty()) {
+            itemService.removeMetadataValues(context, item, obsoleteFields);
+            changed = true;
+        }
 
-    private boolean isRelatedSourceNoMorePresent(Item item, MetadataValue virtualSourceField) {
-        return getEnhanceableMetadataValue(item).stream()
-            .noneMatch(metadataValue -> hasAuthorityEqualsTo(metadataValue, virtualSourceField.getValue()));
-    }
+        // the values that are new on the related item can only be appended
+        for (Map.Entry<String, List<String>> entry : missingValuesByAuthority.entrySet()) {
+            addVirtualFields(context, item, entry.getKey(), entry.getValue());
+            changed = changed || !entry.getValue().isEmpty();
+        }
+
+        return changed;
 
-    private Optional<MetadataValue> getRelatedVirtualField(Item item, MetadataValue virtualSourceField) {
-        return getMetadataValues(item, getVirtualMetadataField()).stream()
-            .filter(metadataValue -> metadataValue.getPlace() == virtualSourceField.getPlace())
-            .findFirst();
     }
 
-    private void performEnhancement(Context context, Item item) throws SQLException {
+    private boolean performEnhancement(Context context, Item item, Map<UUID, Item> relatedItems)
+        throws SQLException {
+
+        Set<String> usedAuthorities = new HashSet<>(
+            getValues(getMetadataValues(item, getVirtualSourceMetadataField())));
 
+        boolean changed = false;
         for (MetadataValue metadataValue : getEnhanceableMetadataValue(item)) {
 
-            if (wasValueAlreadyUsedForEnhancement(item, metadataValue)) {
+            if (!usedAuthorities.add(metadataValue.getAuthority())) {
                 continue;
             }
 
-            Item relatedItem = findRelatedEntityItem(context, metadataValue);
+            Item relatedItem = getRelatedItem(relatedItems, metadataValue.getAuthority());
             if (relatedItem == null) {
                 continue;
             }
 
-            List<MetadataValue> relatedItemMetadataValues = getMetadataValues(relatedItem, relatedItemMetadataField);
-            for (MetadataValue relatedItemMetadataValue : relatedItemMetadataValues) {
-                addVirtualField(context, item, relatedItemMetadataValue.getValue());
-                addVirtualSourceField(context, item, metadataValue);
-            }
+            List<String> relatedItemValues = getValues(getMetadataValues(relatedItem, relatedItemMetadataField));
+            addVirtualFields(context, item, metadataValue.getAuthority(), relatedItemValues);
+            changed = changed || !relatedItemValues.isEmpty();
 
         }
 
+        return changed;
+
     }
 
     private List<MetadataValue> getEnhanceableMetadataValue(Item item) {
@@ -129,36 +195,69 @@ public class RelatedEntityItemEnhancer extends AbstractItemEnhancer {
             .collect(Collectors.toList());
     }
 
-    private boolean wasValueAlreadyUsedForEnhancement(Item item, MetadataValue metadataValue) {
-        return getMetadataValues(item, getVirtualSourceMetadataField()).stream()
-            .anyMatch(virtualSourceField -> hasAuthorityEqualsTo(metadataValue, virtualSourceField.getValue()));
+    private Set<String> getEnhanceableAuthorities(Item item) {
+        return getEnhanceableMetadataValue(item).stream()
+            .map(MetadataValue::getAuthority)
+            .collect(Collectors.toSet());
     }
 
-    private boolean hasAuthorityEqualsTo(MetadataValue metadataValue, String authority) {
-        return Objects.equals(metadataValue.getAuthority(), authority);
-    }
+    /**
+     * Loads with a single query all the items referenced by the authorities of
+     * the enhanceable metadata values of the given item.
+     */
+    private Map<UUID, Item> findRelatedEntityItems(Context context, Item item) throws SQLException {
+
+        List<String> relatedItemIds = getEnhanceableAuthorities(item).stream()
+            .map(UUIDUtils::fromString)
+            .filter(Objects::nonNull)
+            .map(UUID::toString)
+            .distinct()
+            .collect(Collectors.toList());
 
-    private Item findRelatedEntityItem(Context context, MetadataValue metadataValue) {
-        try {
-            UUID relatedItemUUID = UUIDUtils.fromString(metadataValue.getAuthority());
-            return relatedItemUUID != null ? itemService.find(context, relatedItemUUID) : null;
-        } catch (SQLException e) {
-            throw new SQLRuntimeException(e);
+        Map<UUID, Item> relatedItems = new HashMap<>();
+        if (relatedItemIds.isEmpty()) {
+            return relatedItems;
+        }
+
+        Iterator<Item> iterator = itemService.findByIds(context, relatedItemIds);
+        while (iterator.hasNext()) {
+            Item relatedItem = iterator.next();
+            relatedItems.put(relatedItem.getID(), relatedItem);
         }
+        return relatedItems;
+    }
+
+    private Item getRelatedItem(Map<UUID, Item> relatedItems, String authority) {
+        UUID relatedItemUUID = UUIDUtils.fromString(authority);
+        return relatedItemUUID != null ? relatedItems.get(relatedItemUUID) : null;
+    }
+
+    private List<String> getValues(List<MetadataValue> metadataValues) {
+        return metadataValues.stream()
+            .map(MetadataValue::getValue)
+            .collect(Collectors.toList());
     }
 
     private List<MetadataValue> getMetadataValues(Item item, String metadataField) {
         return itemService.getMetadataByMetadataString(item, metadataField);
     }
 
+    private void addVirtualFields(Context context, Item item, String authority, List<String> values)
+        throws SQLException {
+        for (String value : values) {
+            addVirtualField(context, item, value);
+            addVirtualSourceField(context, item, authority);
+        }
+    }
+
     private void addVirtualField(Context context, Item item, String value) throws SQLException {
         itemService.addMetadata(context, item, VIRTUAL_METADATA_SCHEMA, VIRTUAL_METADATA_ELEMENT,
             getVirtualQualifier(), null, value);
     }
 
-    private void addVirtualSourceField(Context context, Item item, MetadataValue sourceValue) throws SQLException {
+    private void addVirtualSourceField(Context context, Item item, String authority) throws SQLException {
         itemService.addMetadata(context, item, VIRTUAL_METADATA_SCHEMA, VIRTUAL_SOURCE_METADATA_ELEMENT,
-            getVirtualQualifier(), null, sourceValue.getAuthority());
+            getVirtualQualifier(), null, authority);
     }
 
     public void setSourceEntityType(String sourceEntityType) {
@@ -7,6 +7,8 @@
  */
 package org.dspace.content.enhancer.service;
 
+import java.util.List;
+
 import org.dspace.content.Item;
 import org.dspace.core.Context;
 
@@ -35,4 +37,15 @@ public interface ItemEnhancerService {
      * @param item    the item to enhance
      */
     void forceEnhancement(Context context, Item item);
+
+    /**
+     * Enhances again all the items with virtual metadata fields calculated from
+     * the given related item, found by the cris.virtualsource values that refer
+     * to it. Only the items whose virtual metadata fields change are updated.
+     *
+     * @param  context     the DSpace Context
+     * @param  relatedItem the related item
+     * @return             the items that depend on the given related item
+     */
+    List<Item> enhanceDependentItems(Context context, Item relatedItem);
 }
@@ -13,15 +13,20 @@ import static org.dspace.content.enhancer.ItemEnhancer.VIRTUAL_METADATA_SCHEMA;
 import static org.dspace.content.enhancer.ItemEnhancer.VIRTUAL_SOURCE_METADATA_ELEMENT;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.commons.collections4.ListUtils;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.content.Item;
+import org.dspace.content.MetadataField;
 import org.dspace.content.MetadataValue;
 import org.dspace.content.enhancer.ItemEnhancer;
 import org.dspace.content.enhancer.service.ItemEnhancerService;
 import org.dspace.content.service.ItemService;
+import org.dspace.content.service.MetadataFieldService;
 import org.dspace.core.Context;
 import org.dspace.core.exception.SQLRuntimeException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -40,15 +45,13 @@ public class ItemEnhancerServiceImpl implements ItemEnhancerService {
     @Autowired
     private ItemService itemService;
 
+    @Autowired
+    private MetadataFieldService metadataFieldService;
+
     @Override
     public void enhance(Context context, Item item) {
-
-        itemEnhancers.stream()
-            .filter(itemEnhancer -> itemEnhancer.canEnhance(context, item))
-            .forEach(itemEnhancer -> itemEnhancer.enhance(context, item));
-
+        performEnhancement(context, item);
         updateItem(context, item);
-
     }
 
     @Override
@@ -57,6 +60,62 @@ public class ItemEnhancerServiceImpl implements ItemEnhancerService {
         enhance(context, item);
     }
 
+    @Override
+    public List<Item> enhanceDependentItems(Context context, Item relatedItem) {
+
+        List<Item> dependentItems = findDependentItems(context, relatedItem);
+        for (Item dependentItem : dependentItems) {
+            if (performEnhancement(context, dependentItem)) {
+                updateItem(context, dependentItem);
+            }
+        }
+
+        return dependentItems;
+
+    }
+
+    private boolean performEnhancement(Context context, Item item) {
+        boolean changed = false;
+        for (ItemEnhancer itemEnhancer : itemEnhancers) {
+            if (itemEnhancer.canEnhance(context, item)) {
+                changed = itemEnhancer.enhance(context, item) || changed;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Find the items enhanced with the given related item. The cris.virtualsource
+     * fields hold the uuid of the items used for the enhancement, so they are
+     * the index of the items depending on each related item.
+     */
+    private List<Item> findDependentItems(Context context, Item relatedItem) {
+
+        Set<Item> dependentItems = new LinkedHashSet<>();
+        List<String> relatedItemId = List.of(relatedItem.getID().toString());
+
+        try {
+            for (MetadataField virtualSourceField : getVirtualSourceMetadataFields(context)) {
+                dependentItems.addAll(itemService.findUnfilteredByMetadataFieldValues(context,
+                    VIRTUAL_METADATA_SCHEMA, VIRTUAL_SOURCE_METADATA_ELEMENT, virtualSourceField.getQualifier(),
+                    relatedItemId));
+            }
+        } catch (SQLException e) {
+            throw new SQLRuntimeException(e);
+        } catch (AuthorizeException e) {
+            throw new RuntimeException(e);
+        }
+
+        dependentItems.remove(relatedItem);
+        return new ArrayList<>(dependentItems);
+
+    }
+
+    private List<MetadataField> getVirtualSourceMetadataFields(Context context) throws SQLException {
+        return metadataFieldService.findFieldsByElementNameUnqualified(context, VIRTUAL_METADATA_SCHEMA,
+            VIRTUAL_SOURCE_METADATA_ELEMENT);
+    }
+
     private void cleanUpVirtualFields(Context context, Item item) {
 
         List<MetadataValue> virtualFields = getVirtualFields(item);
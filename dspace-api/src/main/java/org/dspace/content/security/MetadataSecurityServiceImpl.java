@@ -28,6 +28,7 @@ import org.dspace.app.util.service.MetadataExposureService;
 import org.dspace.authorize.service.AuthorizeService;
 import org.dspace.content.Item;
 import org.dspace.content.MetadataField;
+import org.dspace.content.MetadataPublicAccess;
 import org.dspace.content.MetadataValue;
 import org.dspace.content.security.service.MetadataSecurityService;
 import org.dspace.content.service.ItemService;
@@ -114,6 +115,20 @@ public class MetadataSecurityServiceImpl implements MetadataSecurityService {
         return isMetadataFieldVisible(context, boxes, item, metadataField, false);
     }
 
+    @Override
+    public List<MetadataValue> getPublicMetadataValues(Context context, Item item) {
+        if (item.isWithdrawn()) {
+            return new ArrayList<MetadataValue>();
+        }
+
+        List<CrisLayoutBox> boxes = findBoxes(context, item, false);
+        List<MetadataValue> values = itemService.getMetadata(item, Item.ANY, Item.ANY, Item.ANY, Item.ANY, true);
+        return values.stream()
+            .filter(value -> isMetadataFieldPublic(boxes, value.getMetadataField()))
+            .filter(value -> isMetadataValuePublic(value))
+            .collect(Collectors.toList());
+    }
+
     private List<MetadataValue> getPermissionFilteredMetadata(Context context, Item item,
         List<MetadataValue> metadataValues, boolean preventBoxSecurityCheck) {
 
@@ -162,6 +177,24 @@ public class MetadataSecurityServiceImpl implements MetadataSecurityService {
         return isNotAdmin(context) ? isNotHidden(context, metadataField) : true;
     }
 
+    private boolean isMetadataFieldPublic(List<CrisLayoutBox> boxes, MetadataField metadataField) {
+        if (CollectionUtils.isNotEmpty(boxes)) {
+            if (isPublicMetadataField(metadataField, boxes, false)) {
+                return true;
+            }
+            if (!getNotPublicBoxes(metadataField, boxes).isEmpty()) {
+                return false;
+            }
+        }
+        // without a context the administrator's override of the hidden metadata is not applied
+        return isNotHidden(null, metadataField);
+    }
+
+    private boolean isMetadataValuePublic(MetadataValue metadataValue) {
+        Integer securityLevel = metadataValue.getSecurityLevel();
+        return securityLevel == null || getMetadataSecurityEvaluator(securityLevel) instanceof MetadataPublicAccess;
+    }
+
     private boolean isMetadataValueReturnAllowed(Context context, Item item, MetadataValue metadataValue) {
         Integer securityLevel = metadataValue.getSecurityLevel();
         if (securityLevel == null) {
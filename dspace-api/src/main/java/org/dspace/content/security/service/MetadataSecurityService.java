@@ -83,4 +83,14 @@ public interface MetadataSecurityService {
      *                                 otherwise
      */
     boolean checkMetadataFieldVisibility(Context context, Item item, MetadataField metadataField);
+
+    /**
+     * Returns all the metadata values of the given item visible to the anonymous
+     * users, regardless of the user bound to the given context.
+     *
+     * @param  context the DSpace Context
+     * @param  item    the item
+     * @return         the metadata values visible to the anonymous users
+     */
+    List<MetadataValue> getPublicMetadataValues(Context context, Item item);
 }
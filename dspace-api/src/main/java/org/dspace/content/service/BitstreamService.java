@@ -216,8 +216,32 @@ public interface BitstreamService extends DSpaceObjectService<Bitstream>, DSpace
 
     public Iterator<Bitstream> findByStoreNumber(Context context, Integer storeNumber) throws SQLException;
 
+    /**
+     * Find the ids of the bitstreams stored in the given assetstore, in id order, after the given id. Unlike an
+     * iteration, the pages can be read while the bitstreams are moved to another assetstore and committed.
+     *
+     * @param context     The relevant DSpace Context.
+     * @param storeNumber the assetstore number
+     * @param afterId     the last id of the previous page, or null for the first page
+     * @param limit       the maximum number of ids to return
+     * @return the ids of the bitstreams
+     * @throws SQLException if database error
+     */
+    public List<UUID> findIdsByStoreNumber(Context context, Integer storeNumber, UUID afterId, int limit)
+        throws SQLException;
+
     public Long countByStoreNumber(Context context, Integer storeNumber) throws SQLException;
 
+    /**
+     * Compute the total size of the bitstreams stored in the given assetstore
+     *
+     * @param context     The relevant DSpace Context.
+     * @param storeNumber the assetstore number
+     * @return the sum of the sizes in bytes
+     * @throws SQLException if database error
+     */
+    public Long sumSizeBytesByStoreNumber(Context context, Integer storeNumber) throws SQLException;
+
     int countTotal(Context context) throws SQLException;
 
     int countDeletedBitstreams(Context context) throws SQLException;
@@ -612,6 +612,22 @@ public interface ItemService
     public Iterator<Item> findUnfilteredByMetadataField(Context context, String schema, String element,
         String qualifier, String value) throws SQLException, AuthorizeException;
 
+    /**
+     * Find all the items, regardless of their status, having one of the given
+     * values in the indicated metadata field.
+     *
+     * @param context   DSpace context object
+     * @param schema    metadata field schema
+     * @param element   metadata field element
+     * @param qualifier metadata field qualifier
+     * @param values    the values to search for
+     * @return the matching items
+     * @throws SQLException       if database error
+     * @throws AuthorizeException if authorization error
+     */
+    public List<Item> findUnfilteredByMetadataFieldValues(Context context, String schema, String element,
+        String qualifier, List<String> values) throws SQLException, AuthorizeException;
+
     public Iterator<Item> findByMetadataQuery(Context context, List<List<MetadataField>> listFieldList,
                                               List<String> query_op, List<String> query_val, List<UUID> collectionUuids,
                                               String regexClause, int offset, int limit)
@@ -830,4 +846,16 @@ public interface ItemService
      */
     Iterator<Item> findByIds(Context context, List<String> ids) throws SQLException;
 
+    /**
+     * Find all the items matching the given list of ids, loading their metadata
+     * values and their owning collection in the same round trip to the database.
+     * Used to load the items of a page of search results at once.
+     *
+     * @param context DSpace context object
+     * @param ids     the ids of the items
+     * @return the found items, in no particular order
+     * @throws SQLException if database error
+     */
+    List<Item> findByIdsWithMetadata(Context context, List<UUID> ids) throws SQLException;
+
 }
@@ -29,6 +29,7 @@ import org.dspace.event.Dispatcher;
 import org.dspace.event.Event;
 import org.dspace.event.factory.EventServiceFactory;
 import org.dspace.event.service.EventService;
+import org.dspace.instrumentation.MetricsRegistry;
 import org.dspace.storage.rdbms.DatabaseConfigVO;
 import org.dspace.storage.rdbms.DatabaseUtils;
 import org.dspace.utils.DSpace;
@@ -108,6 +109,12 @@ public class Context implements AutoCloseable {
      */
     private LinkedList<Event> events = null;
 
+    /**
+     * Tasks to run once the current transaction is committed, e.g. the
+     * asynchronous processing of the events
+     */
+    private List<Runnable> afterCommitTasks = null;
+
     /**
      * Event dispatcher name
      */
@@ -428,6 +435,8 @@ public class Context implements AutoCloseable {
             throw new UnsupportedOperationException("You cannot commit a read-only context");
         }
 
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        long start = metrics.startTimer();
         try {
             // Dispatch events before committing changes to the database,
             // as the consumers may change something too
@@ -442,6 +451,37 @@ public class Context implements AutoCloseable {
                 dbConnection.commit();
                 reloadContextBoundEntities();
             }
+            metrics.stopTimer(start, "dspace.context.commit");
+        }
+
+        runAfterCommitTasks();
+    }
+
+    /**
+     * Register a task to run once the current transaction is successfully
+     * committed. The task is discarded if the transaction is rolled back.
+     *
+     * @param task the task to run, it must not use this Context
+     */
+    public void addAfterCommitTask(Runnable task) {
+        if (afterCommitTasks == null) {
+            afterCommitTasks = new ArrayList<>();
+        }
+        afterCommitTasks.add(task);
+    }
+
+    private void runAfterCommitTasks() {
+        if (afterCommitTasks == null) {
+            return;
+        }
+        List<Runnable> tasks = afterCommitTasks;
+        afterCommitTasks = null;
+        for (Runnable task : tasks) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.error("Error running a task after the commit", e);
+            }
         }
     }
 
@@ -453,6 +493,8 @@ public class Context implements AutoCloseable {
      */
     public void dispatchEvents() {
         Dispatcher dispatcher = null;
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        long start = metrics.startTimer();
 
         try {
             if (events != null) {
@@ -468,6 +510,7 @@ public class Context implements AutoCloseable {
             events = null;
             if (dispatcher != null) {
                 eventService.returnDispatcher(dispName, dispatcher);
+                metrics.stopTimer(start, "dspace.context.dispatch");
             }
         }
     }
@@ -564,6 +607,7 @@ public class Context implements AutoCloseable {
             }
         } finally {
             events = null;
+            afterCommitTasks = null;
         }
     }
 
@@ -602,6 +646,7 @@ public class Context implements AutoCloseable {
                 log.error("Error closing the database connection", ex);
             }
             events = null;
+            afterCommitTasks = null;
         }
     }
 
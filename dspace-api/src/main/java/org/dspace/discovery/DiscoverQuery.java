@@ -36,6 +36,8 @@ public class DiscoverQuery {
     private List<String> dspaceObjectFilters = new ArrayList<>();
     private final List<String> fieldPresentQueries;
     private boolean spellCheck;
+    private boolean lightweight;
+    private String cursorMark;
 
     private int start = 0;
     private int maxResults = -1;
@@ -347,6 +349,36 @@ public class DiscoverQuery {
         this.spellCheck = spellCheck;
     }
 
+    public boolean isLightweight() {
+        return lightweight;
+    }
+
+    /**
+     * Build the items of the result from the fields stored in the index, as
+     * {@link org.dspace.discovery.indexobject.LightweightItem}, instead of loading them from the database.
+     *
+     * @param lightweight true to build the items from the stored fields
+     */
+    public void setLightweight(boolean lightweight) {
+        this.lightweight = lightweight;
+    }
+
+    public String getCursorMark() {
+        return cursorMark;
+    }
+
+    /**
+     * Page through the results with the Solr cursor mark deep paging instead of the start offset: the results are
+     * sorted by their unique id after the sort field, so that the sort is stable, and the cursor mark of the next
+     * page is returned with {@link DiscoverResult#getNextCursorMark()}.
+     *
+     * @param cursorMark the cursor mark of the page to return, {@code "*"} for the first page, or null to page
+     *                   with the start offset
+     */
+    public void setCursorMark(String cursorMark) {
+        this.cursorMark = cursorMark;
+    }
+
     public void addYearRangeFacet(DiscoverySearchFilterFacet facet, FacetYearRange facetYearRange) {
         if (facetYearRange.isValid()) {
 
@@ -45,6 +45,7 @@ public class DiscoverResult {
     private int searchTime;
     private Map<String, IndexableObjectHighlightResult> highlightedResults;
     private String spellCheckQuery;
+    private String nextCursorMark;
 
     public DiscoverResult() {
         indexableObjects = new ArrayList<IndexableObject>();
@@ -89,6 +90,19 @@ public class DiscoverResult {
         this.maxResults = maxResults;
     }
 
+    /**
+     * @return the cursor mark of the next page, if the query was paged with a cursor mark, see
+     *         {@link DiscoverQuery#setCursorMark(String)}; it is equal to the cursor mark of the query when there
+     *         are no more results
+     */
+    public String getNextCursorMark() {
+        return nextCursorMark;
+    }
+
+    public void setNextCursorMark(String nextCursorMark) {
+        this.nextCursorMark = nextCursorMark;
+    }
+
     public int getSearchTime() {
         return searchTime;
     }
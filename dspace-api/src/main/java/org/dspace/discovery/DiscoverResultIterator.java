@@ -12,11 +12,17 @@ import java.sql.SQLException;
 import java.util.Iterator;
 import java.util.List;
 
+import org.apache.solr.common.params.CursorMarkParams;
 import org.dspace.core.Context;
 import org.dspace.core.ReloadableEntity;
+import org.dspace.services.factory.DSpaceServicesFactory;
 
 /**
  * Implementation of {@link Iterator} to iterate over the discover search result.
+ * <p>
+ * The results are retrieved in pages of <code>discovery.iterator.page-size</code> objects, unless the query sets its
+ * own max results. If the query starts from the first result, the pages are retrieved with the Solr cursor mark deep
+ * paging, see {@link DiscoverQuery#setCursorMark(String)}, otherwise with increasing start offsets.
  *
  * @author Luca Giamminonni (luca.giamminonni at 4science.it)
  *
@@ -64,24 +70,25 @@ public class DiscoverResultIterator<T extends ReloadableEntity, PK extends Seria
         this.searchService = SearchUtils.getSearchService();
         this.uncacheEntitites = uncacheEntities;
 
+        if (discoverQuery.getMaxResults() < 0) {
+            discoverQuery.setMaxResults(DSpaceServicesFactory.getInstance().getConfigurationService()
+                .getIntProperty("discovery.iterator.page-size", 100));
+        }
+        if (discoverQuery.getStart() <= 0) {
+            discoverQuery.setCursorMark(CursorMarkParams.CURSOR_MARK_START);
+        }
+
         updateCurrentSlotIterator();
     }
 
     @Override
     public boolean hasNext() {
-        if (currentSlotIterator.hasNext()) {
-            return true;
-        }
-
-        this.discoverQuery.setStart(iteratorCounter);
-
-        if (uncacheEntitites) {
-            uncacheEntitites();
+        while (!currentSlotIterator.hasNext()) {
+            if (!moveToNextSlot()) {
+                return false;
+            }
         }
-
-        updateCurrentSlotIterator();
-
-        return currentSlotIterator.hasNext();
+        return true;
     }
     @Override
     public T next() {
@@ -108,6 +115,29 @@ public class DiscoverResultIterator<T extends ReloadableEntity, PK extends Seria
         }
     }
 
+    private boolean moveToNextSlot() {
+        if (discoverQuery.getCursorMark() != null) {
+            // with the cursor mark, a page with only stale objects is not the last one
+            String nextCursorMark = currentDiscoverResult.getNextCursorMark();
+            if (nextCursorMark == null || nextCursorMark.equals(discoverQuery.getCursorMark())) {
+                return false;
+            }
+            this.discoverQuery.setCursorMark(nextCursorMark);
+        } else {
+            if (currentDiscoverResult.getIndexableObjects().isEmpty()) {
+                return false;
+            }
+            this.discoverQuery.setStart(iteratorCounter);
+        }
+
+        if (uncacheEntitites) {
+            uncacheEntitites();
+        }
+
+        updateCurrentSlotIterator();
+        return true;
+    }
+
     private void updateCurrentSlotIterator() {
         this.currentDiscoverResult = search();
         this.currentSlotIterator = currentDiscoverResult.getIndexableObjects().iterator();
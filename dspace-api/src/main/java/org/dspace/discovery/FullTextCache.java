@@ -0,0 +1,117 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.dspace.util.DiskLruCache;
+
+/**
+ * Local disk cache of the full text extracted in the TEXT bundle of the items, so that reindexing an item does
+ * not read its full text from the bitstore again.
+ * <p>
+ * Entries are keyed by the checksum of the bitstream, stored compressed and truncated to the number of characters
+ * that Discovery indexes (<code>discovery.solr.fulltext.charLimit</code>), and evicted in least recently used order
+ * as soon as the total size of the cache exceeds the configured limit, see {@link DiskLruCache}. Concurrent reads
+ * of the same full text are collapsed so that it is read from the bitstore only once.
+ */
+public class FullTextCache {
+
+    private static final String ENTRY_SUFFIX = ".txt.gz";
+
+    /**
+     * Opens the full text to cache on a cache miss.
+     */
+    @FunctionalInterface
+    public interface TextSource {
+        InputStream open() throws Exception;
+    }
+
+    private final DiskLruCache cache;
+
+    public FullTextCache(File cacheDir, long maxSizeBytes) {
+        // spread the entries over subdirectories named after the first characters of the checksums
+        this.cache = new DiskLruCache(cacheDir, ENTRY_SUFFIX, maxSizeBytes, FullTextCache::getShard);
+    }
+
+    /**
+     * Return a stream on the cached full text with the given checksum, reading and caching it from the given source
+     * if it is not already cached. Full texts without a usable checksum are read from the source, uncached.
+     *
+     * @param checksumAlgorithm the algorithm of the checksum of the full text bitstream
+     * @param checksum          the checksum of the full text bitstream
+     * @param charLimit         the number of characters to cache, -1 to cache the whole full text
+     * @param source            the source of the full text on a cache miss
+     * @return the (UTF-8) full text, truncated to the given number of characters
+     * @throws IOException if the full text cannot be read or cached
+     */
+    public InputStream getStream(String checksumAlgorithm, String checksum, int charLimit, TextSource source)
+            throws IOException {
+        if (!StringUtils.isAlphanumeric(checksum) || !StringUtils.isAlphanumeric(checksumAlgorithm)) {
+            return open(source);
+        }
+        // the limit is part of the key, as the cached full texts are truncated
+        String key = checksumAlgorithm.toLowerCase() + "-" + checksum.toLowerCase() + "-" + charLimit;
+        return cache.get(key, out -> write(source, charLimit, out),
+            file -> new GZIPInputStream(new BufferedInputStream(new FileInputStream(file))));
+    }
+
+    /**
+     * @return the total size in bytes of the currently cached full texts
+     */
+    public long getCurrentSizeBytes() {
+        return cache.getCurrentSizeBytes();
+    }
+
+    private void write(TextSource source, int charLimit, OutputStream out) throws IOException {
+        try (InputStream in = open(source);
+             Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+             Writer writer = new OutputStreamWriter(new GZIPOutputStream(out), StandardCharsets.UTF_8)) {
+            char[] buffer = new char[8192];
+            long remaining = charLimit < 0 ? Long.MAX_VALUE : charLimit;
+            int read;
+            while (remaining > 0 && (read = reader.read(buffer, 0, (int) Math.min(buffer.length, remaining))) != -1) {
+                writer.write(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+    }
+
+    private InputStream open(TextSource source) throws IOException {
+        InputStream in;
+        try {
+            in = source.open();
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+        if (in == null) {
+            throw new IOException("No full text to read");
+        }
+        return in;
+    }
+
+    private static String getShard(String key) {
+        String checksum = key.substring(key.indexOf('-') + 1);
+        return checksum.length() > 2 ? checksum.substring(0, 2) : checksum;
+    }
+}
@@ -12,6 +12,7 @@ import static org.dspace.core.Utils.emptyIfNull;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.SequenceInputStream;
 import java.nio.charset.StandardCharsets;
@@ -36,6 +37,7 @@ import org.dspace.content.Item;
 import org.dspace.content.factory.ContentServiceFactory;
 import org.dspace.content.service.BitstreamService;
 import org.dspace.core.Context;
+import org.dspace.services.factory.DSpaceServicesFactory;
 
 /**
  * Construct a <code>ContentStream</code> from a <code>File</code>
@@ -49,8 +51,19 @@ public class FullTextContentStreams extends ContentStreamBase {
     protected List<FullTextBitstream> fullTextStreams;
     protected BitstreamService bitstreamService;
 
+    /**
+     * Local cache of the full texts, null to always read them from the bitstore.
+     */
+    protected FullTextCache fullTextCache;
+
     public FullTextContentStreams(Context context, Item parentItem) throws SQLException {
+        this(context, parentItem, null);
+    }
+
+    public FullTextContentStreams(Context context, Item parentItem, FullTextCache fullTextCache)
+            throws SQLException {
         this.context = context;
+        this.fullTextCache = fullTextCache;
         init(parentItem);
     }
 
@@ -124,7 +137,8 @@ public class FullTextContentStreams extends ContentStreamBase {
 
     @Override
     public Reader getReader() throws IOException {
-        return super.getReader();
+        // the extracted full texts are always UTF-8 encoded
+        return new InputStreamReader(getStream(), StandardCharsets.UTF_8);
     }
 
     @Override
@@ -171,6 +185,13 @@ public class FullTextContentStreams extends ContentStreamBase {
         }
 
         public InputStream getInputStream() throws SQLException, IOException, AuthorizeException {
+            if (fullTextCache != null && bitstream.getChecksum() != null) {
+                // only the characters indexed by Discovery are cached
+                int charLimit = DSpaceServicesFactory.getInstance().getConfigurationService()
+                                                     .getIntProperty("discovery.solr.fulltext.charLimit", 100000);
+                return fullTextCache.getStream(bitstream.getChecksumAlgorithm(), bitstream.getChecksum(), charLimit,
+                    () -> getBitstreamService().retrieve(context, bitstream));
+            }
             return getBitstreamService().retrieve(context, bitstream);
         }
 
@@ -10,12 +10,17 @@ package org.dspace.discovery;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 
 import org.apache.logging.log4j.Logger;
 import org.dspace.content.Bundle;
 import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
+import org.dspace.discovery.indexobject.IndexableItem;
 import org.dspace.discovery.indexobject.factory.IndexFactory;
 import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
 import org.dspace.event.Consumer;
@@ -41,12 +46,17 @@ public class IndexEventConsumer implements Consumer {
     // unique search IDs to delete
     private Set<String> uniqueIdsToDelete = new HashSet<>();
 
+    // Items whose metadata only has changed, their documents can be partially updated
+    private Set<UUID> itemsWithChangedMetadata = new HashSet<>();
+
     IndexingService indexer = DSpaceServicesFactory.getInstance().getServiceManager()
                                                    .getServiceByName(IndexingService.class.getName(),
                                                                      IndexingService.class);
 
     IndexObjectFactoryFactory indexObjectServiceFactory = IndexObjectFactoryFactory.getInstance();
 
+    ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+
     @Override
     public void initialize() throws Exception {
 
@@ -65,6 +75,7 @@ public class IndexEventConsumer implements Consumer {
         if (objectsToUpdate == null) {
             objectsToUpdate = new HashSet<>();
             uniqueIdsToDelete = new HashSet<>();
+            itemsWithChangedMetadata = new HashSet<>();
         }
 
         int st = event.getSubjectType();
@@ -101,6 +112,15 @@ public class IndexEventConsumer implements Consumer {
             }
         }
 
+        // A change of the metadata of an Item fires a MODIFY_METADATA event followed by a MODIFY event, which is
+        // marked when nothing else has changed: there is no need to extract the full text again in that case
+        if (event.getSubjectType() == Constants.ITEM && subject != null && (et == Event.MODIFY_METADATA
+            || (et == Event.MODIFY && Event.DETAIL_METADATA_ONLY.equals(event.getDetail())))) {
+            log.debug("consume() adding event to metadata update queue: " + event.toString());
+            itemsWithChangedMetadata.add(subject.getID());
+            return;
+        }
+
         switch (et) {
             case Event.CREATE:
             case Event.MODIFY:
@@ -210,6 +230,7 @@ public class IndexEventConsumer implements Consumer {
                 }
             }
             // update the changed Items not deleted because they were on create list
+            Set<String> indexedIds = new HashSet<>();
             for (IndexableObject iu : objectsToUpdate) {
                 /* we let all types through here and
                  * allow the search indexer to make
@@ -218,6 +239,7 @@ public class IndexEventConsumer implements Consumer {
                 iu.setIndexedObject(ctx.reloadEntity(iu.getIndexedObject()));
                 String uniqueIndexID = iu.getUniqueIndexID();
                 if (uniqueIndexID != null) {
+                    indexedIds.add(uniqueIndexID);
                     try {
                         indexer.indexContent(ctx, iu, true, false);
                         log.debug("Indexed "
@@ -229,14 +251,38 @@ public class IndexEventConsumer implements Consumer {
                     }
                 }
             }
+            // partially update the Items whose metadata only has changed, unless already deleted or fully indexed
+            for (UUID itemId : itemsWithChangedMetadata) {
+                if (uniqueIdsToDelete.contains(IndexableItem.TYPE + "-" + itemId)) {
+                    continue;
+                }
+                try {
+                    Item item = itemService.find(ctx, itemId);
+                    if (item == null) {
+                        continue;
+                    }
+                    for (IndexableObject iu : indexObjectServiceFactory.getIndexableObjects(ctx, item)) {
+                        if (!indexedIds.contains(iu.getUniqueIndexID())) {
+                            indexer.updateIndexedMetadata(ctx, iu);
+                            log.debug("Updated metadata of "
+                                    + iu.getTypeText()
+                                    + ", id=" + iu.getID()
+                                    + ", unique_id=" + iu.getUniqueIndexID());
+                        }
+                    }
+                } catch (Exception e) {
+                    log.error("Failed while updating the metadata of item: " + itemId, e);
+                }
+            }
         } finally {
-            if (!objectsToUpdate.isEmpty() || !uniqueIdsToDelete.isEmpty()) {
+            if (!objectsToUpdate.isEmpty() || !uniqueIdsToDelete.isEmpty() || !itemsWithChangedMetadata.isEmpty()) {
 
                 indexer.commit();
 
                 // "free" the resources
                 objectsToUpdate.clear();
                 uniqueIdsToDelete.clear();
+                itemsWithChangedMetadata.clear();
             }
         }
     }
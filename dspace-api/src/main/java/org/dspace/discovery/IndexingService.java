@@ -33,6 +33,16 @@ public interface IndexingService {
     void indexContent(Context context, IndexableObject dso,
                       boolean force, boolean commit) throws SQLException, SearchServiceException;
 
+    /**
+     * Update the index of an object after a change of its metadata only, with atomic updates of the changed fields
+     * of its document and without extracting its full text again. Objects not in the index yet are fully indexed.
+     *
+     * @param context Users Context
+     * @param dso     The object whose metadata has changed
+     * @throws SQLException if database error
+     */
+    void updateIndexedMetadata(Context context, IndexableObject dso) throws SQLException;
+
     void unIndexContent(Context context, IndexableObject dso)
         throws SQLException, IOException;
 
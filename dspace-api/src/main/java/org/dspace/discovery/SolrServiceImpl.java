@@ -52,6 +52,7 @@ import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
 import org.apache.solr.common.SolrException;
 import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.apache.solr.common.params.FacetParams;
 import org.apache.solr.common.params.HighlightParams;
 import org.apache.solr.common.params.MoreLikeThisParams;
@@ -81,13 +82,18 @@ import org.dspace.discovery.configuration.GraphDiscoverSearchFilterFacet;
 import org.dspace.discovery.indexobject.IndexableCollection;
 import org.dspace.discovery.indexobject.IndexableCommunity;
 import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.discovery.indexobject.IndexableLightweightItem;
+import org.dspace.discovery.indexobject.LightweightItem;
 import org.dspace.discovery.indexobject.factory.IndexFactory;
 import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
 import org.dspace.eperson.Group;
 import org.dspace.eperson.factory.EPersonServiceFactory;
 import org.dspace.eperson.service.GroupService;
+import org.dspace.instrumentation.MetricsRegistry;
+import org.dspace.instrumentation.RequestMetrics;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.util.SolrCursorIterator;
 import org.dspace.util.UUIDUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -129,6 +135,8 @@ public class SolrServiceImpl implements SearchService, IndexingService {
     protected ConfigurationService configurationService;
     @Autowired
     protected IndexObjectFactoryFactory indexObjectFactoryFactory;
+    @Autowired
+    protected MetricsRegistry metricsRegistry;
 
     protected SolrServiceImpl() {
 
@@ -176,6 +184,34 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         }
     }
 
+    /**
+     * Update the document of the given object with the fields changed since it was indexed, leaving its full text
+     * untouched, unless partial updates are disabled with the discovery.partial-update.enabled property or the
+     * object is not in the index yet: in that case it is fully indexed.
+     *
+     * @param context         Users Context
+     * @param indexableObject The object whose metadata has changed
+     */
+    @Override
+    public void updateIndexedMetadata(Context context, IndexableObject indexableObject) {
+        try {
+            final IndexFactory indexableObjectFactory = indexObjectServiceFactory.
+                    getIndexableObjectFactory(indexableObject);
+            if (configurationService.getBooleanProperty("discovery.partial-update.enabled", true)) {
+                final SolrInputDocument solrInputDocument =
+                        indexableObjectFactory.buildDocument(context, indexableObject);
+                if (indexableObjectFactory.updateDocument(context, indexableObject, solrInputDocument)) {
+                    log.info(LogHelper.getHeader(context, "updated_indexed_object",
+                            indexableObject.getUniqueIndexID()));
+                    return;
+                }
+            }
+            indexContent(context, indexableObject, true);
+        } catch (IOException | SQLException | SolrServerException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+    }
+
     protected void update(Context context, IndexFactory indexableObjectService,
                           IndexableObject indexableObject) throws IOException, SQLException, SolrServerException {
         final SolrInputDocument solrInputDocument = indexableObjectService.buildDocument(context, indexableObject);
@@ -382,50 +418,32 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                 return;
             }
 
-            // First, we'll just get a count of the total results
-            SolrQuery countQuery = new SolrQuery("*:*");
-            countQuery.setRows(0); // don't actually request any data
-            // Get the total amount of results
-            QueryResponse totalResponse = solrSearchCore.getSolr().query(countQuery,
-                solrSearchCore.REQUEST_METHOD);
-            long total = totalResponse.getResults().getNumFound();
-
-            int start = 0;
-            int batch = 100;
-
-            // Now get actual Solr Documents in batches
-            SolrQuery query = new SolrQuery();
+            // Page through the Solr documents with a cursor, so that each batch costs the same at any depth
+            SolrQuery query = new SolrQuery("*:*");
             query.setFields(SearchUtils.RESOURCE_UNIQUE_ID, SearchUtils.RESOURCE_ID_FIELD,
                 SearchUtils.RESOURCE_TYPE_FIELD);
-            query.addSort(SearchUtils.RESOURCE_UNIQUE_ID, SolrQuery.ORDER.asc);
-            query.setQuery("*:*");
-            query.setRows(batch);
-            // Keep looping until we hit the total number of Solr docs
-            while (start < total) {
-                query.setStart(start);
-                QueryResponse rsp = solrSearchCore.getSolr().query(query, solrSearchCore.REQUEST_METHOD);
-                SolrDocumentList docs = rsp.getResults();
-
-                for (SolrDocument doc : docs) {
-                    String uniqueID = (String) doc.getFieldValue(SearchUtils.RESOURCE_UNIQUE_ID);
-
-                    IndexableObject o = findIndexableObject(context, doc);
-                    if (o == null) {
-                        log.info("Deleting: " + uniqueID);
-                        /*
-                         * Use IndexWriter to delete, its easier to manage write.lock
-                         */
-                        unIndexContent(context, uniqueID);
-                    } else {
-                        context.uncacheEntity(o.getIndexedObject());
-                        log.debug("Keeping: " + o.getUniqueIndexID());
-                    }
+            query.setRows(configurationService.getIntProperty("discovery.iterator.page-size", 100));
+            Iterator<SolrDocument> docs = new SolrCursorIterator(solrSearchCore.getSolr(),
+                solrSearchCore.REQUEST_METHOD, query, SearchUtils.RESOURCE_UNIQUE_ID);
+
+            while (docs.hasNext()) {
+                SolrDocument doc = docs.next();
+                String uniqueID = (String) doc.getFieldValue(SearchUtils.RESOURCE_UNIQUE_ID);
+
+                IndexableObject o = findIndexableObject(context, doc);
+                if (o == null) {
+                    log.info("Deleting: " + uniqueID);
+                    /*
+                     * Use IndexWriter to delete, its easier to manage write.lock
+                     */
+                    unIndexContent(context, uniqueID);
+                } else {
+                    context.uncacheEntity(o.getIndexedObject());
+                    log.debug("Keeping: " + o.getUniqueIndexID());
                 }
             }
 
-            start += batch;
-
-        } catch (IOException | SQLException | SolrServerException e) {
+        } catch (IOException | SQLException | RuntimeException e) {
             log.error("Error cleaning discovery index: " + e.getMessage(), e);
         } finally {
             context.abort();
@@ -738,6 +756,7 @@ public class SolrServiceImpl implements SearchService, IndexingService {
     @Override
     public DiscoverResult search(Context context, DiscoverQuery discoveryQuery )
         throws SearchServiceException {
+        long start = metricsRegistry.startTimer();
         try {
             if (solrSearchCore.getSolr() == null) {
                 return new DiscoverResult();
@@ -747,6 +766,8 @@ public class SolrServiceImpl implements SearchService, IndexingService {
 
         } catch (Exception e) {
             throw new org.dspace.discovery.SearchServiceException(e.getMessage(), e);
+        } finally {
+            metricsRegistry.stopTimer(start, "dspace.discovery.search");
         }
     }
 
@@ -770,6 +791,11 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         solrQuery.addField(SearchUtils.RESOURCE_TYPE_FIELD);
         solrQuery.addField(SearchUtils.RESOURCE_ID_FIELD);
         solrQuery.addField(SearchUtils.RESOURCE_UNIQUE_ID);
+        if (discoveryQuery.isLightweight()) {
+            for (String fieldName : LightweightItem.SOLR_FIELDS) {
+                solrQuery.addField(fieldName);
+            }
+        }
 
         if (discoveryQuery.isSpellCheck()) {
             solrQuery.setParam(SpellingParams.SPELLCHECK_Q, query);
@@ -795,7 +821,7 @@ public class SolrServiceImpl implements SearchService, IndexingService {
             solrQuery.addFilterQuery(filterQuery + ":[* TO *]");
         }
 
-        if (discoveryQuery.getStart() != -1) {
+        if (discoveryQuery.getStart() != -1 && discoveryQuery.getCursorMark() == null) {
             solrQuery.setStart(discoveryQuery.getStart());
         }
 
@@ -812,6 +838,18 @@ public class SolrServiceImpl implements SearchService, IndexingService {
             solrQuery.addSort(discoveryQuery.getSortField(), order);
         }
 
+        if (discoveryQuery.getCursorMark() != null) {
+            // deep paging requires a stable sort: keep the relevance order if no other sort is requested and
+            // break the ties with the unique id
+            if (discoveryQuery.getSortField() == null) {
+                solrQuery.addSort("score", SolrQuery.ORDER.desc);
+            }
+            if (!SearchUtils.RESOURCE_UNIQUE_ID.equals(discoveryQuery.getSortField())) {
+                solrQuery.addSort(SearchUtils.RESOURCE_UNIQUE_ID, SolrQuery.ORDER.asc);
+            }
+            solrQuery.set(CursorMarkParams.CURSOR_MARK_PARAM, discoveryQuery.getCursorMark());
+        }
+
         for (String property : discoveryQuery.getProperties().keySet()) {
             List<String> values = discoveryQuery.getProperties().get(property);
             solrQuery.add(property, values.toArray(new String[values.size()]));
@@ -912,15 +950,19 @@ public class SolrServiceImpl implements SearchService, IndexingService {
             List<String> zombieDocs = new ArrayList<String>();
             QueryResponse solrQueryResponse = solrSearchCore.getSolr().query(solrQuery,
                           solrSearchCore.REQUEST_METHOD);
+            RequestMetrics.solrQueryExecuted();
             if (solrQueryResponse != null) {
                 result.setSearchTime(solrQueryResponse.getQTime());
                 result.setStart(query.getStart());
                 result.setMaxResults(query.getMaxResults());
                 result.setTotalSearchResults(solrQueryResponse.getResults().getNumFound());
+                result.setNextCursorMark(solrQueryResponse.getNextCursorMark());
 
                 List<String> searchFields = query.getSearchFields();
+                Map<String, IndexableObject> indexableObjects =
+                    findIndexableObjects(context, solrQueryResponse.getResults(), query.isLightweight());
                 for (SolrDocument doc : solrQueryResponse.getResults()) {
-                    IndexableObject indexableObject = findIndexableObject(context, doc);
+                    IndexableObject indexableObject = indexableObjects.get(getUniqueIndexID(doc));
 
                     if (indexableObject != null) {
                         result.addIndexableObject(indexableObject);
@@ -1189,6 +1231,54 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         return indexableObject.orElse(null);
     }
 
+    /**
+     * Find the indexable objects of the given solr documents, with a single
+     * query for each resource type when its index factory supports it.
+     *
+     * @param context the DSpace context
+     * @param docs    the solr documents
+     * @return the found indexable objects, by unique index id
+     * @throws SQLException if database error
+     */
+    protected Map<String, IndexableObject> findIndexableObjects(Context context, List<SolrDocument> docs,
+                                                                boolean lightweight) throws SQLException {
+        Map<String, IndexableObject> indexableObjects = new HashMap<>();
+        Map<String, List<String>> idsByType = new LinkedHashMap<>();
+        for (SolrDocument doc : docs) {
+            String type = (String) doc.getFirstValue(SearchUtils.RESOURCE_TYPE_FIELD);
+            if (lightweight && IndexableItem.TYPE.equals(type)) {
+                // the items are built from the stored fields, without loading them from the database
+                indexableObjects.put(getUniqueIndexID(doc),
+                    new IndexableLightweightItem(LightweightItem.fromDocument(doc)));
+                continue;
+            }
+            String id = (String) doc.getFirstValue(SearchUtils.RESOURCE_ID_FIELD);
+            idsByType.computeIfAbsent(type, key -> new ArrayList<>()).add(id);
+        }
+
+        for (Map.Entry<String, List<String>> entry : idsByType.entrySet()) {
+            IndexFactory indexableObjectService = indexObjectServiceFactory.getIndexFactoryByType(entry.getKey());
+            List<IndexableObject> found = indexableObjectService.findIndexableObjects(context, entry.getValue());
+            for (IndexableObject indexableObject : found) {
+                indexableObjects.put(indexableObject.getUniqueIndexID(), indexableObject);
+            }
+            if (found.size() < entry.getValue().size()) {
+                for (String id : entry.getValue()) {
+                    if (!indexableObjects.containsKey(entry.getKey() + "-" + id)) {
+                        log.warn("Not able to retrieve object RESOURCE_ID:" + id
+                                     + " - RESOURCE_TYPE_ID:" + entry.getKey());
+                    }
+                }
+            }
+        }
+        return indexableObjects;
+    }
+
+    private String getUniqueIndexID(SolrDocument doc) {
+        return doc.getFirstValue(SearchUtils.RESOURCE_TYPE_FIELD) + "-" + doc.getFirstValue(
+            SearchUtils.RESOURCE_ID_FIELD);
+    }
+
     public List<IndexableObject> search(Context context, String query, int offset, int max,
             String... filterquery) {
         return search(context, query, null, true, offset, max, filterquery);
@@ -1216,13 +1306,15 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                 solrQuery.addFilterQuery(filterquery);
             }
             QueryResponse rsp = solrSearchCore.getSolr().query(solrQuery, solrSearchCore.REQUEST_METHOD);
+            RequestMetrics.solrQueryExecuted();
             SolrDocumentList docs = rsp.getResults();
 
+            Map<String, IndexableObject> indexableObjects = findIndexableObjects(context, docs, false);
             Iterator iter = docs.iterator();
             List<IndexableObject> result = new ArrayList<>();
             while (iter.hasNext()) {
                 SolrDocument doc = (SolrDocument) iter.next();
-                IndexableObject o = findIndexableObject(context, doc);
+                IndexableObject o = indexableObjects.get(getUniqueIndexID(doc));
                 if (o != null) {
                     result.add(o);
                 }
@@ -1328,6 +1420,7 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                 return Collections.emptyList();
             }
             QueryResponse rsp = solrSearchCore.getSolr().query(solrQuery, solrSearchCore.REQUEST_METHOD);
+            RequestMetrics.solrQueryExecuted();
             NamedList mltResults = (NamedList) rsp.getResponse().get("moreLikeThis");
             if (mltResults != null && mltResults.get(item.getType() + "-" + item.getID()) != null) {
                 SolrDocumentList relatedDocs = (SolrDocumentList) mltResults.get(item.getType() + "-" + item.getID());
@@ -0,0 +1,72 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.content.Item;
+import org.dspace.content.MetadataValue;
+import org.dspace.content.security.service.MetadataSecurityService;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.Context;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.discovery.indexobject.LightweightItem;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Implementation of {@link SolrServiceIndexPlugin} storing the metadata values needed to render an item in a search
+ * result without loading it from the database, see {@link LightweightItem}. The metadata fields to store are
+ * configured with the <code>discovery.lightweight.fields</code> property; the visibility of their values is evaluated
+ * at index time for the anonymous users and for the administrators.
+ */
+public class SolrServiceLightweightItemPlugin implements SolrServiceIndexPlugin {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private MetadataSecurityService metadataSecurityService;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void additionalIndex(Context context, IndexableObject indexableObject, SolrInputDocument document) {
+        String[] fields = configurationService.getArrayProperty("discovery.lightweight.fields");
+        if (!(indexableObject instanceof IndexableItem) || ArrayUtils.isEmpty(fields)) {
+            return;
+        }
+
+        Item item = ((IndexableItem) indexableObject).getIndexedObject();
+        Set<String> storedFields = Arrays.stream(fields).map(String::trim).collect(Collectors.toSet());
+        document.addField(LightweightItem.NAME_FIELD, item.getName());
+
+        List<MetadataValue> values = itemService.getMetadata(item, Item.ANY, Item.ANY, Item.ANY, Item.ANY, true);
+        addValues(document, LightweightItem.ADMINISTRATOR, storedFields, values);
+        addValues(document, LightweightItem.ANONYMOUS, storedFields,
+            metadataSecurityService.getPublicMetadataValues(context, item));
+    }
+
+    private void addValues(SolrInputDocument document, String group, Set<String> storedFields,
+                           List<MetadataValue> values) {
+        for (MetadataValue value : values) {
+            String field = value.getMetadataField().toString('.');
+            if (value.getValue() != null && storedFields.contains(field)) {
+                document.addField(LightweightItem.getFieldName(group, field), LightweightItem.encode(value));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,282 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.indexobject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.StringUtils;
+import org.dspace.content.Item;
+import org.dspace.content.MetadataField;
+import org.dspace.discovery.configuration.DiscoveryConfiguration;
+import org.dspace.discovery.configuration.DiscoveryHitHighlightFieldConfiguration;
+import org.dspace.discovery.configuration.DiscoveryHitHighlightingConfiguration;
+import org.dspace.discovery.configuration.DiscoveryMoreLikeThisConfiguration;
+import org.dspace.discovery.configuration.DiscoveryRecentSubmissionsConfiguration;
+import org.dspace.discovery.configuration.DiscoverySearchFilter;
+import org.dspace.discovery.configuration.DiscoverySearchFilterFacet;
+import org.dspace.discovery.configuration.DiscoverySortConfiguration;
+import org.dspace.discovery.configuration.DiscoverySortFieldConfiguration;
+
+/**
+ * The plan to index the metadata of the items to which a given set of discovery configurations applies: which
+ * search filters, sort fields, hit highlighting and more like this fields each metadata field feeds.
+ * <p>
+ * The plan is built once for each set of configurations, so that the documents of the items are built with a
+ * single pass over their metadata; the plan of each metadata field is resolved on its first use and then
+ * retrieved by the id of the metadata field. Only the discovery configuration is part of the plan: the
+ * properties read while indexing (e.g. the projection and authority settings) are still read for each item.
+ */
+public class DiscoveryIndexPlan {
+
+    private final Map<String, List<DiscoverySearchFilter>> searchFilters = new HashMap<>();
+
+    private final List<MinMaxFilter> minMaxFilters = new ArrayList<>();
+
+    private final Map<String, DiscoverySortFieldConfiguration> sortFields = new HashMap<>();
+
+    private final Map<String, DiscoveryRecentSubmissionsConfiguration> recentSubmissionsConfigurations =
+        new HashMap<>();
+
+    private final Set<String> hitHighlightingFields = new HashSet<>();
+
+    private final Set<String> moreLikeThisFields = new HashSet<>();
+
+    private final List<String> ignoredMetadataFields;
+
+    private final Map<Integer, FieldPlan> fieldPlans = new ConcurrentHashMap<>();
+
+    /**
+     * @param discoveryConfigurations the discovery configurations applying to the items
+     * @param ignoredMetadataFields   the metadata fields not to index, or null
+     */
+    public DiscoveryIndexPlan(List<DiscoveryConfiguration> discoveryConfigurations,
+                              List<String> ignoredMetadataFields) {
+        this.ignoredMetadataFields = ignoredMetadataFields != null ? ignoredMetadataFields
+            : Collections.emptyList();
+
+        // some configuration are returned multiple times, skip them
+        Set<String> appliedConf = new HashSet<>();
+        // it is common to have search filter shared between multiple configurations
+        Set<String> appliedDiscoverySearchFilter = new HashSet<>();
+        for (DiscoveryConfiguration discoveryConfiguration : discoveryConfigurations) {
+            if (!appliedConf.add(discoveryConfiguration.getId())) {
+                continue;
+            }
+            for (DiscoverySearchFilter discoverySearchFilter : discoveryConfiguration.getSearchFilters()) {
+                if (!appliedDiscoverySearchFilter.add(discoverySearchFilter.getIndexFieldName())) {
+                    continue;
+                }
+                for (String metadataField : discoverySearchFilter.getMetadataFields()) {
+                    searchFilters.computeIfAbsent(metadataField, field -> new ArrayList<>())
+                                 .add(discoverySearchFilter);
+                }
+                if (StringUtils.equalsIgnoreCase(discoverySearchFilter.getFilterType(), "facet")
+                    && ((DiscoverySearchFilterFacet) discoverySearchFilter).exposeMinAndMaxValue()) {
+                    minMaxFilters.add(new MinMaxFilter(discoverySearchFilter));
+                }
+            }
+
+            DiscoverySortConfiguration sortConfiguration = discoveryConfiguration.getSearchSortConfiguration();
+            if (sortConfiguration != null) {
+                for (DiscoverySortFieldConfiguration sortFieldConfiguration : sortConfiguration.getSortFields()) {
+                    sortFields.put(sortFieldConfiguration.getMetadataField(), sortFieldConfiguration);
+                }
+            }
+
+            DiscoveryRecentSubmissionsConfiguration recentSubmissionConfiguration = discoveryConfiguration
+                .getRecentSubmissionConfiguration();
+            if (recentSubmissionConfiguration != null) {
+                recentSubmissionsConfigurations.put(recentSubmissionConfiguration.getMetadataSortField(),
+                    recentSubmissionConfiguration);
+            }
+
+            DiscoveryHitHighlightingConfiguration hitHighlightingConfiguration = discoveryConfiguration
+                .getHitHighlightingConfiguration();
+            if (hitHighlightingConfiguration != null) {
+                for (DiscoveryHitHighlightFieldConfiguration fieldConfiguration : hitHighlightingConfiguration
+                    .getMetadataFields()) {
+                    hitHighlightingFields.add(fieldConfiguration.getField());
+                }
+            }
+
+            DiscoveryMoreLikeThisConfiguration moreLikeThisConfiguration = discoveryConfiguration
+                .getMoreLikeThisConfiguration();
+            if (moreLikeThisConfiguration != null) {
+                moreLikeThisFields.addAll(moreLikeThisConfiguration.getSimilarityMetadataFields());
+            }
+        }
+    }
+
+    /**
+     * @return the facets exposing the minimum and maximum values of their metadata
+     */
+    public List<MinMaxFilter> getMinMaxFilters() {
+        return minMaxFilters;
+    }
+
+    /**
+     * @param metadataField the metadata field
+     * @return the plan to index the values of the given metadata field
+     */
+    public FieldPlan getFieldPlan(MetadataField metadataField) {
+        FieldPlan fieldPlan = fieldPlans.get(metadataField.getID());
+        // the plans are resolved again if the metadata field has been renamed in the registry
+        if (fieldPlan == null || !fieldPlan.isPlanOf(metadataField)) {
+            fieldPlan = new FieldPlan(metadataField);
+            fieldPlans.put(metadataField.getID(), fieldPlan);
+        }
+        return fieldPlan;
+    }
+
+    /**
+     * A facet exposing the minimum and maximum values of its metadata.
+     */
+    public static class MinMaxFilter {
+
+        private final DiscoverySearchFilter searchFilter;
+
+        private final List<String[]> metadataFields = new ArrayList<>();
+
+        private MinMaxFilter(DiscoverySearchFilter searchFilter) {
+            this.searchFilter = searchFilter;
+            for (String metadataField : searchFilter.getMetadataFields()) {
+                String[] splittedMetadataField = metadataField.split("\\.");
+                metadataFields.add(new String[] { splittedMetadataField[0],
+                    splittedMetadataField.length > 1 ? splittedMetadataField[1] : null,
+                    splittedMetadataField.length > 2 ? splittedMetadataField[2] : null });
+            }
+        }
+
+        public DiscoverySearchFilter getSearchFilter() {
+            return searchFilter;
+        }
+
+        /**
+         * @return the schema, element and qualifier of each metadata field of the facet
+         */
+        public List<String[]> getMetadataFields() {
+            return metadataFields;
+        }
+    }
+
+    /**
+     * The plan to index the values of a metadata field, with the names of the Solr fields to write.
+     */
+    public class FieldPlan {
+
+        private final String schema;
+
+        private final String element;
+
+        private final String qualifier;
+
+        private final String field;
+
+        private final String unqualifiedField;
+
+        private final String anyQualifierField;
+
+        private final boolean ignored;
+
+        private final List<DiscoverySearchFilter> fieldSearchFilters;
+
+        private final String sortType;
+
+        private final boolean hitHighlighting;
+
+        private final boolean moreLikeThis;
+
+        private FieldPlan(MetadataField metadataField) {
+            schema = metadataField.getMetadataSchema().getName();
+            element = metadataField.getElement();
+            qualifier = metadataField.getQualifier();
+
+            unqualifiedField = schema + "." + element;
+            field = qualifier != null && !qualifier.trim().equals("") ? unqualifiedField + "." + qualifier
+                : unqualifiedField;
+            anyQualifierField = unqualifiedField + "." + Item.ANY;
+
+            ignored = ignoredMetadataFields.contains(field) || ignoredMetadataFields.contains(anyQualifierField);
+
+            List<DiscoverySearchFilter> filters = searchFilters.get(field);
+            if (filters == null) {
+                filters = searchFilters.get(anyQualifierField);
+            }
+            fieldSearchFilters = filters != null ? filters : Collections.emptyList();
+
+            if (sortFields.get(field) != null) {
+                sortType = sortFields.get(field).getType();
+            } else if (recentSubmissionsConfigurations.get(field) != null) {
+                sortType = recentSubmissionsConfigurations.get(field).getType();
+            } else {
+                sortType = null;
+            }
+
+            hitHighlighting = hitHighlightingFields.contains(field) || hitHighlightingFields.contains("*")
+                || hitHighlightingFields.contains(anyQualifierField);
+            moreLikeThis = moreLikeThisFields.contains(field) || moreLikeThisFields.contains(anyQualifierField);
+        }
+
+        private boolean isPlanOf(MetadataField metadataField) {
+            return Objects.equals(element, metadataField.getElement())
+                && Objects.equals(qualifier, metadataField.getQualifier())
+                && Objects.equals(schema, metadataField.getMetadataSchema().getName());
+        }
+
+        /**
+         * @return the name of the metadata field, e.g. dc.contributor.author
+         */
+        public String getField() {
+            return field;
+        }
+
+        /**
+         * @return the name of the metadata field with any qualifier, e.g. dc.contributor.*
+         */
+        public String getAnyQualifierField() {
+            return anyQualifierField;
+        }
+
+        /**
+         * @return true if the metadata field must not be indexed
+         */
+        public boolean isIgnored() {
+            return ignored;
+        }
+
+        /**
+         * @return the search filters fed by the metadata field
+         */
+        public List<DiscoverySearchFilter> getSearchFilters() {
+            return fieldSearchFilters;
+        }
+
+        /**
+         * @return the type of the sort field fed by the metadata field, or null if it is not a sort field
+         */
+        public String getSortType() {
+            return sortType;
+        }
+
+        public boolean isHitHighlighting() {
+            return hitHighlighting;
+        }
+
+        public boolean isMoreLikeThis() {
+            return moreLikeThis;
+        }
+    }
+}
@@ -10,7 +10,10 @@ package org.dspace.discovery.indexobject;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 
 import org.apache.commons.collections4.ListUtils;
@@ -18,6 +21,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
 import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrInputDocument;
 import org.apache.tika.exception.TikaException;
 import org.apache.tika.metadata.Metadata;
@@ -45,6 +49,12 @@ public abstract class IndexFactoryImpl<T extends IndexableObject, S> implements
 
     private static final Logger log = org.apache.logging.log4j.LogManager.getLogger(IndexFactoryImpl.class);
 
+    private static final String FULLTEXT_FIELD = "fulltext";
+
+    private static final String TIKA_METADATA_FIELD_PREFIX = "tika_meta_";
+
+    private static final String VERSION_FIELD = "_version_";
+
     @Autowired
     protected List<SolrServiceIndexPlugin> solrServiceIndexPlugins;
     @Autowired
@@ -128,12 +138,12 @@ public abstract class IndexFactoryImpl<T extends IndexableObject, S> implements
                 // This metadata is not very useful right now, but we'll keep it just in case it becomes more useful.
                 for (String name : tikaMetadata.names()) {
                     for (String value : tikaMetadata.getValues(name)) {
-                        doc.addField("tika_meta_" + name, value);
+                        doc.addField(TIKA_METADATA_FIELD_PREFIX + name, value);
                     }
                 }
 
                 // Save (parsed) full text to "fulltext" field
-                doc.addField("fulltext", tikaHandler.toString());
+                doc.addField(FULLTEXT_FIELD, tikaHandler.toString());
             }
 
             // Add document to index
@@ -141,6 +151,65 @@ public abstract class IndexFactoryImpl<T extends IndexableObject, S> implements
         }
     }
 
+    @Override
+    public boolean updateDocument(Context context, T indexableObject, SolrInputDocument solrInputDocument)
+            throws SQLException, IOException, SolrServerException {
+        final SolrClient solr = solrSearchCore.getSolr();
+        if (solr == null) {
+            return false;
+        }
+        // the real-time get also sees the updates not committed yet
+        final String uniqueID = indexableObject.getUniqueIndexID();
+        final SolrDocument storedDocument = solr.getById(uniqueID);
+        if (storedDocument == null) {
+            return false;
+        }
+
+        SolrInputDocument update = new SolrInputDocument();
+        update.addField(SearchUtils.RESOURCE_UNIQUE_ID, uniqueID);
+        for (String field : solrInputDocument.getFieldNames()) {
+            Collection<Object> values = solrInputDocument.getFieldValues(field);
+            if (!isFullTextField(field) && !sameValues(values, storedDocument.getFieldValues(field))) {
+                update.addField(field, Collections.<String, Object>singletonMap("set", values));
+            }
+        }
+        for (String field : storedDocument.getFieldNames()) {
+            if (!solrInputDocument.containsKey(field) && !isFullTextField(field) && !VERSION_FIELD.equals(field)) {
+                update.addField(field, Collections.<String, Object>singletonMap("set", null));
+            }
+        }
+
+        if (update.size() > 1) {
+            solr.add(update);
+        }
+        return true;
+    }
+
+    /**
+     * The fields written from the full text streams, which are not part of the documents built by
+     * {@link #buildDocument}
+     */
+    private boolean isFullTextField(String field) {
+        return field.startsWith(FULLTEXT_FIELD) || field.startsWith(TIKA_METADATA_FIELD_PREFIX);
+    }
+
+    private boolean sameValues(Collection<Object> values, Collection<Object> storedValues) {
+        if (values == null || storedValues == null || values.size() != storedValues.size()) {
+            return values == storedValues;
+        }
+        Iterator<Object> storedIterator = storedValues.iterator();
+        for (Object value : values) {
+            if (!StringUtils.equals(toString(value), toString(storedIterator.next()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String toString(Object value) {
+        return value instanceof Date ? SolrUtils.getDateFormatter().format((Date) value) : String.valueOf(value);
+    }
+
 
     /**
      * Index the provided value as use for a sidebar facet
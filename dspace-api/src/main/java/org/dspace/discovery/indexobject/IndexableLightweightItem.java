@@ -0,0 +1,55 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.indexobject;
+
+import java.util.Date;
+import java.util.UUID;
+
+import org.dspace.core.Constants;
+
+/**
+ * IndexableObject of a search result item built from the fields stored in the index, see {@link LightweightItem}.
+ */
+public class IndexableLightweightItem extends AbstractIndexableObject<LightweightItem, UUID> {
+
+    private LightweightItem item;
+
+    public IndexableLightweightItem(LightweightItem item) {
+        this.item = item;
+    }
+
+    @Override
+    public String getType() {
+        return IndexableItem.TYPE;
+    }
+
+    @Override
+    public UUID getID() {
+        return item.getID();
+    }
+
+    @Override
+    public LightweightItem getIndexedObject() {
+        return item;
+    }
+
+    @Override
+    public void setIndexedObject(LightweightItem item) {
+        this.item = item;
+    }
+
+    @Override
+    public String getTypeText() {
+        return Constants.typeText[Constants.ITEM];
+    }
+
+    @Override
+    public Date getLastModified() {
+        return item.getLastModified();
+    }
+}
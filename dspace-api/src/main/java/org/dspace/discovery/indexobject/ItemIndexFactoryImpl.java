@@ -7,12 +7,12 @@
  */
 package org.dspace.discovery.indexobject;
 
+import java.io.File;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -21,6 +21,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -32,7 +34,6 @@ import org.dspace.content.Collection;
 import org.dspace.content.Community;
 import org.dspace.content.Item;
 import org.dspace.content.MetadataField;
-import org.dspace.content.MetadataSchema;
 import org.dspace.content.MetadataValue;
 import org.dspace.content.WorkspaceItem;
 import org.dspace.content.authority.Choices;
@@ -40,22 +41,18 @@ import org.dspace.content.authority.service.ChoiceAuthorityService;
 import org.dspace.content.authority.service.MetadataAuthorityService;
 import org.dspace.content.service.ItemService;
 import org.dspace.content.service.WorkspaceItemService;
+import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.core.CrisConstants;
 import org.dspace.core.LogHelper;
+import org.dspace.discovery.FullTextCache;
 import org.dspace.discovery.FullTextContentStreams;
 import org.dspace.discovery.IndexableObject;
 import org.dspace.discovery.SearchUtils;
 import org.dspace.discovery.configuration.DiscoveryConfiguration;
 import org.dspace.discovery.configuration.DiscoveryConfigurationParameters;
-import org.dspace.discovery.configuration.DiscoveryHitHighlightFieldConfiguration;
-import org.dspace.discovery.configuration.DiscoveryHitHighlightingConfiguration;
-import org.dspace.discovery.configuration.DiscoveryMoreLikeThisConfiguration;
-import org.dspace.discovery.configuration.DiscoveryRecentSubmissionsConfiguration;
 import org.dspace.discovery.configuration.DiscoverySearchFilter;
 import org.dspace.discovery.configuration.DiscoverySearchFilterFacet;
-import org.dspace.discovery.configuration.DiscoverySortConfiguration;
-import org.dspace.discovery.configuration.DiscoverySortFieldConfiguration;
 import org.dspace.discovery.configuration.GraphDiscoverSearchFilterFacet;
 import org.dspace.discovery.configuration.HierarchicalSidebarFacetConfiguration;
 import org.dspace.discovery.indexobject.factory.ItemIndexFactory;
@@ -99,6 +96,17 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
     @Autowired
     protected WorkspaceItemIndexFactory workspaceItemIndexFactory;
 
+    /**
+     * The plans to index the items, by the discovery configurations applying to them. The configurations are
+     * collected in a set, so their order is not part of the key.
+     */
+    private final Map<Set<DiscoveryConfiguration>, DiscoveryIndexPlan> indexPlans = new ConcurrentHashMap<>();
+
+    /**
+     * The local cache of the full texts, created on first use
+     */
+    private FullTextCache fullTextCache;
+
 
     @Override
     public Iterator<IndexableItem> findAll(Context context) throws SQLException {
@@ -178,118 +186,35 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
         // use the item service to retrieve the owning collection also for inprogress submission
         Collection collection = (Collection) itemService.getParentObject(context, item);
         //Keep a list of our sort values which we added, sort values can only be added once
-        List<String> sortFieldsAdded = new ArrayList<>();
-        Map<String, List<DiscoverySearchFilter>> searchFilters = new HashMap<>();
-        Set<String> hitHighlightingFields = new HashSet<>();
+        Set<String> sortFieldsAdded = new HashSet<>();
+        String separator = DSpaceServicesFactory.getInstance().getConfigurationService()
+                .getProperty("discovery.solr.facets.split.char");
+        if (separator == null) {
+            separator = SearchUtils.FILTER_SEPARATOR;
+        }
         try {
-            //A map used to save each sidebarFacet config by the metadata fields
-            Map<String, DiscoverySortFieldConfiguration> sortFields = new HashMap<>();
-            Map<String, DiscoveryRecentSubmissionsConfiguration> recentSubmissionsConfigurationMap = new
-                    HashMap<>();
-            Set<String> moreLikeThisFields = new HashSet<>();
-            // some configuration are returned multiple times, skip them to save CPU cycles
-            Set<String> appliedConf = new HashSet<>();
-            // it is common to have search filter shared between multiple configurations
-            Set<String> appliedDiscoverySearchFilter = new HashSet<>();
-
-            for (DiscoveryConfiguration discoveryConfiguration : discoveryConfigurations) {
-                if (appliedConf.contains(discoveryConfiguration.getId())) {
-                    continue;
-                } else {
-                    appliedConf.add(discoveryConfiguration.getId());
-                }
-                for (int i = 0; i < discoveryConfiguration.getSearchFilters().size(); i++) {
-                    if (appliedDiscoverySearchFilter
-                            .contains(discoveryConfiguration.getSearchFilters().get(i).getIndexFieldName())) {
-                        continue;
-                    } else {
-                        appliedDiscoverySearchFilter
-                                .add(discoveryConfiguration.getSearchFilters().get(i).getIndexFieldName());
-                    }
-                    List<MetadataValue> metadataValueList = new LinkedList<>();
-                    boolean shouldExposeMinMax = false;
-                    DiscoverySearchFilter discoverySearchFilter = discoveryConfiguration.getSearchFilters().get(i);
-                    if (StringUtils.equalsIgnoreCase(discoverySearchFilter.getFilterType(), "facet")) {
-                        if (((DiscoverySearchFilterFacet) discoverySearchFilter).exposeMinAndMaxValue()) {
-                            shouldExposeMinMax = true;
-                        }
-                    }
-                    for (int j = 0; j < discoverySearchFilter.getMetadataFields().size(); j++) {
-                        String metadataField = discoverySearchFilter.getMetadataFields().get(j);
-                        List<DiscoverySearchFilter> resultingList;
-                        if (searchFilters.get(metadataField) != null) {
-                            resultingList = searchFilters.get(metadataField);
-                        } else {
-                            //New metadata field, create a new list for it
-                            resultingList = new ArrayList<>();
-                        }
+            DiscoveryIndexPlan indexPlan = getIndexPlan(discoveryConfigurations);
 
-
-                        if (shouldExposeMinMax) {
-                            String[] splittedMetadataField = metadataField.split("\\.");
-                            String schema = splittedMetadataField[0];
-                            String element = splittedMetadataField.length > 1 ? splittedMetadataField[1] : null;
-                            String qualifier = splittedMetadataField.length > 2 ? splittedMetadataField[2] : null;
-
-                            metadataValueList.addAll(itemService.getMetadata(item, schema,
-                                    element, qualifier, Item.ANY));
-
-                        }
-
-                        resultingList.add(discoverySearchFilter);
-
-                        searchFilters.put(metadataField, resultingList);
-                    }
-
-                    if (!metadataValueList.isEmpty() && shouldExposeMinMax) {
-                        metadataValueList.sort((mdv1, mdv2) -> mdv1.getValue().compareTo(mdv2.getValue()));
-                        MetadataValue firstMetadataValue = metadataValueList.get(0);
-                        MetadataValue lastMetadataValue = metadataValueList.get(metadataValueList.size() - 1);
-
-                        doc.addField(discoverySearchFilter.getIndexFieldName() + "_min", firstMetadataValue.getValue());
-                        doc.addField(discoverySearchFilter.getIndexFieldName()
-                                + "_min_sort", firstMetadataValue.getValue());
-                        doc.addField(discoverySearchFilter.getIndexFieldName() + "_max", lastMetadataValue.getValue());
-                        doc.addField(discoverySearchFilter.getIndexFieldName()
-                                + "_max_sort", lastMetadataValue.getValue());
-
-                    }
-                }
-
-                DiscoverySortConfiguration sortConfiguration = discoveryConfiguration.getSearchSortConfiguration();
-                if (sortConfiguration != null) {
-                    for (DiscoverySortFieldConfiguration discoverySortConfiguration : sortConfiguration
-                            .getSortFields()) {
-                        sortFields.put(discoverySortConfiguration.getMetadataField(), discoverySortConfiguration);
-                    }
+            for (DiscoveryIndexPlan.MinMaxFilter minMaxFilter : indexPlan.getMinMaxFilters()) {
+                List<MetadataValue> metadataValueList = new LinkedList<>();
+                for (String[] metadataField : minMaxFilter.getMetadataFields()) {
+                    metadataValueList.addAll(itemService.getMetadata(item, metadataField[0],
+                            metadataField[1], metadataField[2], Item.ANY));
                 }
 
-                DiscoveryRecentSubmissionsConfiguration recentSubmissionConfiguration = discoveryConfiguration
-                        .getRecentSubmissionConfiguration();
-                if (recentSubmissionConfiguration != null) {
-                    recentSubmissionsConfigurationMap
-                            .put(recentSubmissionConfiguration.getMetadataSortField(), recentSubmissionConfiguration);
-                }
+                if (!metadataValueList.isEmpty()) {
+                    metadataValueList.sort((mdv1, mdv2) -> mdv1.getValue().compareTo(mdv2.getValue()));
+                    MetadataValue firstMetadataValue = metadataValueList.get(0);
+                    MetadataValue lastMetadataValue = metadataValueList.get(metadataValueList.size() - 1);
+                    String indexFieldName = minMaxFilter.getSearchFilter().getIndexFieldName();
 
-                DiscoveryHitHighlightingConfiguration hitHighlightingConfiguration = discoveryConfiguration
-                        .getHitHighlightingConfiguration();
-                if (hitHighlightingConfiguration != null) {
-                    List<DiscoveryHitHighlightFieldConfiguration> fieldConfigurations = hitHighlightingConfiguration
-                            .getMetadataFields();
-                    for (DiscoveryHitHighlightFieldConfiguration fieldConfiguration : fieldConfigurations) {
-                        hitHighlightingFields.add(fieldConfiguration.getField());
-                    }
-                }
-                DiscoveryMoreLikeThisConfiguration moreLikeThisConfiguration = discoveryConfiguration
-                        .getMoreLikeThisConfiguration();
-                if (moreLikeThisConfiguration != null) {
-                    for (String metadataField : moreLikeThisConfiguration.getSimilarityMetadataFields()) {
-                        moreLikeThisFields.add(metadataField);
-                    }
+                    doc.addField(indexFieldName + "_min", firstMetadataValue.getValue());
+                    doc.addField(indexFieldName + "_min_sort", firstMetadataValue.getValue());
+                    doc.addField(indexFieldName + "_max", lastMetadataValue.getValue());
+                    doc.addField(indexFieldName + "_max_sort", lastMetadataValue.getValue());
                 }
             }
 
-
             List<String> toProjectionFields = new ArrayList<>();
             String[] projectionFields = DSpaceServicesFactory.getInstance().getConfigurationService()
                     .getArrayProperty("discovery.index.projection");
@@ -299,13 +224,11 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
                 }
             }
 
-            List<String> toIgnoreMetadataFields = SearchUtils.getIgnoredMetadataFields(item.getType());
             List<MetadataValue> mydc = itemService.getMetadata(item, Item.ANY, Item.ANY, Item.ANY, Item.ANY);
             for (MetadataValue meta : mydc) {
                 MetadataField metadataField = meta.getMetadataField();
-                MetadataSchema metadataSchema = metadataField.getMetadataSchema();
-                String field = metadataSchema.getName() + "." + metadataField.getElement();
-                String unqualifiedField = field;
+                DiscoveryIndexPlan.FieldPlan fieldPlan = indexPlan.getFieldPlan(metadataField);
+                String field = fieldPlan.getField();
 
                 String value = meta.getValue();
 
@@ -313,19 +236,16 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
                     continue;
                 }
 
-                if (metadataField.getQualifier() != null && !metadataField.getQualifier().trim().equals("")) {
-                    field += "." + metadataField.getQualifier();
-                }
-
                 //We are not indexing provenance, this is useless
-                if (toIgnoreMetadataFields != null && (toIgnoreMetadataFields.contains(field) || toIgnoreMetadataFields
-                        .contains(unqualifiedField + "." + Item.ANY))) {
+                if (fieldPlan.isIgnored()) {
                     continue;
                 }
 
+                boolean projection = toProjectionFields.contains(field)
+                        || toProjectionFields.contains(fieldPlan.getAnyQualifierField());
+
                 if (StringUtils.equals(value, CrisConstants.PLACEHOLDER_PARENT_METADATA_VALUE)) {
-                    if (toProjectionFields.contains(field) || toProjectionFields
-                            .contains(unqualifiedField + "." + Item.ANY)) {
+                    if (projection) {
                         doc.addField(
                                 field + "_stored",
                                 value + STORE_SEPARATOR + "null" // preferedLabel
@@ -407,20 +327,10 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
                     }
                 }
 
-                if ((searchFilters.get(field) != null || searchFilters
-                        .get(unqualifiedField + "." + Item.ANY) != null)) {
-                    List<DiscoverySearchFilter> searchFilterConfigs = searchFilters.get(field);
-                    if (searchFilterConfigs == null) {
-                        searchFilterConfigs = searchFilters.get(unqualifiedField + "." + Item.ANY);
-                    }
-
+                List<DiscoverySearchFilter> searchFilterConfigs = fieldPlan.getSearchFilters();
+                if (!searchFilterConfigs.isEmpty()) {
                     for (DiscoverySearchFilter searchFilter : searchFilterConfigs) {
                         Date date = null;
-                        String separator = DSpaceServicesFactory.getInstance().getConfigurationService()
-                                .getProperty("discovery.solr.facets.split.char");
-                        if (separator == null) {
-                            separator = SearchUtils.FILTER_SEPARATOR;
-                        }
                         if (searchFilter.getType().equals(DiscoveryConfigurationParameters.TYPE_DATE)) {
                             //For our search filters that are dates we format them properly
                             date = MultiFormatDateParser.parse(value);
@@ -614,16 +524,9 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
                     }
                 }
 
-                if ((sortFields.get(field) != null || recentSubmissionsConfigurationMap
-                        .get(field) != null) && !sortFieldsAdded.contains(field)) {
+                String type = fieldPlan.getSortType();
+                if (type != null && !sortFieldsAdded.contains(field)) {
                     //Only add sort value once
-                    String type;
-                    if (sortFields.get(field) != null) {
-                        type = sortFields.get(field).getType();
-                    } else {
-                        type = recentSubmissionsConfigurationMap.get(field).getType();
-                    }
-
                     if (type.equals(DiscoveryConfigurationParameters.TYPE_DATE)) {
                         Date date = MultiFormatDateParser.parse(value);
                         if (date != null) {
@@ -639,8 +542,7 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
                     sortFieldsAdded.add(field);
                 }
 
-                if (hitHighlightingFields.contains(field) || hitHighlightingFields
-                        .contains("*") || hitHighlightingFields.contains(unqualifiedField + "." + Item.ANY)) {
+                if (fieldPlan.isHitHighlighting()) {
                     if (authority != null) {
                         doc.addField(field + "_hl", value + SearchUtils.AUTHORITY_SEPARATOR + authority);
                     } else {
@@ -648,8 +550,7 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
                     }
                 }
 
-                if (moreLikeThisFields.contains(field) || moreLikeThisFields
-                        .contains(unqualifiedField + "." + Item.ANY)) {
+                if (fieldPlan.isMoreLikeThis()) {
                     doc.addField(field + "_mlt", value);
                 }
 
@@ -662,8 +563,7 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
                     doc.addField(field + "_allauthority", meta.getAuthority());
                 }
 
-                if (toProjectionFields.contains(field) || toProjectionFields
-                        .contains(unqualifiedField + "." + Item.ANY)) {
+                if (projection) {
                     StringBuffer variantsToStore = new StringBuffer();
                     if (variants != null) {
                         for (String var : variants) {
@@ -721,10 +621,45 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
         log.debug("  Added Grouping");
     }
 
+    /**
+     * Get the plan to index the metadata of the items to which the given discovery configurations apply. The plan
+     * is built on the first request and then shared by all the items with the same configurations.
+     *
+     * @param discoveryConfigurations the discovery configurations applying to the item
+     * @return the index plan
+     */
+    protected DiscoveryIndexPlan getIndexPlan(List<DiscoveryConfiguration> discoveryConfigurations) {
+        return indexPlans.computeIfAbsent(Set.copyOf(discoveryConfigurations),
+            configurations -> new DiscoveryIndexPlan(discoveryConfigurations,
+                SearchUtils.getIgnoredMetadataFields(Constants.ITEM)));
+    }
+
     @Override
     public void writeDocument(Context context, IndexableItem indexableObject, SolrInputDocument solrInputDocument)
             throws SQLException, IOException, SolrServerException {
-        writeDocument(solrInputDocument, new FullTextContentStreams(context, indexableObject.getIndexedObject()));
+        writeDocument(solrInputDocument,
+            new FullTextContentStreams(context, indexableObject.getIndexedObject(), getFullTextCache()));
+    }
+
+    /**
+     * Get the local cache of the full texts of the items, so that they are not read from the bitstore again each
+     * time the items are reindexed.
+     *
+     * @return the full text cache, or null if it is disabled
+     */
+    protected synchronized FullTextCache getFullTextCache() {
+        if (!ConfigurationService.getBooleanProperty("discovery.fulltext.cache.enabled", true)) {
+            return null;
+        }
+        if (fullTextCache == null) {
+            String cacheDir = ConfigurationService.getProperty("discovery.fulltext.cache.dir",
+                ConfigurationService.getProperty("dspace.dir") + File.separator + "var" + File.separator
+                    + "fulltext-cache");
+            long cacheMaxSize = ConfigurationService.getLongProperty("discovery.fulltext.cache.max-size-mb", 4096)
+                * 1024 * 1024;
+            fullTextCache = new FullTextCache(new File(cacheDir), cacheMaxSize);
+        }
+        return fullTextCache;
     }
 
     @Override
@@ -805,4 +740,12 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
         final Item item = itemService.find(context, UUID.fromString(id));
         return item == null ? Optional.empty() : Optional.of(new IndexableItem(item));
     }
+
+    @Override
+    public List<IndexableItem> findIndexableObjects(Context context, List<String> ids) throws SQLException {
+        List<UUID> uuids = ids.stream().map(UUID::fromString).collect(Collectors.toList());
+        return itemService.findByIdsWithMetadata(context, uuids).stream()
+                          .map(IndexableItem::new)
+                          .collect(Collectors.toList());
+    }
 }
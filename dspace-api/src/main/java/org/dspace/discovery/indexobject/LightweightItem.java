@@ -0,0 +1,247 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.indexobject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.solr.common.SolrDocument;
+import org.dspace.content.MetadataValue;
+import org.dspace.core.ReloadableEntity;
+import org.dspace.discovery.SearchUtils;
+
+/**
+ * Read only view of an item built from the fields stored in the Discovery index, used to render the search results
+ * without loading the items from the database.
+ * <p>
+ * The metadata values are stored at index time for each visibility group: the values visible to the anonymous users
+ * and all the values, visible to the administrators.
+ */
+public class LightweightItem implements ReloadableEntity<UUID> {
+
+    /**
+     * The visibility group of the metadata values visible to the anonymous users.
+     */
+    public static final String ANONYMOUS = "anonymous";
+
+    /**
+     * The visibility group of all the metadata values, visible to the administrators.
+     */
+    public static final String ADMINISTRATOR = "administrator";
+
+    /**
+     * The prefix of the Solr fields holding the stored metadata values, followed by the visibility group and by the
+     * metadata field, e.g. <code>lightweight.anonymous.dc.title</code>.
+     */
+    public static final String FIELD_PREFIX = "lightweight.";
+
+    /**
+     * The Solr field holding the name of the item.
+     */
+    public static final String NAME_FIELD = FIELD_PREFIX + "name";
+
+    /**
+     * The stored Solr fields needed to build a lightweight item, other than the metadata values.
+     */
+    public static final String[] SOLR_FIELDS = { FIELD_PREFIX + "*", "handle", "archived", "withdrawn",
+        "discoverable", "lastModified", "search.entitytype" };
+
+    private static final String SEPARATOR = ItemIndexFactoryImpl.STORE_SEPARATOR;
+
+    private UUID id;
+
+    private String handle;
+
+    private String name;
+
+    private String entityType;
+
+    private boolean archived;
+
+    private boolean withdrawn;
+
+    private boolean discoverable;
+
+    private Date lastModified;
+
+    private final Map<String, List<StoredValue>> metadata = new HashMap<>();
+
+    /**
+     * Build a lightweight item from the stored fields of the given Solr document.
+     *
+     * @param doc the Solr document of an item
+     * @return the lightweight item
+     */
+    public static LightweightItem fromDocument(SolrDocument doc) {
+        LightweightItem item = new LightweightItem();
+        item.id = UUID.fromString((String) doc.getFirstValue(SearchUtils.RESOURCE_ID_FIELD));
+        item.handle = (String) doc.getFirstValue("handle");
+        item.name = (String) doc.getFirstValue(NAME_FIELD);
+        item.entityType = (String) doc.getFirstValue("search.entitytype");
+        item.archived = Boolean.parseBoolean(String.valueOf(doc.getFirstValue("archived")));
+        item.withdrawn = Boolean.parseBoolean(String.valueOf(doc.getFirstValue("withdrawn")));
+        item.discoverable = Boolean.parseBoolean(String.valueOf(doc.getFirstValue("discoverable")));
+        item.lastModified = (Date) doc.getFirstValue("lastModified");
+
+        for (String fieldName : doc.getFieldNames()) {
+            String groupAndField = StringUtils.removeStart(fieldName, FIELD_PREFIX);
+            int separator = groupAndField.indexOf('.');
+            if (groupAndField.equals(fieldName) || separator < 0) {
+                continue;
+            }
+            String group = groupAndField.substring(0, separator);
+            String field = groupAndField.substring(separator + 1);
+            List<StoredValue> values = item.metadata.computeIfAbsent(group, key -> new ArrayList<>());
+            for (Object storedValue : doc.getFieldValues(fieldName)) {
+                values.add(StoredValue.decode(field, String.valueOf(storedValue)));
+            }
+        }
+        return item;
+    }
+
+    /**
+     * Encode the given metadata value to be stored in the Solr field of its visibility group.
+     *
+     * @param value the metadata value
+     * @return the encoded value
+     */
+    public static String encode(MetadataValue value) {
+        return value.getValue() + SEPARATOR + StringUtils.defaultString(value.getLanguage()) + SEPARATOR
+            + StringUtils.defaultString(value.getAuthority()) + SEPARATOR + value.getConfidence() + SEPARATOR
+            + value.getPlace();
+    }
+
+    /**
+     * @param group the visibility group
+     * @return the name of the Solr field holding the values of the given group for the given metadata field
+     */
+    public static String getFieldName(String group, String metadataField) {
+        return FIELD_PREFIX + group + "." + metadataField;
+    }
+
+    @Override
+    public UUID getID() {
+        return id;
+    }
+
+    public String getHandle() {
+        return handle;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public boolean isArchived() {
+        return archived;
+    }
+
+    public boolean isWithdrawn() {
+        return withdrawn;
+    }
+
+    public boolean isDiscoverable() {
+        return discoverable;
+    }
+
+    public Date getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * @param group the visibility group
+     * @return the stored metadata values of the given visibility group
+     */
+    public List<StoredValue> getMetadata(String group) {
+        return Collections.unmodifiableList(metadata.getOrDefault(group, Collections.emptyList()));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof LightweightItem && Objects.equals(id, ((LightweightItem) obj).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+
+    /**
+     * A metadata value stored in the Discovery index.
+     */
+    public static class StoredValue {
+
+        private final String field;
+
+        private final String value;
+
+        private final String language;
+
+        private final String authority;
+
+        private final int confidence;
+
+        private final int place;
+
+        private StoredValue(String field, String value, String language, String authority, int confidence,
+                            int place) {
+            this.field = field;
+            this.value = value;
+            this.language = language;
+            this.authority = authority;
+            this.confidence = confidence;
+            this.place = place;
+        }
+
+        private static StoredValue decode(String field, String storedValue) {
+            String[] parts = StringUtils.splitByWholeSeparatorPreserveAllTokens(storedValue, SEPARATOR);
+            return new StoredValue(field, parts[0], part(parts, 1), part(parts, 2),
+                Integer.parseInt(StringUtils.defaultIfEmpty(part(parts, 3), "-1")),
+                Integer.parseInt(StringUtils.defaultIfEmpty(part(parts, 4), "0")));
+        }
+
+        private static String part(String[] parts, int index) {
+            return parts.length > index ? StringUtils.trimToNull(parts[index]) : null;
+        }
+
+        public String getField() {
+            return field;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public String getLanguage() {
+            return language;
+        }
+
+        public String getAuthority() {
+            return authority;
+        }
+
+        public int getConfidence() {
+            return confidence;
+        }
+
+        public int getPlace() {
+            return place;
+        }
+    }
+}
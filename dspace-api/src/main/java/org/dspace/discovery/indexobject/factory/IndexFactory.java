@@ -9,6 +9,7 @@ package org.dspace.discovery.indexobject.factory;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
@@ -58,6 +59,22 @@ public interface IndexFactory<T extends IndexableObject, S> {
     void writeDocument(Context context, T indexableObject, SolrInputDocument solrInputDocument)
             throws SQLException, IOException, SolrServerException;
 
+    /**
+     * Update the document of the provided indexable object already stored in the solr core with atomic updates:
+     * only the fields whose values differ from the stored ones are set, the fields missing from the provided document
+     * are removed and the full text indexed by {@link #writeDocument} is left untouched
+     * @param context               DSpace context object
+     * @param indexableObject       The indexable object that we want to update in the search core
+     * @param solrInputDocument     Solr input document built for the indexable object, without the full text
+     * @return                      false if the indexable object is not in the search core yet, in which case
+     *                              nothing is written
+     * @throws SQLException         If database error
+     * @throws IOException          If IO error
+     * @throws SolrServerException  If the solr document could not be read or written
+     */
+    boolean updateDocument(Context context, T indexableObject, SolrInputDocument solrInputDocument)
+            throws SQLException, IOException, SolrServerException;
+
     /**
      * Remove the provided indexable object from the solr core
      * @param indexableObject       The indexable object that we want to remove from the search core
@@ -90,6 +107,24 @@ public interface IndexFactory<T extends IndexableObject, S> {
      */
     Optional<T> findIndexableObject(Context context, String id) throws SQLException;
 
+    /**
+     * Retrieve the indexable objects with the provided identifiers, e.g. the
+     * objects of a page of search results. The factories able to load several
+     * objects with a single query override this method, by default the objects
+     * are retrieved one at a time.
+     * @param context       DSpace context object
+     * @param ids           The identifiers of the indexable objects
+     * @return              The found indexable objects, in no particular order
+     * @throws SQLException If database error
+     */
+    default List<T> findIndexableObjects(Context context, List<String> ids) throws SQLException {
+        List<T> indexableObjects = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            findIndexableObject(context, id).ifPresent(indexableObjects::add);
+        }
+        return indexableObjects;
+    }
+
     /**
      * Determine whether the class can handle the factory implementation
      * @param object        The object which we want to check
@@ -0,0 +1,65 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.disseminate;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.dspace.util.DiskLruCache;
+
+/**
+ * Local disk cache of generated citation documents.
+ * <p>
+ * Entries are stored as files in a dedicated directory and evicted in least recently used order as soon as the
+ * total size of the cache exceeds the configured limit, see {@link DiskLruCache}. Concurrent requests for the same
+ * key are collapsed so that the document is generated only once, the other callers wait for the first generation to
+ * complete.
+ */
+public class CitationDocumentCache {
+
+    private static final String ENTRY_SUFFIX = ".pdf";
+
+    /**
+     * Writes the content of a cache entry to the given output stream.
+     */
+    @FunctionalInterface
+    public interface DocumentWriter {
+        void write(OutputStream out) throws Exception;
+    }
+
+    private final DiskLruCache cache;
+
+    public CitationDocumentCache(File cacheDir, long maxSizeBytes) {
+        this.cache = new DiskLruCache(cacheDir, ENTRY_SUFFIX, maxSizeBytes, null);
+    }
+
+    /**
+     * Open the cached document for the given key, generating it with the given writer if it is not already cached.
+     * If another thread is already generating the same entry, wait for it instead of generating it twice. The
+     * document is opened before it can be evicted, so the stream remains readable afterwards.
+     *
+     * @param key    the cache key, must be safe to use as a file name
+     * @param writer the writer used to produce the document on a cache miss
+     * @return the stream of the cached document and its length
+     * @throws IOException if the document cannot be generated, stored or opened
+     */
+    public Pair<InputStream, Long> getOrCreate(String key, DocumentWriter writer) throws IOException {
+        return cache.get(key, writer::write, file -> Pair.of(new FileInputStream(file), file.length()));
+    }
+
+    /**
+     * @return the total size in bytes of the currently cached documents
+     */
+    public long getCurrentSizeBytes() {
+        return cache.getCurrentSizeBytes();
+    }
+}
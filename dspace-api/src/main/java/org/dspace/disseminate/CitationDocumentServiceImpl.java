@@ -13,11 +13,13 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
@@ -90,6 +92,11 @@ public class CitationDocumentServiceImpl implements CitationDocumentService, Ini
 
     protected File tempDir;
 
+    /**
+     * Disk cache of the generated documents, null if caching is disabled.
+     */
+    protected CitationDocumentCache citationDocumentCache;
+
     protected String[] header1;
     protected String[] header2;
     protected String[] fields;
@@ -222,6 +229,14 @@ public class CitationDocumentServiceImpl implements CitationDocumentService, Ini
                 log.info("Unable to create temp directory at: " + tempDirString);
             }
         }
+
+        if (configurationService.getBooleanProperty("citation-page.cache.enabled", true)) {
+            String cacheDirString = configurationService.getProperty("citation-page.cache.dir",
+                tempDirString + File.separator + "citation-cache");
+            long cacheMaxSize = configurationService.getLongProperty("citation-page.cache.max-size-mb", 1024)
+                * 1024 * 1024;
+            citationDocumentCache = new CitationDocumentCache(new File(cacheDirString), cacheMaxSize);
+        }
     }
 
 
@@ -299,10 +314,29 @@ public class CitationDocumentServiceImpl implements CitationDocumentService, Ini
     @Override
     public Pair<InputStream, Long> makeCitedDocument(Context context, Bitstream bitstream)
             throws IOException, SQLException, AuthorizeException {
+        Item item = (Item) bitstreamService.getParentObject(context, bitstream);
+
+        if (citationDocumentCache != null) {
+            // the cover page depends on the item metadata, the rest of the document on the bitstream content
+            String key = Objects.toString(bitstream.getChecksum(), bitstream.getID().toString())
+                + "_" + item.getID() + "_" + item.getLastModified().getTime();
+            return citationDocumentCache.getOrCreate(key, out -> writeCitedDocument(context, bitstream, item, out));
+        }
+
+        //Without cache the document is kept in memory
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            writeCitedDocument(context, bitstream, item, out);
+
+            byte[] data = out.toByteArray();
+            return Pair.of(new ByteArrayInputStream(data), Long.valueOf(data.length));
+        }
+    }
+
+    protected void writeCitedDocument(Context context, Bitstream bitstream, Item item, OutputStream out)
+            throws IOException, SQLException, AuthorizeException {
         PDDocument document = new PDDocument();
         PDDocument sourceDocument = new PDDocument();
         try {
-            Item item = (Item) bitstreamService.getParentObject(context, bitstream);
             final InputStream inputStream = bitstreamService.retrieve(context, bitstream);
             try {
                 sourceDocument = sourceDocument.load(inputStream);
@@ -312,15 +346,7 @@ public class CitationDocumentServiceImpl implements CitationDocumentService, Ini
             PDPage coverPage = new PDPage(citationPageFormat);
             generateCoverPage(context, document, coverPage, item);
             addCoverPageToDocument(document, sourceDocument, coverPage);
-
-            //We already have the full PDF in memory, so keep it there
-            try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-                document.save(out);
-
-                byte[] data = out.toByteArray();
-                return Pair.of(new ByteArrayInputStream(data), Long.valueOf(data.length));
-            }
-
+            document.save(out);
         } finally {
             sourceDocument.close();
             document.close();
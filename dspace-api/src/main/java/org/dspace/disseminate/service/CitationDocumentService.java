@@ -76,6 +76,8 @@ public interface CitationDocumentService {
      * <li> Concatenate the coverpage and the source
      * document.</li>
      * </ol>
+     * When the citation cache is enabled the generated document is stored on local disk, so that subsequent
+     * requests for the same bitstream (e.g. range requests) don't generate it again until the item is modified.
      *
      * @param context   DSpace context
      * @param bitstream The source bitstream being cited. This must be a PDF.
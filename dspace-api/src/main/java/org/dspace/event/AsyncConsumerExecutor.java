@@ -0,0 +1,170 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.core.Context;
+import org.dspace.eperson.factory.EPersonServiceFactory;
+import org.dspace.instrumentation.MetricsRegistry;
+
+/**
+ * Executor of the asynchronous event consumers. Each asynchronous consumer has a dedicated thread and its own
+ * instance of the consumer, that receives the events of a committed transaction in a new {@link Context}, with the
+ * same current user of the committing one. The batches of events of a consumer are processed in the order of their
+ * commits; when the queue of a consumer is full the committing thread waits for it.
+ */
+public class AsyncConsumerExecutor {
+
+    private static final Logger log = LogManager.getLogger(AsyncConsumerExecutor.class);
+
+    private final Map<String, ConsumerWorker> workers = new ConcurrentHashMap<>();
+
+    private final int queueSize;
+
+    public AsyncConsumerExecutor(int queueSize) {
+        this.queueSize = Math.max(queueSize, 1);
+    }
+
+    /**
+     * Queue the given events of a committed transaction for the given consumer.
+     *
+     * @param consumerName  the name of the consumer
+     * @param events        the events to process
+     * @param currentUserId the id of the current user of the committed transaction, if any
+     * @param statistics    the statistics of the consumer
+     */
+    public void submit(String consumerName, List<Event> events, UUID currentUserId, ConsumerStatistics statistics) {
+        ConsumerWorker worker = workers.computeIfAbsent(consumerName, ConsumerWorker::new);
+        statistics.batchQueued();
+        try {
+            worker.executor.execute(() -> worker.process(events, currentUserId, statistics));
+        } catch (RejectedExecutionException e) {
+            statistics.batchProcessed();
+            log.error("Unable to queue " + events.size() + " events for the asynchronous consumer " + consumerName,
+                e);
+        }
+    }
+
+    /**
+     * Stop the workers, waiting for the queued events to be processed.
+     *
+     * @param timeout the maximum time to wait for each consumer
+     * @param unit    the unit of the timeout
+     */
+    public void shutdown(long timeout, TimeUnit unit) {
+        for (ConsumerWorker worker : workers.values()) {
+            worker.executor.shutdown();
+        }
+        for (ConsumerWorker worker : workers.values()) {
+            try {
+                if (!worker.executor.awaitTermination(timeout, unit)) {
+                    log.warn("Timeout waiting for the asynchronous consumer " + worker.profile.getName());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private class ConsumerWorker {
+
+        private final ConsumerProfile profile;
+
+        private final ThreadPoolExecutor executor;
+
+        private ConsumerWorker(String consumerName) {
+            try {
+                profile = ConsumerProfile.makeConsumerProfile(consumerName);
+                profile.getConsumer().initialize();
+            } catch (Exception e) {
+                throw new IllegalStateException("Unable to create the asynchronous consumer " + consumerName, e);
+            }
+            executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), new BasicThreadFactory.Builder()
+                    .namingPattern("event-consumer-" + consumerName + "-%d")
+                    .daemon(true)
+                    .build(), (task, pool) -> waitForQueue(task, pool));
+        }
+
+        private void waitForQueue(Runnable task, ThreadPoolExecutor pool) {
+            if (pool.isShutdown()) {
+                throw new RejectedExecutionException("The asynchronous consumer " + profile.getName()
+                                                         + " is shut down");
+            }
+            try {
+                pool.getQueue().put(task);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException(e);
+            }
+        }
+
+        private void process(List<Event> events, UUID currentUserId, ConsumerStatistics statistics) {
+            MetricsRegistry metrics = MetricsRegistry.getInstance();
+            Consumer consumer = profile.getConsumer();
+            String name = profile.getName();
+            long consumeNanos = 0;
+            long endNanos = 0;
+            int errors = 0;
+
+            Context context = new Context();
+            try {
+                if (currentUserId != null) {
+                    context.setCurrentUser(EPersonServiceFactory.getInstance().getEPersonService()
+                                                                .find(context, currentUserId));
+                }
+                for (Event event : events) {
+                    long start = System.nanoTime();
+                    try {
+                        consumer.consume(context, event);
+                    } catch (Exception e) {
+                        errors++;
+                        log.error("Consumer(\"" + name + "\").consume threw: " + e.toString(), e);
+                    }
+                    consumeNanos += System.nanoTime() - start;
+                }
+
+                long start = System.nanoTime();
+                try {
+                    consumer.end(context);
+                } catch (Exception e) {
+                    errors++;
+                    log.error("Error in Consumer(\"" + name + "\").end: " + e.toString(), e);
+                }
+                endNanos = System.nanoTime() - start;
+
+                context.complete();
+            } catch (SQLException e) {
+                errors++;
+                log.error("Error processing the events of the asynchronous consumer " + name, e);
+            } finally {
+                if (context.isValid()) {
+                    context.abort();
+                }
+                statistics.recordDispatch(events.size(), consumeNanos, endNanos, errors);
+                statistics.batchProcessed();
+                metrics.recordDuration(consumeNanos, "dspace.event.consumer.consume", "consumer", name);
+                metrics.recordDuration(endNanos, "dspace.event.consumer.end", "consumer", name);
+            }
+        }
+    }
+
+}
@@ -7,11 +7,20 @@
  */
 package org.dspace.event;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.logging.log4j.Logger;
 import org.dspace.core.Context;
 import org.dspace.core.Utils;
+import org.dspace.event.factory.EventServiceFactory;
+import org.dspace.event.service.EventService;
+import org.dspace.instrumentation.MetricsRegistry;
+import org.dspace.services.factory.DSpaceServicesFactory;
 
 /**
  * BasicDispatcher implements the primary task of a Dispatcher: it delivers a
@@ -58,7 +67,12 @@ public class BasicDispatcher extends Dispatcher {
 
     /**
      * Dispatch all events added to this Context according to configured
-     * consumers.
+     * consumers. The events of the asynchronous consumers are queued to be
+     * processed once the transaction is committed. The time spent by each
+     * consumer is recorded in its {@link ConsumerStatistics}, and the consumers
+     * slower than event.slow-consumer-threshold milliseconds are logged. The
+     * consumers are only timed when the metrics or the slow consumer logging
+     * are enabled.
      *
      * @param ctx the execution context
      */
@@ -79,6 +93,12 @@ public class BasicDispatcher extends Dispatcher {
             // this context for the current transaction. Prefix it with
             // some letters so RDF readers don't mistake it for an integer.
             String tid = "TX" + Utils.generateKey();
+            MetricsRegistry metrics = MetricsRegistry.getInstance();
+            long slowThreshold = TimeUnit.MILLISECONDS.toNanos(DSpaceServicesFactory.getInstance()
+                .getConfigurationService().getLongProperty("event.slow-consumer-threshold", 1000));
+            // no clock is read when nobody uses the durations
+            boolean timed = metrics.isEnabled() || slowThreshold > 0;
+            Map<String, ConsumerDispatch> dispatches = new HashMap<>();
 
             while (ctx.hasEvents()) {
                 Event event = ctx.pollEvent();
@@ -100,6 +120,15 @@ public class BasicDispatcher extends Dispatcher {
                                           + "\": " + event.toString());
                         }
 
+                        ConsumerDispatch dispatch = dispatches.computeIfAbsent(cp.getName(),
+                            name -> new ConsumerDispatch());
+                        if (cp.isAsync()) {
+                            dispatch.asyncEvents.add(event);
+                            event.setBitSet(cp.getName());
+                            continue;
+                        }
+
+                        long start = timed ? System.nanoTime() : 0;
                         try {
                             cp.getConsumer().consume(ctx, event);
 
@@ -107,32 +136,82 @@ public class BasicDispatcher extends Dispatcher {
                             // consumer
                             event.setBitSet(cp.getName());
                         } catch (Exception e) {
+                            dispatch.errors++;
                             log.error("Consumer(\"" + cp.getName()
                                           + "\").consume threw: " + e.toString(), e);
+                        } finally {
+                            dispatch.events++;
+                            if (timed) {
+                                long elapsed = System.nanoTime() - start;
+                                dispatch.consumeNanos += elapsed;
+                                metrics.recordDuration(elapsed, "dspace.event.consumer.consume", "consumer",
+                                                       cp.getName());
+                            }
                         }
                     }
 
                 }
             }
 
+            EventService eventService = EventServiceFactory.getInstance().getEventService();
+
             // Call end on the consumers that got synchronous events.
             for (Iterator ci = consumers.values().iterator(); ci.hasNext(); ) {
                 ConsumerProfile cp = (ConsumerProfile) ci.next();
                 if (cp != null) {
+                    ConsumerDispatch dispatch = dispatches.getOrDefault(cp.getName(), new ConsumerDispatch());
+                    if (cp.isAsync()) {
+                        if (!dispatch.asyncEvents.isEmpty()) {
+                            eventService.dispatchAfterCommit(ctx, cp.getName(), dispatch.asyncEvents);
+                        }
+                        continue;
+                    }
+
                     if (log.isDebugEnabled()) {
                         log.debug("Calling end for consumer \"" + cp.getName()
                                       + "\"");
                     }
 
+                    long start = timed ? System.nanoTime() : 0;
                     try {
                         cp.getConsumer().end(ctx);
                     } catch (Exception e) {
+                        dispatch.errors++;
                         log.error("Error in Consumer(\"" + cp.getName()
                                       + "\").end: " + e.toString(), e);
                     }
+                    long endNanos = 0;
+                    if (timed) {
+                        endNanos = System.nanoTime() - start;
+                        metrics.recordDuration(endNanos, "dspace.event.consumer.end", "consumer", cp.getName());
+                    }
+
+                    eventService.getConsumerStatistics(cp.getName())
+                                .recordDispatch(dispatch.events, dispatch.consumeNanos, endNanos, dispatch.errors);
+                    if (slowThreshold > 0 && dispatch.consumeNanos + endNanos > slowThreshold) {
+                        log.warn("Slow consumer \"" + cp.getName() + "\": "
+                                     + TimeUnit.NANOSECONDS.toMillis(dispatch.consumeNanos) + " ms to consume "
+                                     + dispatch.events + " events and "
+                                     + TimeUnit.NANOSECONDS.toMillis(endNanos) + " ms to end, in transaction " + tid);
+                    }
                 }
             }
         }
     }
 
+    /**
+     * Events, errors and time spent by a consumer in a single dispatch.
+     */
+    private static class ConsumerDispatch {
+
+        private int events;
+
+        private int errors;
+
+        private long consumeNanos;
+
+        private final List<Event> asyncEvents = new ArrayList<>();
+
+    }
+
 }
@@ -43,6 +43,12 @@ public class ConsumerProfile {
      */
     private List<int[]> filters;
 
+    /**
+     * Whether the consumer processes the events after the commit, in a
+     * dedicated thread and context, instead of in the committing thread
+     */
+    private boolean async;
+
     // Prefix of keys in DSpace Configuration.
     private static final String CONSUMER_PREFIX = "event.consumer.";
 
@@ -94,6 +100,7 @@ public class ConsumerProfile {
                                                                 + name + ".class");
         String filterString = configurationService.getProperty(CONSUMER_PREFIX
                                                                    + name + ".filters");
+        async = configurationService.getBooleanProperty(CONSUMER_PREFIX + name + ".async", false);
 
         if (className == null) {
             throw new IllegalArgumentException(
@@ -163,4 +170,8 @@ public class ConsumerProfile {
     public String getName() {
         return name;
     }
+
+    public boolean isAsync() {
+        return async;
+    }
 }
@@ -0,0 +1,110 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of an event consumer, collected across all the dispatchers since the startup: the number of events it
+ * processed, the time spent in {@link Consumer#consume(org.dspace.core.Context, Event)} and in
+ * {@link Consumer#end(org.dspace.core.Context)}, the longest dispatch and the number of errors. For the asynchronous
+ * consumers the time is spent after the commit, in the thread of the consumer.
+ */
+public class ConsumerStatistics {
+
+    private final String name;
+
+    private volatile boolean async;
+
+    private final LongAdder events = new LongAdder();
+
+    private final LongAdder consumeNanos = new LongAdder();
+
+    private final LongAdder dispatches = new LongAdder();
+
+    private final LongAdder endNanos = new LongAdder();
+
+    private final LongAccumulator maxDispatchNanos = new LongAccumulator(Math::max, 0);
+
+    private final LongAdder errors = new LongAdder();
+
+    private final AtomicInteger pendingBatches = new AtomicInteger();
+
+    public ConsumerStatistics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Record a dispatch of events to the consumer.
+     *
+     * @param events       the number of consumed events
+     * @param consumeNanos the time spent consuming the events, in nanoseconds
+     * @param endNanos     the time spent in the end of the consumer, in nanoseconds
+     * @param errors       the number of errors thrown by the consumer
+     */
+    public void recordDispatch(int events, long consumeNanos, long endNanos, int errors) {
+        this.events.add(events);
+        this.consumeNanos.add(consumeNanos);
+        this.dispatches.increment();
+        this.endNanos.add(endNanos);
+        this.maxDispatchNanos.accumulate(consumeNanos + endNanos);
+        this.errors.add(errors);
+    }
+
+    public void batchQueued() {
+        pendingBatches.incrementAndGet();
+    }
+
+    public void batchProcessed() {
+        pendingBatches.decrementAndGet();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
+
+    public long getEvents() {
+        return events.sum();
+    }
+
+    public long getDispatches() {
+        return dispatches.sum();
+    }
+
+    public long getConsumeTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(consumeNanos.sum());
+    }
+
+    public long getEndTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(endNanos.sum());
+    }
+
+    public long getMaxDispatchTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxDispatchNanos.get());
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public int getPendingBatches() {
+        return pendingBatches.get();
+    }
+
+}
@@ -71,6 +71,12 @@ public class Event implements Serializable {
 
     public static final int INSTALL = 1 << 6; // object exits workspace/flow
 
+    /**
+     * Detail of the MODIFY event fired together with a MODIFY_METADATA event
+     * when nothing but the metadata of the object has changed.
+     */
+    public static final String DETAIL_METADATA_ONLY = "METADATA_ONLY";
+
     /**
      * Index of filter parts in their array:
      */
@@ -9,10 +9,16 @@ package org.dspace.event;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.pool2.KeyedObjectPool;
@@ -53,6 +59,10 @@ public class EventServiceImpl implements EventService {
 
     protected String CONSUMER_PFX = "event.consumer";
 
+    private final Map<String, ConsumerStatistics> consumerStatistics = new ConcurrentHashMap<>();
+
+    private AsyncConsumerExecutor asyncConsumerExecutor;
+
     private static final ConfigurationService configurationService = DSpaceServicesFactory.getInstance()
                                                                                           .getConfigurationService();
 
@@ -94,6 +104,46 @@ public class EventServiceImpl implements EventService {
         }
     }
 
+    @Override
+    public void dispatchAfterCommit(Context context, String consumerName, List<Event> events) {
+        ConsumerStatistics statistics = getConsumerStatistics(consumerName);
+        statistics.setAsync(true);
+        UUID currentUserId = context.getCurrentUser() != null ? context.getCurrentUser().getID() : null;
+        context.addAfterCommitTask(
+            () -> getAsyncConsumerExecutor().submit(consumerName, events, currentUserId, statistics));
+    }
+
+    @Override
+    public ConsumerStatistics getConsumerStatistics(String consumerName) {
+        return consumerStatistics.computeIfAbsent(consumerName, ConsumerStatistics::new);
+    }
+
+    @Override
+    public List<ConsumerStatistics> getConsumerStatistics() {
+        List<ConsumerStatistics> statistics = new ArrayList<>(consumerStatistics.values());
+        statistics.sort(Comparator.comparing(ConsumerStatistics::getName));
+        return statistics;
+    }
+
+    private synchronized AsyncConsumerExecutor getAsyncConsumerExecutor() {
+        if (asyncConsumerExecutor == null) {
+            asyncConsumerExecutor = new AsyncConsumerExecutor(
+                configurationService.getIntProperty("event.async.queue-size", 1000));
+        }
+        return asyncConsumerExecutor;
+    }
+
+    /**
+     * Wait for the asynchronous consumers to process the queued events.
+     */
+    @PreDestroy
+    public synchronized void destroy() {
+        if (asyncConsumerExecutor != null) {
+            asyncConsumerExecutor.shutdown(1, TimeUnit.MINUTES);
+            asyncConsumerExecutor = null;
+        }
+    }
+
     @Override
     public Dispatcher getDispatcher(String name) {
         if (dispatcherPool == null) {
@@ -7,7 +7,12 @@
  */
 package org.dspace.event.service;
 
+import java.util.List;
+
+import org.dspace.core.Context;
+import org.dspace.event.ConsumerStatistics;
 import org.dspace.event.Dispatcher;
+import org.dspace.event.Event;
 
 /**
  * Class for managing the content event environment. The EventManager mainly
@@ -39,4 +44,31 @@ public interface EventService {
      * Reload the dispatcher configuration.
      */
     public void reloadConfiguration();
+
+    /**
+     * Process the given events with the given asynchronous consumer once the
+     * transaction of the given context is committed, in a dedicated thread and
+     * context.
+     *
+     * @param context      the context whose transaction generated the events
+     * @param consumerName the name of the asynchronous consumer
+     * @param events       the events to process
+     */
+    public void dispatchAfterCommit(Context context, String consumerName, List<Event> events);
+
+    /**
+     * Get the statistics of the given event consumer, creating them if needed.
+     *
+     * @param consumerName the name of the consumer
+     * @return the statistics of the consumer
+     */
+    public ConsumerStatistics getConsumerStatistics(String consumerName);
+
+    /**
+     * Get the statistics of all the event consumers that have been dispatched
+     * some events since the startup.
+     *
+     * @return the statistics of the consumers, sorted by name
+     */
+    public List<ConsumerStatistics> getConsumerStatistics();
 }
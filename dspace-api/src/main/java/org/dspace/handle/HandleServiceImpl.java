@@ -9,7 +9,10 @@ package org.dspace.handle;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -253,6 +256,19 @@ public class HandleServiceImpl implements HandleService {
         return dbhandle.getDSpaceObject();
     }
 
+    @Override
+    public Map<String, DSpaceObject> resolveToObjects(Context context, Collection<String> handles)
+        throws SQLException {
+        Map<String, DSpaceObject> objects = new HashMap<>();
+        for (Handle dbhandle : handleDAO.findByHandles(context, handles)) {
+            // skip the handles which are not currently bound to an object, as resolveToObject does
+            if (dbhandle.getDSpaceObject() != null && dbhandle.getResourceTypeId() != null) {
+                objects.put(dbhandle.getHandle(), dbhandle.getDSpaceObject());
+            }
+        }
+        return objects;
+    }
+
     @Override
     public String findHandle(Context context, DSpaceObject dso)
         throws SQLException {
@@ -8,6 +8,7 @@
 package org.dspace.handle.dao;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 
 import org.dspace.content.DSpaceObject;
@@ -31,6 +32,8 @@ public interface HandleDAO extends GenericDAO<Handle> {
 
     public Handle findByHandle(Context context, String handle) throws SQLException;
 
+    public List<Handle> findByHandles(Context context, Collection<String> handles) throws SQLException;
+
     public List<Handle> findByPrefix(Context context, String prefix) throws SQLException;
 
     public long countHandlesByPrefix(Context context, String prefix) throws SQLException;
@@ -11,6 +11,7 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import javax.persistence.Query;
@@ -77,6 +78,21 @@ public class HandleDAOImpl extends AbstractHibernateDAO<Handle> implements Handl
         return singleResult(query);
     }
 
+    @Override
+    public List<Handle> findByHandles(Context context, Collection<String> handles) throws SQLException {
+        if (handles.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Query query = createQuery(context,
+                                  "SELECT h " +
+                                      "FROM Handle h " +
+                                      "LEFT JOIN FETCH h.dso " +
+                                      "WHERE h.handle IN (:handles) ");
+
+        query.setParameter("handles", handles);
+        return findMany(context, query);
+    }
+
     @Override
     public List<Handle> findByPrefix(Context context, String prefix) throws SQLException {
 
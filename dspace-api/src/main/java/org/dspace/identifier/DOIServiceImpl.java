@@ -57,6 +57,11 @@ public class DOIServiceImpl implements DOIService {
         return doiDAO.create(context, new DOI());
     }
 
+    @Override
+    public DOI find(Context context, int id) throws SQLException {
+        return doiDAO.findByID(context, DOI.class, id);
+    }
+
     @Override
     public DOI findByDoi(Context context, String doi) throws SQLException {
         return doiDAO.findByDoi(context, doi);
@@ -11,12 +11,20 @@ package org.dspace.identifier.doi;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 import javax.mail.MessagingException;
 
 import org.apache.commons.cli.CommandLine;
@@ -26,6 +34,7 @@ import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.content.DSpaceObject;
@@ -220,11 +229,8 @@ public class DOIOrganiser {
                                            + "that could be reserved.");
                 }
 
-                for (DOI doi : dois) {
-                    organiser.reserve(doi);
-                    context.uncacheEntity(doi);
-                }
-            } catch (SQLException ex) {
+                organiser.processAll(dois, DOIOrganiser::reserve);
+            } catch (SQLException | IdentifierException ex) {
                 System.err.println("Error in database connection:" + ex.getMessage());
                 ex.printStackTrace(System.err);
             }
@@ -238,14 +244,11 @@ public class DOIOrganiser {
                     System.err.println("There are no objects in the database "
                                            + "that could be registered.");
                 }
-                for (DOI doi : dois) {
-                    organiser.register(doi);
-                    context.uncacheEntity(doi);
-                }
+                organiser.processAll(dois, DOIOrganiser::register);
             } catch (SQLException ex) {
                 System.err.println("Error in database connection:" + ex.getMessage());
                 ex.printStackTrace(System.err);
-            } catch (DOIIdentifierException ex) {
+            } catch (IdentifierException ex) {
                 System.err.println("Error registering DOI identifier:" + ex.getMessage());
             }
         }
@@ -261,11 +264,8 @@ public class DOIOrganiser {
                                            + "whose metadata needs an update.");
                 }
 
-                for (DOI doi : dois) {
-                    organiser.update(doi);
-                    context.uncacheEntity(doi);
-                }
-            } catch (SQLException ex) {
+                organiser.processAll(dois, DOIOrganiser::update);
+            } catch (SQLException | IdentifierException ex) {
                 System.err.println("Error in database connection:" + ex.getMessage());
                 ex.printStackTrace(System.err);
             }
@@ -354,6 +354,127 @@ public class DOIOrganiser {
 
     }
 
+    /**
+     * Operation performed on each DOI of a bulk reservation, registration or
+     * update.
+     */
+    @FunctionalInterface
+    private interface DOIOperation {
+        void perform(DOIOrganiser organiser, DOI doi) throws SQLException, IdentifierException;
+    }
+
+    /**
+     * Perform the given operation on all the given DOIs, committing the changes
+     * every identifier.doi.organiser.commit-batch-size DOIs. With
+     * identifier.doi.organiser.threads greater than 1 the DOIs are processed by
+     * a pool of workers, each with its own context, so that as many requests
+     * are sent to the registration agency at the same time; the errors of a DOI
+     * are then logged without stopping the other workers.
+     *
+     * @param dois      the DOIs to process
+     * @param operation the operation to perform
+     * @throws SQLException        if database error
+     * @throws IdentifierException if the operation fails processing the DOIs
+     *                             sequentially
+     */
+    private void processAll(List<DOI> dois, DOIOperation operation) throws SQLException, IdentifierException {
+        int threads = configurationService.getIntProperty("identifier.doi.organiser.threads", 1);
+        int commitBatchSize = Math.max(
+            configurationService.getIntProperty("identifier.doi.organiser.commit-batch-size", 100), 1);
+
+        if (threads <= 1 || dois.size() <= 1) {
+            List<DOI> uncommitted = new ArrayList<>();
+            for (DOI doi : dois) {
+                operation.perform(this, doi);
+                uncommitted.add(doi);
+                if (uncommitted.size() >= commitBatchSize) {
+                    commit(context, uncommitted);
+                }
+            }
+            commit(context, uncommitted);
+            return;
+        }
+
+        Queue<Integer> pending = dois.stream()
+            .map(DOI::getID)
+            .collect(Collectors.toCollection(ConcurrentLinkedQueue::new));
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new BasicThreadFactory.Builder()
+            .namingPattern("doi-organiser-%d")
+            .daemon(true)
+            .build());
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> processPending(pending, operation, commitBatchSize)));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            LOG.error("Unexpected error processing the DOIs", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void processPending(Queue<Integer> pending, DOIOperation operation, int commitBatchSize) {
+        Context workerContext = new Context();
+        workerContext.turnOffAuthorisationSystem();
+        try {
+            DOIOrganiser worker = new DOIOrganiser(workerContext, provider);
+            worker.quiet = quiet;
+            worker.skipFilter = skipFilter;
+
+            List<DOI> uncommitted = new ArrayList<>();
+            Integer id;
+            while ((id = pending.poll()) != null) {
+                DOI doi = doiService.find(workerContext, id);
+                if (doi == null) {
+                    continue;
+                }
+                try {
+                    operation.perform(worker, doi);
+                } catch (SQLException | IdentifierException | RuntimeException ex) {
+                    LOG.error("Error processing the DOI " + DOI.SCHEME + doi.getDoi(), ex);
+                    if (!quiet) {
+                        System.err.println("It wasn't possible to process this identifier: "
+                                               + DOI.SCHEME + doi.getDoi());
+                    }
+                }
+                uncommitted.add(doi);
+                if (uncommitted.size() >= commitBatchSize) {
+                    commit(workerContext, uncommitted);
+                }
+            }
+            commit(workerContext, uncommitted);
+            workerContext.complete();
+        } catch (SQLException ex) {
+            LOG.error("Error in database connection", ex);
+            System.err.println("Error in database connection:" + ex.getMessage());
+        } finally {
+            if (workerContext.isValid()) {
+                workerContext.abort();
+            }
+        }
+    }
+
+    /**
+     * Commit the changes of the given DOIs, then remove them from the cache of
+     * the context.
+     */
+    private void commit(Context context, List<DOI> dois) throws SQLException {
+        if (dois.isEmpty()) {
+            return;
+        }
+        context.commit();
+        for (DOI doi : dois) {
+            context.uncacheEntity(doi);
+        }
+        dois.clear();
+    }
+
     /**
      * list DOIs queued for reservation or registration
      * @param processName   - process name for display
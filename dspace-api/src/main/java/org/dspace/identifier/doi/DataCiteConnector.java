@@ -9,12 +9,17 @@ package org.dspace.identifier.doi;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.net.URISyntaxException;
 import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import javax.inject.Named;
 
+import com.google.common.util.concurrent.RateLimiter;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.StatusLine;
@@ -44,6 +49,7 @@ import org.dspace.core.Context;
 import org.dspace.core.factory.CoreServiceFactory;
 import org.dspace.handle.service.HandleService;
 import org.dspace.identifier.DOI;
+import org.dspace.service.impl.HttpConnectionPoolService;
 import org.dspace.services.ConfigurationService;
 import org.jdom.Document;
 import org.jdom.Element;
@@ -77,6 +83,12 @@ public class DataCiteConnector
         = "crosswalk.dissemination.DataCite.hostingInstitution";
     static final String CFG_NAMESPACE
         = "crosswalk.dissemination.DataCite.namespace";
+    static final String CFG_MAX_REQUESTS_PER_SECOND
+        = "identifier.doi.datacite.max-requests-per-second";
+    static final String CFG_MAX_RETRIES
+        = "identifier.doi.datacite.max-retries";
+    static final String CFG_RETRY_DELAY
+        = "identifier.doi.datacite.retry-delay";
 
     /**
      * Stores the scheme used to connect to the DataCite server. It will be set
@@ -112,6 +124,18 @@ public class DataCiteConnector
      */
     protected ParameterizedDisseminationCrosswalk xwalk;
 
+    /**
+     * Pool of the connections to the DataCite server, null to open a new
+     * connection for each request.
+     */
+    @Autowired(required = false)
+    @Named("dataciteHttpConnectionPoolService")
+    protected HttpConnectionPoolService httpConnectionPoolService;
+
+    private CloseableHttpClient pooledHttpClient;
+
+    private RateLimiter rateLimiter;
+
     protected ConfigurationService configurationService;
 
     protected String USERNAME;
@@ -201,7 +225,7 @@ public class DataCiteConnector
         this.CROSSWALK_NAME = CROSSWALK_NAME;
     }
 
-    protected void prepareXwalk() {
+    protected synchronized void prepareXwalk() {
         if (null != this.xwalk) {
             return;
         }
@@ -693,8 +717,9 @@ public class DataCiteConnector
         httpContext.setCredentialsProvider(credentialsProvider);
 
         HttpEntity entity = null;
-        try ( CloseableHttpClient httpclient = HttpClientBuilder.create().build(); ) {
-            HttpResponse response = httpclient.execute(req, httpContext);
+        CloseableHttpClient httpclient = getHttpClient();
+        try {
+            HttpResponse response = executeWithRetries(httpclient, req, httpContext, doi);
 
             StatusLine status = response.getStatusLine();
             int statusCode = status.getStatusCode();
@@ -792,6 +817,106 @@ public class DataCiteConnector
             } catch (IOException e) {
                 log.warn("Can't release HTTP-Entity: " + e.getMessage());
             }
+            if (httpclient != pooledHttpClient) {
+                closeQuietly(httpclient);
+            }
+        }
+    }
+
+    /**
+     * Send the given request, waiting for the configured rate limit. The
+     * requests answered with 429 (too many requests) or with a 5xx status code,
+     * and the ones that failed for an I/O error, are sent again up to
+     * identifier.doi.datacite.max-retries times, waiting an exponential delay
+     * or the delay asked by the Retry-After header.
+     *
+     * @param httpclient  the client sending the request
+     * @param req         the request to send, with a repeatable entity
+     * @param httpContext the context of the request
+     * @param doi         the DOI the request is about
+     * @return the response of the last attempt
+     * @throws IOException if the last attempt failed for an I/O error
+     */
+    protected HttpResponse executeWithRetries(CloseableHttpClient httpclient, HttpUriRequest req,
+        HttpClientContext httpContext, String doi) throws IOException {
+        int maxRetries = configurationService.getIntProperty(CFG_MAX_RETRIES, 3);
+        long retryDelay = configurationService.getLongProperty(CFG_RETRY_DELAY, 1000);
+        for (int attempt = 0; ; attempt++) {
+            acquireRequestPermit();
+            HttpResponse response;
+            try {
+                response = httpclient.execute(req, httpContext);
+            } catch (IOException e) {
+                if (attempt >= maxRetries) {
+                    throw e;
+                }
+                log.info("Sending again the request about DOI {} after an I/O error: {}", doi, e.getMessage());
+                sleep(retryDelay << attempt);
+                continue;
+            }
+
+            int statusCode = response.getStatusLine().getStatusCode();
+            if (attempt >= maxRetries || (statusCode != 429 && statusCode < 500)) {
+                return response;
+            }
+
+            long delay = getRetryAfterDelay(response, retryDelay << attempt);
+            log.info("DataCite answered with http status code {} to the request about DOI {}, sending it "
+                         + "again in {} ms", statusCode, doi, delay);
+            EntityUtils.consumeQuietly(response.getEntity());
+            sleep(delay);
+        }
+    }
+
+    private long getRetryAfterDelay(HttpResponse response, long defaultDelay) {
+        Header retryAfter = response.getFirstHeader("Retry-After");
+        if (retryAfter != null && StringUtils.isNumeric(retryAfter.getValue())) {
+            return Long.parseLong(retryAfter.getValue()) * 1000;
+        }
+        return defaultDelay;
+    }
+
+    private void sleep(long millis) throws IOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to send again a request to DataCite");
+        }
+    }
+
+    private void acquireRequestPermit() {
+        int maxRequestsPerSecond = configurationService.getIntProperty(CFG_MAX_REQUESTS_PER_SECOND, 0);
+        if (maxRequestsPerSecond <= 0) {
+            return;
+        }
+        RateLimiter limiter;
+        synchronized (this) {
+            if (rateLimiter == null) {
+                rateLimiter = RateLimiter.create(maxRequestsPerSecond);
+            } else if (rateLimiter.getRate() != maxRequestsPerSecond) {
+                rateLimiter.setRate(maxRequestsPerSecond);
+            }
+            limiter = rateLimiter;
+        }
+        limiter.acquire();
+    }
+
+    private synchronized CloseableHttpClient getHttpClient() {
+        if (httpConnectionPoolService == null) {
+            return HttpClientBuilder.create().build();
+        }
+        if (pooledHttpClient == null) {
+            pooledHttpClient = httpConnectionPoolService.getClient();
+        }
+        return pooledHttpClient;
+    }
+
+    private void closeQuietly(CloseableHttpClient httpclient) {
+        try {
+            httpclient.close();
+        } catch (IOException e) {
+            log.warn("Can't close the HTTP client: " + e.getMessage());
         }
     }
 
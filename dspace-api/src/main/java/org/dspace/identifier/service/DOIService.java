@@ -43,6 +43,16 @@ public interface DOIService {
      */
     public DOI create(Context context) throws SQLException;
 
+    /**
+     * Find a DOI by its internal identifier.
+     *
+     * @param context current DSpace session.
+     * @param id the internal identifier of the DOI.
+     * @return the DOI object found, or null.
+     * @throws SQLException passed through.
+     */
+    public DOI find(Context context, int id) throws SQLException;
+
     /**
      * Find a specific DOI in storage.
      *
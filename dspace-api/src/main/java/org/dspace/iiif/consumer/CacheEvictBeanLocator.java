@@ -22,6 +22,7 @@ public class CacheEvictBeanLocator implements ApplicationContextAware {
 
     private static final String MANIFESTS_CACHE_EVICT_SERVICE = "manifestsCacheEvictService";
     private static final String CANVAS_DIMENSIONS_EVICT_SERVICE = "canvasCacheEvictService";
+    private static final String SEARCH_CACHE_EVICT_SERVICE = "searchCacheEvictService";
 
     @Override
     public void setApplicationContext(ApplicationContext appContext)
@@ -47,4 +48,11 @@ public class CacheEvictBeanLocator implements ApplicationContextAware {
         return null;
     }
 
+    public static SearchCacheEvictService getSearchCacheEvictService() {
+        if (context != null) {
+            return (SearchCacheEvictService) context.getBean(SEARCH_CACHE_EVICT_SERVICE);
+        }
+        return null;
+    }
+
 }
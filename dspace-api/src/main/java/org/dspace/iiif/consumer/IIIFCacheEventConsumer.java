@@ -22,7 +22,7 @@ import org.dspace.event.Event;
 
 
 /**
- * This consumer is used to evict modified items from the manifests cache.
+ * This consumer is used to evict modified items from the manifests and search caches.
  */
 public class IIIFCacheEventConsumer implements Consumer {
 
@@ -135,6 +135,7 @@ public class IIIFCacheEventConsumer implements Consumer {
         // Get the eviction service beans.
         ManifestsCacheEvictService manifestsCacheEvictService = CacheEvictBeanLocator.getManifestsCacheEvictService();
         CanvasCacheEvictService canvasCacheEvictService = CacheEvictBeanLocator.getCanvasCacheEvictService();
+        SearchCacheEvictService searchCacheEvictService = CacheEvictBeanLocator.getSearchCacheEvictService();
 
         if (manifestsCacheEvictService != null) {
             if (clearAll) {
@@ -146,6 +147,16 @@ public class IIIFCacheEventConsumer implements Consumer {
                 }
             }
         }
+        if (searchCacheEvictService != null) {
+            // the search responses of an item depend on its (OCR) bitstreams
+            if (clearAll) {
+                searchCacheEvictService.evictAllCacheValues();
+            } else {
+                for (DSpaceObject dso : toEvictFromManifestCache) {
+                    searchCacheEvictService.evictSingleCacheValue(dso.getID().toString());
+                }
+            }
+        }
         if (canvasCacheEvictService != null) {
             for (DSpaceObject dso : toEvictFromCanvasCache) {
                 UUID uuid = dso.getID();
@@ -0,0 +1,61 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.instrumentation;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Identifier of a meter of the {@link MetricsRegistry}: a name and an optional list of tags, given as alternating
+ * keys and values.
+ */
+public final class MeterId {
+
+    private final String name;
+
+    private final String[] tags;
+
+    public MeterId(String name, String... tags) {
+        if (tags.length % 2 != 0) {
+            throw new IllegalArgumentException("The tags of the meter " + name + " must be key/value pairs");
+        }
+        this.name = name;
+        this.tags = tags;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String[] getTags() {
+        return tags;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof MeterId)) {
+            return false;
+        }
+        MeterId other = (MeterId) obj;
+        return name.equals(other.name) && Arrays.equals(tags, other.tags);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, Arrays.hashCode(tags));
+    }
+
+    @Override
+    public String toString() {
+        return name + Arrays.toString(tags);
+    }
+
+}
@@ -0,0 +1,233 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.instrumentation;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Registry of the timers, counters and value summaries recorded on the hot paths of DSpace (searches, authorization
+ * checks, REST conversions, commits and event consumers), enabled by the instrumentation.enabled property.
+ * <p>
+ * When the metrics are disabled every method returns immediately: {@link #startTimer()} doesn't even read the
+ * clock, so that the instrumented code doesn't pay for the metrics. The code that isn't managed by Spring gets the
+ * registry with {@link #getInstance()}.
+ * <p>
+ * The meters can be exported in the Prometheus text format with {@link #writePrometheus(Appendable)}.
+ */
+public class MetricsRegistry {
+
+    private static final MetricsRegistry DISABLED = new MetricsRegistry();
+
+    private static volatile MetricsRegistry instance;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    private volatile boolean enabled;
+
+    private final ConcurrentMap<MeterId, Summary> timers = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<MeterId, Counter> counters = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<MeterId, Summary> summaries = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        enabled = configurationService.getBooleanProperty("instrumentation.enabled", false);
+        instance = this;
+    }
+
+    /**
+     * @return the registry of the running DSpace kernel, or a disabled registry if the kernel isn't started
+     */
+    public static MetricsRegistry getInstance() {
+        MetricsRegistry registry = instance;
+        return registry != null ? registry : DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Start timing an operation.
+     *
+     * @return the start time to pass to {@link #stopTimer(long, String, String...)}, or -1 if the metrics are disabled
+     */
+    public long startTimer() {
+        return enabled ? System.nanoTime() : -1;
+    }
+
+    /**
+     * Record the duration of an operation started with {@link #startTimer()}.
+     *
+     * @param start the value returned by {@link #startTimer()}
+     * @param name  the name of the timer
+     * @param tags  the tags of the timer, as alternating keys and values
+     */
+    public void stopTimer(long start, String name, String... tags) {
+        if (start < 0 || !enabled) {
+            return;
+        }
+        recordDuration(System.nanoTime() - start, name, tags);
+    }
+
+    /**
+     * Record the duration of an operation timed by the caller.
+     *
+     * @param nanos the duration of the operation, in nanoseconds
+     * @param name  the name of the timer
+     * @param tags  the tags of the timer, as alternating keys and values
+     */
+    public void recordDuration(long nanos, String name, String... tags) {
+        if (!enabled) {
+            return;
+        }
+        timers.computeIfAbsent(new MeterId(name, tags), id -> new Summary()).record(nanos);
+    }
+
+    /**
+     * Increment a counter by one.
+     *
+     * @param name the name of the counter
+     * @param tags the tags of the counter, as alternating keys and values
+     */
+    public void increment(String name, String... tags) {
+        if (!enabled) {
+            return;
+        }
+        counters.computeIfAbsent(new MeterId(name, tags), id -> new Counter()).increment();
+    }
+
+    /**
+     * Record a value, e.g. the number of queries of a request, in a summary.
+     *
+     * @param value the value to record
+     * @param name  the name of the summary
+     * @param tags  the tags of the summary, as alternating keys and values
+     */
+    public void record(long value, String name, String... tags) {
+        if (!enabled) {
+            return;
+        }
+        summaries.computeIfAbsent(new MeterId(name, tags), id -> new Summary()).record(value);
+    }
+
+    public Map<MeterId, Summary> getTimers() {
+        return timers;
+    }
+
+    public Map<MeterId, Counter> getCounters() {
+        return counters;
+    }
+
+    public Map<MeterId, Summary> getSummaries() {
+        return summaries;
+    }
+
+    /**
+     * Remove all the recorded meters.
+     */
+    public void clear() {
+        timers.clear();
+        counters.clear();
+        summaries.clear();
+    }
+
+    /**
+     * Write all the meters in the Prometheus text exposition format. The timers are exported in seconds, the dots of
+     * the names are replaced by underscores.
+     *
+     * @param out where to write the meters
+     * @throws IOException if the meters cannot be written
+     */
+    public void writePrometheus(Appendable out) throws IOException {
+        for (Map.Entry<String, Map<MeterId, Counter>> entry : byName(counters).entrySet()) {
+            String name = prometheusName(entry.getKey()) + "_total";
+            out.append("# TYPE ").append(name).append(" counter\n");
+            for (Map.Entry<MeterId, Counter> counter : entry.getValue().entrySet()) {
+                writeSample(out, name, counter.getKey(), Long.toString(counter.getValue().getCount()));
+            }
+        }
+        for (Map.Entry<String, Map<MeterId, Summary>> entry : byName(timers).entrySet()) {
+            writeSummary(out, prometheusName(entry.getKey()) + "_seconds", entry.getValue(), true);
+        }
+        for (Map.Entry<String, Map<MeterId, Summary>> entry : byName(summaries).entrySet()) {
+            writeSummary(out, prometheusName(entry.getKey()), entry.getValue(), false);
+        }
+    }
+
+    private void writeSummary(Appendable out, String name, Map<MeterId, Summary> meters, boolean nanos)
+        throws IOException {
+        out.append("# TYPE ").append(name).append(" summary\n");
+        for (Map.Entry<MeterId, Summary> meter : meters.entrySet()) {
+            Summary summary = meter.getValue();
+            writeSample(out, name + "_count", meter.getKey(), Long.toString(summary.getCount()));
+            writeSample(out, name + "_sum", meter.getKey(), format(summary.getTotal(), nanos));
+        }
+        out.append("# TYPE ").append(name).append("_max gauge\n");
+        for (Map.Entry<MeterId, Summary> meter : meters.entrySet()) {
+            writeSample(out, name + "_max", meter.getKey(), format(meter.getValue().getMax(), nanos));
+        }
+    }
+
+    private void writeSample(Appendable out, String name, MeterId id, String value) throws IOException {
+        out.append(name);
+        String[] tags = id.getTags();
+        if (tags.length > 0) {
+            out.append('{');
+            for (int i = 0; i < tags.length; i += 2) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                out.append(prometheusName(tags[i])).append("=\"").append(escape(tags[i + 1])).append('"');
+            }
+            out.append('}');
+        }
+        out.append(' ').append(value).append('\n');
+    }
+
+    private <T> Map<String, Map<MeterId, T>> byName(Map<MeterId, T> meters) {
+        Map<String, Map<MeterId, T>> byName = new TreeMap<>();
+        meters.forEach((id, meter) -> byName.computeIfAbsent(id.getName(), name -> new TreeMap<>(
+            (first, second) -> first.toString().compareTo(second.toString()))).put(id, meter));
+        return byName;
+    }
+
+    private String format(long value, boolean nanos) {
+        if (nanos) {
+            return Double.toString((double) value / TimeUnit.SECONDS.toNanos(1));
+        }
+        return Long.toString(value);
+    }
+
+    private String prometheusName(String name) {
+        return name.replaceAll("[^a-zA-Z0-9_]", "_");
+    }
+
+    private String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+}
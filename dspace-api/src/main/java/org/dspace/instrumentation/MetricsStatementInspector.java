@@ -0,0 +1,27 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.instrumentation;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate {@link StatementInspector} counting the prepared SQL statements, in total and for the current request
+ * (see {@link RequestMetrics}). The statements are left unchanged.
+ */
+public class MetricsStatementInspector implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public String inspect(String sql) {
+        RequestMetrics.statementExecuted();
+        MetricsRegistry.getInstance().increment("dspace.hibernate.statements");
+        return sql;
+    }
+
+}
@@ -0,0 +1,76 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.instrumentation;
+
+/**
+ * Counts of the SQL statements and of the Solr queries executed by the current thread while serving a request.
+ * The counts are collected only between {@link #begin()} and {@link #end()}, so that the threads that are not
+ * serving an instrumented request only pay a thread local lookup.
+ */
+public final class RequestMetrics {
+
+    private static final ThreadLocal<RequestMetrics> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+
+    private int solrQueries;
+
+    private RequestMetrics() {
+    }
+
+    /**
+     * Start collecting the counts of the current thread.
+     *
+     * @return the counts of the current thread
+     */
+    public static RequestMetrics begin() {
+        RequestMetrics metrics = new RequestMetrics();
+        CURRENT.set(metrics);
+        return metrics;
+    }
+
+    /**
+     * Stop collecting the counts of the current thread.
+     *
+     * @return the collected counts, or null if they weren't being collected
+     */
+    public static RequestMetrics end() {
+        RequestMetrics metrics = CURRENT.get();
+        CURRENT.remove();
+        return metrics;
+    }
+
+    /**
+     * Count a SQL statement executed by the current thread.
+     */
+    public static void statementExecuted() {
+        RequestMetrics metrics = CURRENT.get();
+        if (metrics != null) {
+            metrics.statements++;
+        }
+    }
+
+    /**
+     * Count a Solr query executed by the current thread.
+     */
+    public static void solrQueryExecuted() {
+        RequestMetrics metrics = CURRENT.get();
+        if (metrics != null) {
+            metrics.solrQueries++;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public int getSolrQueries() {
+        return solrQueries;
+    }
+
+}
@@ -37,6 +37,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import javax.servlet.http.HttpServletRequest;
 
 import com.maxmind.geoip2.DatabaseReader;
@@ -76,6 +77,7 @@ import org.apache.solr.common.SolrInputDocument;
 import org.apache.solr.common.luke.FieldFlag;
 import org.apache.solr.common.params.CommonParams;
 import org.apache.solr.common.params.CoreAdminParams.CoreAdminAction;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.apache.solr.common.params.FacetParams;
 import org.apache.solr.common.params.MapSolrParams;
 import org.apache.solr.common.params.ModifiableSolrParams;
@@ -1166,26 +1168,50 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
         // A filter is used instead of a regular query to improve
         // performance and ensure the search result ordering will
         // not be influenced
+        if (defaultFilterQueries) {
+            addDefaultFilterQueries(solrQuery);
+        }
+
+        if (sort != null) {
+            solrQuery.addSort(sort, (ascending ? SolrQuery.ORDER.asc : SolrQuery.ORDER.desc));
+        }
+
+        if (filterQuery != null) {
+            solrQuery.addFilterQuery(filterQuery);
+        }
+
+        QueryResponse response;
+        try {
+            // solr.set
+            response = solr.query(solrQuery);
+        } catch (SolrServerException | IOException e) {
+            log.error("Error searching Solr usage events using query {}", query, e);
+            throw e;
+        }
+        return response;
+    }
+
 
+    /**
+     * Add the default filter queries excluding the robots, the spider IPs and the bitstreams of the bundles not
+     * configured with <code>solr-statistics.query.filter.bundles</code>.
+     *
+     * @param solrQuery the query to filter
+     */
+    protected void addDefaultFilterQueries(SolrQuery solrQuery) {
         // Choose to filter by the Legacy spider IP list (may get too long to properly filter all IP's
-        if (defaultFilterQueries && configurationService.getBooleanProperty(
-                "solr-statistics.query.filter.spiderIp", false)) {
+        if (configurationService.getBooleanProperty("solr-statistics.query.filter.spiderIp", false)) {
             solrQuery.addFilterQuery(getIgnoreSpiderIPs());
         }
 
         // Choose to filter by isBot field, may be overriden in future
         // to allow views on stats based on bots.
-        if (defaultFilterQueries && configurationService.getBooleanProperty(
-                "solr-statistics.query.filter.isBot", true)) {
+        if (configurationService.getBooleanProperty("solr-statistics.query.filter.isBot", true)) {
             solrQuery.addFilterQuery("-isBot:true");
         }
 
-        if (sort != null) {
-            solrQuery.addSort(sort, (ascending ? SolrQuery.ORDER.asc : SolrQuery.ORDER.desc));
-        }
-
         String[] bundles = configurationService.getArrayProperty("solr-statistics.query.filter.bundles");
-        if (defaultFilterQueries && bundles != null && bundles.length > 0) {
+        if (bundles != null && bundles.length > 0) {
 
             /**
              * The code below creates a query that will allow only records which do not have a bundlename
@@ -1203,26 +1229,40 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             }
             bundleQuery.append(")");
 
-
             solrQuery.addFilterQuery(bundleQuery.toString());
         }
+    }
+
+    @Override
+    public void iterate(String query, String filterQuery, boolean defaultFilterQueries, int batchSize,
+                        String[] fields, Consumer<SolrDocument> consumer) throws SolrServerException, IOException {
+        if (solr == null) {
+            return;
+        }
 
+        SolrQuery solrQuery = new SolrQuery(query).setRows(batchSize).setFields(fields);
+        solrQuery.setSort("uid", SolrQuery.ORDER.asc);
+        addAdditionalSolrYearCores(solrQuery);
+        if (defaultFilterQueries) {
+            addDefaultFilterQueries(solrQuery);
+        }
         if (filterQuery != null) {
             solrQuery.addFilterQuery(filterQuery);
         }
 
-        QueryResponse response;
-        try {
-            // solr.set
-            response = solr.query(solrQuery);
-        } catch (SolrServerException | IOException e) {
-            log.error("Error searching Solr usage events using query {}", query, e);
-            throw e;
+        String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+        String nextCursorMark = null;
+        while (!cursorMark.equals(nextCursorMark)) {
+            if (nextCursorMark != null) {
+                cursorMark = nextCursorMark;
+            }
+            solrQuery.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+            QueryResponse response = solr.query(solrQuery);
+            response.getResults().forEach(consumer);
+            nextCursorMark = response.getNextCursorMark();
         }
-        return response;
     }
 
-
     /**
      * String of IP and Ranges in IPTable as a Solr Query
      */
@@ -264,6 +264,19 @@ public class StatisticsDatasetDisplay {
         query.append("{!join from=search.resourceid to=id fromIndex=");
         query.append(configurationService.getProperty("solr.multicorePrefix"));
         query.append("search} ");
+        query.append(composeRelationQuery(dSpaceObject, default_queries));
+        return query.toString();
+    }
+
+    /**
+     * Creates the query of the search core matching the archived items related to the given object.
+     *
+     * @param dSpaceObject    the object whose related items are searched
+     * @param default_queries the default filter queries of the relation discovery configuration
+     * @return the query of the search core
+     */
+    public String composeRelationQuery(DSpaceObject dSpaceObject, List<String> default_queries) {
+        StringBuilder query = new StringBuilder();
         boolean isFirstDefaultQuery = true;
         for (String default_query : default_queries) {
             if (!isFirstDefaultQuery) {
@@ -0,0 +1,117 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+import org.dspace.core.ReloadableEntity;
+
+/**
+ * Daily counter of the views of an object, aggregated from the raw hits of the statistics core. A hit is counted
+ * once for each of its owners: the viewed object itself and its owning items, collections and communities of a
+ * different type, so that the views of the objects owned by a container can be read without querying the raw hits.
+ */
+@Entity
+@Table(name = "statistics_rollup")
+public class StatisticsRollup implements ReloadableEntity<Integer> {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "statistics_rollup_seq")
+    @SequenceGenerator(name = "statistics_rollup_seq", sequenceName = "statistics_rollup_seq", allocationSize = 1)
+    private Integer id;
+
+    @Column(name = "rollup_day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "owner_id", nullable = false)
+    private UUID ownerId;
+
+    @Column(name = "object_id", nullable = false)
+    private UUID objectId;
+
+    @Column(name = "object_type", nullable = false)
+    private int objectType;
+
+    @Column(name = "country_code")
+    private String countryCode;
+
+    @Column(name = "city")
+    private String city;
+
+    @Column(name = "views", nullable = false)
+    private long views;
+
+    @Override
+    public Integer getID() {
+        return id;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public UUID getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(UUID ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    public UUID getObjectId() {
+        return objectId;
+    }
+
+    public void setObjectId(UUID objectId) {
+        this.objectId = objectId;
+    }
+
+    public int getObjectType() {
+        return objectType;
+    }
+
+    public void setObjectType(int objectType) {
+        this.objectType = objectType;
+    }
+
+    public String getCountryCode() {
+        return countryCode;
+    }
+
+    public void setCountryCode(String countryCode) {
+        this.countryCode = countryCode;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public long getViews() {
+        return views;
+    }
+
+    public void setViews(long views) {
+        this.views = views;
+    }
+}
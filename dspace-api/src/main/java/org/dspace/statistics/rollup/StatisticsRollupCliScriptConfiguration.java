@@ -0,0 +1,16 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup;
+
+/**
+ * The {@link StatisticsRollupScriptConfiguration} for CLI.
+ */
+public class StatisticsRollupCliScriptConfiguration
+    extends StatisticsRollupScriptConfiguration<StatisticsRollupScriptCli> {
+
+}
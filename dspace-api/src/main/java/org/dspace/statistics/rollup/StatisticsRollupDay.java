@@ -0,0 +1,53 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup;
+
+import java.time.LocalDate;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import org.dspace.core.ReloadableEntity;
+
+/**
+ * A day whose raw hits have been aggregated in the {@link StatisticsRollup} counters, with the number of hits
+ * processed. The days are in UTC, as the time of the hits in the statistics core.
+ */
+@Entity
+@Table(name = "statistics_rollup_day")
+public class StatisticsRollupDay implements ReloadableEntity<LocalDate> {
+
+    @Id
+    @Column(name = "rollup_day")
+    private LocalDate day;
+
+    @Column(name = "hits", nullable = false)
+    private long hits;
+
+    @Override
+    public LocalDate getID() {
+        return day;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+
+import org.apache.commons.cli.ParseException;
+import org.dspace.core.Context;
+import org.dspace.scripts.DSpaceRunnable;
+import org.dspace.statistics.rollup.service.StatisticsRollupService;
+import org.dspace.utils.DSpace;
+
+/**
+ * Script to aggregate the view hits of the statistics core in the daily {@link StatisticsRollup} counters. Each run
+ * processes the days following the last processed one up to yesterday, so it should be scheduled once a day; the
+ * days from a given one on can be processed again with the <code>-f</code> option.
+ */
+public class StatisticsRollupScript
+    extends DSpaceRunnable<StatisticsRollupScriptConfiguration<StatisticsRollupScript>> {
+
+    private StatisticsRollupService statisticsRollupService;
+
+    private LocalDate from;
+
+    @Override
+    public void setup() throws ParseException {
+        this.statisticsRollupService = new DSpace().getSingletonService(StatisticsRollupService.class);
+
+        if (commandLine.hasOption('f')) {
+            try {
+                this.from = LocalDate.parse(commandLine.getOptionValue('f'));
+            } catch (DateTimeParseException e) {
+                throw new ParseException("The from date must be in the yyyy-MM-dd format");
+            }
+        }
+    }
+
+    @Override
+    public void internalRun() throws Exception {
+        Context context = new Context(Context.Mode.BATCH_EDIT);
+        try {
+            context.turnOffAuthorisationSystem();
+            if (from != null) {
+                statisticsRollupService.resetFrom(context, from);
+                context.commit();
+            }
+            performRollup(context);
+        } finally {
+            context.restoreAuthSystemState();
+            context.complete();
+        }
+    }
+
+    private void performRollup(Context context) throws Exception {
+        LocalDate day = statisticsRollupService.getNextDayToProcess(context);
+        if (day == null) {
+            handler.logInfo("No view hits to aggregate");
+            return;
+        }
+
+        // the current day is not complete yet, it is processed by the next run
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        for (; day.isBefore(today); day = day.plusDays(1)) {
+            long hits = statisticsRollupService.rollup(context, day);
+            context.commit();
+            handler.logInfo("Aggregated " + hits + " view hits of " + day);
+        }
+        handler.logInfo("Statistics rollup completed");
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public StatisticsRollupScriptConfiguration<StatisticsRollupScript> getScriptConfiguration() {
+        return new DSpace().getServiceManager()
+            .getServiceByName("statistics-rollup", StatisticsRollupScriptConfiguration.class);
+    }
+
+}
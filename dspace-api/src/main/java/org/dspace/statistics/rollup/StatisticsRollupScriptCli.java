@@ -0,0 +1,15 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup;
+
+/**
+ * The {@link StatisticsRollupScript} for CLI.
+ */
+public class StatisticsRollupScriptCli extends StatisticsRollupScript {
+
+}
@@ -0,0 +1,69 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup.dao;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.dspace.core.Context;
+import org.dspace.core.GenericDAO;
+import org.dspace.statistics.rollup.StatisticsRollup;
+
+/**
+ * Database Access Object interface class for the StatisticsRollup object.
+ * The implementation of this class is responsible for all database calls for the StatisticsRollup object
+ * and is autowired by spring
+ * This class should only be accessed from a single service and should never be exposed outside of the API
+ */
+public interface StatisticsRollupDAO extends GenericDAO<StatisticsRollup> {
+
+    /**
+     * Sum the views of the objects of the given type, grouped by object and sorted by descending views.
+     *
+     * @param context    the DSpace context
+     * @param owners     the owners of the counted objects, null to count the objects regardless of their owners
+     * @param objectType the type of the counted objects
+     * @param start      the first day to count, null for no lower bound
+     * @param end        the last day to count, null for no upper bound
+     * @param limit      the maximum number of rows to return, -1 for all
+     * @return the rows with the object id and its views
+     * @throws SQLException if database error
+     */
+    public List<Object[]> sumViewsByObject(Context context, List<UUID> owners, int objectType, LocalDate start,
+                                           LocalDate end, int limit) throws SQLException;
+
+    /**
+     * Sum the views of the objects of the given type, grouped by the values of the given field (countryCode or
+     * city) and sorted by descending views.
+     *
+     * @param context    the DSpace context
+     * @param owners     the owners of the counted objects, null to count the objects regardless of their owners
+     * @param objectType the type of the counted objects
+     * @param field      the field to group by, countryCode or city
+     * @param start      the first day to count, null for no lower bound
+     * @param end        the last day to count, null for no upper bound
+     * @param limit      the maximum number of rows to return, -1 for all
+     * @return the rows with the field value and its views
+     * @throws SQLException if database error
+     */
+    public List<Object[]> sumViewsByField(Context context, List<UUID> owners, int objectType, String field,
+                                          LocalDate start, LocalDate end, int limit) throws SQLException;
+
+    /**
+     * Delete all the counters of the given day.
+     *
+     * @param context the DSpace context
+     * @param day     the day
+     * @return the number of deleted counters
+     * @throws SQLException if database error
+     */
+    public int deleteByDay(Context context, LocalDate day) throws SQLException;
+
+}
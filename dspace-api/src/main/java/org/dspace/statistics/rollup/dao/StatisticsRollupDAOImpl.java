@@ -0,0 +1,87 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup.dao;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import javax.persistence.Query;
+
+import org.dspace.core.AbstractHibernateDAO;
+import org.dspace.core.Context;
+import org.dspace.statistics.rollup.StatisticsRollup;
+
+/**
+ * Hibernate implementation of the Database Access Object interface class for the StatisticsRollup object.
+ * This class is responsible for all database calls for the StatisticsRollup object and is autowired by spring
+ * This class should never be accessed directly.
+ */
+public class StatisticsRollupDAOImpl extends AbstractHibernateDAO<StatisticsRollup> implements StatisticsRollupDAO {
+
+    protected StatisticsRollupDAOImpl() {
+        super();
+    }
+
+    @Override
+    public List<Object[]> sumViewsByObject(Context context, List<UUID> owners, int objectType, LocalDate start,
+                                           LocalDate end, int limit) throws SQLException {
+        return sumViews(context, "objectId", owners, objectType, start, end, limit);
+    }
+
+    @Override
+    public List<Object[]> sumViewsByField(Context context, List<UUID> owners, int objectType, String field,
+                                          LocalDate start, LocalDate end, int limit) throws SQLException {
+        if (!"countryCode".equals(field) && !"city".equals(field)) {
+            throw new IllegalArgumentException("Unsupported rollup field: " + field);
+        }
+        return sumViews(context, field, owners, objectType, start, end, limit);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> sumViews(Context context, String groupBy, List<UUID> owners, int objectType,
+                                    LocalDate start, LocalDate end, int limit) throws SQLException {
+        StringBuilder hql = new StringBuilder("SELECT r." + groupBy + ", SUM(r.views)"
+            + " FROM " + StatisticsRollup.class.getSimpleName() + " r WHERE r.objectType = :objectType");
+        // without owners each object is counted once, from the counters owned by the object itself
+        hql.append(owners == null ? " AND r.ownerId = r.objectId" : " AND r.ownerId IN (:owners)");
+        hql.append(" AND r." + groupBy + " IS NOT NULL");
+        if (start != null) {
+            hql.append(" AND r.day >= :start");
+        }
+        if (end != null) {
+            hql.append(" AND r.day <= :end");
+        }
+        hql.append(" GROUP BY r." + groupBy + " ORDER BY SUM(r.views) DESC");
+
+        Query query = createQuery(context, hql.toString());
+        query.setParameter("objectType", objectType);
+        if (owners != null) {
+            query.setParameter("owners", owners);
+        }
+        if (start != null) {
+            query.setParameter("start", start);
+        }
+        if (end != null) {
+            query.setParameter("end", end);
+        }
+        if (limit > 0) {
+            query.setMaxResults(limit);
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public int deleteByDay(Context context, LocalDate day) throws SQLException {
+        Query query = createQuery(context,
+            "DELETE FROM " + StatisticsRollup.class.getSimpleName() + " WHERE day = :day");
+        query.setParameter("day", day);
+        return query.executeUpdate();
+    }
+
+}
@@ -0,0 +1,49 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup.dao;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+import org.dspace.core.Context;
+import org.dspace.core.GenericDAO;
+import org.dspace.statistics.rollup.StatisticsRollupDay;
+
+/**
+ * Database Access Object interface class for the StatisticsRollupDay object.
+ * The implementation of this class is responsible for all database calls for the StatisticsRollupDay object
+ * and is autowired by spring
+ * This class should only be accessed from a single service and should never be exposed outside of the API
+ */
+public interface StatisticsRollupDayDAO extends GenericDAO<StatisticsRollupDay> {
+
+    /**
+     * @param context the DSpace context
+     * @param day     the day
+     * @return the processed day, null if the given day has not been processed
+     * @throws SQLException if database error
+     */
+    public StatisticsRollupDay findByDay(Context context, LocalDate day) throws SQLException;
+
+    /**
+     * @param context the DSpace context
+     * @return the last processed day, null if no day has been processed
+     * @throws SQLException if database error
+     */
+    public LocalDate findLastDay(Context context) throws SQLException;
+
+    /**
+     * Delete the processed days from the given day on, so that they are processed again.
+     *
+     * @param context the DSpace context
+     * @param from    the first day to delete
+     * @throws SQLException if database error
+     */
+    public void deleteFrom(Context context, LocalDate from) throws SQLException;
+
+}
@@ -0,0 +1,50 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup.dao;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import javax.persistence.Query;
+
+import org.dspace.core.AbstractHibernateDAO;
+import org.dspace.core.Context;
+import org.dspace.statistics.rollup.StatisticsRollupDay;
+
+/**
+ * Hibernate implementation of the Database Access Object interface class for the StatisticsRollupDay object.
+ * This class is responsible for all database calls for the StatisticsRollupDay object and is autowired by spring
+ * This class should never be accessed directly.
+ */
+public class StatisticsRollupDayDAOImpl extends AbstractHibernateDAO<StatisticsRollupDay>
+    implements StatisticsRollupDayDAO {
+
+    protected StatisticsRollupDayDAOImpl() {
+        super();
+    }
+
+    @Override
+    public StatisticsRollupDay findByDay(Context context, LocalDate day) throws SQLException {
+        return getHibernateSession(context).get(StatisticsRollupDay.class, day);
+    }
+
+    @Override
+    public LocalDate findLastDay(Context context) throws SQLException {
+        Query query = createQuery(context,
+            "SELECT MAX(d.day) FROM " + StatisticsRollupDay.class.getSimpleName() + " d");
+        return (LocalDate) query.getSingleResult();
+    }
+
+    @Override
+    public void deleteFrom(Context context, LocalDate from) throws SQLException {
+        Query query = createQuery(context,
+            "DELETE FROM " + StatisticsRollupDay.class.getSimpleName() + " WHERE day >= :from");
+        query.setParameter("from", from);
+        query.executeUpdate();
+    }
+
+}
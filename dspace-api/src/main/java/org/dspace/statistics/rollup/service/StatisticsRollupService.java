@@ -0,0 +1,120 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup.service;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.solr.client.solrj.SolrServerException;
+import org.dspace.content.DSpaceObject;
+import org.dspace.core.Context;
+import org.dspace.statistics.ObjectCount;
+import org.dspace.statistics.rollup.StatisticsRollup;
+
+/**
+ * Service interface class for the {@link StatisticsRollup} object, the daily counters of views aggregated from the
+ * raw hits of the statistics core and used by the usage reports in place of the raw hits when possible.
+ * The implementation of this class is responsible for all business logic calls for the StatisticsRollup object
+ * and is autowired by spring
+ */
+public interface StatisticsRollupService {
+
+    /**
+     * Check if the views of the given period can be read from the rollups: the rollups must be enabled and processed
+     * up to the end of the period, with a tolerance of <code>usage-statistics.rollup.max-lag-days</code> days
+     * behind today.
+     *
+     * @param  context      the DSpace context
+     * @param  startDate    the first day of the period, in the yyyy-MM-dd format, null for no lower bound
+     * @param  endDate      the last day of the period, in the yyyy-MM-dd format, null for no upper bound
+     * @return              true if the rollups cover the given period
+     * @throws SQLException if database error
+     */
+    public boolean isCovered(Context context, String startDate, String endDate) throws SQLException;
+
+    /**
+     * Find the most viewed objects of the given type in the given period.
+     *
+     * @param  context      the DSpace context
+     * @param  owners       the owners of the objects to count, null to count all the objects of the given type
+     * @param  objectType   the type of the objects to count
+     * @param  startDate    the first day of the period, in the yyyy-MM-dd format, null for no lower bound
+     * @param  endDate      the last day of the period, in the yyyy-MM-dd format, null for no upper bound
+     * @param  limit        the maximum number of objects to return
+     * @return              the ids of the objects with their views, by descending views
+     * @throws SQLException if database error
+     */
+    public ObjectCount[] findTopObjects(Context context, List<UUID> owners, int objectType, String startDate,
+                                        String endDate, int limit) throws SQLException;
+
+    /**
+     * Find the values of the given field (countryCode or city) with the most views on the objects of the given
+     * type in the given period.
+     *
+     * @param  context      the DSpace context
+     * @param  owners       the owners of the objects to count, null to count all the objects of the given type
+     * @param  objectType   the type of the objects to count
+     * @param  field        the field, countryCode or city
+     * @param  startDate    the first day of the period, in the yyyy-MM-dd format, null for no lower bound
+     * @param  endDate      the last day of the period, in the yyyy-MM-dd format, null for no upper bound
+     * @param  limit        the maximum number of values to return
+     * @return              the values with their views, by descending views
+     * @throws SQLException if database error
+     */
+    public ObjectCount[] findTopValues(Context context, List<UUID> owners, int objectType, String field,
+                                       String startDate, String endDate, int limit) throws SQLException;
+
+    /**
+     * Find the ids of the archived items related to the given object with the default filter queries of a relation
+     * discovery configuration. The relations are resolved when the report is read, as they change over time.
+     *
+     * @param  context              the DSpace context
+     * @param  dso                  the object whose related items are searched
+     * @param  defaultFilterQueries the default filter queries of the relation discovery configuration
+     * @return                      the ids of the related items
+     * @throws SolrServerException  if a search error occurs
+     * @throws IOException          if IO error
+     */
+    public List<UUID> findRelatedItems(Context context, DSpaceObject dso, List<String> defaultFilterQueries)
+        throws SolrServerException, IOException;
+
+    /**
+     * Aggregate the view hits of the given day, replacing the counters of the day if already processed.
+     *
+     * @param  context             the DSpace context
+     * @param  day                 the day, in UTC
+     * @return                     the number of processed hits
+     * @throws SQLException        if database error
+     * @throws SolrServerException if a statistics query error occurs
+     * @throws IOException         if IO error
+     */
+    public long rollup(Context context, LocalDate day) throws SQLException, SolrServerException, IOException;
+
+    /**
+     * @param  context             the DSpace context
+     * @return                     the first day to process: the day after the last processed one or, if no day has
+     *                             been processed, the day of the first view hit. Null if there are no view hits.
+     * @throws SQLException        if database error
+     * @throws SolrServerException if a statistics query error occurs
+     * @throws IOException         if IO error
+     */
+    public LocalDate getNextDayToProcess(Context context) throws SQLException, SolrServerException, IOException;
+
+    /**
+     * Mark the days from the given one on as not processed, so that they are aggregated again.
+     *
+     * @param  context      the DSpace context
+     * @param  from         the first day to process again
+     * @throws SQLException if database error
+     */
+    public void resetFrom(Context context, LocalDate from) throws SQLException;
+
+}
@@ -0,0 +1,340 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup.service;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.params.CursorMarkParams;
+import org.dspace.content.DSpaceObject;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.discovery.SearchUtils;
+import org.dspace.discovery.SolrSearchCore;
+import org.dspace.services.ConfigurationService;
+import org.dspace.statistics.ObjectCount;
+import org.dspace.statistics.SolrLoggerServiceImpl;
+import org.dspace.statistics.content.StatisticsDatasetDisplay;
+import org.dspace.statistics.factory.StatisticsServiceFactory;
+import org.dspace.statistics.rollup.StatisticsRollup;
+import org.dspace.statistics.rollup.StatisticsRollupDay;
+import org.dspace.statistics.rollup.dao.StatisticsRollupDAO;
+import org.dspace.statistics.rollup.dao.StatisticsRollupDayDAO;
+import org.dspace.statistics.service.SolrLoggerService;
+import org.dspace.util.UUIDUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Implementation of {@link StatisticsRollupService}. Each view hit is counted once for each of its owners, so the
+ * views of the objects owned by a community, collection or item are read with the owner id, while the views of all
+ * the objects of a type are read from the counters owned by the objects themselves.
+ */
+public class StatisticsRollupServiceImpl implements StatisticsRollupService {
+
+    private static final Logger log = LogManager.getLogger(StatisticsRollupServiceImpl.class);
+
+    /**
+     * The maximum number of owners for each query, as some databases limit the size of the IN clause.
+     */
+    private static final int OWNERS_PARTITION_SIZE = 1000;
+
+    private static final String[] HIT_FIELDS = { "id", "type", "owningItem", "owningColl", "owningComm",
+        "countryCode", "city" };
+
+    private static final Map<String, Integer> OWNER_FIELDS = Map.of("owningItem", Constants.ITEM,
+        "owningColl", Constants.COLLECTION, "owningComm", Constants.COMMUNITY);
+
+    @Autowired
+    private StatisticsRollupDAO statisticsRollupDAO;
+
+    @Autowired
+    private StatisticsRollupDayDAO statisticsRollupDayDAO;
+
+    @Autowired
+    private SolrSearchCore solrSearchCore;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Override
+    public boolean isCovered(Context context, String startDate, String endDate) throws SQLException {
+        if (!configurationService.getBooleanProperty("usage-statistics.rollup.enabled", false)) {
+            return false;
+        }
+
+        LocalDate end;
+        try {
+            parseDay(startDate);
+            end = parseDay(endDate);
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+
+        LocalDate lastDay = statisticsRollupDayDAO.findLastDay(context);
+        if (lastDay == null) {
+            return false;
+        }
+
+        int maxLagDays = configurationService.getIntProperty("usage-statistics.rollup.max-lag-days", 1);
+        LocalDate requiredDay = LocalDate.now(ZoneOffset.UTC).minusDays(maxLagDays);
+        if (end != null && end.isBefore(requiredDay)) {
+            requiredDay = end;
+        }
+        return !lastDay.isBefore(requiredDay);
+    }
+
+    @Override
+    public ObjectCount[] findTopObjects(Context context, List<UUID> owners, int objectType, String startDate,
+                                        String endDate, int limit) throws SQLException {
+        LocalDate start = parseDay(startDate);
+        LocalDate end = parseDay(endDate);
+        if (owners == null || owners.size() <= OWNERS_PARTITION_SIZE) {
+            return toObjectCounts(owners != null && owners.isEmpty() ? Collections.<Object[]>emptyList()
+                : statisticsRollupDAO.sumViewsByObject(context, owners, objectType, start, end, limit), limit);
+        }
+
+        List<Object[]> rows = new ArrayList<>();
+        for (List<UUID> partition : ListUtils.partition(owners, OWNERS_PARTITION_SIZE)) {
+            rows.addAll(statisticsRollupDAO.sumViewsByObject(context, partition, objectType, start, end, -1));
+        }
+        return toObjectCounts(rows, limit);
+    }
+
+    @Override
+    public ObjectCount[] findTopValues(Context context, List<UUID> owners, int objectType, String field,
+                                       String startDate, String endDate, int limit) throws SQLException {
+        LocalDate start = parseDay(startDate);
+        LocalDate end = parseDay(endDate);
+        if (owners == null || owners.size() <= OWNERS_PARTITION_SIZE) {
+            return toObjectCounts(owners != null && owners.isEmpty() ? Collections.<Object[]>emptyList()
+                : statisticsRollupDAO.sumViewsByField(context, owners, objectType, field, start, end, limit), limit);
+        }
+
+        List<Object[]> rows = new ArrayList<>();
+        for (List<UUID> partition : ListUtils.partition(owners, OWNERS_PARTITION_SIZE)) {
+            rows.addAll(statisticsRollupDAO.sumViewsByField(context, partition, objectType, field, start, end, -1));
+        }
+        return toObjectCounts(rows, limit);
+    }
+
+    @Override
+    public List<UUID> findRelatedItems(Context context, DSpaceObject dso, List<String> defaultFilterQueries)
+        throws SolrServerException, IOException {
+        String query = new StatisticsDatasetDisplay().composeRelationQuery(dso, defaultFilterQueries);
+        SolrQuery solrQuery = new SolrQuery(query)
+            .setFields(SearchUtils.RESOURCE_ID_FIELD)
+            .setRows(configurationService.getIntProperty("usage-statistics.rollup.batch-size", 10000))
+            .setSort("search.uniqueid", SolrQuery.ORDER.asc);
+
+        List<UUID> relatedItems = new ArrayList<>();
+        String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+        String nextCursorMark = null;
+        while (!cursorMark.equals(nextCursorMark)) {
+            if (nextCursorMark != null) {
+                cursorMark = nextCursorMark;
+            }
+            solrQuery.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+            QueryResponse response = solrSearchCore.getSolr().query(solrQuery, solrSearchCore.REQUEST_METHOD);
+            for (SolrDocument document : response.getResults()) {
+                UUID id = UUIDUtils.fromString((String) document.getFirstValue(SearchUtils.RESOURCE_ID_FIELD));
+                if (id != null) {
+                    relatedItems.add(id);
+                }
+            }
+            nextCursorMark = response.getNextCursorMark();
+        }
+        return relatedItems;
+    }
+
+    @Override
+    public long rollup(Context context, LocalDate day) throws SQLException, SolrServerException, IOException {
+        String query = "statistics_type:" + SolrLoggerServiceImpl.StatisticsType.VIEW.text();
+        String filterQuery = "time:[" + day + "T00:00:00.000Z TO " + day.plusDays(1) + "T00:00:00.000Z}";
+        int batchSize = configurationService.getIntProperty("usage-statistics.rollup.batch-size", 10000);
+
+        // the default filter queries are not applied, as the usage reports don't apply them to the raw hits
+        Map<RollupKey, Long> counters = new HashMap<>();
+        long[] hits = { 0 };
+        getSolrLoggerService().iterate(query, filterQuery, false, batchSize, HIT_FIELDS, document -> {
+            hits[0]++;
+            aggregate(counters, document);
+        });
+
+        statisticsRollupDAO.deleteByDay(context, day);
+        for (Map.Entry<RollupKey, Long> counter : counters.entrySet()) {
+            RollupKey key = counter.getKey();
+            StatisticsRollup rollup = new StatisticsRollup();
+            rollup.setDay(day);
+            rollup.setOwnerId(key.ownerId);
+            rollup.setObjectId(key.objectId);
+            rollup.setObjectType(key.objectType);
+            rollup.setCountryCode(key.countryCode);
+            rollup.setCity(key.city);
+            rollup.setViews(counter.getValue());
+            statisticsRollupDAO.create(context, rollup);
+        }
+
+        StatisticsRollupDay processedDay = statisticsRollupDayDAO.findByDay(context, day);
+        if (processedDay == null) {
+            processedDay = new StatisticsRollupDay();
+            processedDay.setDay(day);
+            processedDay.setHits(hits[0]);
+            statisticsRollupDayDAO.create(context, processedDay);
+        } else {
+            processedDay.setHits(hits[0]);
+            statisticsRollupDayDAO.save(context, processedDay);
+        }
+
+        log.info("Aggregated {} view hits of {} in {} counters", hits[0], day, counters.size());
+        return hits[0];
+    }
+
+    @Override
+    public LocalDate getNextDayToProcess(Context context) throws SQLException, SolrServerException, IOException {
+        LocalDate lastDay = statisticsRollupDayDAO.findLastDay(context);
+        if (lastDay != null) {
+            return lastDay.plusDays(1);
+        }
+
+        QueryResponse response = getSolrLoggerService().query(
+            "statistics_type:" + SolrLoggerServiceImpl.StatisticsType.VIEW.text(), null, null, 1, -1, null, null,
+            null, null, "time", true, 0);
+        if (response == null || response.getResults().isEmpty()) {
+            return null;
+        }
+        Date firstHit = (Date) response.getResults().get(0).getFirstValue("time");
+        return firstHit.toInstant().atZone(ZoneOffset.UTC).toLocalDate();
+    }
+
+    @Override
+    public void resetFrom(Context context, LocalDate from) throws SQLException {
+        statisticsRollupDayDAO.deleteFrom(context, from);
+    }
+
+    private void aggregate(Map<RollupKey, Long> counters, SolrDocument document) {
+        UUID objectId = UUIDUtils.fromString((String) document.getFirstValue("id"));
+        Object type = document.getFirstValue("type");
+        if (objectId == null || !(type instanceof Number)) {
+            // legacy hits with integer ids can't be matched with the objects
+            return;
+        }
+
+        // the owners of the same type of the viewed object, i.e. the parent communities of a community, are not
+        // counted, so that the views of the objects of a type owned by an object of that type are its own views
+        int objectType = ((Number) type).intValue();
+        Set<UUID> owners = new LinkedHashSet<>();
+        owners.add(objectId);
+        for (Map.Entry<String, Integer> ownerField : OWNER_FIELDS.entrySet()) {
+            Collection<Object> values = document.getFieldValues(ownerField.getKey());
+            if (values == null || ownerField.getValue() == objectType) {
+                continue;
+            }
+            for (Object value : values) {
+                UUID ownerId = UUIDUtils.fromString(String.valueOf(value));
+                if (ownerId != null) {
+                    owners.add(ownerId);
+                }
+            }
+        }
+
+        String countryCode = StringUtils.trimToNull((String) document.getFirstValue("countryCode"));
+        String city = StringUtils.trimToNull((String) document.getFirstValue("city"));
+        for (UUID ownerId : owners) {
+            RollupKey key = new RollupKey(ownerId, objectId, objectType, countryCode, city);
+            counters.merge(key, 1L, Long::sum);
+        }
+    }
+
+    private ObjectCount[] toObjectCounts(List<Object[]> rows, int limit) {
+        // the rows of several partitions may hold the same value
+        Map<String, Long> views = new HashMap<>();
+        for (Object[] row : rows) {
+            views.merge(String.valueOf(row[0]), ((Number) row[1]).longValue(), Long::sum);
+        }
+        return views.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .limit(limit > 0 ? limit : Long.MAX_VALUE)
+                    .map(entry -> {
+                        ObjectCount count = new ObjectCount();
+                        count.setValue(entry.getKey());
+                        count.setCount(entry.getValue());
+                        return count;
+                    })
+                    .toArray(ObjectCount[]::new);
+    }
+
+    private LocalDate parseDay(String date) {
+        return StringUtils.isBlank(date) || "null".equals(date) ? null : LocalDate.parse(date);
+    }
+
+    private SolrLoggerService getSolrLoggerService() {
+        return StatisticsServiceFactory.getInstance().getSolrLoggerService();
+    }
+
+    /**
+     * The dimensions of a daily counter.
+     */
+    private static final class RollupKey {
+
+        private final UUID ownerId;
+
+        private final UUID objectId;
+
+        private final int objectType;
+
+        private final String countryCode;
+
+        private final String city;
+
+        private RollupKey(UUID ownerId, UUID objectId, int objectType, String countryCode, String city) {
+            this.ownerId = ownerId;
+            this.objectId = objectId;
+            this.objectType = objectType;
+            this.countryCode = countryCode;
+            this.city = city;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof RollupKey)) {
+                return false;
+            }
+            RollupKey other = (RollupKey) obj;
+            return objectType == other.objectType && Objects.equals(ownerId, other.ownerId)
+                && Objects.equals(objectId, other.objectId) && Objects.equals(countryCode, other.countryCode)
+                && Objects.equals(city, other.city);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(ownerId, objectId, objectType, countryCode, city);
+        }
+    }
+}
@@ -12,10 +12,12 @@ import java.net.UnknownHostException;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import javax.servlet.http.HttpServletRequest;
 
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrInputDocument;
 import org.dspace.content.DSpaceObject;
 import org.dspace.core.Context;
@@ -304,6 +306,22 @@ public interface SolrLoggerService {
         boolean ascending, int facetMinCount, boolean defaultFilterQueries, String pivotField)
         throws SolrServerException, IOException;
 
+    /**
+     * Iterate over all the usage events matching the given query. The events are read in batches with cursor paging,
+     * so that the whole result is never loaded in memory.
+     *
+     * @param  query                the query to be used
+     * @param  filterQuery          filter query, can be null
+     * @param  defaultFilterQueries use the default filter queries
+     * @param  batchSize            the number of events to read for each request
+     * @param  fields               the fields to return
+     * @param  consumer             the consumer of the events
+     * @throws SolrServerException  Exception from the Solr server to the solrj Java client.
+     * @throws java.io.IOException  passed through.
+     */
+    public void iterate(String query, String filterQuery, boolean defaultFilterQueries, int batchSize,
+                        String[] fields, Consumer<SolrDocument> consumer) throws SolrServerException, IOException;
+
     /**
      * Returns in a filterQuery string all the ip addresses that should be ignored
      *
@@ -7,6 +7,8 @@
  */
 package org.dspace.storage.bitstore;
 
+import java.io.File;
+
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
 import org.apache.commons.cli.DefaultParser;
@@ -16,6 +18,7 @@ import org.apache.commons.cli.ParseException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.core.Context;
+import org.dspace.scripts.handler.impl.CommandLineDSpaceRunnableHandler;
 import org.dspace.storage.bitstore.factory.StorageServiceFactory;
 import org.dspace.storage.bitstore.service.BitstreamStorageService;
 
@@ -62,6 +65,15 @@ public class BitStoreMigrate {
                               "Delete file from losing assetstore. (Default: Keep bitstream in old assetstore)");
             options.addOption("p", "print", false, "Print out current assetstore information");
             options.addOption("s", "size", true, "Batch commit size. (Default: 1, commit after each file transfer)");
+            options.addOption("t", "threads", true,
+                              "Number of parallel workers, each copy is verified against the destination " +
+                                  "assetstore. (Default: sequential migration without verification)");
+            options.addOption("r", "rate", true,
+                              "Maximum number of bytes per second read from the source assetstore by the parallel " +
+                                  "workers. (Default: no limit)");
+            options.addOption("j", "journal", true,
+                              "Journal file of the parallel migration, used to resume an interrupted migration " +
+                                  "without copying again the already verified files");
             options.addOption("h", "help", false, "Help");
 
             try {
@@ -103,8 +115,17 @@ public class BitStoreMigrate {
                     batchCommitSize = Integer.parseInt(line.getOptionValue('s'));
                 }
 
-                bitstreamStorageService
-                    .migrate(context, sourceAssetstore, destinationAssetstore, deleteOld, batchCommitSize);
+                if (line.hasOption('t')) {
+                    int threads = Integer.parseInt(line.getOptionValue('t'));
+                    long maxBytesPerSecond = line.hasOption('r') ? Long.parseLong(line.getOptionValue('r')) : 0;
+                    File journal = line.hasOption('j') ? new File(line.getOptionValue('j')) : null;
+                    bitstreamStorageService.migrate(context, sourceAssetstore, destinationAssetstore, deleteOld,
+                                                    batchCommitSize, threads, maxBytesPerSecond, journal,
+                                                    new CommandLineDSpaceRunnableHandler());
+                } else {
+                    bitstreamStorageService
+                        .migrate(context, sourceAssetstore, destinationAssetstore, deleteOld, batchCommitSize);
+                }
             } else {
                 printHelp(options);
                 System.exit(0);
@@ -0,0 +1,456 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.util.concurrent.RateLimiter;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullOutputStream;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.authorize.AuthorizeException;
+import org.dspace.content.Bitstream;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.BitstreamService;
+import org.dspace.core.Context;
+import org.dspace.core.Utils;
+import org.dspace.scripts.handler.DSpaceRunnableHandler;
+
+/**
+ * Parallel migration of the bitstreams of an assetstore to another assetstore.
+ * <p>
+ * The bitstreams are split in batches, each batch is processed by a worker with its own {@link Context} and
+ * committed at the end of the batch. Every copy is verified against the destination assetstore before the new
+ * store number is saved, and the source files are removed (if requested) once the batch is committed. Verified
+ * copies are recorded in an optional journal file, so that a migration interrupted before its last commit doesn't
+ * copy them again when it is restarted.
+ * <p>
+ * The ids of the bitstreams to migrate are read by pages, in id order: the workers commit their batches while the
+ * bitstreams are listed, so the listing cannot keep a database cursor open.
+ */
+public class BitstreamMigration {
+
+    private static final Logger log = LogManager.getLogger(BitstreamMigration.class);
+
+    private static final long PROGRESS_INTERVAL_SECONDS = 60;
+
+    private static final int IDS_PAGE_SIZE = 1000;
+
+    private final BitstreamService bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
+
+    private final BitStoreService sourceStore;
+    private final BitStoreService destinationStore;
+    private final int sourceNumber;
+    private final int destinationNumber;
+
+    private boolean deleteOld = false;
+    private int batchCommitSize = 1;
+    private int threads = 1;
+    private RateLimiter rateLimiter;
+    private File journal;
+    private DSpaceRunnableHandler handler;
+
+    private final Set<UUID> journaledIds = new HashSet<>();
+
+    private final AtomicLong migratedCount = new AtomicLong();
+    private final AtomicLong migratedBytes = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong deleteFailedCount = new AtomicLong();
+    private long totalBytes;
+    private long startTime;
+
+    public BitstreamMigration(BitStoreService sourceStore, int sourceNumber,
+                              BitStoreService destinationStore, int destinationNumber) {
+        this.sourceStore = sourceStore;
+        this.sourceNumber = sourceNumber;
+        this.destinationStore = destinationStore;
+        this.destinationNumber = destinationNumber;
+    }
+
+    /**
+     * Migrate all the bitstreams of the source assetstore.
+     *
+     * @param context the DSpace context used to list the bitstreams to migrate
+     * @throws IOException  if the journal cannot be read or written
+     * @throws SQLException if database error
+     */
+    public void migrate(Context context) throws IOException, SQLException {
+        readJournal();
+        totalBytes = bitstreamService.sumSizeBytesByStoreNumber(context, sourceNumber);
+        startTime = System.currentTimeMillis();
+        logInfo("Migrating " + bitstreamService.countByStoreNumber(context, sourceNumber) + " bitstreams ("
+                     + totalBytes + " bytes) from assetstore[" + sourceNumber + "] to assetstore["
+                     + destinationNumber + "] with " + threads + " threads");
+
+        ExecutorService workers = Executors.newFixedThreadPool(threads, new BasicThreadFactory.Builder()
+            .namingPattern("bitstore-migrate-%d")
+            .build());
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor();
+        progress.scheduleAtFixedRate(this::reportProgress, PROGRESS_INTERVAL_SECONDS, PROGRESS_INTERVAL_SECONDS,
+                                     TimeUnit.SECONDS);
+        // bound the number of pending batches, so that the ids are not all loaded in memory
+        Semaphore pendingBatches = new Semaphore(threads * 2);
+        try {
+            List<UUID> batch = new ArrayList<>(batchCommitSize);
+            List<UUID> page;
+            UUID lastId = null;
+            do {
+                // the migrated bitstreams leave the source assetstore: page after the last id, not by offset
+                page = bitstreamService.findIdsByStoreNumber(context, sourceNumber, lastId, IDS_PAGE_SIZE);
+                for (UUID id : page) {
+                    batch.add(id);
+                    if (batch.size() >= batchCommitSize) {
+                        submit(workers, pendingBatches, batch);
+                        batch = new ArrayList<>(batchCommitSize);
+                    }
+                }
+                if (!page.isEmpty()) {
+                    lastId = page.get(page.size() - 1);
+                }
+            } while (page.size() == IDS_PAGE_SIZE);
+            if (!batch.isEmpty()) {
+                submit(workers, pendingBatches, batch);
+            }
+            workers.shutdown();
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workers.shutdownNow();
+            throw new IOException("Migration interrupted", e);
+        } finally {
+            progress.shutdownNow();
+        }
+
+        reportProgress();
+        logInfo("Assetstore Migration from assetstore[" + sourceNumber + "] to assetstore[" + destinationNumber
+                    + "] completed. " + migratedCount.get() + " objects were transferred, " + failedCount.get()
+                    + " failed" + (deleteOld ? ", " + deleteFailedCount.get() + " could not be removed from assetstore["
+                    + sourceNumber + "]." : "."));
+        if (failedCount.get() == 0 && journal != null) {
+            Files.deleteIfExists(journal.toPath());
+        }
+    }
+
+    private void submit(ExecutorService workers, Semaphore pendingBatches, List<UUID> batch)
+        throws InterruptedException {
+        pendingBatches.acquire();
+        workers.submit(() -> {
+            try {
+                migrateBatch(batch);
+            } finally {
+                pendingBatches.release();
+            }
+        });
+    }
+
+    /**
+     * Copy and verify a batch of bitstreams, then commit their new store number in a single transaction. The
+     * source files are removed (if requested) only once the new store number is committed.
+     */
+    private void migrateBatch(List<UUID> ids) {
+        Context context = new Context(Context.Mode.BATCH_EDIT);
+        context.turnOffAuthorisationSystem();
+        List<Bitstream> migrated = new ArrayList<>(ids.size());
+        try {
+            for (UUID id : ids) {
+                Bitstream bitstream = bitstreamService.find(context, id);
+                // skip the bitstreams removed or moved since the start of the migration
+                if (bitstream == null || bitstream.getStoreNumber() != sourceNumber) {
+                    continue;
+                }
+                if (migrateBitstream(context, bitstream)) {
+                    migrated.add(bitstream);
+                } else {
+                    failedCount.incrementAndGet();
+                }
+            }
+            context.complete();
+        } catch (SQLException | RuntimeException e) {
+            // the copies are kept in the journal, they will be reused by the next run
+            log.error("Unable to commit the migration of the bitstreams " + ids, e);
+            failedCount.addAndGet(migrated.size());
+            context.abort();
+            return;
+        }
+
+        for (Bitstream bitstream : migrated) {
+            migratedCount.incrementAndGet();
+            migratedBytes.addAndGet(bitstream.getSizeBytes());
+        }
+        log.info("Migration Commit Checkpoint: " + migratedCount.get());
+
+        if (deleteOld) {
+            for (Bitstream bitstream : migrated) {
+                removeSource(bitstream);
+            }
+        }
+    }
+
+    /**
+     * Remove the file of a migrated bitstream from the source assetstore. A failure leaves an orphan file in the
+     * source assetstore, but the bitstream is migrated all the same.
+     */
+    private void removeSource(Bitstream bitstream) {
+        log.info("Removing bitstream:" + bitstream.getID() + " from assetstore[" + sourceNumber + "]");
+        try {
+            sourceStore.remove(bitstream);
+        } catch (IOException | RuntimeException e) {
+            log.error("Unable to remove bitstream:" + bitstream.getID() + " from assetstore[" + sourceNumber
+                          + "], it is already migrated to assetstore[" + destinationNumber + "]", e);
+            deleteFailedCount.incrementAndGet();
+        }
+    }
+
+    private boolean migrateBitstream(Context context, Bitstream bitstream) throws SQLException {
+        String expectedChecksum = bitstream.getChecksum();
+        String expectedAlgorithm = bitstream.getChecksumAlgorithm();
+        long expectedSize = bitstream.getSizeBytes();
+        try {
+            if (journaledIds.contains(bitstream.getID()) && verify(bitstream, expectedChecksum, expectedAlgorithm,
+                                                                    expectedSize)) {
+                log.info("Bitstream:" + bitstream.getID() + " already copied to assetstore[" + destinationNumber
+                             + "], skipping the copy");
+            } else {
+                copy(bitstream, expectedChecksum, expectedAlgorithm, expectedSize);
+            }
+            bitstream.setStoreNumber(destinationNumber);
+            bitstreamService.update(context, bitstream);
+            return true;
+        } catch (IOException | AuthorizeException e) {
+            log.error("Unable to migrate bitstream:" + bitstream.getID(), e);
+            // the put on the destination store may have altered the bitstream
+            bitstream.setChecksum(expectedChecksum);
+            bitstream.setChecksumAlgorithm(expectedAlgorithm);
+            bitstream.setSizeBytes(expectedSize);
+            return false;
+        }
+    }
+
+    private void copy(Bitstream bitstream, String expectedChecksum, String expectedAlgorithm, long expectedSize)
+        throws IOException {
+        log.info("Copying bitstream:" + bitstream.getID() + " from assetstore[" + sourceNumber + "] to assetstore["
+                     + destinationNumber + "] Name:" + bitstream.getName() + ", SizeBytes:" + expectedSize);
+        InputStream source = sourceStore.get(bitstream);
+        if (source == null) {
+            throw new IOException("Bitstream:" + bitstream.getID() + " not found in assetstore[" + sourceNumber + "]");
+        }
+        try (InputStream in = throttle(source)) {
+            destinationStore.put(bitstream, in);
+        }
+
+        // the checksum computed while writing must match the one of the source
+        if (Objects.equals(expectedAlgorithm, bitstream.getChecksumAlgorithm())
+                && !StringUtils.equals(expectedChecksum, bitstream.getChecksum())) {
+            throw new IOException("Checksum mismatch after copy: expected " + expectedChecksum + " but was "
+                                      + bitstream.getChecksum());
+        }
+        if (!verify(bitstream, expectedChecksum, expectedAlgorithm, expectedSize)) {
+            throw new IOException("The copy of the bitstream doesn't match the source");
+        }
+        writeJournal(bitstream.getID());
+    }
+
+    /**
+     * Check that the destination store holds a copy of the bitstream with the expected size and checksum. When the
+     * destination store reports a checksum of another algorithm, the copy is read back to compute the checksum with
+     * the algorithm of the source.
+     */
+    private boolean verify(Bitstream bitstream, String expectedChecksum, String expectedAlgorithm,
+                           long expectedSize) throws IOException {
+        Map<String, Object> wantedMetadata = new HashMap<>();
+        wantedMetadata.put("size_bytes", null);
+        wantedMetadata.put("checksum", null);
+        Map receivedMetadata = destinationStore.about(bitstream, wantedMetadata);
+        if (receivedMetadata == null) {
+            return false;
+        }
+        Object size = receivedMetadata.get("size_bytes");
+        if (size != null && Long.parseLong(size.toString()) != expectedSize) {
+            log.error("Size mismatch for bitstream:" + bitstream.getID() + " expected " + expectedSize
+                          + " but was " + size);
+            return false;
+        }
+        if (StringUtils.isBlank(expectedChecksum) || StringUtils.isBlank(expectedAlgorithm)) {
+            log.error("Bitstream:" + bitstream.getID() + " has no checksum to verify its copy");
+            return false;
+        }
+        Object checksum = receivedMetadata.get("checksum");
+        Object algorithm = receivedMetadata.get("checksum_algorithm");
+        if (checksum == null || !expectedAlgorithm.equals(Objects.toString(algorithm, null))) {
+            checksum = computeChecksum(bitstream, expectedAlgorithm);
+        }
+        if (!StringUtils.equals(expectedChecksum, checksum.toString())) {
+            log.error("Checksum mismatch for bitstream:" + bitstream.getID() + " expected " + expectedChecksum
+                          + " but was " + checksum);
+            return false;
+        }
+        return true;
+    }
+
+    private String computeChecksum(Bitstream bitstream, String algorithm) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("Invalid checksum algorithm " + algorithm, e);
+        }
+        InputStream in = destinationStore.get(bitstream);
+        if (in == null) {
+            throw new IOException("Bitstream:" + bitstream.getID() + " not found in assetstore["
+                                      + destinationNumber + "]");
+        }
+        try (DigestInputStream dis = new DigestInputStream(in, digest)) {
+            IOUtils.copyLarge(dis, NullOutputStream.NULL_OUTPUT_STREAM);
+        }
+        return Utils.toHex(digest.digest());
+    }
+
+    private InputStream throttle(InputStream in) {
+        if (rateLimiter == null) {
+            return in;
+        }
+        return new FilterInputStream(in) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) {
+                    rateLimiter.acquire();
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int count = super.read(buffer, offset, length);
+                if (count > 0) {
+                    rateLimiter.acquire(count);
+                }
+                return count;
+            }
+        };
+    }
+
+    private void readJournal() throws IOException {
+        if (journal == null || !journal.exists()) {
+            return;
+        }
+        for (String line : Files.readAllLines(journal.toPath(), StandardCharsets.UTF_8)) {
+            if (StringUtils.isNotBlank(line)) {
+                journaledIds.add(UUID.fromString(line.trim()));
+            }
+        }
+        log.info("Resuming migration, " + journaledIds.size() + " bitstreams found in the journal "
+                     + journal.getAbsolutePath());
+    }
+
+    private synchronized void writeJournal(UUID id) throws IOException {
+        if (journal == null) {
+            return;
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(journal.toPath(), StandardCharsets.UTF_8,
+                                                             StandardOpenOption.CREATE,
+                                                             StandardOpenOption.APPEND)) {
+            writer.write(id.toString());
+            writer.newLine();
+        }
+    }
+
+    private void reportProgress() {
+        long elapsedSeconds = Math.max(1, (System.currentTimeMillis() - startTime) / 1000);
+        long bytes = migratedBytes.get();
+        long bytesPerSecond = bytes / elapsedSeconds;
+        long remainingBytes = Math.max(0, totalBytes - bytes);
+        String message = "Migrated " + migratedCount.get() + " bitstreams (" + bytes + " bytes, "
+            + failedCount.get() + " failed) at " + bytesPerSecond + " bytes/sec, " + remainingBytes
+            + " bytes remaining"
+            + (bytesPerSecond > 0 ? ", about " + (remainingBytes / bytesPerSecond) + " seconds left" : "");
+        logInfo(message);
+    }
+
+    private void logInfo(String message) {
+        if (handler != null) {
+            handler.logInfo(message);
+        } else {
+            log.info(message);
+        }
+    }
+
+    public void setDeleteOld(boolean deleteOld) {
+        this.deleteOld = deleteOld;
+    }
+
+    public void setBatchCommitSize(int batchCommitSize) {
+        this.batchCommitSize = Math.max(1, batchCommitSize);
+    }
+
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * @param maxBytesPerSecond the maximum number of bytes read per second from the source assetstore, by all
+     *                          the workers, or 0 for no limit
+     */
+    public void setMaxBytesPerSecond(long maxBytesPerSecond) {
+        this.rateLimiter = maxBytesPerSecond > 0 ? RateLimiter.create(maxBytesPerSecond) : null;
+    }
+
+    public void setJournal(File journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * @param handler the handler of the script reporting the progress of the migration, or null to only log it
+     */
+    public void setHandler(DSpaceRunnableHandler handler) {
+        this.handler = handler;
+    }
+
+    public long getMigratedCount() {
+        return migratedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * @return the number of migrated bitstreams whose file could not be removed from the source assetstore
+     */
+    public long getDeleteFailedCount() {
+        return deleteFailedCount.get();
+    }
+}
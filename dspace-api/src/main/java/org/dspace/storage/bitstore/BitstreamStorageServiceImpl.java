@@ -7,6 +7,7 @@
  */
 package org.dspace.storage.bitstore;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
@@ -27,6 +28,7 @@ import org.dspace.content.MetadataValue;
 import org.dspace.content.service.BitstreamService;
 import org.dspace.core.Context;
 import org.dspace.core.Utils;
+import org.dspace.scripts.handler.DSpaceRunnableHandler;
 import org.dspace.storage.bitstore.service.BitstreamStorageService;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -424,6 +426,21 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
                 "] completed. " + processedCounter + " objects were transferred.");
     }
 
+    @Override
+    public void migrate(Context context, Integer assetstoreSource, Integer assetstoreDestination, boolean deleteOld,
+                        Integer batchCommitSize, int threads, long maxBytesPerSecond, File journal,
+                        DSpaceRunnableHandler handler) throws IOException, SQLException {
+        BitstreamMigration migration = new BitstreamMigration(stores.get(assetstoreSource), assetstoreSource,
+                                                              stores.get(assetstoreDestination), assetstoreDestination);
+        migration.setDeleteOld(deleteOld);
+        migration.setBatchCommitSize(batchCommitSize);
+        migration.setThreads(threads);
+        migration.setMaxBytesPerSecond(maxBytesPerSecond);
+        migration.setJournal(journal);
+        migration.setHandler(handler);
+        migration.migrate(context);
+    }
+
     public void printStores(Context context) {
         try {
 
@@ -7,10 +7,22 @@
  */
 package org.dspace.storage.bitstore;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 
 import com.amazonaws.AmazonClientException;
 import com.amazonaws.auth.AWSCredentials;
@@ -21,14 +33,20 @@ import com.amazonaws.regions.Regions;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3Client;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
 import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
 import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
 import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
 import com.amazonaws.services.s3.model.PutObjectRequest;
-import com.amazonaws.services.s3.model.PutObjectResult;
 import com.amazonaws.services.s3.model.S3Object;
-import org.apache.commons.io.FileUtils;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullOutputStream;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.http.HttpStatus;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -55,9 +73,14 @@ public class S3BitStoreService implements BitStoreService {
     private static final Logger log = LogManager.getLogger(S3BitStoreService.class);
 
     /**
-     * Checksum algorithm
+     * Checksum algorithm used by S3 for the ETag of objects uploaded with a single request
      */
     private static final String CSA = "MD5";
+
+    /**
+     * S3 doesn't accept parts smaller than 5 MB, except for the last one
+     */
+    private static final long MIN_PART_SIZE = 5 * 1024 * 1024;
     protected static final int digitsPerLevel = 2;
     protected static final int directoryLevels = 3;
 
@@ -66,6 +89,27 @@ public class S3BitStoreService implements BitStoreService {
     private String awsRegionName;
     private boolean useRelativePath;
 
+    /**
+     * Size of the parts of multipart uploads, content smaller than this is sent with a single request
+     */
+    private long partSize = 16 * 1024 * 1024;
+
+    /**
+     * Number of parts of a single upload that are sent in parallel (and buffered in memory)
+     */
+    private int uploadThreads = 4;
+
+    /**
+     * Checksum algorithm computed while the content is uploaded. The existing bitstreams keep the algorithm of their
+     * upload.
+     */
+    private String checksumAlgorithm = CSA;
+
+    /**
+     * Executor used to send the parts of multipart uploads
+     */
+    private ExecutorService uploadExecutor;
+
     /**
      * container for all the assets
      */
@@ -86,6 +130,15 @@ public class S3BitStoreService implements BitStoreService {
 
     public S3BitStoreService() {}
 
+    /**
+     * This constructor is used for test purpose, to provide an S3 client that is not backed by Amazon.
+     *
+     * @param s3Service the S3 client to use
+     */
+    protected S3BitStoreService(AmazonS3 s3Service) {
+        this.s3Service = s3Service;
+    }
+
     /**
      * Initialize the asset store
      * S3 Requires:
@@ -95,27 +148,39 @@ public class S3BitStoreService implements BitStoreService {
      */
     @Override
     public void init() throws IOException {
-        if (StringUtils.isNotBlank(getAwsAccessKey()) && StringUtils.isNotBlank(getAwsSecretKey())) {
-            log.warn("Use local defined S3 credentials");
-            // region
-            Regions regions = Regions.DEFAULT_REGION;
-            if (StringUtils.isNotBlank(awsRegionName)) {
-                try {
-                    regions = Regions.fromName(awsRegionName);
-                } catch (IllegalArgumentException e) {
-                    log.warn("Invalid aws_region: " + awsRegionName);
+        if (partSize < MIN_PART_SIZE) {
+            log.warn("S3 part size " + partSize + " is smaller than the S3 minimum, using " + MIN_PART_SIZE);
+            partSize = MIN_PART_SIZE;
+        }
+        uploadExecutor = Executors.newFixedThreadPool(Math.max(1, uploadThreads), new BasicThreadFactory.Builder()
+            .namingPattern("s3-upload-%d")
+            .daemon(true)
+            .build());
+
+        // the client may have been provided at construction time
+        if (s3Service == null) {
+            if (StringUtils.isNotBlank(getAwsAccessKey()) && StringUtils.isNotBlank(getAwsSecretKey())) {
+                log.warn("Use local defined S3 credentials");
+                // region
+                Regions regions = Regions.DEFAULT_REGION;
+                if (StringUtils.isNotBlank(awsRegionName)) {
+                    try {
+                        regions = Regions.fromName(awsRegionName);
+                    } catch (IllegalArgumentException e) {
+                        log.warn("Invalid aws_region: " + awsRegionName);
+                    }
                 }
+                // init client
+                AWSCredentials awsCredentials = new BasicAWSCredentials(getAwsAccessKey(), getAwsSecretKey());
+                s3Service = AmazonS3ClientBuilder.standard()
+                        .withCredentials(new AWSStaticCredentialsProvider(awsCredentials))
+                        .withRegion(regions)
+                        .build();
+                log.warn("S3 Region set to: " + regions.getName());
+            } else {
+                log.info("Using a IAM role or aws environment credentials");
+                s3Service = AmazonS3ClientBuilder.defaultClient();
             }
-            // init client
-            AWSCredentials awsCredentials = new BasicAWSCredentials(getAwsAccessKey(), getAwsSecretKey());
-            s3Service = AmazonS3ClientBuilder.standard()
-                    .withCredentials(new AWSStaticCredentialsProvider(awsCredentials))
-                    .withRegion(regions)
-                    .build();
-            log.warn("S3 Region set to: " + regions.getName());
-        } else {
-            log.info("Using a IAM role or aws environment credentials");
-            s3Service = AmazonS3ClientBuilder.defaultClient();
         }
 
         // bucket name
@@ -177,6 +242,11 @@ public class S3BitStoreService implements BitStoreService {
      * If this method returns successfully, the bits have been stored.
      * If an exception is thrown, the bits have not been stored.
      * </p>
+     * <p>
+     * The stream is never spooled to local disk: content smaller than the part size is sent with a single request,
+     * bigger content with a multipart upload whose parts are sent in parallel while the stream is read. The
+     * checksum is computed on the fly while reading.
+     * </p>
      *
      * @param in The stream of bits to store
      * @throws java.io.IOException If a problem occurs while storing the bits
@@ -184,36 +254,130 @@ public class S3BitStoreService implements BitStoreService {
     @Override
     public void put(Bitstream bitstream, InputStream in) throws IOException {
         String key = getFullKey(bitstream.getInternalId());
-        //Copy istream to temp file, and send the file, with some metadata
-        File scratchFile = File.createTempFile(bitstream.getInternalId(), "s3bs");
         try {
-            FileUtils.copyInputStreamToFile(in, scratchFile);
-            long contentLength = scratchFile.length();
-
-            PutObjectRequest putObjectRequest = new PutObjectRequest(bucketName, key, scratchFile);
-            PutObjectResult putObjectResult = s3Service.putObject(putObjectRequest);
+            DigestInputStream dis = new DigestInputStream(in, MessageDigest.getInstance(checksumAlgorithm));
+
+            byte[] firstPart = readPart(dis);
+            long contentLength;
+            if (firstPart.length < partSize) {
+                ObjectMetadata objectMetadata = new ObjectMetadata();
+                objectMetadata.setContentLength(firstPart.length);
+                s3Service.putObject(
+                    new PutObjectRequest(bucketName, key, new ByteArrayInputStream(firstPart), objectMetadata));
+                contentLength = firstPart.length;
+            } else {
+                contentLength = multipartUpload(key, firstPart, dis);
+            }
 
             bitstream.setSizeBytes(contentLength);
-            bitstream.setChecksum(putObjectResult.getETag());
-            bitstream.setChecksumAlgorithm(CSA);
+            bitstream.setChecksum(Utils.toHex(dis.getMessageDigest().digest()));
+            bitstream.setChecksumAlgorithm(checksumAlgorithm);
+        } catch (AmazonClientException | IOException | NoSuchAlgorithmException e) {
+            log.error("put(" + bitstream.getInternalId() + ", is)", e);
+            throw new IOException(e);
+        }
+    }
 
-            scratchFile.delete();
+    /**
+     * Upload the content with a multipart upload, sending up to {@link #uploadThreads} parts in parallel. The
+     * upload is aborted if any part fails, so that no orphan part is left in the bucket.
+     *
+     * @param key       the key of the object
+     * @param firstPart the first part, already read from the stream
+     * @param in        the stream with the remaining content
+     * @return the total size of the content
+     */
+    private long multipartUpload(String key, byte[] firstPart, InputStream in) throws IOException {
+        String uploadId = s3Service.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, key))
+                                   .getUploadId();
+        List<Future<PartETag>> parts = new ArrayList<>();
+        Semaphore inFlight = new Semaphore(Math.max(1, uploadThreads));
+        long contentLength = 0;
+        try {
+            byte[] part = firstPart;
+            int partNumber = 1;
+            while (part.length > 0) {
+                contentLength += part.length;
+                acquire(inFlight);
+                parts.add(submitPart(key, uploadId, partNumber++, part, inFlight));
+                part = readPart(in);
+            }
 
-        } catch (AmazonClientException | IOException e) {
-            log.error("put(" + bitstream.getInternalId() + ", is)", e);
+            List<PartETag> partETags = new ArrayList<>(parts.size());
+            for (Future<PartETag> future : parts) {
+                partETags.add(future.get());
+            }
+            s3Service.completeMultipartUpload(new CompleteMultipartUploadRequest(bucketName, key, uploadId, partETags));
+            return contentLength;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abortMultipartUpload(key, uploadId, parts);
             throw new IOException(e);
-        } finally {
-            if (scratchFile.exists()) {
-                scratchFile.delete();
+        } catch (ExecutionException e) {
+            abortMultipartUpload(key, uploadId, parts);
+            throw new IOException(e.getCause());
+        } catch (IOException | RuntimeException e) {
+            abortMultipartUpload(key, uploadId, parts);
+            throw e;
+        }
+    }
+
+    private Future<PartETag> submitPart(String key, String uploadId, int partNumber, byte[] part,
+                                        Semaphore inFlight) {
+        return uploadExecutor.submit(() -> {
+            try {
+                UploadPartRequest uploadPartRequest = new UploadPartRequest()
+                    .withBucketName(bucketName)
+                    .withKey(key)
+                    .withUploadId(uploadId)
+                    .withPartNumber(partNumber)
+                    .withPartSize(part.length)
+                    .withInputStream(new ByteArrayInputStream(part));
+                return s3Service.uploadPart(uploadPartRequest).getPartETag();
+            } finally {
+                inFlight.release();
             }
+        });
+    }
+
+    private void abortMultipartUpload(String key, String uploadId, List<Future<PartETag>> parts) {
+        for (Future<PartETag> part : parts) {
+            part.cancel(true);
+        }
+        try {
+            s3Service.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+        } catch (AmazonClientException e) {
+            log.error("Unable to abort the multipart upload " + uploadId + " of " + key, e);
         }
     }
 
+    private void acquire(Semaphore semaphore) throws IOException {
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Read the next part from the stream, the returned array is shorter than the part size only at the end
+     * of the stream.
+     */
+    private byte[] readPart(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IOUtils.copyLarge(in, out, 0, partSize);
+        return out.toByteArray();
+    }
+
     /**
      * Obtain technical metadata about an asset in the asset store.
      *
      * Checksum used is (ETag) hex encoded 128-bit MD5 digest of an object's content as calculated by Amazon S3
-     * (Does not use getContentMD5, as that is 128-bit MD5 digest calculated on caller's side)
+     * (Does not use getContentMD5, as that is 128-bit MD5 digest calculated on caller's side).
+     * The ETag of objects stored with a multipart upload is not a digest of the content, so for them (and for the
+     * bitstreams using another checksum algorithm) the checksum is computed by reading the object. The checksum is
+     * computed with the algorithm stored on the bitstream, or with the configured one if there is none.
      *
      * @param bitstream The asset to describe
      * @param attrs     A Map whose keys consist of desired metadata fields
@@ -233,8 +397,15 @@ public class S3BitStoreService implements BitStoreService {
                     attrs.put("size_bytes", objectMetadata.getContentLength());
                 }
                 if (attrs.containsKey("checksum")) {
-                    attrs.put("checksum", objectMetadata.getETag());
-                    attrs.put("checksum_algorithm", CSA);
+                    // compare the stored checksum with one of the same algorithm, whatever the current configuration
+                    String algorithm = StringUtils.defaultIfBlank(bitstream.getChecksumAlgorithm(), checksumAlgorithm);
+                    if (CSA.equals(algorithm) && !isMultipartETag(objectMetadata.getETag())) {
+                        attrs.put("checksum", objectMetadata.getETag());
+                    } else {
+                        // the ETag isn't the checksum of the content, it must be computed by reading the object
+                        attrs.put("checksum", computeChecksum(key, algorithm));
+                    }
+                    attrs.put("checksum_algorithm", algorithm);
                 }
                 if (attrs.containsKey("modified")) {
                     attrs.put("modified", String.valueOf(objectMetadata.getLastModified().getTime()));
@@ -252,6 +423,20 @@ public class S3BitStoreService implements BitStoreService {
         return null;
     }
 
+    private boolean isMultipartETag(String eTag) {
+        return eTag != null && eTag.contains("-");
+    }
+
+    private String computeChecksum(String key, String algorithm) throws IOException {
+        try (InputStream in = s3Service.getObject(new GetObjectRequest(bucketName, key)).getObjectContent();
+             DigestInputStream dis = new DigestInputStream(in, MessageDigest.getInstance(algorithm))) {
+            IOUtils.copyLarge(dis, NullOutputStream.NULL_OUTPUT_STREAM);
+            return Utils.toHex(dis.getMessageDigest().digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("Invalid checksum algorithm", e);
+        }
+    }
+
     /**
      * Remove an asset from the asset store. An irreversible operation.
      *
@@ -386,6 +571,30 @@ public class S3BitStoreService implements BitStoreService {
         this.useRelativePath = useRelativePath;
     }
 
+    public long getPartSize() {
+        return partSize;
+    }
+
+    public void setPartSize(long partSize) {
+        this.partSize = partSize;
+    }
+
+    public int getUploadThreads() {
+        return uploadThreads;
+    }
+
+    public void setUploadThreads(int uploadThreads) {
+        this.uploadThreads = uploadThreads;
+    }
+
+    public String getChecksumAlgorithm() {
+        return checksumAlgorithm;
+    }
+
+    public void setChecksumAlgorithm(String checksumAlgorithm) {
+        this.checksumAlgorithm = checksumAlgorithm;
+    }
+
     /**
      * Contains a command-line testing tool. Expects arguments:
      * -a accessKey -s secretKey -f assetFileName
@@ -7,6 +7,7 @@
  */
 package org.dspace.storage.bitstore.service;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
@@ -17,6 +18,7 @@ import javax.annotation.Nullable;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.content.Bitstream;
 import org.dspace.core.Context;
+import org.dspace.scripts.handler.DSpaceRunnableHandler;
 
 /**
  * <P>
@@ -180,6 +182,26 @@ public interface BitstreamStorageService {
     public void migrate(Context context, Integer assetstoreSource, Integer assetstoreDestination, boolean deleteOld,
                         Integer batchCommitSize) throws IOException, SQLException, AuthorizeException;
 
+    /**
+     * Migrate all the assets from assetstoreSource to assetstoreDestination using parallel workers. Each copy is
+     * verified against the destination assetstore before its new store number is committed.
+     *
+     * @param context               The relevant DSpace Context.
+     * @param assetstoreSource      source assetstore
+     * @param assetstoreDestination destination assetstore
+     * @param deleteOld             whether to delete files from the source assetstore after migration
+     * @param batchCommitSize       number of bitstreams committed together by each worker
+     * @param threads               number of parallel workers
+     * @param maxBytesPerSecond     maximum read throughput from the source assetstore, 0 for no limit
+     * @param journal               file recording the verified copies to resume an interrupted migration, or null
+     * @param handler               handler of the script reporting the progress, or null to only log it
+     * @throws IOException  A general class of exceptions produced by failed or interrupted I/O operations.
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    public void migrate(Context context, Integer assetstoreSource, Integer assetstoreDestination, boolean deleteOld,
+                        Integer batchCommitSize, int threads, long maxBytesPerSecond, File journal,
+                        DSpaceRunnableHandler handler) throws IOException, SQLException;
+
 
     /**
      * Gets the last modified timestamp of the the given bitstream's content, if known.
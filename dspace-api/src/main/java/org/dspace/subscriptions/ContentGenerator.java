@@ -43,6 +43,8 @@ public class ContentGenerator implements SubscriptionGenerator<IndexableObject>
     private Map<String, StreamDisseminationCrosswalk> mapEntityDisseminatorProperty = new HashMap();
     @Autowired
     private ItemService itemService;
+    @Autowired
+    private SubscriptionEmailSender subscriptionEmailSender;
 
     @Override
     public void notifyForSubscriptions(Context c, EPerson ePerson, List<IndexableObject> indexableComm,
@@ -57,7 +59,8 @@ public class ContentGenerator implements SubscriptionGenerator<IndexableObject>
                 email.addArgument(generateHtmlBodyMail(c, indexableComm));
                 email.addArgument(generateHtmlBodyMail(c, indexableColl));
                 email.addArgument(generateHtmlBodyMail(c, indexableItems));
-                email.send();
+                // the body is built here, as it needs the context, while the email is sent by the workers
+                subscriptionEmailSender.send(email, ePerson.getEmail());
             }
         } catch (Exception ex) {
             // log this email error
@@ -44,6 +44,9 @@ public class StatisticsGenerator implements SubscriptionGenerator<CrisMetrics> {
     @Autowired
     private ConfigurationService configurationService;
 
+    @Autowired
+    private SubscriptionEmailSender subscriptionEmailSender;
+
     @Override
     public void notifyForSubscriptions(Context c, EPerson ePerson, List<CrisMetrics> crisMetricsList,
                                        List<CrisMetrics> crisMetricsList1,
@@ -58,7 +61,7 @@ public class StatisticsGenerator implements SubscriptionGenerator<CrisMetrics> {
                 email.addAttachment(attachment, "subscriptions.xlsx");
                 email.setContent("intro",
                         "This automatic email is sent by " + name + " based on the subscribed statistics updates.");
-                email.send();
+                subscriptionEmailSender.send(email, ePerson.getEmail());
             }
         } catch (Exception ex) {
             // log this email error
@@ -13,9 +13,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
@@ -28,6 +30,8 @@ import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
 import org.dspace.core.Context;
 import org.dspace.discovery.IndexableObject;
+import org.dspace.discovery.SearchServiceException;
+import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Subscription;
 import org.dspace.eperson.service.SubscribeService;
 import org.dspace.scripts.DSpaceRunnable;
@@ -36,6 +40,7 @@ import org.dspace.subscriptions.service.DSpaceObjectUpdates;
 import org.dspace.subscriptions.service.SubscriptionGenerator;
 import org.hibernate.proxy.HibernateProxy;
 import org.hibernate.proxy.LazyInitializer;
+import org.springframework.beans.factory.annotation.Autowired;
 
 
 /**
@@ -50,48 +55,36 @@ public class SubscriptionEmailNotificationService {
     private final SubscribeService subscribeService;
     private Map<String, DSpaceObjectUpdates> contentUpdates = new HashMap<>();
     private Map<String, SubscriptionGenerator> generators = new HashMap<>();
-    private List<IndexableObject> communities = new ArrayList<>();
-    private List<IndexableObject> collections = new ArrayList<>();
-    private List<IndexableObject> items = new ArrayList<>();
+    private SubscriptionEmailSender subscriptionEmailSender;
 
     public void perform(Context context, DSpaceRunnableHandler handler, String type, String frequency) {
         try {
             context.turnOffAuthorisationSystem();
             List<Subscription> subscriptionList = findAllSubscriptionsByTypeAndFrequency(context, type, frequency);
+            // the subscriptions are grouped by person, keeping the order by person id
+            Map<EPerson, List<Subscription>> subscriptionsByEPerson = subscriptionList.stream()
+                .collect(Collectors.groupingBy(Subscription::getePerson, LinkedHashMap::new, Collectors.toList()));
             // if content subscription
             // Here is verified if type is "content" Or "statistics" as them are configured
             if (type.equals(generators.keySet().toArray()[0])) {
-                // the list of the person who has subscribed
-                int iterator = 0;
-                for (Subscription subscription : subscriptionList) {
-                    DSpaceObject dSpaceObject = getdSpaceObject(subscription);
-                    if (dSpaceObject instanceof Community) {
-                        communities.addAll(contentUpdates.get(Community.class.getSimpleName().toLowerCase(Locale.ROOT))
-                                .findUpdates(context, dSpaceObject, frequency));
-                    } else if (dSpaceObject instanceof Collection) {
-                        collections.addAll(contentUpdates.get(Collection.class.getSimpleName().toLowerCase(Locale.ROOT))
-                                .findUpdates(context, dSpaceObject, frequency));
-                    } else if (dSpaceObject instanceof Item) {
-                        items.addAll(contentUpdates.get(Item.class.getSimpleName().toLowerCase(Locale.ROOT))
-                                .findUpdates(context, dSpaceObject, frequency));
-                    }
-                    if (iterator < subscriptionList.size() - 1) {
-                        if (subscription.getePerson().equals(subscriptionList.get(iterator + 1).getePerson())) {
-                            iterator++;
-                            continue;
-                        } else {
-                            generators.get(type).notifyForSubscriptions(context, subscription.getePerson(),
-                                    communities, collections, items);
-                            communities.clear();
-                            collections.clear();
-                            items.clear();
+                // the updates of an object are computed once, whatever the number of its subscribers
+                Map<UUID, List<IndexableObject>> updatesByObject = new HashMap<>();
+                for (Map.Entry<EPerson, List<Subscription>> entry : subscriptionsByEPerson.entrySet()) {
+                    List<IndexableObject> communities = new ArrayList<>();
+                    List<IndexableObject> collections = new ArrayList<>();
+                    List<IndexableObject> items = new ArrayList<>();
+                    for (Subscription subscription : entry.getValue()) {
+                        DSpaceObject dSpaceObject = getdSpaceObject(subscription);
+                        if (dSpaceObject instanceof Community) {
+                            communities.addAll(findUpdates(context, updatesByObject, dSpaceObject, frequency));
+                        } else if (dSpaceObject instanceof Collection) {
+                            collections.addAll(findUpdates(context, updatesByObject, dSpaceObject, frequency));
+                        } else if (dSpaceObject instanceof Item) {
+                            items.addAll(findUpdates(context, updatesByObject, dSpaceObject, frequency));
                         }
-                    } else {
-                        //in the end of the iteration
-                        generators.get(type).notifyForSubscriptions(context, subscription.getePerson(),
-                                communities, collections, items);
                     }
-                    iterator++;
+                    generators.get(type).notifyForSubscriptions(context, entry.getKey(),
+                            communities, collections, items);
                 }
             } else {
                 if (!type.equals(generators.keySet().toArray()[1])) {
@@ -100,29 +93,14 @@ public class SubscriptionEmailNotificationService {
                     + String.join(",", generators.keySet()) + " frequency one of: "
                     + String.join(", ", FREQUENCIES));
                 }
-                int iterator = 0;
-                List<CrisMetrics> crisMetricsList = new ArrayList<>();
-                for (Subscription subscription : subscriptionList) {
-                    try {
-                        crisMetricsList.addAll(crisMetricsService.findAllByDSO(context,
-                                subscription.getdSpaceObject()));
-                    } catch (Exception e) {
-                        log.error(e.getMessage());
-                    }
-                    if (iterator < subscriptionList.size() - 1) {
-                        if (subscription.getePerson().equals(subscriptionList.get(iterator + 1).getePerson())) {
-                            iterator++;
-                            continue;
-                        } else {
-                            generators.get(type).notifyForSubscriptions(context, subscription.getePerson(),
-                                    crisMetricsList, null, null);
-                        }
-                    } else {
-                        //in the end of the iteration
-                        generators.get(type).notifyForSubscriptions(context, subscription.getePerson(),
-                                crisMetricsList, null, null);
+                Map<UUID, List<CrisMetrics>> metricsByObject = new HashMap<>();
+                for (Map.Entry<EPerson, List<Subscription>> entry : subscriptionsByEPerson.entrySet()) {
+                    List<CrisMetrics> crisMetricsList = new ArrayList<>();
+                    for (Subscription subscription : entry.getValue()) {
+                        crisMetricsList.addAll(findMetrics(context, metricsByObject, subscription.getdSpaceObject()));
                     }
-                    iterator++;
+                    generators.get(type).notifyForSubscriptions(context, entry.getKey(),
+                            crisMetricsList, null, null);
                 }
             }
         } catch (Exception e) {
@@ -130,10 +108,37 @@ public class SubscriptionEmailNotificationService {
             handler.handleException(e);
             context.abort();
         } finally {
+            if (subscriptionEmailSender != null) {
+                subscriptionEmailSender.awaitCompletion();
+            }
             context.restoreAuthSystemState();
         }
     }
 
+    private List<IndexableObject> findUpdates(Context context, Map<UUID, List<IndexableObject>> updatesByObject,
+                                              DSpaceObject dSpaceObject, String frequency)
+        throws SearchServiceException {
+        List<IndexableObject> updates = updatesByObject.get(dSpaceObject.getID());
+        if (updates == null) {
+            String key = dSpaceObject.getClass().getSimpleName().toLowerCase(Locale.ROOT);
+            updates = contentUpdates.get(key).findUpdates(context, dSpaceObject, frequency);
+            updatesByObject.put(dSpaceObject.getID(), updates);
+        }
+        return updates;
+    }
+
+    private List<CrisMetrics> findMetrics(Context context, Map<UUID, List<CrisMetrics>> metricsByObject,
+                                          DSpaceObject dSpaceObject) {
+        return metricsByObject.computeIfAbsent(dSpaceObject.getID(), id -> {
+            try {
+                return crisMetricsService.findAllByDSO(context, dSpaceObject);
+            } catch (Exception e) {
+                log.error(e.getMessage());
+                return new ArrayList<>();
+            }
+        });
+    }
+
     private DSpaceObject getdSpaceObject(Subscription subscription) {
         DSpaceObject dSpaceObject = subscription.getdSpaceObject();
         if (subscription.getdSpaceObject() instanceof HibernateProxy) {
@@ -166,4 +171,9 @@ public class SubscriptionEmailNotificationService {
         this.contentUpdates = contentUpdates;
     }
 
+    @Autowired(required = false)
+    public void setSubscriptionEmailSender(SubscriptionEmailSender subscriptionEmailSender) {
+        this.subscriptionEmailSender = subscriptionEmailSender;
+    }
+
 }
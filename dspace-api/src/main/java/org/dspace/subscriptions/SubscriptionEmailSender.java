@@ -0,0 +1,141 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.subscriptions;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+
+import com.google.common.util.concurrent.RateLimiter;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.core.Email;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Bounded pool of workers sending the subscription emails, so that the SMTP round trips of a run don't add up.
+ * <p>
+ * The emails are fully built by the caller, that owns the {@link org.dspace.core.Context}: the workers only
+ * process the template and talk to the mail server. When all the workers are busy and the queue is full the email
+ * is sent by the calling thread, slowing down the generation of the next ones. The emails sent to the same mail
+ * server share an optional limit of emails per second.
+ */
+public class SubscriptionEmailSender {
+
+    private static final Logger log = LogManager.getLogger(SubscriptionEmailSender.class);
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    private final Map<String, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
+    private final Set<Future<?>> pendingEmails = ConcurrentHashMap.newKeySet();
+
+    private ThreadPoolExecutor executor;
+
+    /**
+     * Schedule the sending of the given email.
+     *
+     * @param email       the email to send
+     * @param description the description of the email used in the logs, e.g. the recipient
+     */
+    public void send(Email email, String description) {
+        ThreadPoolExecutor executor = getExecutor();
+        if (executor == null) {
+            sendNow(email, description);
+            return;
+        }
+        Future<?> future = executor.submit(() -> sendNow(email, description));
+        pendingEmails.add(future);
+    }
+
+    /**
+     * Wait until all the scheduled emails have been sent.
+     */
+    public void awaitCompletion() {
+        for (Future<?> future : pendingEmails) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                log.error("Unexpected error sending a subscription email", e.getCause());
+            }
+            pendingEmails.remove(future);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.warn("Timeout waiting for the subscription emails to be sent");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor = null;
+    }
+
+    private void sendNow(Email email, String description) {
+        RateLimiter rateLimiter = getRateLimiter();
+        if (rateLimiter != null) {
+            rateLimiter.acquire();
+        }
+        try {
+            email.send();
+        } catch (Exception e) {
+            log.warn("Cannot send the subscription email to " + description, e);
+        }
+    }
+
+    private synchronized ThreadPoolExecutor getExecutor() {
+        int threads = configurationService.getIntProperty("subscription.email.threads", 4);
+        if (executor == null && threads > 0) {
+            int queueSize = configurationService.getIntProperty("subscription.email.queue-size", 100);
+            executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueSize, 1)), new BasicThreadFactory.Builder()
+                    .namingPattern("subscription-email-%d")
+                    .daemon(true)
+                    .build(), new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+        return executor;
+    }
+
+    private RateLimiter getRateLimiter() {
+        int maxPerSecond = configurationService.getIntProperty("subscription.email.max-per-second", 0);
+        if (maxPerSecond <= 0) {
+            return null;
+        }
+        String server = configurationService.getProperty("mail.session.name");
+        if (StringUtils.isBlank(server)) {
+            server = configurationService.getProperty("mail.server") + ":"
+                + configurationService.getIntProperty("mail.server.port", 25);
+        }
+        RateLimiter rateLimiter = rateLimiters.computeIfAbsent(server, key -> RateLimiter.create(maxPerSecond));
+        if (rateLimiter.getRate() != maxPerSecond) {
+            rateLimiter.setRate(maxPerSecond);
+        }
+        return rateLimiter;
+    }
+
+}
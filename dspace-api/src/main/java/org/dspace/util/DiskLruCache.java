@@ -0,0 +1,267 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.UnaryOperator;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Local disk cache of files, bounded by their total size.
+ * <p>
+ * Entries are stored as files in a dedicated directory, optionally spread over subdirectories, and evicted in least
+ * recently used order as soon as the total size of the cache exceeds the configured limit. Each entry is written to
+ * a temporary file first and then moved into place, so that a partial entry is never read. Concurrent requests for
+ * the same key are collapsed so that the entry is written only once, the other callers wait for the first write to
+ * complete.
+ */
+public class DiskLruCache {
+
+    private static final Logger log = LogManager.getLogger(DiskLruCache.class);
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /**
+     * Writes the content of a cache entry to the given output stream.
+     */
+    @FunctionalInterface
+    public interface EntryWriter {
+        void write(OutputStream out) throws Exception;
+    }
+
+    /**
+     * Opens a cached entry. It is called while the entry cannot be evicted, so that the returned value can be safely
+     * used afterwards (streams already opened on an evicted file keep working on POSIX file systems).
+     */
+    @FunctionalInterface
+    public interface EntryOpener<T> {
+        T open(File file) throws IOException;
+    }
+
+    private final File cacheDir;
+
+    private final String entrySuffix;
+
+    private final long maxSizeBytes;
+
+    private final UnaryOperator<String> subdirectory;
+
+    /**
+     * Cached entries in access order, guarded by <code>this</code>.
+     */
+    private final LinkedHashMap<String, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long currentSizeBytes = 0;
+
+    private final ConcurrentMap<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param cacheDir     the directory of the cache
+     * @param entrySuffix  the suffix of the entry files, appended to their key
+     * @param maxSizeBytes the maximum total size of the entries
+     * @param subdirectory the name of the subdirectory of the entry with the given key, null to store all the
+     *                     entries in the cache directory
+     */
+    public DiskLruCache(File cacheDir, String entrySuffix, long maxSizeBytes, UnaryOperator<String> subdirectory) {
+        this.cacheDir = cacheDir;
+        this.entrySuffix = entrySuffix;
+        this.maxSizeBytes = maxSizeBytes;
+        this.subdirectory = subdirectory;
+        if (!cacheDir.exists() && !cacheDir.mkdirs()) {
+            log.warn("Unable to create cache directory at: " + cacheDir.getAbsolutePath());
+        }
+        loadExistingEntries();
+    }
+
+    /**
+     * Open the cached entry with the given key, writing it with the given writer if it is not already cached. If
+     * another thread is already writing the same entry, wait for it instead of writing it twice.
+     *
+     * @param key    the cache key, must be safe to use as a file name
+     * @param writer the writer of the entry on a cache miss
+     * @param opener the opener of the cached entry
+     * @return the opened entry
+     * @throws IOException if the entry cannot be written, stored or opened
+     */
+    public <T> T get(String key, EntryWriter writer, EntryOpener<T> opener) throws IOException {
+        while (true) {
+            T cached = open(key, opener);
+            if (cached != null) {
+                return cached;
+            }
+
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            CompletableFuture<Void> existing = inFlight.putIfAbsent(key, future);
+            if (existing == null) {
+                try {
+                    // another thread may have completed the write between the lookup and the putIfAbsent
+                    cached = open(key, opener);
+                    if (cached == null) {
+                        cached = write(key, writer, opener);
+                    }
+                    future.complete(null);
+                    return cached;
+                } catch (IOException | RuntimeException e) {
+                    future.completeExceptionally(e);
+                    throw e;
+                } finally {
+                    inFlight.remove(key, future);
+                }
+            }
+            // look the entry up again once written, unless it has been evicted in the meantime
+            await(existing);
+        }
+    }
+
+    /**
+     * @return the total size in bytes of the currently cached entries
+     */
+    public synchronized long getCurrentSizeBytes() {
+        return currentSizeBytes;
+    }
+
+    private synchronized <T> T open(String key, EntryOpener<T> opener) throws IOException {
+        CacheEntry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (!entry.file.exists()) {
+            // removed from outside, e.g. by a cleanup of the temp directory
+            entries.remove(key);
+            currentSizeBytes -= entry.length;
+            return null;
+        }
+        return opener.open(entry.file);
+    }
+
+    private <T> T write(String key, EntryWriter writer, EntryOpener<T> opener) throws IOException {
+        File dir = subdirectory != null ? new File(cacheDir, subdirectory.apply(key)) : cacheDir;
+        if (!dir.exists() && !dir.mkdirs() && !dir.exists()) {
+            throw new IOException("Unable to create cache directory at: " + dir.getAbsolutePath());
+        }
+        File tempFile = Files.createTempFile(dir.toPath(), key, TEMP_SUFFIX).toFile();
+        try {
+            try (OutputStream out = new FileOutputStream(tempFile)) {
+                writer.write(out);
+            } catch (IOException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException(e);
+            }
+            File target = new File(dir, key + entrySuffix);
+            Files.move(tempFile.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+            return register(key, target, opener);
+        } finally {
+            Files.deleteIfExists(tempFile.toPath());
+        }
+    }
+
+    private synchronized <T> T register(String key, File file, EntryOpener<T> opener) throws IOException {
+        CacheEntry entry = new CacheEntry(file);
+        CacheEntry previous = entries.put(key, entry);
+        if (previous != null) {
+            currentSizeBytes -= previous.length;
+        }
+        currentSizeBytes += entry.length;
+        evict(file);
+        return opener.open(file);
+    }
+
+    /**
+     * Remove the least recently used entries until the cache fits its size limit. The entry that has just been
+     * added is never evicted, even if it is bigger than the whole cache.
+     */
+    private synchronized void evict(File justAdded) {
+        Iterator<Map.Entry<String, CacheEntry>> iterator = entries.entrySet().iterator();
+        while (currentSizeBytes > maxSizeBytes && iterator.hasNext()) {
+            CacheEntry entry = iterator.next().getValue();
+            if (entry.file.equals(justAdded)) {
+                continue;
+            }
+            iterator.remove();
+            currentSizeBytes -= entry.length;
+            // streams already opened on the file keep working on POSIX file systems
+            if (!entry.file.delete() && entry.file.exists()) {
+                log.warn("Unable to delete evicted cache entry " + entry.file.getAbsolutePath());
+            }
+        }
+    }
+
+    private synchronized void loadExistingEntries() {
+        List<File> files = new ArrayList<>();
+        collectEntryFiles(cacheDir, files);
+        if (subdirectory != null) {
+            File[] dirs = cacheDir.listFiles(File::isDirectory);
+            for (File dir : dirs != null ? dirs : new File[0]) {
+                collectEntryFiles(dir, files);
+            }
+        }
+        files.sort(Comparator.comparingLong(File::lastModified));
+        for (File file : files) {
+            String name = file.getName();
+            CacheEntry entry = new CacheEntry(file);
+            entries.put(name.substring(0, name.length() - entrySuffix.length()), entry);
+            currentSizeBytes += entry.length;
+        }
+        evict(null);
+    }
+
+    private void collectEntryFiles(File dir, List<File> files) {
+        File[] dirFiles = dir.listFiles(File::isFile);
+        for (File file : dirFiles != null ? dirFiles : new File[0]) {
+            if (file.getName().endsWith(TEMP_SUFFIX)) {
+                // leftover of an interrupted write
+                file.delete();
+            } else if (file.getName().endsWith(entrySuffix)) {
+                files.add(file);
+            }
+        }
+    }
+
+    private void await(CompletableFuture<Void> future) throws IOException {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static class CacheEntry {
+        private final File file;
+        private final long length;
+
+        private CacheEntry(File file) {
+            this.file = file;
+            this.length = file.length();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.util;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.params.CursorMarkParams;
+
+/**
+ * Implementation of {@link Iterator} over all the documents matching a Solr query, paging through them with the
+ * cursor mark deep paging. Unlike the paging with increasing start offsets, each page costs the same regardless of
+ * its depth and no document is skipped or repeated if the index changes during the iteration.
+ * <p>
+ * The page size and the returned fields are the rows and the fields of the given query; the unique key of the core
+ * is added to its sort to make it stable. Any error querying Solr is rethrown as a {@link RuntimeException}.
+ */
+public class SolrCursorIterator implements Iterator<SolrDocument> {
+
+    private final SolrClient solr;
+
+    private final SolrRequest.METHOD method;
+
+    private final SolrQuery query;
+
+    private String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+
+    private Iterator<SolrDocument> currentPage = Collections.emptyIterator();
+
+    private boolean lastPage;
+
+    private long numFound = -1;
+
+    /**
+     * @param solr      the Solr client
+     * @param method    the HTTP method of the requests
+     * @param query     the query, with the number of rows of each page
+     * @param uniqueKey the unique key of the core
+     */
+    public SolrCursorIterator(SolrClient solr, SolrRequest.METHOD method, SolrQuery query, String uniqueKey) {
+        this.solr = solr;
+        this.method = method;
+        this.query = query.getCopy();
+        if (this.query.getSorts().stream().noneMatch(sort -> uniqueKey.equals(sort.getItem()))) {
+            this.query.addSort(uniqueKey, SolrQuery.ORDER.asc);
+        }
+        this.query.setStart(null);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!currentPage.hasNext() && !lastPage) {
+            fetchNextPage();
+        }
+        return currentPage.hasNext();
+    }
+
+    @Override
+    public SolrDocument next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return currentPage.next();
+    }
+
+    /**
+     * @return the number of documents matching the query
+     */
+    public long getNumFound() {
+        if (numFound < 0) {
+            hasNext();
+        }
+        return numFound;
+    }
+
+    private void fetchNextPage() {
+        query.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+        QueryResponse response;
+        try {
+            response = solr.query(query, method);
+        } catch (SolrServerException | IOException e) {
+            throw new RuntimeException(e);
+        }
+        numFound = response.getResults().getNumFound();
+        currentPage = response.getResults().iterator();
+        String nextCursorMark = response.getNextCursorMark();
+        lastPage = nextCursorMark == null || nextCursorMark.equals(cursorMark);
+        cursorMark = nextCursorMark;
+    }
+}
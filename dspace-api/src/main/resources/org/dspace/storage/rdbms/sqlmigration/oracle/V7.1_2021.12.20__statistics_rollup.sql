@@ -0,0 +1,37 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Create tables for the daily rollups of the usage statistics
+-----------------------------------------------------------------------------------
+
+CREATE SEQUENCE statistics_rollup_seq;
+
+CREATE TABLE statistics_rollup
+(
+    id INTEGER NOT NULL,
+    rollup_day DATE NOT NULL,
+    owner_id RAW(16) NOT NULL,
+    object_id RAW(16) NOT NULL,
+    object_type INTEGER NOT NULL,
+    country_code VARCHAR2(16),
+    city VARCHAR2(255),
+    views NUMBER(19) NOT NULL,
+    CONSTRAINT statistics_rollup_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX statistics_rollup_owner_idx ON statistics_rollup (owner_id, object_type, rollup_day);
+
+CREATE INDEX statistics_rollup_day_idx ON statistics_rollup (rollup_day);
+
+CREATE TABLE statistics_rollup_day
+(
+    rollup_day DATE NOT NULL,
+    hits NUMBER(19) NOT NULL,
+    CONSTRAINT statistics_rollup_day_pkey PRIMARY KEY (rollup_day)
+);
@@ -0,0 +1,131 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.audit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.impl.HttpSolrClient;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.utils.DSpace;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for the batched and asynchronous storage of the audit events.
+ */
+public class AuditServiceIT extends AbstractIntegrationTestWithDatabase {
+
+    private final AuditService auditService = new DSpace().getSingletonService(AuditService.class);
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private File spillDir;
+
+    private File spillFile;
+
+    private SolrClient auditSolr;
+
+    @Before
+    public void setup() throws Exception {
+        spillDir = new File(System.getProperty("java.io.tmpdir"), "audit-" + UUID.randomUUID());
+        spillFile = new File(spillDir, "audit-spill.jsonl");
+        configurationService.setProperty("audit.spill.file", spillFile.getAbsolutePath());
+        configurationService.setProperty("audit.enabled", true);
+        auditSolr = auditService.solr;
+    }
+
+    @After
+    public void cleanup() throws Exception {
+        auditService.shutdown();
+        auditService.solr = auditSolr;
+        configurationService.setProperty("audit.enabled", false);
+        configurationService.setProperty("audit.async.enabled", false);
+        configurationService.setProperty("audit.spill.file", null);
+        auditService.deleteEvents(context, null, null);
+        auditService.commit();
+        FileUtils.deleteQuietly(spillDir);
+    }
+
+    @Test
+    public void testEventsOfAContextStoredOnDispatch() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        Item item = ItemBuilder.createItem(context, collection).withTitle("Audited item").build();
+        context.restoreAuthSystemState();
+
+        auditService.commit();
+        assertTrue(auditService.countEvents(context, item.getID(), null, null) > 0);
+        assertFalse(spillFile.exists());
+    }
+
+    @Test
+    public void testEventsSpilledWhenAuditCoreIsUnavailable() throws Exception {
+        UUID subject = UUID.randomUUID();
+
+        auditService.solr = new HttpSolrClient.Builder("http://localhost:1/solr/audit").build();
+        auditService.store(context, buildEvents(subject, 3));
+        assertTrue(spillFile.exists());
+
+        // once the audit core is back, the spilled events are stored with the next ones
+        auditService.solr = auditSolr;
+        auditService.store(context, buildEvents(subject, 2));
+        auditService.commit();
+
+        assertEquals(5, auditService.countEvents(context, subject, null, null));
+        assertFalse(spillFile.exists());
+    }
+
+    @Test
+    public void testAsyncWriter() throws Exception {
+        configurationService.setProperty("audit.async.enabled", true);
+        UUID subject = UUID.randomUUID();
+
+        auditService.store(context, buildEvents(subject, 5));
+
+        long count = 0;
+        for (int attempt = 0; attempt < 100 && count < 5; attempt++) {
+            Thread.sleep(100);
+            auditService.commit();
+            count = auditService.countEvents(context, subject, null, null);
+        }
+        assertEquals(5, count);
+    }
+
+    private List<AuditEvent> buildEvents(UUID subject, int count) {
+        List<AuditEvent> audits = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            AuditEvent audit = new AuditEvent();
+            audit.setSubjectUUID(subject);
+            audit.setSubjectType("ITEM");
+            audit.setEventType("MODIFY_METADATA");
+            audit.setDatetime(new Date());
+            audits.add(audit);
+        }
+        return audits;
+    }
+}
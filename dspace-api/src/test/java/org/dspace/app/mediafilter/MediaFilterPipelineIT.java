@@ -0,0 +1,236 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.mediafilter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.io.IOUtils;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.app.mediafilter.factory.MediaFilterServiceFactory;
+import org.dspace.app.mediafilter.service.MediaFilterService;
+import org.dspace.builder.BitstreamBuilder;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Bundle;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.BitstreamService;
+import org.dspace.content.service.ItemService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Integration tests for the parallel filtering of the bitstreams by {@link MediaFilterPipeline}.
+ */
+public class MediaFilterPipelineIT extends AbstractIntegrationTestWithDatabase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final MediaFilterService mediaFilterService =
+        MediaFilterServiceFactory.getInstance().getMediaFilterService();
+
+    private final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+
+    private final BitstreamService bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private Collection collection;
+
+    private File skipListFile;
+
+    @Before
+    public void setup() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        context.restoreAuthSystemState();
+
+        skipListFile = new File(folder.getRoot(), "timeouts.txt");
+        configurationService.setProperty("filter.timeout.skip-list", skipListFile.getAbsolutePath());
+        configurationService.setProperty("filter.commit-batch-size", 3);
+
+        mediaFilterService.setFilterClasses(Collections.singletonList(new UpperCaseFilter()));
+        mediaFilterService.setFilterFormats(
+            Collections.singletonMap(UpperCaseFilter.class.getName(), Arrays.asList("Text")));
+        mediaFilterService.setQuiet(true);
+        mediaFilterService.setThreads(4);
+    }
+
+    @After
+    public void resetMediaFilterService() throws Exception {
+        mediaFilterService.setThreads(1);
+        mediaFilterService.setMaxSize(-1);
+        mediaFilterService.setFilterClasses(null);
+        mediaFilterService.setFilterFormats(new HashMap<>());
+        mediaFilterService.setQuiet(false);
+        configurationService.setProperty("filter.timeout", null);
+        configurationService.setProperty("filter.timeout.max-attempts", null);
+        configurationService.setProperty("filter.commit-batch-size", null);
+        configurationService.setProperty("filter.timeout.skip-list", null);
+    }
+
+    @Test
+    public void testParallelFilteringCreatesTheDerivatives() throws Exception {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            items.add(createItem("text of item " + i));
+        }
+
+        filterCollection();
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("TEXT OF ITEM " + i, getDerivative(items.get(i)));
+            // the workers only get the handle of the item
+            assertTrue(UpperCaseFilter.handles.contains(context.reloadEntity(items.get(i)).getHandle()));
+        }
+    }
+
+    @Test
+    public void testBitstreamsLargerThanTheMaximumSizeAreSkipped() throws Exception {
+        Item small = createItem("small");
+        Item large = createItem("a larger text");
+        mediaFilterService.setMaxSize(5);
+
+        filterCollection();
+
+        assertEquals("SMALL", getDerivative(small));
+        assertNull(getDerivative(large));
+    }
+
+    @Test
+    public void testBitstreamsTimingOutRepeatedlyAreSkipped() throws Exception {
+        configurationService.setProperty("filter.timeout", 1);
+        configurationService.setProperty("filter.timeout.max-attempts", 1);
+        Item slow = createItem("slow");
+        Item fast = createItem("fast");
+
+        filterCollection();
+
+        assertNull(getDerivative(slow));
+        assertEquals("FAST", getDerivative(fast));
+        List<String> timeouts = Files.readAllLines(skipListFile.toPath());
+        assertEquals(1, timeouts.size());
+        Bitstream source = itemService.getBundles(context.reloadEntity(slow), "ORIGINAL").get(0)
+                                      .getBitstreams().get(0);
+        assertTrue(timeouts.get(0).startsWith(source.getID().toString()));
+
+        // the bitstream is not submitted again by the next run
+        UpperCaseFilter.calls = 0;
+        mediaFilterService.setThreads(4);
+        filterCollection();
+        assertEquals(0, UpperCaseFilter.calls);
+        assertEquals(1, Files.readAllLines(skipListFile.toPath()).size());
+    }
+
+    private Item createItem(String text) throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection).withTitle("Item " + text).build();
+        try (InputStream is = IOUtils.toInputStream(text, StandardCharsets.UTF_8)) {
+            BitstreamBuilder.createBitstream(context, item, is).withName("file.txt").withMimeType("text/plain")
+                            .build();
+        }
+        context.restoreAuthSystemState();
+        context.commit();
+        return item;
+    }
+
+    private void filterCollection() throws Exception {
+        context.turnOffAuthorisationSystem();
+        mediaFilterService.applyFiltersCollection(context, collection);
+        mediaFilterService.completeFiltering(context);
+        context.restoreAuthSystemState();
+    }
+
+    private String getDerivative(Item item) throws Exception {
+        item = context.reloadEntity(item);
+        for (Bundle bundle : itemService.getBundles(item, "TEXT")) {
+            for (Bitstream bitstream : bundle.getBitstreams()) {
+                if (bitstream.getName().equals("file.txt.upper")) {
+                    try (InputStream is = bitstreamService.retrieve(context, bitstream)) {
+                        return IOUtils.toString(is, StandardCharsets.UTF_8);
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Upper case the text bitstreams, slowly when they contain "slow".
+     */
+    public static class UpperCaseFilter extends MediaFilter {
+
+        private static volatile int calls = 0;
+
+        private static final Set<String> handles = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public String getFilteredName(String sourceName) {
+            return sourceName + ".upper";
+        }
+
+        @Override
+        public String getBundleName() {
+            return "TEXT";
+        }
+
+        @Override
+        public String getFormatString() {
+            return "Text";
+        }
+
+        @Override
+        public String getDescription() {
+            return "Upper case text";
+        }
+
+        @Override
+        public InputStream getDestinationStream(String itemHandle, InputStream source, boolean verbose)
+            throws Exception {
+            handles.add(itemHandle);
+            return getDestinationStream((Item) null, source, verbose);
+        }
+
+        @Override
+        public InputStream getDestinationStream(Item currentItem, InputStream source, boolean verbose)
+            throws Exception {
+            calls++;
+            String text = IOUtils.toString(source, StandardCharsets.UTF_8);
+            if (text.contains("slow")) {
+                Thread.sleep(10000);
+            }
+            return new ByteArrayInputStream(text.toUpperCase().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.mediafilter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link TextExtractionWorkerPool}, running the workers with the classpath of the tests.
+ */
+public class TextExtractionWorkerPoolTest {
+
+    private static final String JAVA =
+        System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+
+    private TextExtractionWorkerPool pool;
+
+    @After
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testTextIsExtractedByTheWorker() throws Exception {
+        pool = new TextExtractionWorkerPool(buildCommand(), 1, 60);
+
+        assertTrue("Known content was not found", extractWordTest().contains("quick brown fox"));
+        List<String> report = pool.getReport();
+        assertEquals(1, report.size());
+        assertTrue(report.get(0), report.get(0).startsWith("PoiWordFilter: 1 documents"));
+    }
+
+    @Test
+    public void testWorkerIsReusedAfterAParsingError() throws Exception {
+        pool = new TextExtractionWorkerPool(buildCommand(), 1, 60);
+
+        try (InputStream source = new ByteArrayInputStream("not a PDF".getBytes(StandardCharsets.UTF_8))) {
+            pool.extract(TextExtractionWorker.PDF, source);
+            fail("The extraction of an invalid PDF should fail");
+        } catch (IOException e) {
+            // expected
+        }
+
+        assertTrue("Known content was not found", extractWordTest().contains("quick brown fox"));
+        assertTrue(pool.getReport().get(0), pool.getReport().get(0).contains("1 failures, 0 timeouts"));
+    }
+
+    @Test
+    public void testCrashedWorkerIsRestarted() throws Exception {
+        // a worker which exits at once, as when running out of memory
+        pool = new TextExtractionWorkerPool(TextExtractionWorkerPool.buildCommand(
+            JAVA, "64m", System.getProperty("java.class.path"), "-version"), 1, 60);
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                extractWordTest();
+                fail("The extraction by a crashed worker should fail");
+            } catch (IOException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains("crashed"));
+            }
+        }
+        assertTrue(pool.getReport().get(0), pool.getReport().get(0).endsWith("2 worker crashes"));
+    }
+
+    private List<String> buildCommand() {
+        return TextExtractionWorkerPool.buildCommand(JAVA, "256m", System.getProperty("java.class.path"));
+    }
+
+    private String extractWordTest() throws IOException {
+        try (InputStream source = getClass().getResourceAsStream("wordtest.docx");
+             InputStream text = pool.extract(TextExtractionWorker.WORD, source)) {
+            return IOUtils.toString(text, StandardCharsets.UTF_8);
+        }
+    }
+}
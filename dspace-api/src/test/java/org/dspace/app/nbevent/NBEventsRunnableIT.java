@@ -0,0 +1,90 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.nbevent;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.app.nbevent.service.NBEventService;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.utils.DSpace;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for the streaming import of {@link NBEventsRunnable}.
+ */
+public class NBEventsRunnableIT extends AbstractIntegrationTestWithDatabase {
+
+    private final NBEventService nbEventService = new DSpace().getSingletonService(NBEventService.class);
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private File eventsFile;
+
+    @Before
+    public void setup() throws Exception {
+        eventsFile = File.createTempFile("nbevents", ".json");
+        // small batches, so that the events of a file are stored with several requests
+        configurationService.setProperty("oaire-nbevents.import.batch-size", 2);
+    }
+
+    @After
+    public void cleanup() throws Exception {
+        FileUtils.deleteQuietly(eventsFile);
+        ((MockNBEventService) nbEventService).reset();
+    }
+
+    @Test
+    public void testImportInBatches() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        Item firstItem = ItemBuilder.createItem(context, collection).withTitle("First item").build();
+        Item secondItem = ItemBuilder.createItem(context, collection).withTitle("Second item").build();
+        context.restoreAuthSystemState();
+
+        String json = "["
+            + event(firstItem.getHandle(), "ENRICH/MISSING/PID", "{\"pids[0].value\":\"10.1234/first\"}") + ","
+            + event(firstItem.getHandle(), "ENRICH/MISSING/ABSTRACT", "{\"abstracts[0]\":\"An abstract\"}") + ","
+            + event("123456789/not-existing", "ENRICH/MISSING/PID", "{\"pids[0].value\":\"10.1234/none\"}") + ","
+            + event(secondItem.getHandle(), "ENRICH/NOT/ALLOWED", "{\"value\":\"skipped\"}") + ","
+            + event(secondItem.getHandle(), "ENRICH/MISSING/PID", "{\"pids[0].value\":\"10.1234/second\"}")
+            + "]";
+        FileUtils.writeStringToFile(eventsFile, json, StandardCharsets.UTF_8);
+
+        runDSpaceScript("import-nbevents", "-f", eventsFile.getAbsolutePath());
+
+        Map<String, Long> eventsByTopic = new HashMap<>();
+        for (NBTopic topic : nbEventService.findAllTopics(context, 0, 10)) {
+            eventsByTopic.put(topic.getKey(), topic.getTotalEvents());
+        }
+        assertEquals(Long.valueOf(2), eventsByTopic.get("ENRICH/MISSING/PID"));
+        assertEquals(Long.valueOf(1), eventsByTopic.get("ENRICH/MISSING/ABSTRACT"));
+        assertEquals(Long.valueOf(0), eventsByTopic.getOrDefault("ENRICH/NOT/ALLOWED", 0L));
+    }
+
+    private String event(String handle, String topic, String message) {
+        return "{\"originalId\":\"oai:www.dspace.org:" + handle + "\",\"title\":\"Title\",\"topic\":\"" + topic
+            + "\",\"trust\":0.9,\"message\":" + message + "}";
+    }
+}
@@ -31,7 +31,11 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Predicate;
 
 import org.apache.commons.lang3.ArrayUtils;
@@ -58,6 +62,7 @@ import org.dspace.services.factory.DSpaceServicesFactory;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.orcid.jaxb.model.v3.release.record.Work;
 
 /**
  * Integration tests for {@link OrcidBulkPush}.
@@ -431,6 +436,66 @@ public class OrcidBulkPushIT extends AbstractIntegrationTestWithDatabase {
             matches(history(owner, entity, 400, INSERT))));
     }
 
+    @Test
+    public void testWithConcurrentWorkers() throws Exception {
+
+        configurationService.setProperty("orcid.bulk-synchronization.threads", 3);
+        configurationService.setProperty("orcid.bulk-synchronization.page-size", 2);
+        configurationService.setProperty("orcid.bulk-synchronization.commit-batch-size", 2);
+        configurationService.setProperty("orcid.bulk-synchronization.max-requests-per-second", 100);
+
+        try {
+
+            List<String> orcids = List.of("0000-1111-2222-3333", "1111-2222-3333-4444", "2222-3333-4444-5555",
+                "3333-4444-5555-6666");
+            Map<String, List<String>> pushedTitlesByOrcid = new ConcurrentHashMap<>();
+
+            when(orcidClientMock.push(any(), any(), any())).thenAnswer(invocation -> {
+                Work work = invocation.getArgument(2);
+                Thread.sleep(20);
+                pushedTitlesByOrcid.computeIfAbsent(invocation.getArgument(1), orcid -> new CopyOnWriteArrayList<>())
+                    .add(work.getWorkTitle().getTitle().getContent());
+                return createdResponse("12345");
+            });
+
+            List<Item> owners = new ArrayList<>();
+            for (String orcid : orcids) {
+                owners.add(createOwnerItem(orcid, BATCH));
+            }
+
+            List<String> expectedTitles = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                expectedTitles.add("Publication " + i);
+                for (Item owner : owners) {
+                    createOrcidQueue(context, owner, createPublication("Publication " + i));
+                }
+            }
+
+            context.commit();
+
+            TestDSpaceRunnableHandler handler = runBulkSynchronization(false);
+
+            assertThat(handler.getInfoMessages(), hasItem("Found 12 queue records to synchronize with ORCID"));
+            assertThat(handler.getErrorMessages(), empty());
+
+            // the records of each profile are pushed in the order of the queue
+            assertThat(pushedTitlesByOrcid.keySet(), containsInAnyOrder(orcids.toArray()));
+            for (String orcid : orcids) {
+                assertThat(pushedTitlesByOrcid.get(orcid), is(expectedTitles));
+            }
+
+            assertThat(orcidQueueService.findAll(context), empty());
+            assertThat(orcidHistoryService.findAll(context), hasSize(12));
+
+        } finally {
+            configurationService.setProperty("orcid.bulk-synchronization.threads", 1);
+            configurationService.setProperty("orcid.bulk-synchronization.page-size", 500);
+            configurationService.setProperty("orcid.bulk-synchronization.commit-batch-size", 1);
+            configurationService.setProperty("orcid.bulk-synchronization.max-requests-per-second", 0);
+        }
+
+    }
+
     private Predicate<OrcidHistory> history(Item owner, Item entity, int status, OrcidOperation operation) {
         return history -> owner.equals(history.getOwner())
             && entity.equals(history.getEntity())
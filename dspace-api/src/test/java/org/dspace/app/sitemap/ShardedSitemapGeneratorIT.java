@@ -0,0 +1,183 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.sitemap;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.discovery.SearchUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Integration tests for {@link ShardedSitemapGenerator}.
+ */
+public class ShardedSitemapGeneratorIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final String UI_URL = "http://localhost:4000";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+
+    private File outputDir;
+
+    private Item publication;
+
+    private Item firstItem;
+
+    private Item secondItem;
+
+    private Item withdrawnItem;
+
+    @Before
+    public void setup() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        publication = ItemBuilder.createItem(context, collection).withTitle("Publication")
+                                 .withEntityType("Publication").withCustomUrl("my-publication").build();
+        firstItem = ItemBuilder.createItem(context, collection).withTitle("First item").build();
+        secondItem = ItemBuilder.createItem(context, collection).withTitle("Second item").build();
+        withdrawnItem = ItemBuilder.createItem(context, collection).withTitle("Withdrawn item").withdrawn().build();
+        context.restoreAuthSystemState();
+
+        outputDir = folder.newFolder();
+    }
+
+    @Test
+    public void testFullGeneration() throws Exception {
+        List<String> structureURLs = Collections.singletonList(UI_URL + "/communities/" + parentCommunity.getID());
+        assertEquals(3, createGenerator(1).generate(structureURLs, false));
+
+        for (Item item : Arrays.asList(firstItem, secondItem)) {
+            assertThat(readShard(item), containsString("<loc>" + UI_URL + "/items/" + item.getID() + "</loc>"));
+        }
+        String publicationShard = readShard(publication);
+        assertThat(publicationShard, containsString("<loc>" + UI_URL + "/entities/publication/my-publication</loc>"));
+        assertThat(publicationShard,
+            containsString("<loc>" + UI_URL + "/entities/publication/" + publication.getID() + "</loc>"));
+
+        for (int shard = 0; shard < 3; shard++) {
+            assertThat(read(new File(outputDir, "sitemap" + shard + ".xml.gz")),
+                not(containsString(withdrawnItem.getID().toString())));
+        }
+        assertThat(read(new File(outputDir, "sitemap_structure.xml.gz")),
+            containsString("<loc>" + UI_URL + "/communities/" + parentCommunity.getID() + "</loc>"));
+
+        String index = new String(Files.readAllBytes(new File(outputDir, "sitemap_index.xml").toPath()),
+            StandardCharsets.UTF_8);
+        assertThat(index, containsString("<loc>" + UI_URL + "/sitemap_structure.xml.gz</loc>"));
+        assertThat(index, containsString("<loc>" + UI_URL + "/sitemap2.xml.gz</loc>"));
+        assertThat(index, not(containsString("sitemap3.xml.gz")));
+    }
+
+    @Test
+    public void testOldCustomUrlsAreNotListed() throws Exception {
+        context.turnOffAuthorisationSystem();
+        itemService.clearMetadata(context, publication, "cris", "customurl", null, Item.ANY);
+        itemService.addMetadata(context, publication, "cris", "customurl", "old", null, "my-publication");
+        itemService.update(context, publication);
+        context.commit();
+        context.restoreAuthSystemState();
+
+        createGenerator(1).generate(Collections.emptyList(), false);
+
+        String publicationShard = readShard(publication);
+        assertThat(publicationShard, not(containsString("my-publication")));
+        assertThat(publicationShard,
+            containsString("<loc>" + UI_URL + "/entities/publication/" + publication.getID() + "</loc>"));
+    }
+
+    @Test
+    public void testIncrementalGenerationRewritesOnlyTheChangedShards() throws Exception {
+        ShardedSitemapGenerator generator = createGenerator(1);
+        assertEquals(3, generator.generate(Collections.emptyList(), true));
+        // nothing changed since the last run
+        assertEquals(0, generator.generate(Collections.emptyList(), true));
+
+        for (int shard = 0; shard < 3; shard++) {
+            new File(outputDir, "sitemap" + shard + ".xml.gz").setLastModified(0);
+        }
+
+        context.turnOffAuthorisationSystem();
+        itemService.addMetadata(context, firstItem, "dc", "description", null, null, "Changed");
+        itemService.update(context, firstItem);
+        context.commit();
+        context.restoreAuthSystemState();
+
+        assertEquals(1, generator.generate(Collections.emptyList(), true));
+        int changedShard = ShardedSitemapGenerator.getShard(firstItem.getID(), 3);
+        for (int shard = 0; shard < 3; shard++) {
+            long lastModified = new File(outputDir, "sitemap" + shard + ".xml.gz").lastModified();
+            if (shard == changedShard) {
+                assertNotEquals(0, lastModified);
+            } else {
+                assertEquals(0, lastModified);
+            }
+        }
+    }
+
+    @Test
+    public void testIncrementalGenerationWithDifferentSettingsRegeneratesAllTheShards() throws Exception {
+        assertEquals(3, createGenerator(1).generate(Collections.emptyList(), true));
+
+        ShardedSitemapGenerator generator = new ShardedSitemapGenerator(outputDir, UI_URL, createReader(), false, 1,
+            0);
+        assertEquals(3, generator.generate(Collections.emptyList(), true));
+        assertEquals(0, outputDir.listFiles((dir, name) -> name.endsWith(".gz")).length);
+        assertThat(read(new File(outputDir,
+            "sitemap" + ShardedSitemapGenerator.getShard(firstItem.getID(), 3) + ".xml")),
+            containsString(firstItem.getID().toString()));
+    }
+
+    private ShardedSitemapGenerator createGenerator(int itemsPerShard) {
+        return new ShardedSitemapGenerator(outputDir, UI_URL, createReader(), true, itemsPerShard, 0);
+    }
+
+    private SitemapItemReader createReader() {
+        return new SitemapItemReader(SearchUtils.getSearchService().getSolrSearchCore(), 2);
+    }
+
+    private String readShard(Item item) throws IOException {
+        return read(new File(outputDir, "sitemap" + ShardedSitemapGenerator.getShard(item.getID(), 3) + ".xml.gz"));
+    }
+
+    private String read(File file) throws IOException {
+        try (InputStream input = file.getName().endsWith(".gz")
+            ? new GZIPInputStream(new FileInputStream(file)) : new FileInputStream(file)) {
+            return IOUtils.toString(input, StandardCharsets.UTF_8);
+        }
+    }
+}
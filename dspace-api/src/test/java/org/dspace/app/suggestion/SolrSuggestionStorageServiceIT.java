@@ -0,0 +1,82 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.suggestion;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.dto.MetadataValueDTO;
+import org.dspace.utils.DSpace;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Integration tests for the batch methods of {@link SolrSuggestionStorageServiceImpl}.
+ */
+public class SolrSuggestionStorageServiceIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final String SOURCE = "openaire";
+
+    private final SolrSuggestionStorageService solrSuggestionStorageService =
+        new DSpace().getSingletonService(SolrSuggestionStorageService.class);
+
+    @After
+    public void cleanup() {
+        ((MockSolrSuggestionStorageService) solrSuggestionStorageService).reset();
+    }
+
+    @Test
+    public void testBatchOperations() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        Item researcher = ItemBuilder.createItem(context, collection).withTitle("Researcher").build();
+        context.restoreAuthSystemState();
+
+        List<Suggestion> suggestions = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            suggestions.add(suggestion(researcher, String.valueOf(i)));
+        }
+
+        solrSuggestionStorageService.addSuggestions(suggestions, false);
+        solrSuggestionStorageService.commit();
+        assertEquals(4, countUnprocessed(researcher));
+
+        solrSuggestionStorageService.flagSuggestionsAsProcessed(suggestions.subList(0, 2));
+        solrSuggestionStorageService.commit();
+        assertEquals(2, countUnprocessed(researcher));
+
+        // adding the same suggestions again must not resurrect the processed ones
+        solrSuggestionStorageService.addSuggestions(suggestions, false);
+        solrSuggestionStorageService.commit();
+        assertEquals(2, countUnprocessed(researcher));
+
+        solrSuggestionStorageService.deleteSuggestions(suggestions.subList(2, 3));
+        solrSuggestionStorageService.commit();
+        assertEquals(1, countUnprocessed(researcher));
+    }
+
+    private long countUnprocessed(Item researcher) throws Exception {
+        return solrSuggestionStorageService.countUnprocessedSuggestionByTarget(context, SOURCE, researcher.getID());
+    }
+
+    private Suggestion suggestion(Item researcher, String idPart) {
+        Suggestion suggestion = new Suggestion(SOURCE, researcher, idPart);
+        suggestion.setDisplay("Suggestion " + idPart);
+        suggestion.getMetadata().add(new MetadataValueDTO("dc", "title", null, null, "Title " + idPart));
+        return suggestion;
+    }
+}
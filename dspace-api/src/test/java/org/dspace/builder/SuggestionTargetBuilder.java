@@ -97,9 +97,7 @@ public class SuggestionTargetBuilder extends AbstractBuilder<SuggestionTarget, S
         target.setSource(source);
         suggestions = generateAllSuggestion();
         try {
-            for (Suggestion s : suggestions) {
-                solrSuggestionService.addSuggestion(s, false, false);
-            }
+            solrSuggestionService.addSuggestions(suggestions, false);
             solrSuggestionService.commit();
         } catch (SolrServerException | IOException e) {
             e.printStackTrace();
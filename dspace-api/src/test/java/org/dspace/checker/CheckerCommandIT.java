@@ -0,0 +1,91 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.checker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.commons.codec.CharEncoding;
+import org.apache.commons.io.IOUtils;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.BitstreamBuilder;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.checker.factory.CheckerServiceFactory;
+import org.dspace.checker.service.MostRecentChecksumService;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.BitstreamService;
+import org.junit.Test;
+
+/**
+ * Integration tests for the parallel mode of {@link CheckerCommand}.
+ */
+public class CheckerCommandIT extends AbstractIntegrationTestWithDatabase {
+
+    private final MostRecentChecksumService checksumService =
+        CheckerServiceFactory.getInstance().getMostRecentChecksumService();
+
+    private final BitstreamService bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
+
+    @Test
+    public void testParallelCheckProcessesEachBitstreamOnce() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        Item item = ItemBuilder.createItem(context, collection).withTitle("Checked item").build();
+        List<UUID> bitstreamIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            try (InputStream is = IOUtils.toInputStream("Content of bitstream " + i, CharEncoding.UTF_8)) {
+                bitstreamIds.add(BitstreamBuilder.createBitstream(context, item, is).build().getID());
+            }
+        }
+        context.restoreAuthSystemState();
+
+        checksumService.updateMissingBitstreams(context);
+        context.commit();
+        Thread.sleep(10);
+        Date processStart = new Date();
+
+        List<UUID> collected = new ArrayList<>();
+        CheckerCommand checker = new CheckerCommand(context);
+        checker.setThreads(4);
+        checker.setBatchSize(3);
+        checker.setReportVerbose(true);
+        checker.setProcessStartDate(processStart);
+        // a small prefetch size forces the dispatcher to query again while results are pending
+        checker.setDispatcher(new PrefetchingDispatcher(context, processStart, false, 2));
+        checker.setCollector((ctx, info) -> collected.add(info.getBitstream().getID()));
+        checker.process();
+
+        Set<UUID> distinct = new HashSet<>(collected);
+        assertEquals("Each bitstream must be checked once", collected.size(), distinct.size());
+        assertTrue(distinct.containsAll(bitstreamIds));
+
+        for (UUID id : bitstreamIds) {
+            Bitstream bitstream = bitstreamService.find(context, id);
+            MostRecentChecksum info = checksumService.findByBitstream(context, bitstream);
+            assertNotNull(info);
+            assertEquals(ChecksumResultCode.CHECKSUM_MATCH, info.getChecksumResult().getResultCode());
+            assertFalse(info.getProcessStartDate().before(processStart));
+        }
+    }
+}
@@ -15,6 +15,7 @@ import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 
 import java.sql.SQLException;
+import java.util.Date;
 import java.util.List;
 
 import org.dspace.AbstractIntegrationTestWithDatabase;
@@ -258,6 +259,107 @@ public class ItemEnhancerConsumerIT extends AbstractIntegrationTestWithDatabase
 
     }
 
+    @Test
+    public void testEnhancementAfterRelatedItemModification() throws Exception {
+
+        context.turnOffAuthorisationSystem();
+
+        Item person1 = ItemBuilder.createItem(context, collection)
+            .withTitle("Walter White")
+            .withPersonMainAffiliation("4Science")
+            .build();
+
+        Item person2 = ItemBuilder.createItem(context, collection)
+            .withTitle("John Smith")
+            .withPersonMainAffiliation("Company")
+            .build();
+
+        Item publication = ItemBuilder.createItem(context, collection)
+            .withTitle("Test publication")
+            .withEntityType("Publication")
+            .withAuthor("Walter White", person1.getID().toString())
+            .withAuthor("John Smith", person2.getID().toString())
+            .build();
+
+        Item otherPublication = ItemBuilder.createItem(context, collection)
+            .withTitle("Other publication")
+            .withEntityType("Publication")
+            .withAuthor("John Smith", person2.getID().toString())
+            .build();
+
+        context.restoreAuthSystemState();
+        publication = commitAndReload(publication);
+        otherPublication = commitAndReload(otherPublication);
+
+        assertThat(getMetadataValues(publication, "cris.virtual.department"), hasSize(2));
+        MetadataValue unchangedVirtualField = getMetadataValues(publication, "cris.virtual.department").get(1);
+        Date otherPublicationLastModified = otherPublication.getLastModified();
+
+        person1 = context.reloadEntity(person1);
+
+        context.turnOffAuthorisationSystem();
+        itemService.clearMetadata(context, person1, "person", "affiliation", "name", Item.ANY);
+        itemService.addMetadata(context, person1, "person", "affiliation", "name", null, "University of Rome");
+        itemService.update(context, person1);
+        context.restoreAuthSystemState();
+        publication = commitAndReload(publication);
+        otherPublication = context.reloadEntity(otherPublication);
+
+        // the changed virtual field is updated in place, keeping its position
+        List<MetadataValue> values = publication.getMetadata();
+        assertThat(values, hasItem(with("cris.virtual.department", "University of Rome")));
+        assertThat(values, hasItem(with("cris.virtualsource.department", person1.getID().toString())));
+        assertThat(values, hasItem(with("cris.virtual.department", "Company", 1)));
+        assertThat(values, hasItem(with("cris.virtualsource.department", person2.getID().toString(), 1)));
+
+        assertThat(getMetadataValues(publication, "cris.virtual.department"), hasSize(2));
+        assertThat(getMetadataValues(publication, "cris.virtualsource.department"), hasSize(2));
+        assertThat(unchangedVirtualField, equalTo(getMetadataValues(publication, "cris.virtual.department").get(1)));
+
+        // the publications that don't depend on the modified person are not updated
+        assertThat(otherPublication.getLastModified(), equalTo(otherPublicationLastModified));
+
+    }
+
+    @Test
+    public void testEnhancementAfterRelatedItemModificationNotAffectingVirtualFields() throws Exception {
+
+        context.turnOffAuthorisationSystem();
+
+        Item person = ItemBuilder.createItem(context, collection)
+            .withTitle("Walter White")
+            .withPersonMainAffiliation("4Science")
+            .build();
+
+        Item publication = ItemBuilder.createItem(context, collection)
+            .withTitle("Test publication")
+            .withEntityType("Publication")
+            .withAuthor("Walter White", person.getID().toString())
+            .build();
+
+        context.restoreAuthSystemState();
+        publication = commitAndReload(publication);
+
+        Date publicationLastModified = publication.getLastModified();
+
+        // an unrelated change of the publication in the same context must not
+        // force the update of the publication when the person is modified
+        itemService.setMetadataModified(publication);
+        person = context.reloadEntity(person);
+
+        context.turnOffAuthorisationSystem();
+        itemService.addMetadata(context, person, "dc", "description", null, null, "A description");
+        itemService.update(context, person);
+        context.restoreAuthSystemState();
+        context.commit();
+
+        publication = context.reloadEntity(publication);
+        assertThat(publication.getLastModified(), equalTo(publicationLastModified));
+        assertThat(getMetadataValues(publication, "cris.virtual.department"), hasSize(1));
+        assertThat(publication.getMetadata(), hasItem(with("cris.virtual.department", "4Science")));
+
+    }
+
     @Test
     public void testWithWorkspaceItem() throws Exception {
         context.turnOffAuthorisationSystem();
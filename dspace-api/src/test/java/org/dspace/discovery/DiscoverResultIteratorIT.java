@@ -0,0 +1,164 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.util.SolrCursorIterator;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for the iteration over all the results of a query with the cursor mark deep paging.
+ */
+public class DiscoverResultIteratorIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final Logger log = LogManager.getLogger(DiscoverResultIteratorIT.class);
+
+    private final SolrSearchCore solrSearchCore = SearchUtils.getSearchService().getSolrSearchCore();
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private final List<UUID> itemIds = new ArrayList<>();
+
+    @Before
+    public void setup() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        for (int i = 0; i < 7; i++) {
+            itemIds.add(ItemBuilder.createItem(context, collection).withTitle("Item " + i).build().getID());
+        }
+        context.restoreAuthSystemState();
+
+        configurationService.setProperty("discovery.iterator.page-size", 3);
+    }
+
+    @Test
+    public void testIterationWithCursorMark() throws Exception {
+        DiscoverResultIterator<Item, UUID> iterator = new DiscoverResultIterator<>(context, buildQuery());
+
+        List<UUID> ids = new ArrayList<>();
+        iterator.forEachRemaining(item -> ids.add(item.getID()));
+        assertEquals(7, ids.size());
+        assertEquals(new HashSet<>(itemIds), new HashSet<>(ids));
+        assertEquals(7, iterator.getTotalSearchResults());
+    }
+
+    @Test
+    public void testIterationWithStartOffset() throws Exception {
+        DiscoverQuery discoverQuery = buildQuery();
+        discoverQuery.setStart(2);
+        DiscoverResultIterator<Item, UUID> iterator = new DiscoverResultIterator<>(context, discoverQuery);
+
+        List<UUID> ids = new ArrayList<>();
+        iterator.forEachRemaining(item -> ids.add(item.getID()));
+        assertEquals(5, new HashSet<>(ids).size());
+    }
+
+    @Test
+    public void testSolrCursorIterator() throws Exception {
+        SolrQuery query = new SolrQuery(SearchUtils.RESOURCE_TYPE_FIELD + ":" + IndexableItem.TYPE)
+            .setFields(SearchUtils.RESOURCE_ID_FIELD)
+            .setRows(2);
+        SolrCursorIterator iterator = new SolrCursorIterator(solrSearchCore.getSolr(), solrSearchCore.REQUEST_METHOD,
+            query, SearchUtils.RESOURCE_UNIQUE_ID);
+
+        List<UUID> ids = new ArrayList<>();
+        iterator.forEachRemaining(doc -> ids.add(UUID.fromString((String) doc.getFirstValue(
+            SearchUtils.RESOURCE_ID_FIELD))));
+        assertEquals(7, ids.size());
+        assertEquals(new HashSet<>(itemIds), new HashSet<>(ids));
+        assertEquals(7, iterator.getNumFound());
+    }
+
+    /**
+     * Compare the paging with increasing start offsets and with the cursor mark over a large number of documents,
+     * only when the benchmark system property is set, e.g.
+     * <code>mvn verify -Dit.test=DiscoverResultIteratorIT -Dbenchmark=true -Dbenchmark.documents=1000000</code>
+     */
+    @Test
+    public void benchmarkDeepPaging() throws Exception {
+        Assume.assumeTrue(Boolean.getBoolean("benchmark"));
+        int documents = Integer.getInteger("benchmark.documents", 1000000);
+        int rows = 1000;
+        String type = "Benchmark";
+        SolrClient solr = solrSearchCore.getSolr();
+
+        try {
+            List<SolrInputDocument> batch = new ArrayList<>();
+            for (int i = 0; i < documents; i++) {
+                SolrInputDocument document = new SolrInputDocument();
+                document.addField(SearchUtils.RESOURCE_UNIQUE_ID, type + "-" + i);
+                document.addField(SearchUtils.RESOURCE_TYPE_FIELD, type);
+                document.addField(SearchUtils.RESOURCE_ID_FIELD, UUID.randomUUID().toString());
+                batch.add(document);
+                if (batch.size() == 10000) {
+                    solr.add(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                solr.add(batch);
+            }
+            solr.commit();
+
+            SolrQuery query = new SolrQuery(SearchUtils.RESOURCE_TYPE_FIELD + ":" + type)
+                .setFields(SearchUtils.RESOURCE_UNIQUE_ID)
+                .setRows(rows)
+                .addSort(SearchUtils.RESOURCE_UNIQUE_ID, SolrQuery.ORDER.asc);
+
+            long start = System.nanoTime();
+            long count = 0;
+            for (int offset = 0; offset < documents; offset += rows) {
+                count += solr.query(query.setStart(offset), solrSearchCore.REQUEST_METHOD).getResults().size();
+            }
+            log.info("Start offsets: " + count + " documents in " + (System.nanoTime() - start) / 1000000 + " ms");
+
+            start = System.nanoTime();
+            count = 0;
+            SolrCursorIterator iterator = new SolrCursorIterator(solr, solrSearchCore.REQUEST_METHOD,
+                query.setStart(null), SearchUtils.RESOURCE_UNIQUE_ID);
+            while (iterator.hasNext()) {
+                iterator.next();
+                count++;
+            }
+            log.info("Cursor mark: " + count + " documents in " + (System.nanoTime() - start) / 1000000 + " ms");
+        } finally {
+            solr.deleteByQuery(SearchUtils.RESOURCE_TYPE_FIELD + ":" + type);
+            solr.commit();
+        }
+    }
+
+    private DiscoverQuery buildQuery() {
+        DiscoverQuery discoverQuery = new DiscoverQuery();
+        discoverQuery.addDSpaceObjectFilter(IndexableItem.TYPE);
+        return discoverQuery;
+    }
+}
@@ -0,0 +1,142 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link FullTextCache}.
+ */
+public class FullTextCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final AtomicInteger reads = new AtomicInteger();
+
+    @Test
+    public void testFullTextIsReadOnlyOnce() throws Exception {
+        FullTextCache cache = new FullTextCache(folder.newFolder(), 1024 * 1024);
+
+        assertEquals("extracted text", read(cache, "abcdef", 100, "extracted text"));
+        assertEquals("extracted text", read(cache, "ABCDEF", 100, "other text"));
+        assertEquals(1, reads.get());
+        assertTrue(cache.getCurrentSizeBytes() > 0);
+    }
+
+    @Test
+    public void testFullTextIsTruncatedToTheCharLimit() throws Exception {
+        FullTextCache cache = new FullTextCache(folder.newFolder(), 1024 * 1024);
+
+        assertEquals("extr", read(cache, "abcdef", 4, "extracted text"));
+        // another limit is another entry
+        assertEquals("extracted text", read(cache, "abcdef", -1, "extracted text"));
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    public void testFullTextWithoutChecksumIsNotCached() throws Exception {
+        FullTextCache cache = new FullTextCache(folder.newFolder(), 1024 * 1024);
+
+        assertEquals("extracted text", read(cache, null, 100, "extracted text"));
+        assertEquals("extracted text", read(cache, null, 100, "extracted text"));
+        assertEquals(2, reads.get());
+        assertEquals(0, cache.getCurrentSizeBytes());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() throws Exception {
+        FullTextCache cache = new FullTextCache(folder.newFolder(), 1);
+
+        read(cache, "aaaa", 100, "first text");
+        read(cache, "bbbb", 100, "second text");
+        read(cache, "aaaa", 100, "first text");
+
+        assertEquals(3, reads.get());
+    }
+
+    @Test
+    public void testExistingEntriesAreReloaded() throws Exception {
+        File dir = folder.newFolder();
+        read(new FullTextCache(dir, 1024 * 1024), "abcdef", 100, "extracted text");
+
+        FullTextCache reloaded = new FullTextCache(dir, 1024 * 1024);
+        assertEquals("extracted text", read(reloaded, "abcdef", 100, "other text"));
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    public void testConcurrentReadsShareTheSource() throws Exception {
+        FullTextCache cache = new FullTextCache(folder.newFolder(), 1024 * 1024);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try (InputStream in = cache.getStream("MD5", "abcdef", 100, () -> {
+                        reads.incrementAndGet();
+                        Thread.sleep(100);
+                        return new ByteArrayInputStream("extracted text".getBytes(StandardCharsets.UTF_8));
+                    })) {
+                        return IOUtils.toString(in, StandardCharsets.UTF_8);
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<String> result : results) {
+                assertEquals("extracted text", result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, reads.get());
+    }
+
+    @Test(expected = IOException.class)
+    public void testSourceErrorsAreNotCached() throws Exception {
+        FullTextCache cache = new FullTextCache(folder.newFolder(), 1024 * 1024);
+        try {
+            cache.getStream("MD5", "abcdef", 100, () -> {
+                throw new IOException("NOTFOUND");
+            });
+        } finally {
+            assertEquals(0, cache.getCurrentSizeBytes());
+        }
+    }
+
+    private String read(FullTextCache cache, String checksum, int charLimit, String text) throws IOException {
+        try (InputStream in = cache.getStream("MD5", checksum, charLimit, () -> {
+            reads.incrementAndGet();
+            return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+        })) {
+            return IOUtils.toString(in, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.IOUtils;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.BitstreamBuilder;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.BitstreamService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Integration tests for the full texts read through a {@link FullTextCache} by {@link FullTextContentStreams}.
+ */
+public class FullTextContentStreamsIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final String TEXT = "The quick brown fox jumps over the lazy dog";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private BitstreamService bitstreamService;
+
+    private Item item;
+
+    @Before
+    public void setup() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        item = ItemBuilder.createItem(context, collection).withTitle("Item").build();
+        try (InputStream is = IOUtils.toInputStream(TEXT, StandardCharsets.UTF_8)) {
+            BitstreamBuilder.createBitstream(context, item, is, "TEXT").withName("item.txt").build();
+        }
+        context.restoreAuthSystemState();
+
+        bitstreamService = spy(ContentServiceFactory.getInstance().getBitstreamService());
+    }
+
+    @After
+    public void restoreCharLimit() {
+        configurationService.setProperty("discovery.solr.fulltext.charLimit", null);
+    }
+
+    @Test
+    public void testFullTextIsReadFromTheBitstoreOnlyOnce() throws Exception {
+        FullTextCache cache = new FullTextCache(folder.newFolder(), 1024 * 1024);
+
+        assertEquals(TEXT, read(cache));
+        // reindexing the item reads the cached full text
+        assertEquals(TEXT, read(cache));
+
+        verify(bitstreamService, times(1)).retrieve(any(), any(Bitstream.class));
+        assertTrue(cache.getCurrentSizeBytes() > 0);
+    }
+
+    @Test
+    public void testOnlyTheIndexedCharactersAreCached() throws Exception {
+        configurationService.setProperty("discovery.solr.fulltext.charLimit", 9);
+        FullTextCache cache = new FullTextCache(folder.newFolder(), 1024 * 1024);
+
+        assertEquals("The quick", read(cache));
+        assertEquals("The quick", read(cache));
+
+        verify(bitstreamService, times(1)).retrieve(any(), any(Bitstream.class));
+    }
+
+    @Test
+    public void testFullTextIsReadFromTheBitstoreWithoutCache() throws Exception {
+        assertEquals(TEXT, read(null));
+        assertEquals(TEXT, read(null));
+
+        verify(bitstreamService, times(2)).retrieve(any(), any(Bitstream.class));
+    }
+
+    private String read(FullTextCache cache) throws Exception {
+        FullTextContentStreams streams = new FullTextContentStreams(context, item, cache);
+        streams.bitstreamService = bitstreamService;
+        try (InputStream in = streams.getStream()) {
+            return IOUtils.toString(in, StandardCharsets.UTF_8);
+        }
+    }
+}
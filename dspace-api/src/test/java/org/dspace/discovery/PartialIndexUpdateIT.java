@@ -0,0 +1,128 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.solr.common.SolrDocument;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.BitstreamBuilder;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for the partial update of the Discovery documents of the items whose metadata only has changed.
+ * The full text is ignored once the items are indexed, so that it is lost only when their documents are rebuilt.
+ */
+public class PartialIndexUpdateIT extends AbstractIntegrationTestWithDatabase {
+
+    private final SolrSearchCore solrSearchCore = SearchUtils.getSearchService().getSolrSearchCore();
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+
+    private Item item;
+
+    @Before
+    public void setup() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        item = ItemBuilder.createItem(context, collection)
+                          .withTitle("Original title")
+                          .withSubject("Removed subject")
+                          .build();
+        try (InputStream is = IOUtils.toInputStream("extracted text of the bitstream", StandardCharsets.UTF_8)) {
+            BitstreamBuilder.createBitstream(context, item, is, "TEXT").withName("file.pdf.txt").build();
+        }
+        context.restoreAuthSystemState();
+        context.commit();
+
+        assertThat(getFullText(), containsString("extracted text of the bitstream"));
+        configurationService.setProperty("discovery.ignore-fulltext", true);
+    }
+
+    @Test
+    public void testMetadataChangeUpdatesTheDocumentWithoutTheFullText() throws Exception {
+        changeMetadata();
+
+        SolrDocument document = getDocument();
+        assertThat(document.getFieldValues("dc.title"), contains("Changed title"));
+        assertNull(document.getFieldValues("dc.subject"));
+        assertNull(document.getFieldValues("subject_keyword"));
+        assertThat(getFullText(), containsString("extracted text of the bitstream"));
+    }
+
+    @Test
+    public void testMetadataChangeRebuildsTheDocumentWhenPartialUpdatesAreDisabled() throws Exception {
+        configurationService.setProperty("discovery.partial-update.enabled", false);
+        changeMetadata();
+
+        SolrDocument document = getDocument();
+        assertThat(document.getFieldValues("dc.title"), contains("Changed title"));
+        assertFalse(document.containsKey("fulltext"));
+    }
+
+    @Test
+    public void testOtherChangesRebuildTheDocument() throws Exception {
+        context.turnOffAuthorisationSystem();
+        item = context.reloadEntity(item);
+        itemService.addMetadata(context, item, "dc", "description", null, null, "New description");
+        item.setDiscoverable(false);
+        itemService.update(context, item);
+        context.commit();
+        context.restoreAuthSystemState();
+
+        SolrDocument document = getDocument();
+        assertThat(document.getFieldValues("dc.description"), contains("New description"));
+        assertFalse(document.containsKey("fulltext"));
+    }
+
+    private void changeMetadata() throws Exception {
+        context.turnOffAuthorisationSystem();
+        item = context.reloadEntity(item);
+        itemService.clearMetadata(context, item, "dc", "title", null, Item.ANY);
+        itemService.addMetadata(context, item, "dc", "title", null, null, "Changed title");
+        itemService.clearMetadata(context, item, "dc", "subject", null, Item.ANY);
+        itemService.update(context, item);
+        context.commit();
+        context.restoreAuthSystemState();
+    }
+
+    private SolrDocument getDocument() throws Exception {
+        SolrDocument document = solrSearchCore.getSolr().getById(IndexableItem.TYPE + "-" + item.getID());
+        assertNotNull(document);
+        return document;
+    }
+
+    private String getFullText() throws Exception {
+        Object fullText = getDocument().getFirstValue("fulltext");
+        return fullText != null ? fullText.toString() : null;
+    }
+}
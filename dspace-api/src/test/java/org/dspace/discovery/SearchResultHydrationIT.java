@@ -0,0 +1,101 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.instrumentation.RequestMetrics;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Integration tests for the loading of the objects of a search result with a query for each resource type.
+ */
+public class SearchResultHydrationIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final Logger log = LogManager.getLogger(SearchResultHydrationIT.class);
+
+    private final SearchService searchService = SearchUtils.getSearchService();
+
+    @Test
+    public void testResultOrderAndStatements() throws Exception {
+        createItems(30);
+
+        // the commit closes the session, so the items of the result are loaded again from the database
+        RequestMetrics.begin();
+        DiscoverResult result = searchService.search(context, buildQuery(20));
+        RequestMetrics metrics = RequestMetrics.end();
+
+        List<IndexableObject> objects = result.getIndexableObjects();
+        assertEquals(20, objects.size());
+        for (int i = 0; i < objects.size(); i++) {
+            Item item = ((IndexableItem) objects.get(i)).getIndexedObject();
+            assertEquals(String.format("Item %03d", i), item.getName());
+        }
+        // the items are loaded together with their metadata, not one by one
+        assertTrue("Too many statements: " + metrics.getStatements(), metrics.getStatements() < 10);
+    }
+
+    /**
+     * Measure the search latency for several page sizes, only when the benchmark system property is set, e.g.
+     * <code>mvn verify -Dit.test=SearchResultHydrationIT -Dbenchmark=true</code>
+     */
+    @Test
+    public void benchmarkPageSizes() throws Exception {
+        Assume.assumeTrue(Boolean.getBoolean("benchmark"));
+        createItems(500);
+
+        for (int pageSize : new int[] { 20, 100, 500 }) {
+            long total = 0;
+            int runs = 10;
+            for (int run = 0; run < runs; run++) {
+                long start = System.nanoTime();
+                searchService.search(context, buildQuery(pageSize));
+                total += System.nanoTime() - start;
+                context.commit();
+            }
+            log.info("Page size " + pageSize + ": " + (total / runs / 1000000) + " ms for each search");
+        }
+    }
+
+    private void createItems(int count) throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        // created in reverse order, so that the result order comes from the sorting and not from the database
+        for (int i = count - 1; i >= 0; i--) {
+            ItemBuilder.createItem(context, collection)
+                       .withTitle(String.format("Item %03d", i))
+                       .withIssueDate("2020-01-01")
+                       .build();
+        }
+        context.restoreAuthSystemState();
+        context.commit();
+    }
+
+    private DiscoverQuery buildQuery(int pageSize) {
+        DiscoverQuery query = new DiscoverQuery();
+        query.addFilterQueries("search.resourcetype:Item");
+        query.setSortField("dc.title_sort", DiscoverQuery.SORT_ORDER.asc);
+        query.setMaxResults(pageSize);
+        return query;
+    }
+
+}
@@ -0,0 +1,125 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.indexobject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.discovery.SearchUtils;
+import org.dspace.discovery.configuration.DiscoveryConfiguration;
+import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for the documents built by {@link ItemIndexFactoryImpl} with the precomputed index plans.
+ */
+public class ItemIndexFactoryImplIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final Logger log = LogManager.getLogger(ItemIndexFactoryImplIT.class);
+
+    private ItemIndexFactoryImpl itemIndexFactory;
+
+    private Item publication;
+
+    private Item person;
+
+    @Before
+    public void setup() throws Exception {
+        itemIndexFactory = (ItemIndexFactoryImpl) IndexObjectFactoryFactory.getInstance()
+            .getIndexFactoryByType(IndexableItem.TYPE);
+
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection publications = CollectionBuilder.createCollection(context, parentCommunity)
+                                                   .withEntityType("Publication").build();
+        Collection persons = CollectionBuilder.createCollection(context, parentCommunity)
+                                              .withEntityType("Person").build();
+        publication = ItemBuilder.createItem(context, publications)
+                                 .withTitle("A publication")
+                                 .withIssueDate("2021-03-17")
+                                 .withAuthor("Smith, John")
+                                 .withAuthor("Doe, Jane")
+                                 .withSubject("Indexing")
+                                 .build();
+        person = ItemBuilder.createItem(context, persons)
+                            .withTitle("Smith, John")
+                            .withPersonIdentifierFirstName("John")
+                            .withPersonIdentifierLastName("Smith")
+                            .build();
+        context.restoreAuthSystemState();
+    }
+
+    @Test
+    public void testBuildDocument() throws Exception {
+        SolrInputDocument document = itemIndexFactory.buildDocument(context, new IndexableItem(publication));
+
+        assertEquals("A publication", document.getFieldValue("dc.title_sort"));
+        assertThat(document.getFieldValues("dc.contributor.author"), hasItem("Doe, Jane"));
+        assertThat(document.getFieldValues("author_keyword"), hasItem("Smith, John"));
+        assertThat(document.getFieldValues("dateIssued.year"), hasItem("2021"));
+
+        document = itemIndexFactory.buildDocument(context, new IndexableItem(person));
+        assertThat(document.getFieldValues("person.givenName"), hasItem("John"));
+    }
+
+    @Test
+    public void testIndexPlanIsSharedByTheItemsWithTheSameConfigurations() throws Exception {
+        List<DiscoveryConfiguration> configurations = SearchUtils.getAllDiscoveryConfigurations(publication);
+        assertSame(itemIndexFactory.getIndexPlan(configurations), itemIndexFactory.getIndexPlan(configurations));
+    }
+
+    @Test
+    public void testIndexPlanDoesNotDependOnTheOrderOfTheConfigurations() throws Exception {
+        List<DiscoveryConfiguration> configurations = SearchUtils.getAllDiscoveryConfigurations(publication);
+        List<DiscoveryConfiguration> reversed = new ArrayList<>(configurations);
+        Collections.reverse(reversed);
+        assertSame(itemIndexFactory.getIndexPlan(configurations), itemIndexFactory.getIndexPlan(reversed));
+    }
+
+    /**
+     * Measure the time spent building the documents of a Publication and a Person, only when the benchmark
+     * system property is set, e.g.
+     * <code>mvn verify -Dit.test=ItemIndexFactoryImplIT -Dbenchmark=true -Dbenchmark.iterations=10000</code>
+     */
+    @Test
+    public void benchmarkBuildDocument() throws Exception {
+        Assume.assumeTrue(Boolean.getBoolean("benchmark"));
+        int iterations = Integer.getInteger("benchmark.iterations", 10000);
+
+        for (Item item : new Item[] { publication, person }) {
+            IndexableItem indexableItem = new IndexableItem(item);
+            // warm up
+            for (int i = 0; i < iterations / 10; i++) {
+                itemIndexFactory.buildDocument(context, indexableItem);
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                itemIndexFactory.buildDocument(context, indexableItem);
+            }
+            log.info("buildDocument of " + item.getName() + ": "
+                + (System.nanoTime() - start) / iterations / 1000 + " us per document");
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.disseminate;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link CitationDocumentCache}.
+ */
+public class CitationDocumentCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testDocumentIsGeneratedOnlyOnce() throws Exception {
+        CitationDocumentCache cache = new CitationDocumentCache(folder.newFolder(), 1024);
+        AtomicInteger generations = new AtomicInteger();
+
+        byte[] first = read(cache.getOrCreate("key", out -> {
+            generations.incrementAndGet();
+            out.write(new byte[] {1, 2, 3});
+        }));
+        byte[] second = read(cache.getOrCreate("key", out -> generations.incrementAndGet()));
+
+        assertArrayEquals(new byte[] {1, 2, 3}, first);
+        assertArrayEquals(first, second);
+        assertEquals(1, generations.get());
+        assertEquals(3, cache.getCurrentSizeBytes());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() throws Exception {
+        File dir = folder.newFolder();
+        CitationDocumentCache cache = new CitationDocumentCache(dir, 20);
+
+        read(cache.getOrCreate("a", out -> out.write(new byte[10])));
+        read(cache.getOrCreate("b", out -> out.write(new byte[10])));
+        // touch a, so that b becomes the least recently used entry
+        read(cache.getOrCreate("a", out -> out.write(new byte[10])));
+        read(cache.getOrCreate("c", out -> out.write(new byte[10])));
+
+        assertTrue(new File(dir, "a.pdf").exists());
+        assertFalse(new File(dir, "b.pdf").exists());
+        assertTrue(new File(dir, "c.pdf").exists());
+        assertEquals(20, cache.getCurrentSizeBytes());
+    }
+
+    @Test
+    public void testExistingEntriesAreReloaded() throws Exception {
+        File dir = folder.newFolder();
+        read(new CitationDocumentCache(dir, 1024).getOrCreate("key", out -> out.write(new byte[5])));
+
+        CitationDocumentCache reloaded = new CitationDocumentCache(dir, 1024);
+        AtomicInteger generations = new AtomicInteger();
+        read(reloaded.getOrCreate("key", out -> generations.incrementAndGet()));
+
+        assertEquals(0, generations.get());
+        assertEquals(5, reloaded.getCurrentSizeBytes());
+    }
+
+    @Test
+    public void testConcurrentRequestsShareTheGeneration() throws Exception {
+        CitationDocumentCache cache = new CitationDocumentCache(folder.newFolder(), 1024);
+        AtomicInteger generations = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<byte[]>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return read(cache.getOrCreate("key", out -> {
+                        generations.incrementAndGet();
+                        Thread.sleep(100);
+                        out.write(new byte[4]);
+                    }));
+                }));
+            }
+            start.countDown();
+            for (Future<byte[]> result : results) {
+                assertEquals(4, result.get(10, TimeUnit.SECONDS).length);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, generations.get());
+    }
+
+    @Test
+    public void testOpenedDocumentRemainsReadableOnceEvicted() throws Exception {
+        File dir = folder.newFolder();
+        CitationDocumentCache cache = new CitationDocumentCache(dir, 10);
+
+        Pair<InputStream, Long> a = cache.getOrCreate("a", out -> out.write(new byte[] {1, 2, 3, 4, 5, 6, 7, 8}));
+        // evicts a while its stream is open
+        read(cache.getOrCreate("b", out -> out.write(new byte[8])));
+
+        assertFalse(new File(dir, "a.pdf").exists());
+        assertEquals(8, a.getRight().longValue());
+        assertArrayEquals(new byte[] {1, 2, 3, 4, 5, 6, 7, 8}, read(a));
+    }
+
+    /**
+     * Read and close the stream of a cached document, checking its length.
+     */
+    private byte[] read(Pair<InputStream, Long> document) throws IOException {
+        try (InputStream in = document.getLeft()) {
+            byte[] content = IOUtils.toByteArray(in);
+            assertEquals(document.getRight().longValue(), content.length);
+            return content;
+        }
+    }
+}
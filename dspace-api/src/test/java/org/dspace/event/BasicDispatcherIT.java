@@ -0,0 +1,148 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.core.Context;
+import org.dspace.event.factory.EventServiceFactory;
+import org.dspace.event.service.EventService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for the consumer statistics and the asynchronous consumers of {@link BasicDispatcher}.
+ */
+public class BasicDispatcherIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final String RECORDING_CONSUMER = "recording";
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private final EventService eventService = EventServiceFactory.getInstance().getEventService();
+
+    private String[] consumers;
+
+    @Before
+    public void setup() {
+        RecordingConsumer.reset();
+        consumers = configurationService.getArrayProperty("event.dispatcher.default.consumers");
+        configurationService.setProperty("event.consumer." + RECORDING_CONSUMER + ".class",
+            RecordingConsumer.class.getName());
+        configurationService.setProperty("event.consumer." + RECORDING_CONSUMER + ".filters", "Item+Install");
+        configurationService.setProperty("event.consumer." + RECORDING_CONSUMER + ".async", true);
+        configurationService.setProperty("event.dispatcher.default.consumers",
+            ArrayUtils.add(consumers, RECORDING_CONSUMER));
+        eventService.reloadConfiguration();
+    }
+
+    @After
+    public void cleanup() {
+        configurationService.setProperty("event.dispatcher.default.consumers", consumers);
+        configurationService.setProperty("event.consumer." + RECORDING_CONSUMER + ".class", null);
+        configurationService.setProperty("event.consumer." + RECORDING_CONSUMER + ".filters", null);
+        configurationService.setProperty("event.consumer." + RECORDING_CONSUMER + ".async", null);
+        eventService.reloadConfiguration();
+    }
+
+    @Test
+    public void testAsyncConsumerRunsAfterCommit() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        Item item = ItemBuilder.createItem(context, collection).withTitle("Async item").build();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        assertTrue(RecordingConsumer.ended.await(30, TimeUnit.SECONDS));
+        assertThat(RecordingConsumer.subjects, hasItem(item.getID()));
+        assertThat(RecordingConsumer.threads.peek(), startsWith("event-consumer-" + RECORDING_CONSUMER));
+
+        ConsumerStatistics statistics = eventService.getConsumerStatistics(RECORDING_CONSUMER);
+        for (int attempt = 0; attempt < 100 && statistics.getPendingBatches() > 0; attempt++) {
+            Thread.sleep(100);
+        }
+        assertTrue(statistics.isAsync());
+        assertEquals(0, statistics.getPendingBatches());
+        assertTrue(statistics.getEvents() >= 1);
+    }
+
+    @Test
+    public void testSynchronousConsumerStatistics() throws Exception {
+        long dispatches = eventService.getConsumerStatistics("discovery").getDispatches();
+
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        ConsumerStatistics statistics = eventService.getConsumerStatistics("discovery");
+        assertTrue(statistics.getDispatches() > dispatches);
+        assertTrue(statistics.getEvents() >= 1);
+        assertFalse(statistics.isAsync());
+    }
+
+    /**
+     * Consumer recording the subjects of the events it receives and the threads it runs in.
+     */
+    public static class RecordingConsumer implements Consumer {
+
+        private static final Queue<UUID> subjects = new ConcurrentLinkedQueue<>();
+
+        private static final Queue<String> threads = new ConcurrentLinkedQueue<>();
+
+        private static volatile CountDownLatch ended = new CountDownLatch(1);
+
+        static void reset() {
+            subjects.clear();
+            threads.clear();
+            ended = new CountDownLatch(1);
+        }
+
+        @Override
+        public void initialize() throws Exception {
+        }
+
+        @Override
+        public void consume(Context ctx, Event event) throws Exception {
+            subjects.add(event.getSubjectID());
+            threads.add(Thread.currentThread().getName());
+        }
+
+        @Override
+        public void end(Context ctx) throws Exception {
+            ended.countDown();
+        }
+
+        @Override
+        public void finish(Context ctx) throws Exception {
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.identifier.doi;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.identifier.DOI;
+import org.dspace.identifier.DOIIdentifierProvider;
+import org.dspace.identifier.factory.IdentifierServiceFactory;
+import org.dspace.identifier.service.DOIService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.utils.DSpace;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.stubbing.Answer;
+
+/**
+ * Integration tests for the reservation and registration of the DOIs by the
+ * concurrent workers of the {@link DOIOrganiser}.
+ */
+public class DOIOrganiserIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final int DOIS = 10;
+
+    private final DOIService doiService = IdentifierServiceFactory.getInstance().getDOIService();
+
+    private ConfigurationService configurationService;
+
+    private DOIIdentifierProvider provider;
+
+    private final Map<String, AtomicInteger> reservations = new ConcurrentHashMap<>();
+
+    private final Map<String, AtomicInteger> registrations = new ConcurrentHashMap<>();
+
+    private List<Integer> doiIds;
+
+    @Before
+    public void setup() throws Exception {
+        configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        configurationService.setProperty("identifier.doi.organiser.threads", 3);
+        configurationService.setProperty("identifier.doi.organiser.commit-batch-size", 2);
+
+        DOIConnector connector = mock(DOIConnector.class);
+        doAnswer(count(reservations)).when(connector).reserveDOI(any(), any(), anyString());
+        doAnswer(count(registrations)).when(connector).registerDOI(any(), any(), anyString());
+        provider = new DSpace().getSingletonService(DOIIdentifierProvider.class);
+        provider.setDOIConnector(connector);
+
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        String prefix = configurationService.getProperty("identifier.doi.prefix");
+        doiIds = new ArrayList<>();
+        for (int i = 0; i < DOIS; i++) {
+            Item item = ItemBuilder.createItem(context, collection).withTitle("Item " + i).build();
+            DOI doi = doiService.findDOIByDSpaceObject(context, item);
+            if (doi == null) {
+                doi = doiService.create(context);
+                doi.setDSpaceObject(item);
+            }
+            doi.setDoi(prefix + "/dspace-organiser-" + i);
+            doi.setStatus(DOIIdentifierProvider.TO_BE_RESERVED);
+            doiService.update(context, doi);
+            doiIds.add(doi.getID());
+        }
+        context.restoreAuthSystemState();
+        // the workers read the DOIs with their own context
+        context.commit();
+    }
+
+    @After
+    public void restore() {
+        provider.setDOIConnector(new DSpace().getServiceManager()
+            .getServiceByName(DOIConnector.class.getName(), DOIConnector.class));
+        configurationService.setProperty("identifier.doi.organiser.threads", null);
+        configurationService.setProperty("identifier.doi.organiser.commit-batch-size", null);
+    }
+
+    @Test
+    public void testDOIsAreReservedAndRegisteredOnceByTheWorkers() throws Exception {
+        runOrganiser("-q", "--reserve-all");
+
+        assertEquals(DOIS, reservations.size());
+        reservations.forEach((doi, count) -> assertEquals(doi, 1, count.get()));
+        assertStatus(DOIIdentifierProvider.IS_RESERVED);
+
+        for (Integer id : doiIds) {
+            DOI doi = doiService.find(context, id);
+            doi.setStatus(DOIIdentifierProvider.TO_BE_REGISTERED);
+            doiService.update(context, doi);
+        }
+        context.commit();
+
+        runOrganiser("-q", "--register-all");
+
+        assertEquals(DOIS, registrations.size());
+        registrations.forEach((doi, count) -> assertEquals(doi, 1, count.get()));
+        assertStatus(DOIIdentifierProvider.IS_REGISTERED);
+    }
+
+    private void runOrganiser(String... args) {
+        DOIOrganiser.runCLI(context, new DOIOrganiser(context, provider), args);
+    }
+
+    private void assertStatus(Integer status) throws Exception {
+        for (Integer id : doiIds) {
+            // the DOIs have been updated by the contexts of the workers
+            context.uncacheEntity(doiService.find(context, id));
+            DOI doi = doiService.find(context, id);
+            assertEquals(doi.getDoi(), status, doi.getStatus());
+        }
+    }
+
+    /**
+     * Count the requests sent for each DOI, taking some time as a remote call
+     * so that the workers overlap.
+     */
+    private Answer<Void> count(Map<String, AtomicInteger> requests) {
+        return invocation -> {
+            Thread.sleep(10);
+            requests.computeIfAbsent(invocation.getArgument(2), doi -> new AtomicInteger()).incrementAndGet();
+            return null;
+        };
+    }
+}
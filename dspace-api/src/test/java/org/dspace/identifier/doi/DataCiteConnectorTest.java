@@ -0,0 +1,159 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.identifier.doi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockserver.model.HttpError.error;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+import java.io.IOException;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.util.EntityUtils;
+import org.dspace.AbstractDSpaceTest;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockserver.client.MockServerClient;
+import org.mockserver.junit.MockServerRule;
+import org.mockserver.matchers.Times;
+import org.mockserver.verify.VerificationTimes;
+
+/**
+ * Tests for the retries and the rate limit of the requests sent by {@link DataCiteConnector}, against a stub
+ * DataCite server.
+ */
+public class DataCiteConnectorTest extends AbstractDSpaceTest {
+
+    private static final String DOI = "10.5072/dspace-1";
+
+    private static final String PATH = "/doi/" + DOI;
+
+    @Rule
+    public MockServerRule mockServerRule = new MockServerRule(this);
+
+    private MockServerClient mockServerClient;
+
+    private ConfigurationService configurationService;
+
+    private DataCiteConnector connector;
+
+    private CloseableHttpClient httpClient;
+
+    @Before
+    public void setUp() {
+        configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        configurationService.setProperty(DataCiteConnector.CFG_MAX_RETRIES, 2);
+        configurationService.setProperty(DataCiteConnector.CFG_RETRY_DELAY, 10);
+        connector = new DataCiteConnector();
+        connector.setConfigurationService(configurationService);
+        // the retries are left to the connector
+        httpClient = HttpClientBuilder.create().disableAutomaticRetries().build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        httpClient.close();
+        configurationService.setProperty(DataCiteConnector.CFG_MAX_RETRIES, null);
+        configurationService.setProperty(DataCiteConnector.CFG_RETRY_DELAY, null);
+        configurationService.setProperty(DataCiteConnector.CFG_MAX_REQUESTS_PER_SECOND, null);
+    }
+
+    @Test
+    public void testRequestIsSentAgainWhenDataCiteIsBusy() throws Exception {
+        mockServerClient.when(request().withPath(PATH), Times.once()).respond(response().withStatusCode(429));
+        mockServerClient.when(request().withPath(PATH), Times.once()).respond(response().withStatusCode(503));
+        mockServerClient.when(request().withPath(PATH)).respond(response().withStatusCode(200).withBody(DOI));
+
+        HttpResponse response = execute();
+
+        assertEquals(200, response.getStatusLine().getStatusCode());
+        assertEquals(DOI, EntityUtils.toString(response.getEntity()));
+        mockServerClient.verify(request().withPath(PATH), VerificationTimes.exactly(3));
+    }
+
+    @Test
+    public void testRetryAfterHeaderIsRespected() throws Exception {
+        mockServerClient.when(request().withPath(PATH), Times.once())
+                        .respond(response().withStatusCode(429).withHeader("Retry-After", "1"));
+        mockServerClient.when(request().withPath(PATH)).respond(response().withStatusCode(200));
+
+        long start = System.currentTimeMillis();
+        HttpResponse response = execute();
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertEquals(200, response.getStatusLine().getStatusCode());
+        // the delay asked by DataCite replaces the 10 ms of the first retry
+        assertTrue("The request was sent again after " + elapsed + " ms", elapsed >= 1000);
+        mockServerClient.verify(request().withPath(PATH), VerificationTimes.exactly(2));
+    }
+
+    @Test
+    public void testLastResponseIsReturnedAfterTheMaxRetries() throws Exception {
+        mockServerClient.when(request().withPath(PATH)).respond(response().withStatusCode(503));
+
+        HttpResponse response = execute();
+
+        assertEquals(503, response.getStatusLine().getStatusCode());
+        mockServerClient.verify(request().withPath(PATH), VerificationTimes.exactly(3));
+    }
+
+    @Test
+    public void testIOErrorIsThrownAfterTheMaxRetries() throws Exception {
+        mockServerClient.when(request().withPath(PATH)).error(error().withDropConnection(true));
+
+        try {
+            execute();
+            fail("The request should fail once the retries are exhausted");
+        } catch (IOException e) {
+            // expected
+        }
+        mockServerClient.verify(request().withPath(PATH), VerificationTimes.exactly(3));
+    }
+
+    @Test
+    public void testClientErrorsAreNotSentAgain() throws Exception {
+        mockServerClient.when(request().withPath(PATH)).respond(response().withStatusCode(404));
+
+        HttpResponse response = execute();
+
+        assertEquals(404, response.getStatusLine().getStatusCode());
+        mockServerClient.verify(request().withPath(PATH), VerificationTimes.exactly(1));
+    }
+
+    @Test
+    public void testRequestsAreLimitedPerSecond() throws Exception {
+        configurationService.setProperty(DataCiteConnector.CFG_MAX_REQUESTS_PER_SECOND, 10);
+        mockServerClient.when(request().withPath(PATH)).respond(response().withStatusCode(200));
+
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < 6; i++) {
+            EntityUtils.consume(execute().getEntity());
+        }
+        long elapsed = System.currentTimeMillis() - start;
+
+        // the first request is sent at once, the next ones every 100 ms
+        assertTrue("6 requests were sent in " + elapsed + " ms", elapsed >= 450);
+        mockServerClient.verify(request().withPath(PATH), VerificationTimes.exactly(6));
+    }
+
+    private HttpResponse execute() throws IOException {
+        HttpGet request = new HttpGet("http://localhost:" + mockServerClient.getPort() + PATH);
+        return connector.executeWithRetries(httpClient, request, HttpClientContext.create(), DOI);
+    }
+}
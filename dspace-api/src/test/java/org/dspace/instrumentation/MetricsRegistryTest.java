@@ -0,0 +1,61 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.instrumentation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link MetricsRegistry}.
+ */
+public class MetricsRegistryTest {
+
+    @Test
+    public void testDisabledRegistryRecordsNothing() {
+        MetricsRegistry registry = new MetricsRegistry();
+
+        long start = registry.startTimer();
+        registry.stopTimer(start, "dspace.test.timer");
+        registry.increment("dspace.test.counter");
+        registry.record(3, "dspace.test.summary");
+
+        assertEquals(-1, start);
+        assertTrue(registry.getTimers().isEmpty());
+        assertTrue(registry.getCounters().isEmpty());
+        assertTrue(registry.getSummaries().isEmpty());
+    }
+
+    @Test
+    public void testPrometheusFormat() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.setEnabled(true);
+
+        registry.increment("dspace.test.counter", "consumer", "discovery");
+        registry.increment("dspace.test.counter", "consumer", "discovery");
+        registry.record(3, "dspace.test.summary");
+        registry.record(5, "dspace.test.summary");
+        registry.stopTimer(registry.startTimer(), "dspace.test.timer", "action", "READ");
+
+        StringBuilder out = new StringBuilder();
+        registry.writePrometheus(out);
+        String text = out.toString();
+
+        assertThat(text, containsString("# TYPE dspace_test_counter_total counter\n"));
+        assertThat(text, containsString("dspace_test_counter_total{consumer=\"discovery\"} 2\n"));
+        assertThat(text, containsString("# TYPE dspace_test_summary summary\n"));
+        assertThat(text, containsString("dspace_test_summary_count 2\n"));
+        assertThat(text, containsString("dspace_test_summary_sum 8\n"));
+        assertThat(text, containsString("dspace_test_summary_max 5\n"));
+        assertThat(text, containsString("dspace_test_timer_seconds_count{action=\"READ\"} 1\n"));
+    }
+
+}
@@ -0,0 +1,179 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.rollup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.UUID;
+
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.core.Constants;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.statistics.ObjectCount;
+import org.dspace.statistics.SolrStatisticsCore;
+import org.dspace.statistics.rollup.dao.StatisticsRollupDAO;
+import org.dspace.statistics.rollup.service.StatisticsRollupService;
+import org.dspace.utils.DSpace;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for {@link StatisticsRollupService}.
+ */
+public class StatisticsRollupServiceIT extends AbstractIntegrationTestWithDatabase {
+
+    private final StatisticsRollupService statisticsRollupService =
+        new DSpace().getSingletonService(StatisticsRollupService.class);
+
+    private final StatisticsRollupDAO statisticsRollupDAO =
+        new DSpace().getSingletonService(StatisticsRollupDAO.class);
+
+    private final SolrStatisticsCore solrStatisticsCore = new DSpace().getSingletonService(SolrStatisticsCore.class);
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private final LocalDate yesterday = LocalDate.now(ZoneOffset.UTC).minusDays(1);
+
+    private final LocalDate twoDaysAgo = yesterday.minusDays(1);
+
+    private Collection collection;
+
+    private Item firstItem;
+
+    private Item secondItem;
+
+    @Before
+    public void setup() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        firstItem = ItemBuilder.createItem(context, collection).withTitle("First item").build();
+        secondItem = ItemBuilder.createItem(context, collection).withTitle("Second item").build();
+        context.restoreAuthSystemState();
+
+        addView(firstItem, twoDaysAgo, "US", "New York");
+        addView(firstItem, twoDaysAgo, "US", "New York");
+        addView(firstItem, yesterday, "IT", "Rome");
+        addView(secondItem, yesterday, "US", "Boston");
+        solrStatisticsCore.getSolr().commit();
+
+        configurationService.setProperty("usage-statistics.rollup.enabled", true);
+    }
+
+    @After
+    public void cleanup() throws Exception {
+        // the counters are not removed by the builders
+        statisticsRollupDAO.deleteByDay(context, twoDaysAgo);
+        statisticsRollupDAO.deleteByDay(context, yesterday);
+        statisticsRollupService.resetFrom(context, twoDaysAgo);
+        context.commit();
+    }
+
+    @Test
+    public void testRollup() throws Exception {
+        assertEquals(twoDaysAgo, statisticsRollupService.getNextDayToProcess(context));
+        assertEquals(2, statisticsRollupService.rollup(context, twoDaysAgo));
+        assertEquals(yesterday, statisticsRollupService.getNextDayToProcess(context));
+        assertEquals(2, statisticsRollupService.rollup(context, yesterday));
+
+        // the items owned by the collection, by descending views
+        ObjectCount[] topItems = statisticsRollupService.findTopObjects(context,
+            Collections.singletonList(collection.getID()), Constants.ITEM, null, null, 10);
+        assertEquals(2, topItems.length);
+        assertObjectCount(topItems[0], firstItem.getID().toString(), 3);
+        assertObjectCount(topItems[1], secondItem.getID().toString(), 1);
+
+        // all the items of the repository in the given period
+        String day = yesterday.toString();
+        topItems = statisticsRollupService.findTopObjects(context, null, Constants.ITEM, day, day, 10);
+        assertEquals(2, topItems.length);
+        assertEquals(1, topItems[0].getCount());
+        assertEquals(1, topItems[1].getCount());
+
+        ObjectCount[] topCountries = statisticsRollupService.findTopValues(context,
+            Collections.singletonList(firstItem.getID()), Constants.ITEM, "countryCode", null, null, 10);
+        assertEquals(2, topCountries.length);
+        assertObjectCount(topCountries[0], "US", 2);
+        assertObjectCount(topCountries[1], "IT", 1);
+
+        ObjectCount[] topCities = statisticsRollupService.findTopValues(context, null, Constants.ITEM, "city",
+            null, null, 1);
+        assertEquals(1, topCities.length);
+        assertObjectCount(topCities[0], "New York", 2);
+    }
+
+    @Test
+    public void testRollupAgainReplacesTheCounters() throws Exception {
+        statisticsRollupService.rollup(context, yesterday);
+        addView(secondItem, yesterday, "US", "Boston");
+        solrStatisticsCore.getSolr().commit();
+        statisticsRollupService.rollup(context, yesterday);
+
+        ObjectCount[] topItems = statisticsRollupService.findTopObjects(context,
+            Collections.singletonList(parentCommunity.getID()), Constants.ITEM, null, null, 10);
+        assertEquals(2, topItems.length);
+        assertObjectCount(topItems[0], secondItem.getID().toString(), 2);
+        assertObjectCount(topItems[1], firstItem.getID().toString(), 1);
+    }
+
+    @Test
+    public void testIsCovered() throws Exception {
+        assertFalse(statisticsRollupService.isCovered(context, null, null));
+
+        statisticsRollupService.rollup(context, twoDaysAgo);
+        assertTrue(statisticsRollupService.isCovered(context, null, twoDaysAgo.toString()));
+        assertFalse(statisticsRollupService.isCovered(context, null, null));
+
+        statisticsRollupService.rollup(context, yesterday);
+        assertTrue(statisticsRollupService.isCovered(context, null, null));
+        assertTrue(statisticsRollupService.isCovered(context, "2020-01-01", yesterday.plusDays(6).toString()));
+        assertFalse(statisticsRollupService.isCovered(context, "01/01/2020", null));
+
+        configurationService.setProperty("usage-statistics.rollup.enabled", false);
+        assertFalse(statisticsRollupService.isCovered(context, null, null));
+    }
+
+    @Test
+    public void testFindTopObjectsWithoutOwners() throws Exception {
+        statisticsRollupService.rollup(context, yesterday);
+        assertEquals(0, statisticsRollupService.findTopObjects(context, Collections.<UUID>emptyList(),
+            Constants.ITEM, null, null, 10).length);
+    }
+
+    private void addView(Item item, LocalDate day, String countryCode, String city) throws Exception {
+        SolrInputDocument document = new SolrInputDocument();
+        document.addField("statistics_type", "view");
+        document.addField("type", Constants.ITEM);
+        document.addField("id", item.getID().toString());
+        document.addField("owningColl", collection.getID().toString());
+        document.addField("owningComm", parentCommunity.getID().toString());
+        document.addField("countryCode", countryCode);
+        document.addField("city", city);
+        document.addField("time", day + "T12:00:00.000Z");
+        solrStatisticsCore.getSolr().add(document);
+    }
+
+    private void assertObjectCount(ObjectCount objectCount, String value, long count) {
+        assertEquals(value, objectCount.getValue());
+        assertEquals(count, objectCount.getCount());
+    }
+}
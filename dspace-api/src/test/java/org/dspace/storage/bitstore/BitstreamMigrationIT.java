@@ -0,0 +1,350 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.IOUtils;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.BitstreamBuilder;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.BitstreamService;
+import org.dspace.core.Utils;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Integration tests for the parallel migration of the bitstreams by {@link BitstreamMigration}.
+ */
+public class BitstreamMigrationIT extends AbstractIntegrationTestWithDatabase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final BitstreamService bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
+
+    private TestBitStoreService sourceStore;
+
+    private TestBitStoreService destinationStore;
+
+    private List<Bitstream> bitstreams;
+
+    @Before
+    public void setup() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        Item item = ItemBuilder.createItem(context, collection).withTitle("Item").build();
+        bitstreams = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            try (InputStream is = IOUtils.toInputStream("content of bitstream " + i, StandardCharsets.UTF_8)) {
+                bitstreams.add(BitstreamBuilder.createBitstream(context, item, is).withName("file" + i).build());
+            }
+        }
+        context.restoreAuthSystemState();
+        context.commit();
+
+        // the assetstore of the bitstreams created by the builders
+        sourceStore = new TestBitStoreService(new File(DSpaceServicesFactory.getInstance().getConfigurationService()
+                                                                            .getProperty("assetstore.dir")));
+        destinationStore = new TestBitStoreService(folder.newFolder());
+    }
+
+    @Test
+    public void testBitstreamsAreCopiedAndVerified() throws Exception {
+        BitstreamMigration migration = createMigration();
+        migration.setThreads(2);
+        migration.setBatchCommitSize(2);
+
+        migration.migrate(context);
+
+        assertEquals(3, migration.getMigratedCount());
+        assertEquals(0, migration.getFailedCount());
+        for (int i = 0; i < 3; i++) {
+            Bitstream bitstream = context.reloadEntity(bitstreams.get(i));
+            assertEquals(1, bitstream.getStoreNumber());
+            assertEquals("content of bitstream " + i, read(destinationStore, bitstream));
+            // the source is kept by default
+            assertTrue(exists(sourceStore, bitstream));
+        }
+    }
+
+    @Test
+    public void testSourceFilesAreDeletedOnceMigrated() throws Exception {
+        BitstreamMigration migration = createMigration();
+        migration.setDeleteOld(true);
+
+        migration.migrate(context);
+
+        assertEquals(3, migration.getMigratedCount());
+        assertEquals(0, migration.getDeleteFailedCount());
+        for (Bitstream bitstream : bitstreams) {
+            bitstream = context.reloadEntity(bitstream);
+            assertEquals(1, bitstream.getStoreNumber());
+            assertFalse(exists(sourceStore, bitstream));
+            assertTrue(exists(destinationStore, bitstream));
+        }
+    }
+
+    @Test
+    public void testCopiesNotMatchingTheSourceAreNotMigrated() throws Exception {
+        destinationStore.corruptedIds.add(bitstreams.get(1).getID());
+        BitstreamMigration migration = createMigration();
+        migration.setDeleteOld(true);
+        migration.setBatchCommitSize(3);
+
+        migration.migrate(context);
+
+        assertEquals(2, migration.getMigratedCount());
+        assertEquals(1, migration.getFailedCount());
+        Bitstream corrupted = context.reloadEntity(bitstreams.get(1));
+        assertEquals(0, corrupted.getStoreNumber());
+        assertTrue(exists(sourceStore, corrupted));
+        assertEquals(1, context.reloadEntity(bitstreams.get(0)).getStoreNumber());
+        assertEquals(1, context.reloadEntity(bitstreams.get(2)).getStoreNumber());
+    }
+
+    @Test
+    public void testCopiesWithAnotherChecksumAlgorithmAreVerified() throws Exception {
+        destinationStore.checksumAlgorithm = "SHA-256";
+        destinationStore.corruptedIds.add(bitstreams.get(1).getID());
+        BitstreamMigration migration = createMigration();
+        migration.setBatchCommitSize(3);
+
+        migration.migrate(context);
+
+        // the altered copy has the size of the source, only its checksum differs
+        assertEquals(2, migration.getMigratedCount());
+        assertEquals(1, migration.getFailedCount());
+        assertEquals(0, context.reloadEntity(bitstreams.get(1)).getStoreNumber());
+        Bitstream migrated = context.reloadEntity(bitstreams.get(0));
+        assertEquals(1, migrated.getStoreNumber());
+        assertEquals("SHA-256", migrated.getChecksumAlgorithm());
+    }
+
+    @Test
+    public void testFailedBitstreamsAreMigratedByTheNextRun() throws Exception {
+        File journal = new File(folder.getRoot(), "migration.journal");
+        destinationStore.failingIds.add(bitstreams.get(2).getID());
+        BitstreamMigration migration = createMigration();
+        migration.setBatchCommitSize(3);
+        migration.setJournal(journal);
+
+        migration.migrate(context);
+
+        // the failure of a bitstream doesn't fail the rest of its batch
+        assertEquals(2, migration.getMigratedCount());
+        assertEquals(1, migration.getFailedCount());
+        assertEquals(0, context.reloadEntity(bitstreams.get(2)).getStoreNumber());
+        assertEquals(2, Files.readAllLines(journal.toPath()).size());
+
+        destinationStore.failingIds.clear();
+        BitstreamMigration nextMigration = createMigration();
+        nextMigration.setJournal(journal);
+
+        nextMigration.migrate(context);
+
+        assertEquals(1, nextMigration.getMigratedCount());
+        assertEquals(0, nextMigration.getFailedCount());
+        assertEquals(1, context.reloadEntity(bitstreams.get(2)).getStoreNumber());
+        // the journal of a complete migration is removed
+        assertFalse(journal.exists());
+    }
+
+    @Test
+    public void testJournaledCopiesAreReused() throws Exception {
+        // a previous run verified the copies of the first two bitstreams, then failed before its commit
+        File journal = new File(folder.getRoot(), "migration.journal");
+        Bitstream copied = bitstreams.get(0);
+        Bitstream corrupted = bitstreams.get(1);
+        writeCopy(copied, sourceStore.get(copied));
+        writeCopy(corrupted, new ByteArrayInputStream("altered".getBytes(StandardCharsets.UTF_8)));
+        Files.write(journal.toPath(), (copied.getID() + "\n" + corrupted.getID() + "\n")
+            .getBytes(StandardCharsets.UTF_8));
+        destinationStore.puts.set(0);
+
+        BitstreamMigration migration = createMigration();
+        migration.setJournal(journal);
+        migration.migrate(context);
+
+        assertEquals(3, migration.getMigratedCount());
+        assertEquals(0, migration.getFailedCount());
+        // the verified copy is not copied again, the altered one is
+        assertEquals(2, destinationStore.puts.get());
+        assertEquals("content of bitstream 1", read(destinationStore, context.reloadEntity(corrupted)));
+        assertFalse(journal.exists());
+    }
+
+    @Test
+    public void testDeleteFailuresDoNotUndoTheMigration() throws Exception {
+        sourceStore.failRemovals = true;
+        BitstreamMigration migration = createMigration();
+        migration.setDeleteOld(true);
+        migration.setBatchCommitSize(3);
+
+        migration.migrate(context);
+
+        assertEquals(3, migration.getMigratedCount());
+        assertEquals(0, migration.getFailedCount());
+        assertEquals(3, migration.getDeleteFailedCount());
+        for (Bitstream bitstream : bitstreams) {
+            assertEquals(1, context.reloadEntity(bitstream).getStoreNumber());
+        }
+    }
+
+    @Test
+    public void testBitstreamsAreListedByPages() throws Exception {
+        List<UUID> ids = bitstreamService.findIdsByStoreNumber(context, 0, null, 2);
+        assertEquals(2, ids.size());
+        List<UUID> nextIds = bitstreamService.findIdsByStoreNumber(context, 0, ids.get(1), 2);
+        assertEquals(1, nextIds.size());
+        assertFalse(ids.contains(nextIds.get(0)));
+        assertTrue(bitstreamService.findIdsByStoreNumber(context, 1, null, 2).isEmpty());
+    }
+
+    private BitstreamMigration createMigration() {
+        return new BitstreamMigration(sourceStore, 0, destinationStore, 1);
+    }
+
+    /**
+     * Write a file in the destination assetstore, without altering the size and checksum of the bitstream.
+     */
+    private void writeCopy(Bitstream bitstream, InputStream content) throws IOException {
+        String checksum = bitstream.getChecksum();
+        long sizeBytes = bitstream.getSizeBytes();
+        destinationStore.put(bitstream, content);
+        bitstream.setChecksum(checksum);
+        bitstream.setSizeBytes(sizeBytes);
+    }
+
+    private String read(BitStoreService store, Bitstream bitstream) throws IOException {
+        try (InputStream is = store.get(bitstream)) {
+            return IOUtils.toString(is, StandardCharsets.UTF_8);
+        }
+    }
+
+    private boolean exists(BitStoreService store, Bitstream bitstream) throws IOException {
+        Map<String, Object> wantedMetadata = new HashMap<>();
+        wantedMetadata.put("size_bytes", null);
+        return store.about(bitstream, wantedMetadata) != null;
+    }
+
+    /**
+     * Local assetstore failing or altering the copies of some bitstreams, optionally with another checksum algorithm.
+     */
+    private static class TestBitStoreService implements BitStoreService {
+
+        private final DSBitStoreService delegate = new DSBitStoreService();
+
+        private final Set<UUID> failingIds = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+        private final Set<UUID> corruptedIds = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+        private final AtomicInteger puts = new AtomicInteger();
+
+        private volatile boolean failRemovals = false;
+
+        private volatile String checksumAlgorithm;
+
+        private TestBitStoreService(File baseDir) {
+            delegate.setBaseDir(baseDir);
+        }
+
+        @Override
+        public void init() {
+            delegate.init();
+        }
+
+        @Override
+        public String generateId() {
+            return delegate.generateId();
+        }
+
+        @Override
+        public InputStream get(Bitstream bitstream) throws IOException {
+            return delegate.get(bitstream);
+        }
+
+        @Override
+        public void put(Bitstream bitstream, InputStream inputStream) throws IOException {
+            puts.incrementAndGet();
+            if (failingIds.contains(bitstream.getID())) {
+                throw new IOException("Unable to write bitstream " + bitstream.getID());
+            }
+            if (corruptedIds.contains(bitstream.getID())) {
+                String checksum = bitstream.getChecksum();
+                // same size as the source, different content
+                String altered = IOUtils.toString(inputStream, StandardCharsets.UTF_8).toUpperCase();
+                delegate.put(bitstream, new ByteArrayInputStream(altered.getBytes(StandardCharsets.UTF_8)));
+                // hide the alteration from the checksum computed while writing
+                bitstream.setChecksum(checksum);
+                return;
+            }
+            delegate.put(bitstream, inputStream);
+            if (checksumAlgorithm != null) {
+                bitstream.setChecksum(digest(bitstream));
+                bitstream.setChecksumAlgorithm(checksumAlgorithm);
+            }
+        }
+
+        @Override
+        public Map about(Bitstream bitstream, Map attrs) throws IOException {
+            Map receivedMetadata = delegate.about(bitstream, attrs);
+            if (receivedMetadata != null && checksumAlgorithm != null && attrs.containsKey("checksum")) {
+                receivedMetadata.put("checksum", digest(bitstream));
+                receivedMetadata.put("checksum_algorithm", checksumAlgorithm);
+            }
+            return receivedMetadata;
+        }
+
+        private String digest(Bitstream bitstream) throws IOException {
+            try (InputStream is = delegate.get(bitstream)) {
+                return Utils.toHex(MessageDigest.getInstance(checksumAlgorithm).digest(IOUtils.toByteArray(is)));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IOException(e);
+            }
+        }
+
+        @Override
+        public void remove(Bitstream bitstream) throws IOException {
+            if (failRemovals) {
+                throw new IOException("Unable to remove bitstream " + bitstream.getID());
+            }
+            delegate.remove(bitstream);
+        }
+    }
+}
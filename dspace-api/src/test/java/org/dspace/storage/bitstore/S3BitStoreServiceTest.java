@@ -0,0 +1,194 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.Headers;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadResult;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadResult;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.PutObjectResult;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.model.UploadPartResult;
+import org.dspace.AbstractDSpaceTest;
+import org.dspace.content.Bitstream;
+import org.dspace.core.Utils;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+/**
+ * Unit tests for the streaming upload of {@link S3BitStoreService}, using a mocked S3 client as stand-in.
+ */
+public class S3BitStoreServiceTest extends AbstractDSpaceTest {
+
+    private static final int PART_SIZE = 5 * 1024 * 1024;
+
+    @Mock
+    private AmazonS3 s3Service;
+
+    @Mock
+    private Bitstream bitstream;
+
+    private S3BitStoreService s3BitStoreService;
+
+    @Before
+    public void setUp() throws Exception {
+        when(s3Service.doesBucketExist("test-bucket")).thenReturn(true);
+        when(bitstream.getInternalId()).thenReturn("1234567890");
+
+        s3BitStoreService = new S3BitStoreService(s3Service);
+        s3BitStoreService.setBucketName("test-bucket");
+        s3BitStoreService.setPartSize(PART_SIZE);
+        s3BitStoreService.setUploadThreads(2);
+        s3BitStoreService.init();
+    }
+
+    @Test
+    public void testPutSmallContentWithSingleRequest() throws Exception {
+        byte[] content = randomContent(1024);
+        when(s3Service.putObject(any(PutObjectRequest.class))).thenReturn(new PutObjectResult());
+
+        s3BitStoreService.put(bitstream, new ByteArrayInputStream(content));
+
+        ArgumentCaptor<PutObjectRequest> captor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(s3Service).putObject(captor.capture());
+        assertEquals(1024, captor.getValue().getMetadata().getContentLength());
+        verify(s3Service, never()).initiateMultipartUpload(any());
+        verify(bitstream).setSizeBytes(1024);
+        verify(bitstream).setChecksum(md5(content));
+        verify(bitstream).setChecksumAlgorithm("MD5");
+    }
+
+    @Test
+    public void testPutBigContentWithMultipartUpload() throws Exception {
+        byte[] content = randomContent(2 * PART_SIZE + 100);
+        mockInitiateMultipartUpload();
+        when(s3Service.uploadPart(any(UploadPartRequest.class))).thenAnswer(invocation -> {
+            UploadPartRequest request = invocation.getArgument(0);
+            UploadPartResult result = new UploadPartResult();
+            result.setPartNumber(request.getPartNumber());
+            result.setETag("etag-" + request.getPartNumber() + "-" + request.getPartSize());
+            return result;
+        });
+        when(s3Service.completeMultipartUpload(any(CompleteMultipartUploadRequest.class)))
+            .thenReturn(new CompleteMultipartUploadResult());
+
+        s3BitStoreService.put(bitstream, new ByteArrayInputStream(content));
+
+        ArgumentCaptor<CompleteMultipartUploadRequest> captor =
+            ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(s3Service).completeMultipartUpload(captor.capture());
+        List<String> eTags = captor.getValue().getPartETags().stream()
+                                   .map(PartETag::getETag)
+                                   .collect(Collectors.toList());
+        assertEquals(List.of("etag-1-" + PART_SIZE, "etag-2-" + PART_SIZE, "etag-3-100"), eTags);
+        verify(s3Service, never()).putObject(any(PutObjectRequest.class));
+        verify(bitstream).setSizeBytes(content.length);
+        verify(bitstream).setChecksum(md5(content));
+    }
+
+    @Test
+    public void testMultipartUploadIsAbortedOnFailure() throws Exception {
+        byte[] content = randomContent(2 * PART_SIZE);
+        mockInitiateMultipartUpload();
+        when(s3Service.uploadPart(any(UploadPartRequest.class))).thenThrow(new AmazonClientException("failure"));
+
+        try {
+            s3BitStoreService.put(bitstream, new ByteArrayInputStream(content));
+            fail("An IOException was expected");
+        } catch (IOException e) {
+            // expected
+        }
+
+        verify(s3Service).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(s3Service, never()).completeMultipartUpload(any());
+        verify(bitstream, never()).setChecksum(any());
+    }
+
+    @Test
+    public void testChecksumOfExistingBitstreamUsesItsOwnAlgorithm() throws Exception {
+        byte[] content = randomContent(1024);
+        s3BitStoreService.setChecksumAlgorithm("SHA-256");
+        when(bitstream.getChecksumAlgorithm()).thenReturn("MD5");
+        mockObject(content, "etag-of-a-multipart-upload-2");
+
+        Map<String, Object> attrs = about();
+
+        assertEquals(md5(content), attrs.get("checksum"));
+        assertEquals("MD5", attrs.get("checksum_algorithm"));
+    }
+
+    @Test
+    public void testChecksumOfBitstreamWithoutAlgorithmUsesTheConfiguredOne() throws Exception {
+        byte[] content = randomContent(1024);
+        s3BitStoreService.setChecksumAlgorithm("SHA-256");
+        mockObject(content, md5(content));
+
+        Map<String, Object> attrs = about();
+
+        assertEquals(Utils.toHex(MessageDigest.getInstance("SHA-256").digest(content)), attrs.get("checksum"));
+        assertEquals("SHA-256", attrs.get("checksum_algorithm"));
+    }
+
+    private Map<String, Object> about() throws IOException {
+        Map<String, Object> attrs = new HashMap<>();
+        attrs.put("checksum", null);
+        return s3BitStoreService.about(bitstream, attrs);
+    }
+
+    private void mockObject(byte[] content, String eTag) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setHeader(Headers.ETAG, eTag);
+        when(s3Service.getObjectMetadata(any(String.class), any(String.class))).thenReturn(metadata);
+        S3Object object = new S3Object();
+        object.setObjectContent(new ByteArrayInputStream(content));
+        when(s3Service.getObject(any(GetObjectRequest.class))).thenReturn(object);
+    }
+
+    private void mockInitiateMultipartUpload() {
+        InitiateMultipartUploadResult result = new InitiateMultipartUploadResult();
+        result.setUploadId("upload-id");
+        when(s3Service.initiateMultipartUpload(any(InitiateMultipartUploadRequest.class))).thenReturn(result);
+    }
+
+    private byte[] randomContent(int size) {
+        byte[] content = new byte[size];
+        new Random(42).nextBytes(content);
+        return content;
+    }
+
+    private String md5(byte[] content) throws Exception {
+        return Utils.toHex(MessageDigest.getInstance("MD5").digest(content));
+    }
+}
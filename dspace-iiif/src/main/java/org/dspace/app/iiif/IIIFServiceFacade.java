@@ -13,6 +13,7 @@ import java.util.UUID;
 import org.dspace.app.iiif.service.AnnotationListService;
 import org.dspace.app.iiif.service.CanvasLookupService;
 import org.dspace.app.iiif.service.ManifestService;
+import org.dspace.app.iiif.service.SearchResponseCache;
 import org.dspace.app.iiif.service.SearchService;
 import org.dspace.app.iiif.service.utils.IIIFUtils;
 import org.dspace.content.Item;
@@ -46,6 +47,9 @@ public class IIIFServiceFacade {
     @Autowired
     SearchService searchService;
 
+    @Autowired
+    SearchResponseCache searchResponseCache;
+
     @Autowired
     AnnotationListService annotationListService;
 
@@ -110,7 +114,8 @@ public class IIIFServiceFacade {
     /**
      * Returns search hits and word coordinates as an AnnotationList.
      *
-     * Search scope is a single DSpace item or manifest.
+     * Search scope is a single DSpace item or manifest. The responses are cached until the
+     * item is modified.
      *
      * @param id DSpace item uuid
      * @param query  query terms
@@ -118,8 +123,7 @@ public class IIIFServiceFacade {
      */
     @PreAuthorize("hasPermission(#id, 'ITEM', 'READ')")
     public String searchInManifest(Context context, UUID id, String query) {
-
-        return searchService.searchWithinManifest(id, query);
+        return searchResponseCache.getResponse(id, query, () -> searchService.searchWithinManifest(id, query));
     }
 
     /**
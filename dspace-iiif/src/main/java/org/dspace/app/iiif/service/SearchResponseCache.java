@@ -0,0 +1,123 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.iiif.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches the responses of the IIIF search API. The responses are stored in the {@code iiifsearch} cache under the
+ * uuid of the searched item, so that the {@code IIIFCacheEventConsumer} can evict all the responses of an item
+ * when its bitstreams change. Each item keeps the responses of its most recent queries, up to
+ * {@code iiif.search.cache.queries-per-item}.
+ * <p>
+ * Concurrent requests for the same item and query share a single search.
+ */
+@Component
+public class SearchResponseCache {
+
+    // The cache that is used by this service.
+    static final String CACHE_NAME = "iiifsearch";
+
+    private static final int DEFAULT_QUERIES_PER_ITEM = 20;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    ConfigurationService configurationService;
+
+    private final ConcurrentMap<String, CompletableFuture<String>> searchesInProgress = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the cached response for the given query, or executes the search and caches its response.
+     *
+     * @param uuid   the uuid of the searched item
+     * @param query  the query terms
+     * @param search the search to execute on cache miss
+     * @return the search response
+     */
+    public String getResponse(UUID uuid, String query, Supplier<String> search) {
+        ItemResponses responses = getItemResponses(uuid);
+        String response = responses.get(query);
+        if (response != null) {
+            return response;
+        }
+
+        String key = uuid + "/" + query;
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletableFuture<String> inProgress = searchesInProgress.putIfAbsent(key, future);
+        if (inProgress != null) {
+            try {
+                return inProgress.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+        try {
+            // another thread may have completed the search between the lookup and the putIfAbsent
+            response = responses.get(query);
+            if (response == null) {
+                response = search.get();
+                responses.put(query, response);
+            }
+            future.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            searchesInProgress.remove(key, future);
+        }
+    }
+
+    private ItemResponses getItemResponses(UUID uuid) {
+        Cache cache = Objects.requireNonNull(cacheManager.getCache(CACHE_NAME));
+        int queriesPerItem = configurationService.getIntProperty("iiif.search.cache.queries-per-item",
+                                                                 DEFAULT_QUERIES_PER_ITEM);
+        return cache.get(uuid.toString(), () -> new ItemResponses(queriesPerItem));
+    }
+
+    /**
+     * The most recent search responses of an item, by query.
+     */
+    static class ItemResponses {
+
+        private final Map<String, String> responses;
+
+        ItemResponses(int maxQueries) {
+            this.responses = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                    return size() > maxQueries;
+                }
+            };
+        }
+
+        synchronized String get(String query) {
+            return responses.get(query);
+        }
+
+        synchronized void put(String query, String response) {
+            responses.put(query, response);
+        }
+    }
+}
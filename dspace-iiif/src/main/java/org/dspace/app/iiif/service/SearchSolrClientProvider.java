@@ -0,0 +1,69 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.iiif.service;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.PreDestroy;
+
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.impl.HttpSolrClient;
+import org.dspace.service.impl.HttpConnectionPoolService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Provides the Solr clients used by the IIIF search plugins. A single client is created for each Solr url and
+ * shared by all the requests; the clients draw their connections from the pool of the
+ * {@code iiifSearchHttpConnectionPoolService}, configured by the {@code iiif.search.client.*} properties.
+ */
+@Component
+public class SearchSolrClientProvider {
+
+    private static final Logger log = org.apache.logging.log4j.LogManager.getLogger(SearchSolrClientProvider.class);
+
+    @Autowired
+    @Qualifier("iiifSearchHttpConnectionPoolService")
+    HttpConnectionPoolService httpConnectionPoolService;
+
+    private final ConcurrentMap<String, SolrClient> clients = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the shared client for the given Solr url, creating it on first use.
+     *
+     * @param solrUrl the url of the Solr core
+     * @return the Solr client
+     */
+    public SolrClient getClient(String solrUrl) {
+        return clients.computeIfAbsent(solrUrl, this::createClient);
+    }
+
+    protected SolrClient createClient(String solrUrl) {
+        log.debug("Creating IIIF search Solr client for {}", solrUrl);
+        HttpSolrClient solrClient = new HttpSolrClient.Builder(solrUrl)
+            .withHttpClient(httpConnectionPoolService.getClient())
+            .build();
+        solrClient.setUseMultiPartPost(true);
+        return solrClient;
+    }
+
+    @PreDestroy
+    public void destroy() {
+        for (SolrClient solrClient : clients.values()) {
+            try {
+                solrClient.close();
+            } catch (IOException e) {
+                log.warn("Unable to close the IIIF search Solr client", e);
+            }
+        }
+        clients.clear();
+    }
+}
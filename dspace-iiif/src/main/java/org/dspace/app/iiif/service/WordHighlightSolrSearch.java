@@ -22,9 +22,9 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import org.apache.commons.validator.routines.UrlValidator;
 import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrServerException;
-import org.apache.solr.client.solrj.impl.HttpSolrClient;
 import org.apache.solr.client.solrj.impl.NoOpResponseParser;
 import org.apache.solr.client.solrj.request.QueryRequest;
 import org.apache.solr.common.params.CommonParams;
@@ -72,6 +72,9 @@ public class WordHighlightSolrSearch implements SearchAnnotationService {
     @Autowired
     ManifestGenerator manifestGenerator;
 
+    @Autowired
+    SearchSolrClientProvider solrClientProvider;
+
 
     @Override
     public boolean useSearchPlugin(String className) {
@@ -93,8 +96,7 @@ public class WordHighlightSolrSearch implements SearchAnnotationService {
                 .getBooleanProperty("discovery.solr.url.validation.enabled");
         UrlValidator urlValidator = new UrlValidator(UrlValidator.ALLOW_LOCAL_URLS);
         if (urlValidator.isValid(solrService) || validationEnabled) {
-            HttpSolrClient solrServer = new HttpSolrClient.Builder(solrService).build();
-            solrServer.setUseMultiPartPost(true);
+            SolrClient solrServer = solrClientProvider.getClient(solrService);
             SolrQuery solrQuery = getSolrQuery(adjustQuery(query), manifestId);
             QueryRequest req = new QueryRequest(solrQuery);
             // returns raw json response.
@@ -37,7 +37,9 @@ import org.apache.logging.log4j.Logger;
 import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrQuery.ORDER;
+import org.apache.solr.client.solrj.SolrRequest;
 import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
 import org.apache.solr.common.SolrInputDocument;
 import org.dspace.authorize.ResourcePolicy;
@@ -56,6 +58,7 @@ import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.util.SolrCursorIterator;
 import org.dspace.util.SolrUtils;
 import org.dspace.utils.DSpace;
 import org.dspace.xoai.exceptions.CompilingException;
@@ -217,18 +220,20 @@ public class XOAI {
      */
     private Iterator<Item> getItemsWithPossibleChangesBefore(Date last) throws DSpaceSolrIndexerException, IOException {
         try {
-            SolrQuery params = new SolrQuery("item.willChangeStatus:true").addField("item.id");
-            SolrDocumentList documents = DSpaceSolrSearch.query(solrServerResolver.getServer(), params);
+            SolrQuery params = new SolrQuery("item.willChangeStatus:true").addField("item.id")
+                .setRows(configurationService.getIntProperty("oai.import.batch.size", 1000));
+            Iterator<SolrDocument> documents = new SolrCursorIterator(solrServerResolver.getServer(),
+                SolrRequest.METHOD.GET, params, "item.handle");
             List<Item> items = new LinkedList<>();
-            for (int i = 0; i < documents.getNumFound(); i++) {
+            while (documents.hasNext()) {
                 Item item = itemService.find(context,
-                        UUID.fromString((String) documents.get(i).getFieldValue("item.id")));
-                if (item.getLastModified().before(last)) {
+                        UUID.fromString(String.valueOf(documents.next().getFieldValue("item.id"))));
+                if (item != null && item.getLastModified().before(last)) {
                     items.add(item);
                 }
             }
             return items.iterator();
-        } catch (SolrServerException | SQLException | DSpaceSolrException ex) {
+        } catch (SolrServerException | SQLException ex) {
             throw new DSpaceSolrIndexerException(ex.getMessage(), ex);
         }
     }
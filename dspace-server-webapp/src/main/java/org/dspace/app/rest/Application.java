@@ -13,6 +13,7 @@ import java.util.List;
 import javax.servlet.Filter;
 
 import org.dspace.app.rest.filter.DSpaceRequestContextFilter;
+import org.dspace.app.rest.filter.MetricsRequestFilter;
 import org.dspace.app.rest.model.hateoas.DSpaceLinkRelationProvider;
 import org.dspace.app.rest.parameter.resolver.SearchFilterResolver;
 import org.dspace.app.rest.utils.ApplicationConfig;
@@ -140,6 +141,19 @@ public class Application extends SpringBootServletInitializer {
         return new DSpaceAPIRequestLoggingFilter();
     }
 
+    /**
+     * Register the MetricsRequestFilter, a Filter that records the duration and
+     * the number of SQL statements and Solr queries of each request, when the
+     * metrics are enabled
+     *
+     * @return MetricsRequestFilter
+     */
+    @Bean
+    @Order(4)
+    protected Filter metricsRequestFilter() {
+        return new MetricsRequestFilter();
+    }
+
     @Bean
     public RequestContextListener requestContextListener() {
         return new RequestContextListener();
@@ -0,0 +1,41 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest;
+
+import java.util.List;
+
+import org.dspace.event.ConsumerStatistics;
+import org.dspace.event.service.EventService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * This RestController exposes to the administrators the statistics of the event consumers, i.e. the number of
+ * events they processed and the time they spent processing them since the startup
+ * "/api/system/eventconsumers"
+ */
+@RestController
+@RequestMapping("/api/system/eventconsumers")
+public class EventConsumerStatisticsRestController {
+
+    @Autowired
+    private EventService eventService;
+
+    /**
+     * @return the statistics of the event consumers, sorted by name
+     */
+    @RequestMapping(method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public List<ConsumerStatistics> getStatistics() {
+        return eventService.getConsumerStatistics();
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.logging.log4j.Logger;
+import org.dspace.authenticate.IPMatcher;
+import org.dspace.authenticate.IPMatcherException;
+import org.dspace.instrumentation.MetricsRegistry;
+import org.dspace.service.ClientInfoService;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+/**
+ * This controller exposes the meters of the {@link MetricsRegistry} in the Prometheus text format on the path
+ * /actuator/prometheus of the DSpace REST webapp, so that they can be scraped by a monitoring system.
+ * <p>
+ * The endpoint is available only if instrumentation.enabled is true, and only to the clients whose IP address
+ * matches one of the instrumentation.scrape.allowed-ips.
+ */
+@Controller
+@RequestMapping("/actuator")
+public class MetricsRestController {
+
+    private static final Logger log = org.apache.logging.log4j.LogManager.getLogger(MetricsRestController.class);
+
+    private static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Autowired
+    private ClientInfoService clientInfoService;
+
+    @GetMapping("/prometheus")
+    public void prometheus(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!metricsRegistry.isEnabled()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (!isAllowed(clientInfoService.getClientIp(request))) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+
+        response.setContentType(PROMETHEUS_CONTENT_TYPE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        try (Writer writer = response.getWriter()) {
+            metricsRegistry.writePrometheus(writer);
+        }
+    }
+
+    private boolean isAllowed(String ip) {
+        for (String allowedIp : configurationService.getArrayProperty("instrumentation.scrape.allowed-ips",
+            new String[] { "127.0.0.1", "0:0:0:0:0:0:0:1" })) {
+            try {
+                if (new IPMatcher(allowedIp).match(ip)) {
+                    return true;
+                }
+            } catch (IPMatcherException e) {
+                log.warn("Invalid IP address in instrumentation.scrape.allowed-ips: " + allowedIp, e);
+            }
+        }
+        return false;
+    }
+}
@@ -33,6 +33,8 @@ import org.dspace.app.rest.projection.Projection;
 import org.dspace.app.rest.repository.DSpaceRestRepository;
 import org.dspace.app.rest.security.WebSecurityExpressionEvaluator;
 import org.dspace.app.rest.utils.Utils;
+import org.dspace.discovery.indexobject.LightweightItem;
+import org.dspace.instrumentation.MetricsRegistry;
 import org.dspace.services.RequestService;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -84,6 +86,9 @@ public class ConverterService {
     @Autowired
     private RequestService requestService;
 
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
     /**
      * Converts the given model object to a rest object, using the appropriate {@link DSpaceConverter} and
      * the given projection.
@@ -103,10 +108,21 @@ public class ConverterService {
      * @throws ClassCastException if the converter's return type is not compatible with the inferred return type.
      */
     public <M, R> R toRest(M modelObject, Projection projection) {
-        M transformedModel = projection.transformModel(modelObject);
         DSpaceConverter<M, R> converter = requireConverter(modelObject.getClass());
+        long start = metricsRegistry.startTimer();
+        try {
+            return toRest(modelObject, projection, converter);
+        } finally {
+            metricsRegistry.stopTimer(start, "dspace.rest.converter", "model",
+                converter.getModelClass().getSimpleName());
+        }
+    }
+
+    private <M, R> R toRest(M modelObject, Projection projection, DSpaceConverter<M, R> converter) {
+        M transformedModel = projection.transformModel(modelObject);
         R restObject = converter.convert(transformedModel, projection);
-        if (restObject instanceof BaseObjectRest) {
+        // the lightweight items come from Discovery searches, already restricted to the readable items
+        if (restObject instanceof BaseObjectRest && !(transformedModel instanceof LightweightItem)) {
             BaseObjectRest baseObjectRest = (BaseObjectRest) restObject;
             // This section will verify whether the current user has permissions to retrieve the
             // rest object. It'll only return the REST object if the permission is granted.
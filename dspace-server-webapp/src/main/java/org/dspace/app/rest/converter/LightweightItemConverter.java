@@ -0,0 +1,90 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.converter;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.dspace.app.rest.model.ItemRest;
+import org.dspace.app.rest.model.MetadataRest;
+import org.dspace.app.rest.model.MetadataValueRest;
+import org.dspace.app.rest.projection.Projection;
+import org.dspace.app.rest.utils.ContextUtil;
+import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.core.Context;
+import org.dspace.core.exception.SQLRuntimeException;
+import org.dspace.discovery.IndexableObject;
+import org.dspace.discovery.indexobject.LightweightItem;
+import org.dspace.discovery.indexobject.LightweightItem.StoredValue;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * This is the converter from the {@link LightweightItem} of the search results to the Item REST data model. The
+ * metadata are the ones stored in the Discovery index for the visibility group of the current user.
+ */
+@Component
+public class LightweightItemConverter implements IndexableObjectConverter<LightweightItem, ItemRest> {
+
+    @Autowired
+    private AuthorizeService authorizeService;
+
+    @Override
+    public ItemRest convert(LightweightItem obj, Projection projection) {
+        ItemRest item = new ItemRest();
+        item.setProjection(projection);
+        item.setUuid(obj.getID().toString());
+        item.setHandle(obj.getHandle());
+        item.setName(obj.getName());
+        item.setInArchive(obj.isArchived());
+        item.setDiscoverable(obj.isDiscoverable());
+        item.setWithdrawn(obj.isWithdrawn());
+        item.setLastModified(obj.getLastModified());
+        item.setEntityType(obj.getEntityType());
+        item.setMetadata(toMetadataRest(obj.getMetadata(getVisibilityGroup())));
+        return item;
+    }
+
+    private MetadataRest toMetadataRest(List<StoredValue> storedValues) {
+        Map<String, List<MetadataValueRest>> valuesByField = new LinkedHashMap<>();
+        for (StoredValue storedValue : storedValues) {
+            MetadataValueRest value = new MetadataValueRest(storedValue.getValue());
+            value.setLanguage(storedValue.getLanguage());
+            value.setAuthority(storedValue.getAuthority());
+            value.setConfidence(storedValue.getConfidence());
+            value.setPlace(storedValue.getPlace());
+            valuesByField.computeIfAbsent(storedValue.getField(), key -> new ArrayList<>()).add(value);
+        }
+        MetadataRest metadata = new MetadataRest();
+        valuesByField.forEach((field, values) -> metadata.put(field, values.toArray(new MetadataValueRest[0])));
+        return metadata;
+    }
+
+    private String getVisibilityGroup() {
+        Context context = ContextUtil.obtainCurrentRequestContext();
+        try {
+            boolean admin = context != null && authorizeService.isAdmin(context);
+            return admin ? LightweightItem.ADMINISTRATOR : LightweightItem.ANONYMOUS;
+        } catch (SQLException e) {
+            throw new SQLRuntimeException(e);
+        }
+    }
+
+    @Override
+    public Class<LightweightItem> getModelClass() {
+        return LightweightItem.class;
+    }
+
+    @Override
+    public boolean supportsModel(IndexableObject idxo) {
+        return idxo.getIndexedObject() instanceof LightweightItem;
+    }
+}
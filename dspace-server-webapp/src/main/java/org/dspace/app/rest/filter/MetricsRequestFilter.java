@@ -0,0 +1,64 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.filter;
+
+import java.io.IOException;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.dspace.instrumentation.MetricsRegistry;
+import org.dspace.instrumentation.RequestMetrics;
+
+/**
+ * A Servlet Filter recording, when the metrics are enabled, the duration of each request together with the number of
+ * SQL statements and of Solr queries it executed. The requests are tagged with their method and the class of their
+ * response status (2xx, 4xx...), not with their path, to keep the number of meters bounded.
+ *
+ * @see MetricsRegistry
+ */
+public class MetricsRequestFilter implements Filter {
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        //noop
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+        throws IOException, ServletException {
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        if (!metrics.isEnabled() || !(request instanceof HttpServletRequest)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String method = ((HttpServletRequest) request).getMethod();
+        long start = metrics.startTimer();
+        RequestMetrics.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestMetrics requestMetrics = RequestMetrics.end();
+            String status = (((HttpServletResponse) response).getStatus() / 100) + "xx";
+            metrics.stopTimer(start, "dspace.rest.requests", "method", method, "status", status);
+            metrics.record(requestMetrics.getStatements(), "dspace.rest.request.statements", "method", method);
+            metrics.record(requestMetrics.getSolrQueries(), "dspace.rest.request.solr.queries", "method", method);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        //noop
+    }
+}
@@ -0,0 +1,32 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.projection;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Projection of the search results building the items from the fields stored in the Discovery index, without
+ * loading them from the database. Only the metadata fields listed in the <code>discovery.lightweight.fields</code>
+ * property are returned; the metadata security is evaluated at index time, so administrators get all the stored
+ * values and the other users get the values visible to the anonymous users.
+ */
+@Component
+public class LightweightProjection extends AbstractProjection {
+
+    public final static String NAME = "lightweight";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isLightweight() {
+        return true;
+    }
+}
@@ -151,4 +151,14 @@ public interface Projection {
     default boolean preventMetadataLevelSecurity() {
         return false;
     }
+
+    /**
+     * Tells whether the items of the search results must be built from the fields stored in the Discovery index,
+     * without loading them from the database.
+     *
+     * @return true if the search results must be built from the stored fields
+     */
+    default boolean isLightweight() {
+        return false;
+    }
 }
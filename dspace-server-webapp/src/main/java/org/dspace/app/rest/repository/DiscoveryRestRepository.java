@@ -108,6 +108,7 @@ public class DiscoveryRestRepository extends AbstractDSpaceRestRepository {
         try {
             discoverQuery = queryBuilder
                 .buildQuery(context, scopeObject, discoveryConfiguration, query, searchFilters, dsoTypes, page);
+            discoverQuery.setLightweight(projection.isLightweight());
             if (isRelatedItem) {
                 searchResult = searchService.search(context, discoverQuery);
             } else {
@@ -55,23 +55,44 @@ public abstract class AbstractTopSolrStatsFieldGenerator extends AbstractUsageRe
             throws SQLException, IOException, ParseException, SolrServerException {
         StatisticsDatasetDisplay statisticsDatasetDisplay = new StatisticsDatasetDisplay();
         Dataset dataset;
-        String query = "";
-        boolean hasValidRelation = false;
+        DiscoveryConfiguration relationConfiguration = null;
         if (getRelation() != null) {
-            DiscoveryConfiguration discoveryConfiguration = discoveryConfigurationService
-                                                                .getDiscoveryConfigurationByName(getRelation());
-            if (discoveryConfiguration == null) {
-                // not valid because not found bean with this relation configuration name
-                hasValidRelation = false;
-
-            } else {
-                hasValidRelation = true;
-                query = statisticsDatasetDisplay
-                            .composeQueryWithInverseRelation(dso, discoveryConfiguration.getDefaultFilterQueries());
-            }
+            // null if not valid because not found bean with this relation configuration name
+            relationConfiguration = discoveryConfigurationService.getDiscoveryConfigurationByName(getRelation());
+        }
+        ObjectCount[] topCounts;
+        if (isRollupSupported(dso, relationConfiguration, typeAxisString)
+            && isRollupCovered(context, startDate, endDate)) {
+            topCounts = getStatisticsRollupService().findTopValues(context,
+                getRollupOwners(context, dso, relationConfiguration), getDsoType(dso), typeAxisString, startDate,
+                endDate, getMaxResults());
+        } else {
+            topCounts = queryTopCounts(dso, relationConfiguration, typeAxisString, startDate, endDate);
+        }
+        dataset = new Dataset(1, topCounts.length);
+        for (int i = 0; i < topCounts.length; i++) {
+            ObjectCount count = topCounts[i];
+            dataset.setColLabel(i, statisticsDatasetDisplay
+                                       .getResultName(typeAxisString, count.getValue(),
+                                                      dso, getDsoType(dso), -1, context));
+            dataset.setColLabelAttr(i, statisticsDatasetDisplay
+                                           .getAttributes(count.getValue(),
+                                                          dso, getDsoType(dso), context));
+            dataset.addValueToMatrix(0, i, count.getCount());
         }
+        return dataset;
+    }
 
-        if (!hasValidRelation) {
+    private ObjectCount[] queryTopCounts(DSpaceObject dso, DiscoveryConfiguration relationConfiguration,
+                                         String typeAxisString, String startDate, String endDate)
+        throws SolrServerException, IOException {
+        StatisticsDatasetDisplay statisticsDatasetDisplay = new StatisticsDatasetDisplay();
+        String query = "";
+        boolean hasValidRelation = relationConfiguration != null;
+        if (hasValidRelation) {
+            query = statisticsDatasetDisplay
+                        .composeQueryWithInverseRelation(dso, relationConfiguration.getDefaultFilterQueries());
+        } else {
             if (getDsoType(dso) != -1) {
                 query += "type: " + getDsoType(dso);
             }
@@ -84,20 +105,19 @@ public abstract class AbstractTopSolrStatsFieldGenerator extends AbstractUsageRe
 
         String filter_query = statisticsDatasetDisplay
                                   .composeFilterQuery(startDate, endDate, hasValidRelation, getDsoType(dso));
-        ObjectCount[] topCounts = solrLoggerService.queryFacetField(query, filter_query, typeAxisString,
+        return solrLoggerService.queryFacetField(query, filter_query, typeAxisString,
                 getMaxResults(), false, null, 1);
-        dataset = new Dataset(1, topCounts.length);
-        for (int i = 0; i < topCounts.length; i++) {
-            ObjectCount count = topCounts[i];
-            dataset.setColLabel(i, statisticsDatasetDisplay
-                                       .getResultName(typeAxisString, count.getValue(),
-                                                      dso, getDsoType(dso), -1, context));
-            dataset.setColLabelAttr(i, statisticsDatasetDisplay
-                                           .getAttributes(count.getValue(),
-                                                          dso, getDsoType(dso), context));
-            dataset.addValueToMatrix(0, i, count.getCount());
-        }
-        return dataset;
+    }
+
+    /**
+     * The rollups hold the views by country and city only. Without relation, the raw query of an object with a
+     * different dsoType matches no hits, so it is left to the raw query.
+     */
+    private boolean isRollupSupported(DSpaceObject dso, DiscoveryConfiguration relationConfiguration,
+                                      String typeAxisString) {
+        boolean supportedField = "countryCode".equals(typeAxisString) || "city".equals(typeAxisString);
+        return supportedField && (relationConfiguration != null || !isNotSiteObject(dso)
+            || getDsoType(dso) == dso.getType());
     }
 
     private boolean isNotSiteObject(DSpaceObject dso) {
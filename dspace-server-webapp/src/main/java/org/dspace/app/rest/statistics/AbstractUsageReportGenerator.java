@@ -7,12 +7,29 @@
  */
 package org.dspace.app.rest.statistics;
 
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.solr.client.solrj.SolrServerException;
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.Site;
+import org.dspace.core.Context;
+import org.dspace.discovery.configuration.DiscoveryConfiguration;
+import org.dspace.statistics.rollup.service.StatisticsRollupService;
+import org.springframework.beans.factory.annotation.Autowired;
+
 /**
  * This is an abstract class that adds common configurable options for the generator
  *
  * @author Andrea Bollini (andrea.bollini at 4science.it)
  */
 public abstract class AbstractUsageReportGenerator implements UsageReportGenerator {
+    @Autowired
+    private StatisticsRollupService statisticsRollupService;
+
     private String viewMode = "table";
     private int maxResults = 100;
     private String relation;
@@ -40,5 +57,47 @@ public abstract class AbstractUsageReportGenerator implements UsageReportGenerat
     public void setRelation(String relation) {
         this.relation = relation;
     }
-}
 
+    protected StatisticsRollupService getStatisticsRollupService() {
+        return statisticsRollupService;
+    }
+
+    /**
+     * Check if the views of the given period can be read from the daily rollups instead of the raw hits.
+     *
+     * @param context   DSpace context
+     * @param startDate String to filter the start date of statistic
+     * @param endDate   String to filter the end date of statistic
+     * @return true if the rollups cover the given period
+     */
+    protected boolean isRollupCovered(Context context, String startDate, String endDate) {
+        try {
+            return statisticsRollupService.isCovered(context, startDate, endDate);
+        } catch (SQLException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the owners of the objects whose views are read from the rollups: the items related to the given DSO
+     * when the generator has a valid relation, resolved now as the relations change over time, the DSO itself
+     * otherwise, null for the whole site.
+     *
+     * @param context                DSpace context
+     * @param dso                    DSO we want the stats of
+     * @param relationConfiguration  the discovery configuration of the relation, null if there is no relation
+     * @return the owners of the objects to count
+     */
+    protected List<UUID> getRollupOwners(Context context, DSpaceObject dso,
+                                         DiscoveryConfiguration relationConfiguration)
+        throws SolrServerException, IOException {
+        if (relationConfiguration != null) {
+            return statisticsRollupService.findRelatedItems(context, dso,
+                relationConfiguration.getDefaultFilterQueries());
+        }
+        if (dso == null || dso instanceof Site) {
+            return null;
+        }
+        return Collections.singletonList(dso.getID());
+    }
+}
@@ -68,38 +68,21 @@ public class TopItemsGenerator extends AbstractUsageReportGenerator {
      */
     public UsageReportRest createUsageReport(Context context, DSpaceObject root, String startDate, String endDate) {
         try {
-            StatisticsDatasetDisplay statisticsDatasetDisplay = new StatisticsDatasetDisplay();
-            boolean hasValidRelation = false;
-            String query = "";
-            //if no relation property for generator
+            DiscoveryConfiguration relationConfiguration = null;
             if (getRelation() != null) {
-                DiscoveryConfiguration discoveryConfiguration  = discoveryConfigurationService
-                                                                     .getDiscoveryConfigurationByName(getRelation());
-                if (discoveryConfiguration == null) {
-                    // not valid because not found bean with this relation configuration name
-                    hasValidRelation = false;
-
-                } else {
-                    hasValidRelation = true;
-                    query = statisticsDatasetDisplay
-                                .composeQueryWithInverseRelation(root,
-                                                                 discoveryConfiguration.getDefaultFilterQueries());
-                }
-            }
-            if (!hasValidRelation) {
-                query += "type: " + dsoType;
-                if (root != null) {
-                    if (!(root instanceof Site)) {
-                        query += " AND ";
-                        query += "id:" + root.getID() ;
-                    }
-                }
+                // null if not valid because not found bean with this relation configuration name
+                relationConfiguration = discoveryConfigurationService.getDiscoveryConfigurationByName(getRelation());
             }
-            String filter_query = statisticsDatasetDisplay.composeFilterQuery(startDate, endDate, hasValidRelation,
-                dsoType);
             String facetField = calculateFacetField(root);
-            ObjectCount[] topCounts = solrLoggerService.queryFacetField(query, filter_query, facetField,
-                    getMaxResults(), false, null, 1);
+            ObjectCount[] topCounts;
+            // the downloads grouped by owning item are not available in the rollups
+            if (!OWNING_ITEM_FIELD.equals(facetField) && isRollupCovered(context, startDate, endDate)) {
+                topCounts = getStatisticsRollupService().findTopObjects(context,
+                    getRollupOwners(context, root, relationConfiguration), dsoType, startDate, endDate,
+                    getMaxResults());
+            } else {
+                topCounts = queryTopCounts(root, relationConfiguration, facetField, startDate, endDate);
+            }
             UsageReportRest usageReportRest = new UsageReportRest();
             // if no data
             if (topCounts.length == 0) {
@@ -135,6 +118,30 @@ public class TopItemsGenerator extends AbstractUsageReportGenerator {
         }
     }
 
+    private ObjectCount[] queryTopCounts(DSpaceObject root, DiscoveryConfiguration relationConfiguration,
+                                         String facetField, String startDate, String endDate)
+        throws SolrServerException, IOException {
+        StatisticsDatasetDisplay statisticsDatasetDisplay = new StatisticsDatasetDisplay();
+        boolean hasValidRelation = relationConfiguration != null;
+        String query = "";
+        if (hasValidRelation) {
+            query = statisticsDatasetDisplay
+                        .composeQueryWithInverseRelation(root, relationConfiguration.getDefaultFilterQueries());
+        } else {
+            query += "type: " + dsoType;
+            if (root != null) {
+                if (!(root instanceof Site)) {
+                    query += " AND ";
+                    query += "id:" + root.getID() ;
+                }
+            }
+        }
+        String filter_query = statisticsDatasetDisplay.composeFilterQuery(startDate, endDate, hasValidRelation,
+            dsoType);
+        return solrLoggerService.queryFacetField(query, filter_query, facetField,
+                getMaxResults(), false, null, 1);
+    }
+
     private String calculateFacetField(DSpaceObject root) {
         return getDsoType() == BITSTREAM && root.getType() != Constants.ITEM ? OWNING_ITEM_FIELD : "id";
     }
@@ -104,25 +104,42 @@ public class TotalVisitGenerator extends AbstractUsageReportGenerator {
     Dataset getDSOStatsDataset(Context context, DSpaceObject dso, int dsoType, String startDate, String endDate)
             throws SQLException, IOException, ParseException, SolrServerException {
         StatisticsDatasetDisplay statisticsDatasetDisplay = new StatisticsDatasetDisplay();
-        Dataset dataset;
-        int type_of_dso = dsoType;
-        String query = "";
-        boolean hasValidRelation = false;
+        DiscoveryConfiguration relationConfiguration = null;
         if (getRelation() != null) {
-            DiscoveryConfiguration discoveryConfiguration = discoveryConfigurationService
-                                                                .getDiscoveryConfigurationByName(getRelation());
-            if (discoveryConfiguration == null) {
-                // not valid because not found bean with this relation configuration name
-                hasValidRelation = false;
-
-            } else {
-                hasValidRelation = true;
-                query = statisticsDatasetDisplay.composeQueryWithInverseRelation(
-                    dso, discoveryConfiguration.getDefaultFilterQueries());
-                type_of_dso = dso.getType();
-            }
+            // null if not valid because not found bean with this relation configuration name
+            relationConfiguration = discoveryConfigurationService.getDiscoveryConfigurationByName(getRelation());
+        }
+        ObjectCount[] topCounts;
+        if (isRollupCovered(context, startDate, endDate)) {
+            // the views of the objects owned by the related items are read in a single step
+            topCounts = getStatisticsRollupService().findTopObjects(context,
+                getRollupOwners(context, dso, relationConfiguration), dsoType, startDate, endDate, getMaxResults());
+        } else {
+            topCounts = queryTopCounts(dso, dsoType, relationConfiguration, startDate, endDate);
+        }
+        Dataset dataset = new Dataset(1, topCounts.length);
+        for (int i = 0; i < topCounts.length; i++) {
+            ObjectCount count = topCounts[i];
+            dataset.setColLabel(i, statisticsDatasetDisplay
+                                       .getResultName("", count.getValue(),
+                                                      dso, dsoType, -1, context));
+            dataset.setColLabelAttr(i, statisticsDatasetDisplay.getAttributes(count.getValue(), dso, dsoType, context));
+            dataset.addValueToMatrix(0, i, count.getCount());
         }
-        if (!hasValidRelation) {
+        return dataset;
+    }
+
+    private ObjectCount[] queryTopCounts(DSpaceObject dso, int dsoType, DiscoveryConfiguration relationConfiguration,
+                                         String startDate, String endDate) throws SolrServerException, IOException {
+        StatisticsDatasetDisplay statisticsDatasetDisplay = new StatisticsDatasetDisplay();
+        int type_of_dso = dsoType;
+        String query = "";
+        boolean hasValidRelation = relationConfiguration != null;
+        if (hasValidRelation) {
+            query = statisticsDatasetDisplay.composeQueryWithInverseRelation(
+                dso, relationConfiguration.getDefaultFilterQueries());
+            type_of_dso = dso.getType();
+        } else {
             if (dso != null) {
                 query += createQuery(dso.getID(), dso.getType(), dsoType);
             }
@@ -147,20 +164,9 @@ public class TotalVisitGenerator extends AbstractUsageReportGenerator {
                 result = Stream.of(result, topCountsBitstream).flatMap(Stream::of)
                         .toArray(ObjectCount[]::new);
             }
-            dataset = new Dataset(1, result.length);
             topCounts = result;
-        } else {
-            dataset = new Dataset(1, topCounts.length);
-        }
-        for (int i = 0; i < topCounts.length; i++) {
-            ObjectCount count = topCounts[i];
-            dataset.setColLabel(i, statisticsDatasetDisplay
-                                       .getResultName("", count.getValue(),
-                                                      dso, dsoType, -1, context));
-            dataset.setColLabelAttr(i, statisticsDatasetDisplay.getAttributes(count.getValue(), dso, dsoType, context));
-            dataset.addValueToMatrix(0, i, count.getCount());
         }
-        return dataset;
+        return topCounts;
     }
 
     public String createQuery(UUID dso_id, int type, int dsoType) {
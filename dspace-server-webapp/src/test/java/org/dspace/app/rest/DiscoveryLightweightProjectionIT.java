@@ -0,0 +1,97 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.dspace.app.rest.test.AbstractControllerIntegrationTest;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.services.ConfigurationService;
+import org.hamcrest.Matchers;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for the search results requested with the lightweight projection, built from the fields stored
+ * in the Discovery index.
+ */
+public class DiscoveryLightweightProjectionIT extends AbstractControllerIntegrationTest {
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    private Item item;
+
+    @Before
+    public void setup() throws Exception {
+        configurationService.setProperty("discovery.lightweight.fields",
+            new String[] { "dc.title", "dc.contributor.author", "dc.description.provenance" });
+
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        item = ItemBuilder.createItem(context, collection)
+                          .withTitle("Lightweight item")
+                          .withAuthor("Smith, Donald")
+                          .withAuthor("Doe, John")
+                          .withProvenanceData("Hidden provenance")
+                          .withIssueDate("2020-01-01")
+                          .build();
+        context.restoreAuthSystemState();
+    }
+
+    @Test
+    public void testLightweightProjectionAsAnonymous() throws Exception {
+        getClient().perform(get("/api/discover/search/objects")
+                                .param("query", "Lightweight")
+                                .param("projection", "lightweight"))
+                   .andExpect(status().isOk())
+                   .andExpect(jsonPath("$._embedded.searchResult._embedded.objects[0]._embedded.indexableObject.uuid",
+                                       is(item.getID().toString())))
+                   .andExpect(jsonPath("$._embedded.searchResult._embedded.objects[0]._embedded.indexableObject.name",
+                                       is("Lightweight item")))
+                   .andExpect(jsonPath("$._embedded.searchResult._embedded.objects[0]._embedded.indexableObject"
+                                           + ".metadata['dc.contributor.author'][*].value",
+                                       contains("Smith, Donald", "Doe, John")))
+                   .andExpect(jsonPath("$._embedded.searchResult._embedded.objects[0]._embedded.indexableObject"
+                                           + ".metadata['dc.description.provenance']").doesNotExist())
+                   // the fields not stored in the index are not returned
+                   .andExpect(jsonPath("$._embedded.searchResult._embedded.objects[0]._embedded.indexableObject"
+                                           + ".metadata['dc.date.issued']").doesNotExist());
+    }
+
+    @Test
+    public void testLightweightProjectionAsAdmin() throws Exception {
+        String adminToken = getAuthToken(admin.getEmail(), password);
+        getClient(adminToken).perform(get("/api/discover/search/objects")
+                                          .param("query", "Lightweight")
+                                          .param("projection", "lightweight"))
+                   .andExpect(status().isOk())
+                   .andExpect(jsonPath("$._embedded.searchResult._embedded.objects[0]._embedded.indexableObject"
+                                           + ".metadata['dc.description.provenance'][*].value",
+                                       Matchers.hasItem("Hidden provenance")));
+    }
+
+    @Test
+    public void testDefaultProjectionIsUnchanged() throws Exception {
+        getClient().perform(get("/api/discover/search/objects")
+                                .param("query", "Lightweight"))
+                   .andExpect(status().isOk())
+                   .andExpect(jsonPath("$._embedded.searchResult._embedded.objects[0]._embedded.indexableObject"
+                                           + ".metadata['dc.date.issued'][0].value", is("2020-01-01")));
+    }
+}
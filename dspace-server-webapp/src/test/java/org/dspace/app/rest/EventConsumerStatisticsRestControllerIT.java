@@ -0,0 +1,49 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.dspace.app.rest.test.AbstractControllerIntegrationTest;
+import org.dspace.builder.CommunityBuilder;
+import org.junit.Test;
+
+/**
+ * Integration test for the /api/system/eventconsumers endpoint, see {@link EventConsumerStatisticsRestController}
+ */
+public class EventConsumerStatisticsRestControllerIT extends AbstractControllerIntegrationTest {
+
+    @Test
+    public void testGetStatistics() throws Exception {
+        context.turnOffAuthorisationSystem();
+        CommunityBuilder.createCommunity(context).withName("Community").build();
+        context.restoreAuthSystemState();
+
+        String token = getAuthToken(admin.getEmail(), password);
+        getClient(token).perform(get("/api/system/eventconsumers"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$[*].name", hasItem("discovery")))
+                        .andExpect(jsonPath("$[?(@.name == 'discovery')].async", hasItem(false)));
+    }
+
+    @Test
+    public void testGetStatisticsUnauthorized() throws Exception {
+        getClient().perform(get("/api/system/eventconsumers"))
+                   .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void testGetStatisticsForbidden() throws Exception {
+        String token = getAuthToken(eperson.getEmail(), password);
+        getClient(token).perform(get("/api/system/eventconsumers"))
+                        .andExpect(status().isForbidden());
+    }
+}
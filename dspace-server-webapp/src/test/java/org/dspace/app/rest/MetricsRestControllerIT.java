@@ -0,0 +1,70 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.dspace.app.rest.test.AbstractControllerIntegrationTest;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.instrumentation.MetricsRegistry;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration test for the /actuator/prometheus endpoint, see {@link MetricsRestController}
+ */
+public class MetricsRestControllerIT extends AbstractControllerIntegrationTest {
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    @After
+    public void cleanup() {
+        metricsRegistry.setEnabled(false);
+        metricsRegistry.clear();
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        getClient().perform(get("/actuator/prometheus"))
+                   .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testRequestMetrics() throws Exception {
+        context.turnOffAuthorisationSystem();
+        CommunityBuilder.createCommunity(context).withName("Community").build();
+        context.restoreAuthSystemState();
+        metricsRegistry.setEnabled(true);
+
+        getClient().perform(get("/api/core/communities"))
+                   .andExpect(status().isOk());
+
+        getClient().perform(get("/actuator/prometheus"))
+                   .andExpect(status().isOk())
+                   .andExpect(content().string(containsString(
+                       "dspace_rest_requests_seconds_count{method=\"GET\",status=\"2xx\"}")))
+                   .andExpect(content().string(containsString("dspace_rest_request_statements_count")))
+                   .andExpect(content().string(containsString("dspace_rest_request_solr_queries_count")))
+                   .andExpect(content().string(containsString("dspace_rest_converter_seconds_count")));
+    }
+
+    @Test
+    public void testNotAllowedIp() throws Exception {
+        metricsRegistry.setEnabled(true);
+
+        getClient().perform(get("/actuator/prometheus").with(request -> {
+            request.setRemoteAddr("10.1.2.3");
+            return request;
+        })).andExpect(status().isForbidden());
+    }
+}
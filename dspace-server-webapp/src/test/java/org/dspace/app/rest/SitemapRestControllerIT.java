@@ -13,8 +13,13 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
 import javax.servlet.ServletException;
 
+import org.apache.commons.io.IOUtils;
 import org.dspace.app.rest.test.AbstractControllerIntegrationTest;
 import org.dspace.builder.CollectionBuilder;
 import org.dspace.builder.CommunityBuilder;
@@ -151,17 +156,49 @@ public class SitemapRestControllerIT extends AbstractControllerIntegrationTest {
     @Test
     public void testSitemap_sitemap0Xml() throws Exception {
         //** WHEN **
-        //We retrieve sitemap0.html
-        MvcResult result = getClient().perform(get("/" + SITEMAPS_ENDPOINT + "/sitemap0.xml"))
+        //We retrieve sitemap0.xml.gz, the sitemaps being compressed by default
+        MvcResult result = getClient().perform(get("/" + SITEMAPS_ENDPOINT + "/sitemap0.xml.gz"))
                                       //** THEN **
                                       .andExpect(status().isOk())
-                                      //We expect the content type to match
-                                      .andExpect(content().contentType("application/xml"))
                                       .andReturn();
 
-        String response = result.getResponse().getContentAsString();
+        String response;
+        try (InputStream is = new GZIPInputStream(
+            new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            response = IOUtils.toString(is, StandardCharsets.UTF_8);
+        }
         // contains a link to items: [dspace.ui.url]/items/<uuid>
         assertTrue(response.contains(configurationService.getProperty("dspace.ui.url") + "/items/" + item1.getID()));
         assertTrue(response.contains(configurationService.getProperty("dspace.ui.url") + "/items/" + item2.getID()));
     }
+
+    @Test
+    public void testSitemap_uncompressedSitemap0Xml() throws Exception {
+        configurationService.setProperty("sitemap.compress", false);
+        try {
+            runDSpaceScript("generate-sitemaps");
+
+            //** WHEN **
+            //We retrieve sitemap0.xml
+            MvcResult result = getClient().perform(get("/" + SITEMAPS_ENDPOINT + "/sitemap0.xml"))
+                                          //** THEN **
+                                          .andExpect(status().isOk())
+                                          //We expect the content type to match
+                                          .andExpect(content().contentType("application/xml"))
+                                          .andReturn();
+
+            String response = result.getResponse().getContentAsString();
+            // contains a link to items: [dspace.ui.url]/items/<uuid>
+            assertTrue(response.contains(configurationService.getProperty("dspace.ui.url")
+                                             + "/items/" + item1.getID()));
+            assertTrue(response.contains(configurationService.getProperty("dspace.ui.url")
+                                             + "/items/" + item2.getID()));
+
+            // the compressed sitemaps are replaced
+            getClient().perform(get("/" + SITEMAPS_ENDPOINT + "/sitemap0.xml.gz"))
+                       .andExpect(status().isNotFound());
+        } finally {
+            configurationService.setProperty("sitemap.compress", null);
+        }
+    }
 }
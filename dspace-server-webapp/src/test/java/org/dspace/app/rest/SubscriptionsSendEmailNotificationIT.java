@@ -7,8 +7,10 @@
  */
 package org.dspace.app.rest;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -307,6 +309,51 @@ public class SubscriptionsSendEmailNotificationIT extends AbstractControllerInte
         Matchers.containsInAnyOrder(allValues, personList);
     }
 
+    //verify that the updates of an object subscribed by many users are computed once
+    @Test
+    public void sendSubscriptionMailTypeContentUpdatesComputedOncePerObject() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context).build();
+        Collection col1 = CollectionBuilder.createCollection(context, community).build();
+        Collection col2 = CollectionBuilder.createCollection(context, community).build();
+        Item orgUnit = ItemBuilder.createItem(context, col1)
+                .withEntityType("OrgUnit").withFullName("4Science")
+                .withTitle("4Science").buildWithLastModifiedDate(generateTimeOnBasedFrequency("W"));
+        Item person = ItemBuilder.createItem(context, col2)
+                .withEntityType("Person").withFullName("testPerson")
+                .withTitle("testPerson")
+                .withAffiliation(orgUnit.getName(), orgUnit.getID().toString())
+                .buildWithLastModifiedDate(generateTimeOnBasedFrequency("W"));
+        SubscribeBuilder.subscribeBuilder(context, "content", orgUnit, admin,
+                generateSubscriptionParameterListFrequency("W")).build();
+        SubscribeBuilder.subscribeBuilder(context, "content", orgUnit, eperson,
+                generateSubscriptionParameterListFrequency("W")).build();
+        context.restoreAuthSystemState();
+
+        ItemsUpdates itemsUpdatesSpy = spy(itemsUpdates);
+        Map<String, SubscriptionGenerator> generatorMap = new HashMap<>();
+        generatorMap.put("content", contentGenerator);
+        generatorMap.put("statistics", statisticsGenerator);
+        Map<String, DSpaceObjectUpdates> contentUpdateMap = new HashMap<>();
+        contentUpdateMap.put("community", communityUpdates);
+        contentUpdateMap.put("collection", collectionsUpdates);
+        contentUpdateMap.put("item", itemsUpdatesSpy);
+        String[] args = new String[]{"subscription-send", "-t", "content", "-f", "W"};
+        TestDSpaceRunnableHandler handler = new TestDSpaceRunnableHandler();
+        subscriptionEmailNotification.initialize(args, handler, eperson);
+        subscriptionEmailNotification.setSubscriptionEmailNotificationService(
+            new SubscriptionEmailNotificationService(crisMetricsService, subscribeService, generatorMap,
+                                                     contentUpdateMap));
+        subscriptionEmailNotification.run();
+
+        List<IndexableObject> items = new ArrayList<>();
+        items.add(new IndexableItem(person));
+        verify(itemsUpdatesSpy, times(1)).findUpdates(any(), eq(orgUnit), eq("W"));
+        verify(contentGenerator, times(2))
+            .notifyForSubscriptions(eq(subscriptionEmailNotification.getContext()), any(EPerson.class),
+                eq(new ArrayList<>()), eq(new ArrayList<>()), eq(items));
+    }
+
 
     //verify that method that invokes mail send is called correctly for type content and frequence weekly
     @Test
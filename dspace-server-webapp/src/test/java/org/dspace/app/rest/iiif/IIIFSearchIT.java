@@ -0,0 +1,164 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.iiif;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.doReturn;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.codec.CharEncoding;
+import org.apache.commons.io.IOUtils;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.common.util.NamedList;
+import org.dspace.app.iiif.service.SearchSolrClientProvider;
+import org.dspace.app.rest.test.AbstractControllerIntegrationTest;
+import org.dspace.builder.BitstreamBuilder;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.services.ConfigurationService;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+/**
+ * Load test of the IIIF search API, checking that concurrent searches share the Solr client and the cached
+ * responses, and that the responses are evicted when the item changes.
+ * <p>
+ * The test Solr doesn't provide the OCR highlighting plugin, so the word_highlighting core is replaced by a stub
+ * client returning a fixed highlighting response.
+ */
+public class IIIFSearchIT extends AbstractControllerIntegrationTest {
+
+    private static final String SEARCH_URL = "http://localhost:8983/solr/word_highlighting";
+
+    private static final String OCR_RESPONSE = "{\"ocrHighlighting\":{\"doc1\":{\"ocr_text\":{\"snippets\":["
+        + "{\"pages\":[{\"id\":\"Page.0\"}],\"highlights\":[[{\"text\":\"dspace\","
+        + "\"ulx\":10,\"uly\":20,\"lrx\":60,\"lry\":40}]]}]}}}}";
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @SpyBean
+    private SearchSolrClientProvider searchSolrClientProvider;
+
+    private StubOcrSolrClient solrClient;
+
+    @Before
+    public void setup() throws Exception {
+        configurationService.setProperty("iiif.search.url", SEARCH_URL);
+        configurationService.setProperty("iiif.search.plugin",
+                                         "org.dspace.app.iiif.service.WordHighlightSolrSearch");
+        solrClient = new StubOcrSolrClient();
+        doReturn(solrClient).when(searchSolrClientProvider).getClient(SEARCH_URL);
+    }
+
+    @Test
+    public void concurrentSearchesTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).withName("Parent Community").build();
+        Collection col1 = CollectionBuilder.createCollection(context, parentCommunity).withName("Collection 1")
+                                           .build();
+        Item publicItem1 = ItemBuilder.createItem(context, col1)
+                                      .withTitle("Public item 1")
+                                      .enableIIIF()
+                                      .enableIIIFSearch()
+                                      .build();
+        try (InputStream is = IOUtils.toInputStream("ThisIsSomeDummyText", CharEncoding.UTF_8)) {
+            BitstreamBuilder.createBitstream(context, publicItem1, is)
+                            .withName("Bitstream1.jpg")
+                            .withMimeType("image/jpeg")
+                            .build();
+        }
+        context.restoreAuthSystemState();
+
+        int requests = 40;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Void>> searches = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                String query = i % 2 == 0 ? "dspace" : "dspace repository";
+                searches.add(() -> {
+                    getClient().perform(get("/iiif/" + publicItem1.getID() + "/manifest/search")
+                                            .param("q", query))
+                               .andExpect(status().isOk())
+                               .andExpect(jsonPath("$.resources", hasSize(1)));
+                    return null;
+                });
+            }
+            for (Future<Void> result : executor.invokeAll(searches)) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // each distinct query reached Solr once
+        assertEquals(2, solrClient.getRequestCount());
+
+        // adding a bitstream (e.g. a new OCR file) evicts the cached responses of the item
+        context.turnOffAuthorisationSystem();
+        try (InputStream is = IOUtils.toInputStream("<alto/>", CharEncoding.UTF_8)) {
+            BitstreamBuilder.createBitstream(context, publicItem1, is)
+                            .withName("Bitstream1.xml")
+                            .withMimeType("text/xml")
+                            .build();
+        }
+        context.restoreAuthSystemState();
+
+        getClient().perform(get("/iiif/" + publicItem1.getID() + "/manifest/search").param("q", "dspace"))
+                   .andExpect(status().isOk())
+                   .andExpect(jsonPath("$.resources", hasSize(1)));
+        assertEquals(3, solrClient.getRequestCount());
+    }
+
+    /**
+     * Stand-in for a Solr core with the OCR highlighting plugin, simulating the latency of the search.
+     */
+    private static class StubOcrSolrClient extends SolrClient {
+
+        private final AtomicInteger requestCount = new AtomicInteger();
+
+        @Override
+        public NamedList<Object> request(SolrRequest request, String collection) {
+            requestCount.incrementAndGet();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            NamedList<Object> response = new NamedList<>();
+            response.add("response", OCR_RESPONSE);
+            return response;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        int getRequestCount() {
+            return requestCount.get();
+        }
+    }
+}
@@ -840,6 +840,87 @@ public class CrisConsumerIT extends AbstractControllerIntegrationTest {
         assertThat("The editor should have an UNSET confidence", editor.getConfidence(), equalTo(CF_UNSET));
     }
 
+    /**
+     * Verify that the related entities referenced by many items modified in the
+     * same transaction are resolved once and shared by all the items.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testManyItemsModificationInTheSameTransaction() throws Exception {
+
+        configurationService.setProperty("cris-consumer.skip-empty-authority", false);
+
+        context.turnOffAuthorisationSystem();
+
+        Collection personCollection = createCollection("Collection of persons", "Person", subCommunity);
+
+        Item person = ItemBuilder.createItem(context, personCollection)
+            .withTitle("Jesse Pinkman")
+            .withCrisSourceId(generateMd5Hash("Jesse Pinkman"))
+            .build();
+
+        Item firstPublication = ItemBuilder.createItem(context, publicationCollection)
+            .withTitle("First publication")
+            .build();
+
+        Item secondPublication = ItemBuilder.createItem(context, publicationCollection)
+            .withTitle("Second publication")
+            .build();
+
+        Item thirdPublication = ItemBuilder.createItem(context, publicationCollection)
+            .withTitle("Third publication")
+            .build();
+
+        addAuthors(firstPublication, "Walter White", "Jesse Pinkman");
+        addAuthors(secondPublication, "Walter White");
+        addAuthors(thirdPublication, "Jesse Pinkman", "Skyler White");
+
+        context.restoreAuthSystemState();
+        context.commit();
+
+        firstPublication = context.reloadEntity(firstPublication);
+        secondPublication = context.reloadEntity(secondPublication);
+        thirdPublication = context.reloadEntity(thirdPublication);
+
+        List<MetadataValue> firstAuthors = itemService.getMetadataByMetadataString(firstPublication,
+            "dc.contributor.author");
+        List<MetadataValue> secondAuthors = itemService.getMetadataByMetadataString(secondPublication,
+            "dc.contributor.author");
+        List<MetadataValue> thirdAuthors = itemService.getMetadataByMetadataString(thirdPublication,
+            "dc.contributor.author");
+
+        for (MetadataValue author : asList(firstAuthors.get(0), firstAuthors.get(1), secondAuthors.get(0),
+            thirdAuthors.get(0), thirdAuthors.get(1))) {
+            assertThat("The author should have an ACCEPTED confidence", author.getConfidence(), equalTo(CF_ACCEPTED));
+        }
+
+        String walterWhiteAuthority = firstAuthors.get(0).getAuthority();
+        assertThat("The author should have an uuid authority", UUIDUtils.fromString(walterWhiteAuthority),
+            notNullValue());
+        assertThat("The same related item should be used by all the items", secondAuthors.get(0).getAuthority(),
+            equalTo(walterWhiteAuthority));
+
+        assertThat("The existing item should be used", firstAuthors.get(1).getAuthority(),
+            equalTo(person.getID().toString()));
+        assertThat("The existing item should be used", thirdAuthors.get(0).getAuthority(),
+            equalTo(person.getID().toString()));
+
+        assertThat("The author should have an uuid authority",
+            UUIDUtils.fromString(thirdAuthors.get(1).getAuthority()), notNullValue());
+
+        List<Item> walterWhiteItems = itemService.findUnfilteredByMetadataFieldValues(context, "cris", "sourceId",
+            null, asList(generateMd5Hash("Walter White")));
+        assertThat("A single related item should be created", walterWhiteItems, hasSize(1));
+    }
+
+    private void addAuthors(Item item, String... authors) throws Exception {
+        for (String author : authors) {
+            itemService.addMetadata(context, item, "dc", "contributor", "author", null, author);
+        }
+        itemService.update(context, item);
+    }
+
     private ItemRest getItemViaRestByID(String authToken, UUID id) throws Exception {
         MvcResult result = getClient(authToken)
                 .perform(get(BASE_REST_SERVER_URL + "/api/core/items/{id}", id))